@@ -20,20 +20,20 @@ import java.io.IOException;
 import java.io.Reader;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Parameter;
 import java.net.JarURLConnection;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarFile;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
@@ -43,7 +43,6 @@ import org.antlr.v4.runtime.Lexer;
 import org.antlr.v4.runtime.Parser;
 import org.antlr.v4.runtime.TokenStream;
 import org.antlr.v4.runtime.tree.ParseTree;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import com.oceanbase.tools.sqlparser.adapter.StatementFactory;
@@ -62,6 +61,7 @@ import lombok.Setter;
  */
 public abstract class BaseSQLParser<T extends Lexer, V extends Parser> implements SQLParser {
 
+    private static final Map<String, Map<Class<?>, Constructor<?>>> FACTORY_CONSTRUCTORS = new ConcurrentHashMap<>();
     @Getter
     @Setter
     private long timeoutMillis = -1;
@@ -109,10 +109,31 @@ public abstract class BaseSQLParser<T extends Lexer, V extends Parser> implement
     }
 
     public Statement buildStatement(ParseTree root) {
+        Constructor<?> constructor = getFactoryConstructors().get(root.getClass());
+        if (constructor == null) {
+            return null;
+        }
+        try {
+            return ((StatementFactory<? extends Statement>) constructor.newInstance(root)).generate();
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            return null;
+        }
+    }
+
+    /**
+     * the mapping between the class of the root context and the constructor of the
+     * {@link StatementFactory} is only determined by the base package, so it is resolved only once per
+     * base package instead of scanning the package for every statement
+     */
+    private Map<Class<?>, Constructor<?>> getFactoryConstructors() {
         String basePkg = getStatementFactoryBasePackage();
         if (StringUtils.isEmpty(basePkg)) {
             throw new IllegalStateException("Base package dir is empty, " + basePkg);
         }
+        return FACTORY_CONSTRUCTORS.computeIfAbsent(basePkg, this::loadFactoryConstructors);
+    }
+
+    private Map<Class<?>, Constructor<?>> loadFactoryConstructors(String basePkg) {
         basePkg = basePkg.replace('.', '/');
         URL url = BaseSQLParser.class.getClassLoader().getResource(basePkg);
         if (url == null) {
@@ -133,28 +154,17 @@ public abstract class BaseSQLParser<T extends Lexer, V extends Parser> implement
         } else {
             throw new IllegalArgumentException("UnSupported scheme " + scheme);
         }
-        Optional<Class<? extends StatementFactory<? extends Statement>>> optional = classes.stream().filter(clazz -> {
-            return getSupportedParameters(clazz).stream().anyMatch(items -> {
-                if (CollectionUtils.isEmpty(items)) {
-                    return false;
-                } else if (items.size() != 1) {
-                    return false;
+        Map<Class<?>, Constructor<?>> constructors = new HashMap<>();
+        for (Class<? extends StatementFactory<? extends Statement>> clazz : classes) {
+            for (Constructor<?> constructor : clazz.getConstructors()) {
+                Class<?>[] parameterTypes = constructor.getParameterTypes();
+                if (parameterTypes.length != 1) {
+                    continue;
                 }
-                return items.get(0).equals(root.getClass());
-            });
-        }).findFirst();
-        if (!optional.isPresent()) {
-            return null;
-        }
-        Class<? extends StatementFactory<? extends Statement>> clazz = optional.get();
-        try {
-            Constructor<? extends StatementFactory<? extends Statement>> constructor =
-                    clazz.getConstructor(root.getClass());
-            return constructor.newInstance(root).generate();
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException
-                | NoSuchMethodException e) {
-            return null;
+                constructors.putIfAbsent(parameterTypes[0], constructor);
+            }
         }
+        return Collections.unmodifiableMap(constructors);
     }
 
     private Set<Class<? extends StatementFactory<? extends Statement>>> loadClassesFromLocal(URI uri) {
@@ -207,18 +217,6 @@ public abstract class BaseSQLParser<T extends Lexer, V extends Parser> implement
                 .map(c -> (Class<? extends StatementFactory<? extends Statement>>) c).collect(Collectors.toSet());
     }
 
-    private List<List<Class<?>>> getSupportedParameters(Class<?> clazz) {
-        Constructor<?>[] constructors = clazz.getConstructors();
-        if (constructors.length == 0) {
-            return Collections.emptyList();
-        }
-        List<List<Class<?>>> types = new ArrayList<>();
-        for (Constructor<?> constructor : constructors) {
-            types.add(Arrays.stream(constructor.getParameters()).map(Parameter::getType).collect(Collectors.toList()));
-        }
-        return types;
-    }
-
     protected abstract String getStatementFactoryBasePackage();
 
 }
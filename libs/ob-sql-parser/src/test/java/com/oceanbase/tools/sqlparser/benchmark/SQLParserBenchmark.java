@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.tools.sqlparser.benchmark;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.oceanbase.tools.sqlparser.BaseSQLParser;
+import com.oceanbase.tools.sqlparser.OBMySQLParser;
+import com.oceanbase.tools.sqlparser.OBOracleSQLParser;
+import com.oceanbase.tools.sqlparser.statement.Statement;
+
+/**
+ * {@link SQLParserBenchmark}, measures the throughput of parsing a sql and building the
+ * {@link Statement} from the parse tree. Run {@link #main(String[])} against two revisions to
+ * compare, results are written to {@code target/jmh-sql-parser.json}.
+ *
+ * @author agent
+ * @date 2026-10-17 14:20
+ * @since sqlparser_1.4.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SQLParserBenchmark {
+
+    @Param({"OB_MYSQL", "OB_ORACLE"})
+    private String dialect;
+    private BaseSQLParser<?, ?> parser;
+    private String sql;
+    private ParseTree parseTree;
+
+    @Setup
+    public void setUp() {
+        if ("OB_MYSQL".equals(dialect)) {
+            this.parser = new OBMySQLParser();
+            this.sql = "select a.id, b.name from tab_a a left join tab_b b on a.id = b.id "
+                    + "where a.create_time > '2024-01-01' and b.status in (1, 2, 3) order by a.id desc limit 100";
+        } else {
+            this.parser = new OBOracleSQLParser();
+            this.sql = "select a.id, b.name from tab_a a left join tab_b b on a.id = b.id "
+                    + "where a.create_time > sysdate - 1 and b.status in (1, 2, 3) order by a.id desc "
+                    + "fetch first 100 rows only";
+        }
+        this.parseTree = this.parser.buildAst(new StringReader(this.sql));
+    }
+
+    @Benchmark
+    public Statement parseAndBuildStatement() {
+        return this.parser.parse(new StringReader(this.sql));
+    }
+
+    @Benchmark
+    public Statement buildStatement() {
+        return this.parser.buildStatement(this.parseTree);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SQLParserBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-sql-parser.json")
+                .build()).run();
+    }
+
+}
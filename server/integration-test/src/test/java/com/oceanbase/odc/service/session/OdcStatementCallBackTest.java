@@ -18,6 +18,8 @@ package com.oceanbase.odc.service.session;
 import java.io.ByteArrayInputStream;
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -44,6 +46,7 @@ import com.oceanbase.odc.core.sql.execute.model.SqlTuple;
 import com.oceanbase.odc.core.sql.execute.task.DefaultSqlExecuteTaskManager;
 import com.oceanbase.odc.core.sql.execute.task.SqlExecuteTaskManager;
 import com.oceanbase.odc.service.plugin.ConnectionPluginUtil;
+import com.oceanbase.odc.service.session.model.AsyncExecuteContext;
 
 /**
  * Test case for {@link GeneralAsyncJdbcExecutor}
@@ -102,6 +105,39 @@ public class OdcStatementCallBackTest extends PluginTestEnv {
         }
     }
 
+    @Test
+    public void execute_streamingResultSet_publishChunksBeforeFinished() throws Exception {
+        List<String> sqls = Collections.singletonList("select level from dual connect by level <= 25");
+        ConnectType connectType = ConnectType.OB_ORACLE;
+        CloneableDataSourceFactory factory = getDataSourceFactory(connectType.getDialectType());
+        try (SingleConnectionDataSource dataSource = (SingleConnectionDataSource) factory.getDataSource()) {
+            GeneralAsyncJdbcExecutor executor = getAyncJdbcExecutor(dataSource, factory, connectType.getDialectType());
+            List<SqlTuple> sqlTuples = SqlTuple.newTuples(sqls);
+            AsyncExecuteContext context = new AsyncExecuteContext(sqlTuples, new HashMap<>());
+            OdcStatementCallBack callBack = generateStatementCallback(sqlTuples, connectType, context);
+            callBack.setStreamingChunkSize(10);
+            context.setFuture(executor.execute(callBack));
+            context.getFuture().get();
+
+            List<JdbcGeneralResult> results = context.getMoreSqlExecutionResults(1000);
+            Assert.assertEquals(3, results.size());
+            Assert.assertTrue(results.get(0).isPartial());
+            Assert.assertTrue(results.get(1).isPartial());
+            Assert.assertFalse(results.get(2).isPartial());
+            Assert.assertEquals(2, results.get(2).getChunkIndex());
+            Assert.assertEquals(5, results.get(2).getQueryResult().getRows().size());
+        }
+    }
+
+    private OdcStatementCallBack generateStatementCallback(List<SqlTuple> sqlTuples, ConnectType connectType,
+            AsyncExecuteContext context) {
+        ConnectionSession connectionSession = new TestConnectionSession(
+                "12", new ByteArrayInputStream("abcd".getBytes()), connectType);
+        connectionSession.setAttribute(ConnectionSessionConstants.OB_VERSION, "2.2.77");
+        ConnectionSessionUtil.initConsoleSessionTimeZone(connectionSession, "Asia/Shanghai");
+        return new OdcStatementCallBack(sqlTuples, connectionSession, true, 1000, true, context);
+    }
+
     private OdcStatementCallBack generateStatementCallback(List<String> sqls, ConnectType connectType) {
         ConnectionSession connectionSession = new TestConnectionSession(
                 "12", new ByteArrayInputStream("abcd".getBytes()), connectType);
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.benchmark;
+
+import java.io.File;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * {@link BenchmarkRunner}, entrance of all the benchmarks in this module. Usage:
+ *
+ * <pre>
+ *     java -cp ... com.oceanbase.odc.benchmark.BenchmarkRunner [include regex] [result file]
+ * </pre>
+ *
+ * Results are written in {@code JSON} format (to {@code target/jmh-result.json} by default), so
+ * that they can be collected and compared across releases.
+ *
+ * @author agent
+ * @date 2026-10-17 15:10
+ * @since ODC_release_4.3.2
+ */
+public class BenchmarkRunner {
+
+    private static final String DEFAULT_RESULT_FILE = "target" + File.separator + "jmh-result.json";
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : BenchmarkRunner.class.getPackage().getName() + ".*";
+        String resultFile = args.length > 1 ? args[1] : DEFAULT_RESULT_FILE;
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile);
+        new Runner(builder.build()).run();
+    }
+
+}
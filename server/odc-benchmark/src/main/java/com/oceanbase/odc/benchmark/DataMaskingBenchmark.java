@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oceanbase.odc.core.datamasking.algorithm.Algorithm;
+import com.oceanbase.odc.core.datamasking.algorithm.AlgorithmEnum;
+import com.oceanbase.odc.core.datamasking.algorithm.AlgorithmFactory;
+import com.oceanbase.odc.core.datamasking.config.FieldConfig;
+import com.oceanbase.odc.core.datamasking.config.MaskConfig;
+import com.oceanbase.odc.core.datamasking.masker.SingleValueDataMasker;
+import com.oceanbase.odc.core.datamasking.masker.ValueMeta;
+import com.oceanbase.odc.core.sql.execute.model.JdbcColumnMetaData;
+import com.oceanbase.odc.service.datasecurity.DataMaskingService;
+import com.oceanbase.odc.service.session.model.DBResultSetMetaData;
+import com.oceanbase.odc.service.session.model.SqlExecuteResult;
+
+/**
+ * {@link DataMaskingBenchmark}, masks a result set with {@code rowCount * 10} cells using
+ * {@link DataMaskingService#maskRowsUsingAlgorithms(SqlExecuteResult, List)}, and the same cells
+ * one by one using {@link SingleValueDataMasker} as the data export does
+ *
+ * @author agent
+ * @date 2026-10-17 15:10
+ * @since ODC_release_4.3.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DataMaskingBenchmark {
+
+    private static final int COLUMN_COUNT = 10;
+    /**
+     * 100000 rows * 10 columns = 1M cells
+     */
+    @Param({"100000"})
+    private int rowCount;
+    private final DataMaskingService maskingService = new DataMaskingService();
+    private List<Algorithm> algorithms;
+    private SqlExecuteResult result;
+    private SingleValueDataMasker singleValueMasker;
+    private List<ValueMeta> valueMetas;
+
+    @Setup(Level.Trial)
+    public void setUpAlgorithms() {
+        this.algorithms = new ArrayList<>();
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            Map<String, Object> params = new HashMap<>();
+            switch (i % 5) {
+                case 0:
+                    params.put(AlgorithmFactory.HASH_TYPE_KEY, "SHA256");
+                    algorithms.add(AlgorithmFactory.createAlgorithm(AlgorithmEnum.HASH, params));
+                    break;
+                case 1:
+                    params.put(AlgorithmFactory.HASH_TYPE_KEY, "SM3");
+                    algorithms.add(AlgorithmFactory.createAlgorithm(AlgorithmEnum.HASH, params));
+                    break;
+                case 2:
+                    params.put(AlgorithmFactory.ROUNDING_IS_DECIMAL_KEY, true);
+                    params.put(AlgorithmFactory.ROUNDING_PRECISION_KEY, 1);
+                    algorithms.add(AlgorithmFactory.createAlgorithm(AlgorithmEnum.ROUNDING, params));
+                    break;
+                case 3:
+                    algorithms.add(AlgorithmFactory.createAlgorithm(AlgorithmEnum.NULL, params));
+                    break;
+                default:
+                    algorithms.add(null);
+            }
+        }
+        MaskConfig maskConfig = new MaskConfig();
+        this.valueMetas = new ArrayList<>();
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            Algorithm algorithm = algorithms.get(i);
+            String dataType = algorithm != null && algorithm.getType() == AlgorithmEnum.ROUNDING ? "double" : "string";
+            valueMetas.add(new ValueMeta(dataType, "c" + i));
+            if (algorithm == null || algorithm.getType() != AlgorithmEnum.HASH) {
+                continue;
+            }
+            Map<String, Object> params = new HashMap<>();
+            params.put(AlgorithmFactory.HASH_TYPE_KEY, i % 5 == 0 ? "SHA256" : "SM3");
+            maskConfig.addFieldConfig(FieldConfig.builder().fieldName("c" + i)
+                    .algorithmType(AlgorithmEnum.HASH.name()).algorithmParams(params).build());
+        }
+        this.singleValueMasker = new SingleValueDataMasker(maskConfig);
+    }
+
+    /**
+     * masking modifies the rows in place, so the result set has to be regenerated before each
+     * invocation
+     */
+    @Setup(Level.Invocation)
+    public void setUpResult() {
+        List<String> labels = new ArrayList<>();
+        List<JdbcColumnMetaData> columns = new ArrayList<>();
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            labels.add("c" + i);
+            JdbcColumnMetaData column = new JdbcColumnMetaData();
+            column.setColumnLabel("c" + i);
+            column.setColumnName("c" + i);
+            columns.add(column);
+        }
+        List<List<Object>> rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            List<Object> row = new ArrayList<>(COLUMN_COUNT);
+            for (int j = 0; j < COLUMN_COUNT; j++) {
+                // low cardinality on purpose, eg. status codes and regions
+                row.add(j % 5 == 2 ? String.valueOf((i % 97) * 1.37) : "value_" + (i % (j * 100 + 7)));
+            }
+            rows.add(row);
+        }
+        DBResultSetMetaData metaData = new DBResultSetMetaData();
+        metaData.setFieldMetaDataList(columns);
+        this.result = new SqlExecuteResult();
+        this.result.setColumnLabels(labels);
+        this.result.setRows(rows);
+        this.result.setResultSetMetaData(metaData);
+    }
+
+    @Benchmark
+    public SqlExecuteResult maskRowsUsingAlgorithms() {
+        maskingService.maskRowsUsingAlgorithms(result, algorithms);
+        return result;
+    }
+
+    @Benchmark
+    public SqlExecuteResult maskSingleValues() {
+        for (List<Object> row : result.getRows()) {
+            for (int i = 0; i < COLUMN_COUNT; i++) {
+                Object value = row.get(i);
+                if (value != null) {
+                    row.set(i, singleValueMasker.mask(value.toString(), valueMetas.get(i)));
+                }
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.oceanbase.odc.core.shared.constant.DialectType;
+import com.oceanbase.odc.core.sql.execute.mapper.BaseDialectBasedRowMapper;
+import com.oceanbase.odc.core.sql.execute.mapper.GeneralLobMapper;
+import com.oceanbase.odc.core.sql.execute.mapper.JdbcColumnMapper;
+import com.oceanbase.odc.core.sql.execute.mapper.MySQLBitMapper;
+import com.oceanbase.odc.core.sql.execute.mapper.MySQLDatetimeMapper;
+import com.oceanbase.odc.core.sql.execute.mapper.MySQLGeometryMapper;
+import com.oceanbase.odc.core.sql.execute.mapper.MySQLNumberMapper;
+import com.oceanbase.odc.core.sql.execute.mapper.MySQLTimestampMapper;
+import com.oceanbase.odc.core.sql.execute.mapper.MySQLYearMapper;
+
+import lombok.NonNull;
+
+/**
+ * {@link JdbcRowMapperBenchmark}, maps a result set with {@code rowCount * 10} cells using the
+ * {@code MySQL} column mappers, the same as the ones used by the sql console
+ *
+ * @author agent
+ * @date 2026-10-17 15:10
+ * @since ODC_release_4.3.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JdbcRowMapperBenchmark {
+
+    /**
+     * 100000 rows * 10 columns = 1M cells
+     */
+    @Param({"100000"})
+    private int rowCount;
+    private SimpleResultSet resultSet;
+    private final MySQLRowMapper rowMapper = new MySQLRowMapper();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.resultSet = new SimpleResultSet();
+        this.resultSet.setAutoClose(false);
+        for (int i = 0; i < 10; i++) {
+            switch (i % 3) {
+                case 0:
+                    resultSet.addColumn("c" + i, Types.DECIMAL, "DECIMAL", 16, 2);
+                    break;
+                case 1:
+                    resultSet.addColumn("c" + i, Types.VARCHAR, "VARCHAR", 64, 0);
+                    break;
+                default:
+                    resultSet.addColumn("c" + i, Types.TIMESTAMP, "DATETIME", 19, 0);
+            }
+        }
+        for (int i = 0; i < rowCount; i++) {
+            Object[] row = new Object[10];
+            for (int j = 0; j < row.length; j++) {
+                switch (j % 3) {
+                    case 0:
+                        row[j] = (i + "." + j).getBytes(StandardCharsets.UTF_8);
+                        break;
+                    case 1:
+                        row[j] = "user_" + i + "_" + j;
+                        break;
+                    default:
+                        row[j] = "2024-10-17 12:00:00".getBytes(StandardCharsets.UTF_8);
+                }
+            }
+            resultSet.addRow(row);
+        }
+    }
+
+    @Benchmark
+    public void mapRows(Blackhole blackhole) throws SQLException, IOException {
+        resultSet.beforeFirst();
+        while (resultSet.next()) {
+            blackhole.consume(rowMapper.mapRow(resultSet));
+        }
+    }
+
+    private static class MySQLRowMapper extends BaseDialectBasedRowMapper {
+
+        private final List<JdbcColumnMapper> mappers = Arrays.asList(new MySQLBitMapper(),
+                new MySQLDatetimeMapper(), new MySQLYearMapper(), new MySQLTimestampMapper(),
+                new MySQLGeometryMapper(), new MySQLNumberMapper(), new GeneralLobMapper());
+
+        MySQLRowMapper() {
+            super(DialectType.OB_MYSQL);
+        }
+
+        @Override
+        protected Collection<JdbcColumnMapper> getColumnDataMappers(@NonNull DialectType dialectType) {
+            return mappers;
+        }
+    }
+
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link JobClaimBenchmark}, measures how many jobs are started per second when 1, 4 and 8 odc
+ * nodes (one thread for each) scan the same {@code job_job} table. {@code perRowLock} is the way a
+ * round used to work: find the first preparing jobs without lock and lock them one by one, so all
+ * the nodes fight for the same rows. {@code claimBatch} claims a batch of jobs by one update
+ * statement and only starts the claimed ones. Each started job is replaced by a new preparing job
+ * so that the table keeps the same size, read the {@code started} counter for jobs started per
+ * second.
+ *
+ * @author agent
+ * @date 2026-10-17 21:30
+ * @since ODC_release_4.3.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class JobClaimBenchmark {
+
+    private static final String URL =
+            "jdbc:h2:mem:job_claim_benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000";
+
+    @State(Scope.Benchmark)
+    public static class JobTable {
+
+        @Param({"1000"})
+        private int preparingJobCount;
+        @Param({"10"})
+        private int batchSize;
+        private Connection keepAlive;
+
+        @Setup(Level.Trial)
+        public void setUp() throws SQLException {
+            this.keepAlive = DriverManager.getConnection(URL);
+            try (Statement statement = keepAlive.createStatement()) {
+                statement.execute("drop table if exists job_job");
+                statement.execute("create table job_job(id bigint auto_increment primary key,"
+                        + " status varchar(32) not null, create_time datetime not null,"
+                        + " claim_owner varchar(128), claim_expire_time datetime)");
+                statement.execute("create index idx_job_job_status on job_job(status)");
+                statement.execute("create index idx_job_job_claim_owner on job_job(claim_owner)");
+            }
+            try (PreparedStatement ps = keepAlive.prepareStatement(
+                    "insert into job_job(status, create_time) values('PREPARING', now())")) {
+                for (int i = 0; i < preparingJobCount; i++) {
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            try (Statement statement = keepAlive.createStatement()) {
+                statement.execute("drop table job_job");
+            }
+            keepAlive.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Node {
+
+        public long started;
+        public long conflicted;
+        private Connection connection;
+
+        @Setup(Level.Trial)
+        public void setUp() throws SQLException {
+            this.connection = DriverManager.getConnection(URL);
+            this.connection.setAutoCommit(false);
+        }
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.started = 0;
+            this.conflicted = 0;
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void perRowLock_1Node(JobTable table, Node node) throws SQLException {
+        perRowLock(table, node);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void perRowLock_4Nodes(JobTable table, Node node) throws SQLException {
+        perRowLock(table, node);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void perRowLock_8Nodes(JobTable table, Node node) throws SQLException {
+        perRowLock(table, node);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void claimBatch_1Node(JobTable table, Node node) throws SQLException {
+        claimBatch(table, node);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void claimBatch_4Nodes(JobTable table, Node node) throws SQLException {
+        claimBatch(table, node);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void claimBatch_8Nodes(JobTable table, Node node) throws SQLException {
+        claimBatch(table, node);
+    }
+
+    private void perRowLock(JobTable table, Node node) throws SQLException {
+        Connection connection = node.connection;
+        List<Long> ids = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(
+                "select id from job_job where status='PREPARING' order by id limit ?")) {
+            ps.setInt(1, table.batchSize);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getLong(1));
+                }
+            }
+        }
+        connection.commit();
+        for (Long id : ids) {
+            String status;
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "select status from job_job where id=? for update")) {
+                ps.setLong(1, id);
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    status = rs.getString(1);
+                }
+            }
+            if ("PREPARING".equals(status)) {
+                start(connection, id);
+                node.started++;
+            } else {
+                node.conflicted++;
+            }
+            connection.commit();
+        }
+    }
+
+    private void claimBatch(JobTable table, Node node) throws SQLException {
+        Connection connection = node.connection;
+        String owner = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
+        try (PreparedStatement ps = connection.prepareStatement("update job_job set claim_owner=?,"
+                + " claim_expire_time=? where status='PREPARING'"
+                + " and (claim_expire_time is null or claim_expire_time < ?) order by id limit ?")) {
+            ps.setString(1, owner);
+            ps.setTimestamp(2, new Timestamp(now + TimeUnit.MINUTES.toMillis(1)));
+            ps.setTimestamp(3, new Timestamp(now));
+            ps.setInt(4, table.batchSize);
+            ps.executeUpdate();
+        }
+        connection.commit();
+        List<Long> ids = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement("select id from job_job where claim_owner=?")) {
+            ps.setString(1, owner);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getLong(1));
+                }
+            }
+        }
+        connection.commit();
+        for (Long id : ids) {
+            // the lock is still taken as the job starter does, but nobody else competes for it
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "select status from job_job where id=? for update")) {
+                ps.setLong(1, id);
+                ps.executeQuery().close();
+            }
+            start(connection, id);
+            node.started++;
+            connection.commit();
+        }
+    }
+
+    /**
+     * mark the job as running and submit a new preparing job to keep the size of the table
+     */
+    private static void start(Connection connection, long id) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "update job_job set status='RUNNING', claim_expire_time=null where id=?")) {
+            ps.setLong(1, id);
+            ps.executeUpdate();
+        }
+        try (PreparedStatement ps = connection.prepareStatement(
+                "insert into job_job(status, create_time) values('PREPARING', now())")) {
+            ps.executeUpdate();
+        }
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oceanbase.odc.core.sql.execute.cache.PageManager;
+import com.oceanbase.odc.core.sql.execute.cache.PageManager.Page;
+import com.oceanbase.odc.core.sql.execute.cache.PagedRandomAccessFile;
+
+/**
+ * {@link PageManagerBenchmark}, reads and writes the pages which back the result-set cache
+ *
+ * @author agent
+ * @date 2026-10-17 15:10
+ * @since ODC_release_4.3.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class PageManagerBenchmark {
+
+    /**
+     * max count of pages kept in memory, pages exceeding this limit will be swapped to disk
+     */
+    @Param({"64", "1024"})
+    private int maxPageCountInMem;
+    @Param({"4096"})
+    private int pageCount;
+    private File workingDir;
+    private PageManager pageManager;
+    private PagedRandomAccessFile file;
+    private byte[] chunk;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.workingDir = Files.createTempDirectory("odc-benchmark-page").toFile();
+        this.pageManager = new PageManager(workingDir.getAbsolutePath(), maxPageCountInMem);
+        this.pageManager.create(pageCount);
+        File metaFile = new File(workingDir, "data");
+        FileUtils.touch(metaFile);
+        this.file = new PagedRandomAccessFile(metaFile.getAbsolutePath(), pageManager);
+        this.chunk = new byte[PageManager.STORAGE_LAYER_PAGE_SIZE_BYTE / 4];
+        new Random(1).nextBytes(chunk);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.file.close();
+        this.pageManager.close();
+        FileUtils.deleteQuietly(workingDir);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Page randomGet() throws IOException {
+        return pageManager.get(ThreadLocalRandom.current().nextInt(pageCount));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Page randomModify() throws IOException {
+        Page page = pageManager.get(ThreadLocalRandom.current().nextInt(pageCount));
+        page.seekForWrite(0);
+        page.write(chunk);
+        return pageManager.modify(page);
+    }
+
+    @Benchmark
+    public long sequentialWriteAndRead() throws IOException {
+        file.seekForWrite(0);
+        for (int i = 0; i < 256; i++) {
+            file.write(chunk);
+        }
+        file.seekForRead(0);
+        byte[] buffer = new byte[chunk.length];
+        long total = 0;
+        for (int i = 0; i < 256; i++) {
+            total += file.read(buffer);
+        }
+        return total;
+    }
+
+}
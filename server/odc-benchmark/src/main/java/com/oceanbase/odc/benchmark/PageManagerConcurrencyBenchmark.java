@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oceanbase.odc.core.sql.execute.cache.PageManager;
+import com.oceanbase.odc.core.sql.execute.cache.PageManager.Page;
+
+/**
+ * {@link PageManagerConcurrencyBenchmark}, measures the throughput of a shared {@link PageManager}
+ * under 1, 8 and 64 threads. Each operation reads a random page, one of five operations also
+ * modifies it, and the working set is several times larger than the pages kept in memory so that
+ * pages are swapped in and out continuously.
+ *
+ * @author agent
+ * @date 2026-10-17 18:40
+ * @since ODC_release_4.3.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class PageManagerConcurrencyBenchmark {
+
+    @Param({"512"})
+    private int maxPageCountInMem;
+    @Param({"4096"})
+    private int pageCount;
+    private File workingDir;
+    private PageManager pageManager;
+    private byte[] chunk;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.workingDir = Files.createTempDirectory("odc-benchmark-page-concurrency").toFile();
+        this.pageManager = new PageManager(workingDir.getAbsolutePath(), maxPageCountInMem);
+        this.pageManager.create(pageCount);
+        this.chunk = new byte[1024];
+        ThreadLocalRandom.current().nextBytes(chunk);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.pageManager.close();
+        FileUtils.deleteQuietly(workingDir);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Page mixed_1Thread() throws IOException {
+        return readOrModify();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Page mixed_8Threads() throws IOException {
+        return readOrModify();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Page mixed_64Threads() throws IOException {
+        return readOrModify();
+    }
+
+    private Page readOrModify() throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Page page = pageManager.get(random.nextInt(pageCount));
+        if (random.nextInt(5) != 0) {
+            return page;
+        }
+        page.seekForWrite(random.nextInt(PageManager.STORAGE_LAYER_PAGE_SIZE_BYTE - chunk.length));
+        page.write(chunk);
+        return pageManager.modify(page);
+    }
+
+}
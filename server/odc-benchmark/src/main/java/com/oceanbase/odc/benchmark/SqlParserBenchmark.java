@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.benchmark;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.oceanbase.odc.benchmark.corpus.SqlCorpus;
+import com.oceanbase.tools.sqlparser.OBMySQLParser;
+import com.oceanbase.tools.sqlparser.OBOracleSQLParser;
+import com.oceanbase.tools.sqlparser.SQLParser;
+
+/**
+ * {@link SqlParserBenchmark}, parses statements usually executed in the sql console with
+ * {@link OBMySQLParser} and {@link OBOracleSQLParser}
+ *
+ * @author agent
+ * @date 2026-10-17 15:10
+ * @since ODC_release_4.3.2
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SqlParserBenchmark {
+
+    @Param({"OB_MYSQL", "OB_ORACLE"})
+    private String dialect;
+    private SQLParser parser;
+    private List<String> sqls;
+
+    @Setup
+    public void setUp() {
+        if ("OB_MYSQL".equals(dialect)) {
+            this.parser = new OBMySQLParser();
+            this.sqls = SqlCorpus.mysqlStatements();
+        } else {
+            this.parser = new OBOracleSQLParser();
+            this.sqls = SqlCorpus.oracleStatements();
+        }
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        for (String sql : sqls) {
+            blackhole.consume(parser.parse(new StringReader(sql)));
+        }
+    }
+
+}
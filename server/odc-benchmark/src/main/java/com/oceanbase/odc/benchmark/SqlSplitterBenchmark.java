@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.oceanbase.odc.benchmark.corpus.SqlCorpus;
+import com.oceanbase.odc.core.sql.split.OffsetString;
+import com.oceanbase.odc.core.sql.split.SqlSplitter;
+import com.oceanbase.odc.core.sql.split.SqlStatementIterator;
+import com.oceanbase.tools.sqlparser.oboracle.PLLexer;
+import com.oceanbase.tools.sqlparser.oracle.PlSqlLexer;
+
+/**
+ * {@link SqlSplitterBenchmark}, splits a large {@code PL/SQL} package with {@link SqlSplitter}
+ *
+ * @author agent
+ * @date 2026-10-17 15:10
+ * @since ODC_release_4.3.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SqlSplitterBenchmark {
+
+    @Param({"PlSqlLexer", "PLLexer"})
+    private String lexer;
+    /**
+     * size of the package in bytes, 4 MB by default
+     */
+    @Param({"4194304"})
+    private int scriptBytes;
+    private String script;
+    private byte[] scriptInBytes;
+
+    @Setup
+    public void setUp() {
+        this.script = SqlCorpus.oraclePackage(scriptBytes);
+        this.scriptInBytes = script.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<OffsetString> split() {
+        SqlSplitter splitter = "PLLexer".equals(lexer) ? new SqlSplitter(PLLexer.class, ";")
+                : new SqlSplitter(PlSqlLexer.class, ";");
+        return splitter.split(script);
+    }
+
+    @Benchmark
+    public void iterator(Blackhole blackhole) {
+        SqlStatementIterator iterator = SqlSplitter.iterator(
+                new ByteArrayInputStream(scriptInBytes), StandardCharsets.UTF_8, ";");
+        while (iterator.hasNext()) {
+            blackhole.consume(iterator.next());
+        }
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.oceanbase.odc.core.sql.execute.cache.model.CommonVirtualElement;
+import com.oceanbase.odc.core.sql.execute.cache.table.ColumnarVirtualTable;
+import com.oceanbase.odc.core.sql.execute.cache.table.CrossLinkedVirtualTable;
+import com.oceanbase.odc.core.sql.execute.cache.table.VirtualElement;
+import com.oceanbase.odc.core.sql.execute.cache.table.VirtualTable;
+
+/**
+ * {@link VirtualTableBenchmark}, builds and scans a result set cache of {@code rowCount * 6} cells.
+ * Run with {@code -prof gc} to compare the memory allocated by the implementations.
+ *
+ * @author agent
+ * @date 2026-10-17 21:05
+ * @since ODC_release_4.3.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class VirtualTableBenchmark {
+
+    private static final String TABLE_ID = "bench_table";
+    @Param({"10000"})
+    private int rowCount;
+    @Param({"CROSS_LINKED", "COLUMNAR"})
+    private String implementation;
+    private VirtualTable virtualTable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.virtualTable = build();
+    }
+
+    @Benchmark
+    public VirtualTable build() {
+        if ("COLUMNAR".equals(implementation)) {
+            ColumnarVirtualTable table = new ColumnarVirtualTable(TABLE_ID);
+            for (long i = 0; i < rowCount; i++) {
+                for (int j = 0; j < 6; j++) {
+                    table.put(element(i, j));
+                }
+            }
+            return table;
+        }
+        CrossLinkedVirtualTable table = new CrossLinkedVirtualTable(TABLE_ID);
+        for (long i = 0; i < rowCount; i++) {
+            for (int j = 0; j < 6; j++) {
+                table.put(element(i, j));
+            }
+        }
+        return table;
+    }
+
+    @Benchmark
+    public void scan(Blackhole blackhole) {
+        this.virtualTable.forEach(line -> {
+            for (VirtualElement element : line) {
+                blackhole.consume(element.getContent());
+            }
+        });
+    }
+
+    @Benchmark
+    public VirtualTable selectOneRow() {
+        long rowId = rowCount / 2;
+        return this.virtualTable.select(line -> line.rowId() == rowId);
+    }
+
+    private VirtualElement element(long rowId, int columnId) {
+        Object content;
+        switch (columnId) {
+            case 0:
+                content = rowId;
+                break;
+            case 1:
+                content = (int) (rowId % 100);
+                break;
+            case 2:
+                content = rowId * 1.5D;
+                break;
+            case 3:
+                content = "status_" + (rowId % 8);
+                break;
+            default:
+                content = "user_" + rowId + "_" + columnId;
+        }
+        return new CommonVirtualElement(TABLE_ID, rowId, columnId, "VARCHAR", "c" + columnId, content);
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.benchmark.corpus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * {@link SqlCorpus}, generates deterministic sql scripts which look like the scripts users really
+ * execute or import, so that the benchmarks are not dominated by trivial inputs
+ *
+ * @author agent
+ * @date 2026-10-17 15:02
+ * @since ODC_release_4.3.2
+ */
+public class SqlCorpus {
+
+    private static final long SEED = 20241017L;
+
+    private SqlCorpus() {}
+
+    /**
+     * A {@code PL/SQL} script which contains a package and its body, the size of the script is about
+     * {@code targetBytes}
+     */
+    public static String oraclePackage(int targetBytes) {
+        StringBuilder spec = new StringBuilder("CREATE OR REPLACE PACKAGE bench_pkg AS\n");
+        StringBuilder body = new StringBuilder("CREATE OR REPLACE PACKAGE BODY bench_pkg AS\n");
+        int i = 0;
+        while (spec.length() + body.length() < targetBytes) {
+            spec.append("  PROCEDURE proc_").append(i).append("(p_id IN NUMBER, p_name IN VARCHAR2);\n");
+            body.append("  -- procedure ").append(i).append(", generated for benchmark; do not edit\n")
+                    .append("  PROCEDURE proc_").append(i).append("(p_id IN NUMBER, p_name IN VARCHAR2) IS\n")
+                    .append("    v_cnt NUMBER := 0;\n")
+                    .append("    v_msg VARCHAR2(200) := 'start; id=' || p_id;\n")
+                    .append("    CURSOR c_emp IS SELECT id, name FROM emp WHERE dept_id = p_id;\n")
+                    .append("  BEGIN\n")
+                    .append("    /* count the rows; the comment contains a delimiter ; */\n")
+                    .append("    SELECT COUNT(*) INTO v_cnt FROM emp WHERE name = p_name;\n")
+                    .append("    IF v_cnt > 0 THEN\n")
+                    .append("      FOR r IN c_emp LOOP\n")
+                    .append("        UPDATE emp SET salary = salary * 1.1 WHERE id = r.id;\n")
+                    .append("      END LOOP;\n")
+                    .append("    ELSIF v_cnt = 0 THEN\n")
+                    .append("      INSERT INTO emp(id, name) VALUES (p_id, p_name);\n")
+                    .append("    ELSE\n")
+                    .append("      v_msg := CASE WHEN p_id > 10 THEN 'big' ELSE 'small' END;\n")
+                    .append("    END IF;\n")
+                    .append("    WHILE v_cnt < 3 LOOP\n")
+                    .append("      v_cnt := v_cnt + 1;\n")
+                    .append("    END LOOP;\n")
+                    .append("  EXCEPTION\n")
+                    .append("    WHEN OTHERS THEN\n")
+                    .append("      dbms_output.put_line(v_msg || SQLERRM);\n")
+                    .append("  END proc_").append(i).append(";\n\n");
+            i++;
+        }
+        spec.append("END bench_pkg;\n/\n");
+        body.append("END bench_pkg;\n/\n");
+        return spec.append(body).toString();
+    }
+
+    /**
+     * A {@code MySQL} dump which contains {@code statementCount} statements
+     */
+    public static String mysqlDump(int statementCount) {
+        Random random = new Random(SEED);
+        StringBuilder builder = new StringBuilder();
+        builder.append("-- MySQL dump generated for benchmark\n")
+                .append("/*!40101 SET NAMES utf8mb4 */;\n")
+                .append("DROP TABLE IF EXISTS `bench_order`;\n")
+                .append("CREATE TABLE `bench_order` (\n")
+                .append("  `id` bigint NOT NULL AUTO_INCREMENT COMMENT 'order id; primary key',\n")
+                .append("  `user_name` varchar(64) DEFAULT NULL,\n")
+                .append("  `phone` varchar(32) DEFAULT NULL,\n")
+                .append("  `amount` decimal(16,2) DEFAULT NULL,\n")
+                .append("  `gmt_create` datetime DEFAULT CURRENT_TIMESTAMP,\n")
+                .append("  PRIMARY KEY (`id`)\n")
+                .append(") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;\n");
+        for (int i = 4; i < statementCount; i++) {
+            if (i % 1000 == 0) {
+                builder.append("/* batch ").append(i / 1000).append(" */\n");
+            }
+            builder.append("INSERT INTO `bench_order` VALUES (").append(i)
+                    .append(",'user_").append(i).append(";\\'quoted\\''")
+                    .append(",'1").append(30000000000L + random.nextInt(999999999)).append("'")
+                    .append(",").append(random.nextInt(100000)).append(".").append(random.nextInt(100))
+                    .append(",'2024-10-17 12:00:00'); # row ").append(i).append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * A list of single statements which are usually executed in the sql console
+     */
+    public static List<String> mysqlStatements() {
+        List<String> sqls = new ArrayList<>();
+        sqls.add("select a.id, b.name from tab_a a left join tab_b b on a.id = b.id "
+                + "where a.create_time > '2024-01-01' and b.status in (1, 2, 3) order by a.id desc limit 100");
+        sqls.add("insert into tab_a(id, name, create_time) values (1, 'abc', now()), (2, 'def', now())");
+        sqls.add("update tab_a set name = 'x', status = status + 1 where id in (select id from tab_b where c > 10)");
+        sqls.add("create table tab_c (id bigint primary key, name varchar(64) not null default '', "
+                + "key idx_name(name)) partition by hash(id) partitions 8");
+        return sqls;
+    }
+
+    public static List<String> oracleStatements() {
+        List<String> sqls = new ArrayList<>();
+        sqls.add("select a.id, b.name from tab_a a left join tab_b b on a.id = b.id "
+                + "where a.create_time > sysdate - 1 and b.status in (1, 2, 3) order by a.id desc "
+                + "fetch first 100 rows only");
+        sqls.add("insert into tab_a(id, name, create_time) values (1, 'abc', sysdate)");
+        sqls.add("update tab_a set name = 'x', status = status + 1 where id in (select id from tab_b where c > 10)");
+        sqls.add("create table tab_c (id number primary key, name varchar2(64) default '' not null) "
+                + "partition by hash(id) partitions 8");
+        return sqls;
+    }
+
+}
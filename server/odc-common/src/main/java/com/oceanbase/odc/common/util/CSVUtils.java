@@ -65,12 +65,24 @@ public class CSVUtils {
 
     public static <T> String buildCSVFormatData(Iterable<T> records, Class<T> clazz) {
         StringBuilder stringBuilder = new StringBuilder();
+        writeCSVFormatData(records, clazz, stringBuilder);
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Write the records to the output one by one, the records are iterated only once, so a lazily
+     * loaded {@link Iterable} is never held in memory as a whole
+     *
+     * @return count of written records
+     */
+    public static <T> long writeCSVFormatData(Iterable<T> records, Class<T> clazz, Appendable out) {
+        long count = 0;
         Field[] declaredFields = clazz.getDeclaredFields();
         // 忽略 nested class 的特殊字段
         List<String> headers = Arrays.stream(declaredFields)
                 .filter(f -> !StringUtils.startsWith(f.getName(), "this$"))
                 .map(Field::getName).collect(Collectors.toList());
-        try (CSVPrinter csvPrinter = new CSVPrinter(stringBuilder, csvFormat)) {
+        try (CSVPrinter csvPrinter = new CSVPrinter(out, csvFormat)) {
             csvPrinter.printRecord(headers);
             for (T record : records) {
                 String json = objectMapper.writeValueAsString(record);
@@ -85,13 +97,14 @@ public class CSVUtils {
                     row.add(t.asText());
                 });
                 csvPrinter.printRecord(row);
+                count++;
             }
             csvPrinter.flush();
         } catch (Exception e) {
             log.warn("build CSV format string failed, errorMessage={}", e.getMessage());
             throw new IllegalStateException("build CSV format string failed");
         }
-        return stringBuilder.toString();
+        return count;
     }
 }
 
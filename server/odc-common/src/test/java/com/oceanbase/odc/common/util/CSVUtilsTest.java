@@ -17,6 +17,8 @@ package com.oceanbase.odc.common.util;
 
 import java.time.OffsetDateTime;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Stream;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -39,6 +41,23 @@ public class CSVUtilsTest {
                 + "1,\"ab \",EXPORT,2022-03-31T23:02:43+08:00\n", csv);
     }
 
+    @Test
+    public void writeCSVFormatData_LazyIterable_WrittenOneByOne() {
+        A a = new A();
+        a.c1 = 1L;
+        a.c2 = "ab";
+        a.c3 = AuditEventType.EXPORT;
+        a.c4 = OffsetDateTime.parse("2022-03-31T23:02:43+08:00");
+        StringBuilder out = new StringBuilder();
+        Iterable<A> records = () -> Stream.generate(() -> a).limit(3).iterator();
+
+        long count = CSVUtils.writeCSVFormatData(records, A.class, out);
+
+        Assert.assertEquals(3, count);
+        Assert.assertEquals("c1,c2,c3,c4\n" + String.join("", Collections.nCopies(3,
+                "1,ab,EXPORT,2022-03-31T23:02:43+08:00\n")), out.toString());
+    }
+
     @Data
     public class A {
         private Long c1;
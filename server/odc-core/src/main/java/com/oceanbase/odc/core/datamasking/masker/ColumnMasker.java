@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.core.datamasking.masker;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.oceanbase.odc.core.datamasking.algorithm.Algorithm;
+import com.oceanbase.odc.core.datamasking.algorithm.AlgorithmEnum;
+import com.oceanbase.odc.core.datamasking.data.Data;
+import com.oceanbase.odc.core.datamasking.data.metadata.Metadata;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * {@link ColumnMasker}, masks the values of a column with an {@link Algorithm}. Values of a column
+ * repeat a lot (eg. status codes, regions), results of deterministic algorithms are memoized so
+ * that a repeated value is masked only once. Thread-safe as long as the algorithm is.
+ *
+ * @author agent
+ * @date 2026-10-17 14:05
+ * @since ODC_release_4.3.2
+ */
+public class ColumnMasker {
+
+    private static final int MAX_MEMOIZED_VALUES = 4096;
+    private static final Set<AlgorithmEnum> DETERMINISTIC_ALGORITHMS =
+            EnumSet.of(AlgorithmEnum.MASK, AlgorithmEnum.SUBSTITUTION, AlgorithmEnum.HASH, AlgorithmEnum.ROUNDING);
+    private static final Object NULL_VALUE = new Object();
+
+    @Getter
+    private final Algorithm algorithm;
+    private final Metadata metadata;
+    private final Map<String, Object> memoizedValues;
+
+    /**
+     * @param algorithm algorithm used to mask the values, values are not masked if it is {@code null}
+     * @param metadata metadata of the column
+     */
+    public ColumnMasker(Algorithm algorithm, @NonNull Metadata metadata) {
+        this.algorithm = algorithm;
+        this.metadata = metadata;
+        this.memoizedValues = algorithm != null && DETERMINISTIC_ALGORITHMS.contains(algorithm.getType())
+                ? new ConcurrentHashMap<>()
+                : null;
+    }
+
+    public String mask(String value) {
+        boolean memoizable = this.memoizedValues != null && value != null;
+        if (memoizable) {
+            Object masked = this.memoizedValues.get(value);
+            if (masked != null) {
+                return masked == NULL_VALUE ? null : (String) masked;
+            }
+        }
+        Data data = Data.of(value, this.metadata);
+        String masked = this.algorithm == null ? data.getValue() : this.algorithm.mask(data).getValue();
+        // stop memoizing instead of evicting, a column with so many distinct values hardly hits
+        if (memoizable && this.memoizedValues.size() < MAX_MEMOIZED_VALUES) {
+            this.memoizedValues.put(value, masked == null ? NULL_VALUE : masked);
+        }
+        return masked;
+    }
+
+}
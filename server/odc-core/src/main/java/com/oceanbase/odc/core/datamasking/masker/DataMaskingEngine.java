@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.core.datamasking.masker;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * {@link DataMaskingEngine}, masks rows column by column with {@link ColumnMasker}s. Rows are split
+ * into chunks, a small input is masked in the caller thread while a large one (eg. a full result
+ * set or an export batch) is masked by a bounded {@link ForkJoinPool} shared by the whole process.
+ * Rows are modified in place, a failed cell keeps its original value.
+ *
+ * @author agent
+ * @date 2026-10-17 14:20
+ * @since ODC_release_4.3.2
+ */
+public class DataMaskingEngine {
+
+    private static final int CHUNK_SIZE = 2048;
+    private static final ForkJoinPool POOL = new ForkJoinPool(
+            Math.min(Runtime.getRuntime().availableProcessors(), 8), pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("data-masking-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+
+    private DataMaskingEngine() {}
+
+    /**
+     * @param rows rows to be masked, each row has the same size as {@code maskers}
+     * @param maskers masker of each column, {@code null} means the column is not masked
+     */
+    public static MaskingStats mask(@NonNull List<List<Object>> rows, @NonNull List<ColumnMasker> maskers) {
+        MaskTask task = new MaskTask(rows, maskers, 0, rows.size());
+        if (rows.size() <= CHUNK_SIZE) {
+            return task.compute();
+        }
+        return POOL.invoke(task);
+    }
+
+    @Getter
+    public static class MaskingStats {
+        private long totalCount;
+        private long skippedCount;
+        private long failedCount;
+        /**
+         * column index -> index of the first failed row
+         */
+        private final Map<Integer, Integer> failedColumn2FirstRow = new HashMap<>();
+
+        private MaskingStats merge(MaskingStats other) {
+            this.totalCount += other.totalCount;
+            this.skippedCount += other.skippedCount;
+            this.failedCount += other.failedCount;
+            other.failedColumn2FirstRow
+                    .forEach((column, row) -> this.failedColumn2FirstRow.merge(column, row, Math::min));
+            return this;
+        }
+    }
+
+    private static class MaskTask extends RecursiveTask<MaskingStats> {
+        private final List<List<Object>> rows;
+        private final List<ColumnMasker> maskers;
+        private final int from;
+        private final int to;
+
+        private MaskTask(List<List<Object>> rows, List<ColumnMasker> maskers, int from, int to) {
+            this.rows = rows;
+            this.maskers = maskers;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected MaskingStats compute() {
+            if (to - from > CHUNK_SIZE) {
+                int middle = (from + to) >>> 1;
+                MaskTask left = new MaskTask(rows, maskers, from, middle);
+                left.fork();
+                MaskingStats right = new MaskTask(rows, maskers, middle, to).compute();
+                return left.join().merge(right);
+            }
+            MaskingStats stats = new MaskingStats();
+            for (int i = 0; i < maskers.size(); i++) {
+                ColumnMasker masker = maskers.get(i);
+                stats.totalCount += to - from;
+                if (masker == null) {
+                    stats.skippedCount += to - from;
+                    continue;
+                }
+                for (int j = from; j < to; j++) {
+                    List<Object> row = rows.get(j);
+                    Object value = row.get(i);
+                    if (value == null) {
+                        stats.skippedCount++;
+                        continue;
+                    }
+                    try {
+                        row.set(i, masker.mask(value.toString()));
+                    } catch (Exception e) {
+                        // Eat exception
+                        stats.failedCount++;
+                        stats.failedColumn2FirstRow.putIfAbsent(i, j);
+                    }
+                }
+            }
+            return stats;
+        }
+    }
+
+}
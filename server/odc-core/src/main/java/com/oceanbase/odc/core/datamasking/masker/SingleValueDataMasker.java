@@ -15,8 +15,10 @@
  */
 package com.oceanbase.odc.core.datamasking.masker;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import com.oceanbase.odc.core.datamasking.config.MaskConfig;
-import com.oceanbase.odc.core.datamasking.data.Data;
 import com.oceanbase.odc.core.datamasking.data.metadata.Metadata;
 import com.oceanbase.odc.core.datamasking.data.metadata.MetadataFactory;
 
@@ -25,14 +27,18 @@ import com.oceanbase.odc.core.datamasking.data.metadata.MetadataFactory;
  * @date 2022/8/25
  */
 public class SingleValueDataMasker extends AbstractDataMasker {
+    private final Map<ValueMeta, ColumnMasker> valueMeta2Masker = new ConcurrentHashMap<>();
+
     public SingleValueDataMasker(MaskConfig maskConfig) {
         super(maskConfig);
     }
 
     @Override
     public String mask(String origin, ValueMeta valueMeta) {
-        Metadata metadata = MetadataFactory.createMetadata(valueMeta.getFieldName(), valueMeta.getDataType());
-        Data data = Data.of(origin, metadata);
-        return selector.mask(data).getValue();
+        ColumnMasker masker = valueMeta2Masker.computeIfAbsent(valueMeta, meta -> {
+            Metadata metadata = MetadataFactory.createMetadata(meta.getFieldName(), meta.getDataType());
+            return new ColumnMasker(selector.getAlgorithm(meta.getFieldName()), metadata);
+        });
+        return masker.mask(origin);
     }
 }
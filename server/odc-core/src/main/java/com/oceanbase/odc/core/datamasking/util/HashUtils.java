@@ -16,8 +16,8 @@
 package com.oceanbase.odc.core.datamasking.util;
 
 import java.nio.charset.StandardCharsets;
-
-import com.google.common.hash.Hashing;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 /**
  * @author wenniu.ly
@@ -25,15 +25,44 @@ import com.google.common.hash.Hashing;
  */
 public class HashUtils {
 
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    /**
+     * digests are not thread-safe but expensive to create, each thread keeps its own ones
+     */
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> newDigest("SHA-256"));
+    private static final ThreadLocal<MessageDigest> SHA512 = ThreadLocal.withInitial(() -> newDigest("SHA-512"));
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(() -> newDigest("MD5"));
+    private static final ThreadLocal<StringBuilder> HEX_BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(128));
+
     public static String sha256(String original) {
-        return Hashing.sha256().hashString(original, StandardCharsets.UTF_8).toString();
+        return toHexString(SHA256.get().digest(original.getBytes(StandardCharsets.UTF_8)));
     }
 
     public static String sha512(String original) {
-        return Hashing.sha512().hashString(original, StandardCharsets.UTF_8).toString();
+        return toHexString(SHA512.get().digest(original.getBytes(StandardCharsets.UTF_8)));
     }
 
     public static String md5(String original) {
-        return Hashing.md5().hashString(original, StandardCharsets.UTF_8).toString();
+        return toHexString(MD5.get().digest(original.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Lower case hex string of the bytes
+     */
+    public static String toHexString(byte[] bytes) {
+        StringBuilder builder = HEX_BUILDER.get();
+        builder.setLength(0);
+        for (byte b : bytes) {
+            builder.append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+        }
+        return builder.toString();
+    }
+
+    private static MessageDigest newDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
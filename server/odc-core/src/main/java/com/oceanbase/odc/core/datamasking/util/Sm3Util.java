@@ -33,6 +33,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class Sm3Util {
     private static final String ENCODING = "UTF-8";
+    private static final ThreadLocal<SM3Digest> DIGEST = ThreadLocal.withInitial(SM3Digest::new);
     static {
         Security.addProvider(new BouncyCastleProvider());
     }
@@ -48,7 +49,7 @@ public class Sm3Util {
         try {
             byte[] srcData = str.getBytes(ENCODING);
             byte[] resultHash = hash(srcData);
-            resultHexString = ByteUtils.toHexString(resultHash);
+            resultHexString = HashUtils.toHexString(resultHash);
         } catch (UnsupportedEncodingException e) {
             log.warn("Unsupported encoding", e);
         }
@@ -62,7 +63,8 @@ public class Sm3Util {
      * @return
      */
     public static byte[] hash(byte[] srcData) {
-        SM3Digest digest = new SM3Digest();
+        SM3Digest digest = DIGEST.get();
+        digest.reset();
         digest.update(srcData, 0, srcData.length);
         byte[] hash = new byte[digest.getDigestSize()];
         digest.doFinal(hash, 0);
@@ -92,6 +92,30 @@ public class ConnectionSessionConstants {
      * attributes, this is the key
      */
     public static final String BINARY_FILE_MANAGER_KEY = "BINARY_FILE_MANAGER";
+    /**
+     * The {@code CachedAstFactory} shared by the consumers which parse the sqls executed in the
+     * session, eg. sql check, data masking and sql rewriting
+     */
+    public static final String AST_FACTORY_KEY = "AST_FACTORY";
+    /**
+     * Max total count of the parse tree nodes cached in a database session, a node takes about 150
+     * bytes on heap, so that the cached trees of a session take about 5 MB
+     */
+    public static final long AST_CACHE_MAX_WEIGHT = 32 * 1024;
+    /**
+     * Trees of the sqls longer than this are never cached, eg. a large insert script
+     */
+    public static final int AST_CACHE_MAX_SQL_LENGTH = 8 * 1024;
+    /**
+     * The rows of the query results shown in the sql console, the rows are sorted, filtered and paged
+     * on the server side without re-executing the query
+     */
+    public static final String RESULT_ROWS_CACHE_KEY = "RESULT_ROWS_CACHE";
+    /**
+     * Max count of the query results whose rows are cached in a database session, the least recently
+     * used one is evicted
+     */
+    public static final int RESULT_ROWS_CACHE_MAX_SIZE = 8;
 
     /**
      * Flag if it is a logical database session
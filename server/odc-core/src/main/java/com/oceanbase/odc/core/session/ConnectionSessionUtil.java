@@ -24,7 +24,9 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -55,7 +57,11 @@ import com.oceanbase.odc.core.sql.execute.GeneralSyncJdbcExecutor;
 import com.oceanbase.odc.core.sql.execute.SyncJdbcExecutor;
 import com.oceanbase.odc.core.sql.execute.cache.BinaryDataManager;
 import com.oceanbase.odc.core.sql.execute.cache.model.BinaryContentMetaData;
+import com.oceanbase.odc.core.sql.execute.cache.table.CachedResultRows;
 import com.oceanbase.odc.core.sql.execute.cache.table.VirtualTable;
+import com.oceanbase.odc.core.sql.parser.AbstractSyntaxTreeFactories;
+import com.oceanbase.odc.core.sql.parser.AbstractSyntaxTreeFactory;
+import com.oceanbase.odc.core.sql.parser.CachedAstFactory;
 import com.oceanbase.odc.core.sql.split.SqlCommentProcessor;
 import com.oceanbase.odc.core.sql.util.OdcDBSessionRowMapper;
 
@@ -385,6 +391,44 @@ public class ConnectionSessionUtil {
         return queryCache.get(sqlId);
     }
 
+    public static void setResultRowsCache(@NonNull ConnectionSession connectionSession,
+            @NonNull CachedResultRows rows) {
+        getResultRowsCache(connectionSession).put(rows.tableId(), rows);
+    }
+
+    public static CachedResultRows getResultRowsCache(@NonNull ConnectionSession connectionSession,
+            @NonNull String sqlId) {
+        return getResultRowsCache(connectionSession).get(sqlId);
+    }
+
+    public static void removeResultRowsCache(@NonNull ConnectionSession connectionSession, @NonNull String sqlId) {
+        getResultRowsCache(connectionSession).remove(sqlId);
+    }
+
+    @SuppressWarnings("all")
+    private static Map<String, CachedResultRows> getResultRowsCache(
+            @NonNull ConnectionSession connectionSession) {
+        Object value = connectionSession.getAttribute(ConnectionSessionConstants.RESULT_ROWS_CACHE_KEY);
+        if (value != null) {
+            return (Map<String, CachedResultRows>) value;
+        }
+        synchronized (connectionSession) {
+            value = connectionSession.getAttribute(ConnectionSessionConstants.RESULT_ROWS_CACHE_KEY);
+            if (value != null) {
+                return (Map<String, CachedResultRows>) value;
+            }
+            Map<String, CachedResultRows> cache = Collections.synchronizedMap(
+                    new LinkedHashMap<String, CachedResultRows>(16, 0.75f, true) {
+                        @Override
+                        protected boolean removeEldestEntry(Map.Entry<String, CachedResultRows> eldest) {
+                            return size() > ConnectionSessionConstants.RESULT_ROWS_CACHE_MAX_SIZE;
+                        }
+                    });
+            connectionSession.setAttribute(ConnectionSessionConstants.RESULT_ROWS_CACHE_KEY, cache);
+            return cache;
+        }
+    }
+
     public static void setLogicalSession(@NonNull ConnectionSession connectionSession,
             @NonNull Boolean logicalSession) {
         connectionSession.setAttribute(ConnectionSessionConstants.IS_LOGICAL_SESSION, logicalSession);
@@ -395,6 +439,37 @@ public class ConnectionSessionUtil {
                 : (Boolean) connectionSession.getAttribute(ConnectionSessionConstants.IS_LOGICAL_SESSION);
     }
 
+    /**
+     * Get the {@link AbstractSyntaxTreeFactory} bound to the session. The trees built by the factory
+     * are cached, so that a sql executed repeatedly in the session is parsed only once.
+     *
+     * @return null if the dialect type of the session is not supported
+     */
+    public static AbstractSyntaxTreeFactory getAstFactory(@NonNull ConnectionSession connectionSession) {
+        Object value = connectionSession.getAttribute(ConnectionSessionConstants.AST_FACTORY_KEY);
+        if (value instanceof AbstractSyntaxTreeFactory) {
+            return (AbstractSyntaxTreeFactory) value;
+        }
+        DialectType dialectType = connectionSession.getDialectType();
+        if (dialectType == null) {
+            return null;
+        }
+        synchronized (connectionSession) {
+            value = connectionSession.getAttribute(ConnectionSessionConstants.AST_FACTORY_KEY);
+            if (value instanceof AbstractSyntaxTreeFactory) {
+                return (AbstractSyntaxTreeFactory) value;
+            }
+            AbstractSyntaxTreeFactory factory = AbstractSyntaxTreeFactories.getAstFactory(dialectType, 0);
+            if (factory == null) {
+                return null;
+            }
+            factory = new CachedAstFactory(factory, ConnectionSessionConstants.AST_CACHE_MAX_WEIGHT,
+                    ConnectionSessionConstants.AST_CACHE_MAX_SQL_LENGTH);
+            connectionSession.setAttribute(ConnectionSessionConstants.AST_FACTORY_KEY, factory);
+            return factory;
+        }
+    }
+
     public static void setBinaryDataManager(@NonNull ConnectionSession connectionSession,
             @NonNull BinaryDataManager dataManager) {
         connectionSession.setAttribute(ConnectionSessionConstants.BINARY_FILE_MANAGER_KEY, dataManager);
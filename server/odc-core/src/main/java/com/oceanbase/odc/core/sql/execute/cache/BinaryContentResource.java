@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.core.sql.execute.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.core.io.AbstractResource;
+
+import com.oceanbase.odc.core.sql.execute.cache.model.BinaryContentMetaData;
+
+import lombok.NonNull;
+
+/**
+ * {@link BinaryContentResource}, a {@link org.springframework.core.io.Resource} of the binary
+ * content cached by a {@link BinaryDataManager}. Unlike
+ * {@link org.springframework.core.io.InputStreamResource}, the length is known and the content can
+ * be opened more than once, so that spring mvc is able to serve {@code Range} requests on it.
+ *
+ * @author agent
+ * @date 2026-10-17 19:35
+ * @since ODC_release_4.3.2
+ */
+public class BinaryContentResource extends AbstractResource {
+
+    private final BinaryDataManager dataManager;
+    private final BinaryContentMetaData metaData;
+
+    public BinaryContentResource(@NonNull BinaryDataManager dataManager, @NonNull BinaryContentMetaData metaData) {
+        this.dataManager = dataManager;
+        this.metaData = metaData;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return this.dataManager.read(this.metaData);
+    }
+
+    @Override
+    public long contentLength() {
+        return this.metaData.getSizeInBytes();
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Binary content [" + this.metaData + "]";
+    }
+
+}
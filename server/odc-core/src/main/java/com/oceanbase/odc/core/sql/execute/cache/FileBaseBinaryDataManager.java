@@ -15,8 +15,6 @@
  */
 package com.oceanbase.odc.core.sql.execute.cache;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -66,14 +64,17 @@ public class FileBaseBinaryDataManager implements BinaryDataManager {
     public synchronized BinaryContentMetaData write(@NonNull InputStream inputStream) throws IOException {
         reloadCurrentFile();
         int offset = currentWriteFile.length();
-        int fileSize = inputStream.available();
+        int fileSize = 0;
         try {
             currentWriteFile.seekForWrite(offset);
-            byte[] buffer = new byte[1024 * 4];
+            byte[] buffer = new byte[PageManager.STORAGE_LAYER_PAGE_SIZE_BYTE];
             int length = inputStream.read(buffer);
             while (length != -1) {
-                currentWriteFile.write(buffer, 0, length);
-                length = inputStream.read(buffer, 0, length);
+                if (length > 0) {
+                    currentWriteFile.write(buffer, 0, length);
+                    fileSize += length;
+                }
+                length = inputStream.read(buffer);
             }
             inputStream.close();
             return new BinaryContentMetaData(this.currentWriteFile.getPath(), offset, fileSize);
@@ -82,39 +83,18 @@ public class FileBaseBinaryDataManager implements BinaryDataManager {
         }
     }
 
+    /**
+     * The returned stream reads the content from the pages lazily, the whole content is never loaded
+     * into memory, so it is safe to stream a large object to the client
+     */
     @Override
     public InputStream read(@NonNull BinaryContentMetaData metaData) throws IOException {
         PagedRandomAccessFile pagedRandomAccessFile = currentWriteFile;
-        if (!Objects.equals(metaData.getFilePath(), currentWriteFile.getPath())) {
+        if (pagedRandomAccessFile == null
+                || !Objects.equals(metaData.getFilePath(), pagedRandomAccessFile.getPath())) {
             pagedRandomAccessFile = new PagedRandomAccessFile(metaData.getFilePath(), pageManager);
         }
-        try {
-            pagedRandomAccessFile.seekForRead((int) metaData.getOffset());
-            int bufferSize = 10 * 1024;
-            int loopCount = metaData.getSizeInBytes() / bufferSize;
-            if (loopCount == 0) {
-                byte[] buffer = new byte[metaData.getSizeInBytes()];
-                pagedRandomAccessFile.read(buffer);
-                return new ByteArrayInputStream(buffer);
-            }
-            byte[] buffer = new byte[bufferSize];
-            int length = pagedRandomAccessFile.read(buffer);
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(metaData.getSizeInBytes());
-            while ((--loopCount) > 0 && length != -1) {
-                outputStream.write(buffer, 0, length);
-                length = pagedRandomAccessFile.read(buffer, 0, length);
-            }
-            outputStream.write(buffer, 0, length);
-            int modValue = metaData.getSizeInBytes() % bufferSize;
-            if (modValue != 0) {
-                buffer = new byte[modValue];
-                pagedRandomAccessFile.read(buffer);
-                outputStream.write(buffer);
-            }
-            return new ByteArrayInputStream(outputStream.toByteArray());
-        } finally {
-            pagedRandomAccessFile.remove();
-        }
+        return new PagedInputStream(pagedRandomAccessFile, metaData.getOffset(), metaData.getSizeInBytes());
     }
 
     @Override
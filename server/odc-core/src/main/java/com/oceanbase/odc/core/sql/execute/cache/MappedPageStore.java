@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.core.sql.execute.cache;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.commons.lang3.Validate;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Disk storage of {@link PageManager}. Pages are stored in several data files, each data file is
+ * mapped into memory by segments lazily, so that swapping a page in or out is just a memory copy
+ * instead of opening, seeking and writing a file.
+ *
+ * This class does not synchronize the access to a page, callers have to make sure that a page is
+ * not read and written at the same time.
+ *
+ * @author agent
+ * @date 2026-10-17 18:10
+ * @since ODC_release_4.3.2
+ */
+@Slf4j
+class MappedPageStore implements Closeable {
+    /**
+     * Size of a mapped segment, a data file is mapped by segments so that a small cache does not extend
+     * its data file to {@link PageManager#MAX_SINGLE_FILE_SIZE_IN_BYTES} at once
+     */
+    private static final int MAX_SEGMENT_SIZE_BYTE = 4 * 1024 * 1024;
+    private final File workingDirectory;
+    private final int pageSize;
+    private final int maxSingleFileSize;
+    private final int segmentSize;
+    private final Map<Long, StorageFile> offsetCount2StorageFile = new ConcurrentHashMap<>();
+
+    MappedPageStore(@NonNull File workingDirectory, int pageSize, int maxSingleFileSize) {
+        Validate.isTrue(maxSingleFileSize % pageSize == 0, "MaxSingleFileSize has to be a multiple of page size");
+        this.workingDirectory = workingDirectory;
+        this.pageSize = pageSize;
+        this.maxSingleFileSize = maxSingleFileSize;
+        this.segmentSize = Math.min(maxSingleFileSize, MAX_SEGMENT_SIZE_BYTE / pageSize * pageSize);
+    }
+
+    public void read(int pageId, @NonNull byte[] dest) throws IOException {
+        ByteBuffer buffer = locate(pageId);
+        buffer.get(dest, 0, this.pageSize);
+    }
+
+    public void write(int pageId, @NonNull byte[] src) throws IOException {
+        ByteBuffer buffer = locate(pageId);
+        buffer.put(src, 0, this.pageSize);
+    }
+
+    /**
+     * Unmap all the segments and close the data files. Callers have to make sure that there is no
+     * reading or writing at the same time, otherwise the jvm may crash.
+     */
+    @Override
+    public void close() throws IOException {
+        IOException thrown = null;
+        for (StorageFile storageFile : this.offsetCount2StorageFile.values()) {
+            for (int i = 0; i < storageFile.segments.length(); i++) {
+                MappedByteBuffer segment = storageFile.segments.getAndSet(i, null);
+                if (segment != null) {
+                    unmap(segment);
+                }
+            }
+            try {
+                storageFile.channel.close();
+            } catch (IOException e) {
+                log.warn("Failed to close the storage file, file={}", storageFile.file.getAbsolutePath(), e);
+                thrown = e;
+            }
+        }
+        this.offsetCount2StorageFile.clear();
+        if (thrown != null) {
+            throw thrown;
+        }
+    }
+
+    private ByteBuffer locate(int pageId) throws IOException {
+        long position = (long) pageId * this.pageSize;
+        long offsetCount = position / this.maxSingleFileSize;
+        int offsetInFile = (int) (position - offsetCount * this.maxSingleFileSize);
+        StorageFile storageFile = getStorageFile(offsetCount);
+        int segmentIndex = offsetInFile / this.segmentSize;
+        MappedByteBuffer segment = storageFile.segments.get(segmentIndex);
+        if (segment == null) {
+            segment = mapSegment(storageFile, segmentIndex);
+        }
+        // a duplicated buffer owns its position, so the segment can be accessed concurrently
+        ByteBuffer buffer = segment.duplicate();
+        buffer.position(offsetInFile - segmentIndex * this.segmentSize);
+        return buffer;
+    }
+
+    private StorageFile getStorageFile(long offsetCount) throws IOException {
+        StorageFile storageFile = this.offsetCount2StorageFile.get(offsetCount);
+        if (storageFile != null) {
+            return storageFile;
+        }
+        try {
+            return this.offsetCount2StorageFile.computeIfAbsent(offsetCount, key -> {
+                try {
+                    return new StorageFile(createStorageFile(), this.maxSingleFileSize, this.segmentSize);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            log.warn("Failed to create a storage file", e);
+            throw e.getCause();
+        }
+    }
+
+    private MappedByteBuffer mapSegment(StorageFile storageFile, int segmentIndex) throws IOException {
+        synchronized (storageFile) {
+            MappedByteBuffer segment = storageFile.segments.get(segmentIndex);
+            if (segment != null) {
+                return segment;
+            }
+            long start = (long) segmentIndex * this.segmentSize;
+            long size = Math.min(this.segmentSize, this.maxSingleFileSize - start);
+            segment = storageFile.channel.map(MapMode.READ_WRITE, start, size);
+            storageFile.segments.set(segmentIndex, segment);
+            if (log.isDebugEnabled()) {
+                log.debug("Segment is mapped, filePath={}, segmentIndex={}", storageFile.file.getAbsolutePath(),
+                        segmentIndex);
+            }
+            return segment;
+        }
+    }
+
+    private File createStorageFile() throws IOException {
+        File destFile = new File(this.workingDirectory.getAbsolutePath() + "/" + generateFileName());
+        if (destFile.exists()) {
+            throw new IllegalStateException("Unknown error...");
+        }
+        if (!destFile.createNewFile()) {
+            throw new IOException("Failed to create a file, fileName " + destFile.getAbsolutePath());
+        }
+        return destFile;
+    }
+
+    private String generateFileName() {
+        return PageManager.class.getSimpleName().toLowerCase() + "_"
+                + UUID.randomUUID().toString().replaceAll("-", "") + ".data";
+    }
+
+    /**
+     * Release the mapped memory eagerly, otherwise the data file can not be deleted on some platforms
+     * until the buffer is collected
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner;
+            try {
+                invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            } catch (NoSuchMethodException e) {
+                // jdk 8
+                Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                Object cleaner = cleanerMethod.invoke(buffer);
+                if (cleaner != null) {
+                    cleaner.getClass().getMethod("clean").invoke(cleaner);
+                }
+                return;
+            }
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            invokeCleaner.invoke(theUnsafe.get(null), buffer);
+        } catch (Exception e) {
+            log.debug("Failed to unmap the segment, it will be released by gc", e);
+        }
+    }
+
+    private static class StorageFile {
+        private final File file;
+        private final FileChannel channel;
+        private final AtomicReferenceArray<MappedByteBuffer> segments;
+
+        private StorageFile(File file, int fileSize, int segmentSize) throws IOException {
+            this.file = file;
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.segments = new AtomicReferenceArray<>((fileSize + segmentSize - 1) / segmentSize);
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.core.sql.execute.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.commons.lang3.Validate;
+
+import lombok.NonNull;
+
+/**
+ * {@link PagedInputStream}, reads a range of a {@link PagedRandomAccessFile} lazily. Content is
+ * copied from the pages into the buffer of the caller directly, so the memory used does not depend
+ * on the size of the range. {@link #skip(long)} only moves the pointer.
+ *
+ * @author agent
+ * @date 2026-10-17 19:20
+ * @since ODC_release_4.3.2
+ */
+class PagedInputStream extends InputStream {
+
+    private final PagedRandomAccessFile file;
+    private final long end;
+    private long position;
+    private long markedPosition;
+
+    PagedInputStream(@NonNull PagedRandomAccessFile file, long offset, long length) {
+        Validate.isTrue(offset >= 0, "Offset can not be negative");
+        Validate.isTrue(length >= 0, "Length can not be negative");
+        this.file = file;
+        this.position = offset;
+        this.markedPosition = offset;
+        this.end = offset + length;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] buffer = new byte[1];
+        return read(buffer, 0, 1) == -1 ? -1 : buffer[0] & 0xff;
+    }
+
+    @Override
+    public int read(@NonNull byte[] buffer, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || length > buffer.length - offset) {
+            throw new IndexOutOfBoundsException();
+        } else if (length == 0) {
+            return 0;
+        } else if (this.position >= this.end) {
+            return -1;
+        }
+        int toRead = (int) Math.min(length, this.end - this.position);
+        int read;
+        // writing is synchronized on the file, the content being read can not be modified at the same time
+        synchronized (this.file) {
+            try {
+                this.file.seekForRead((int) this.position);
+                read = this.file.read(buffer, offset, toRead);
+            } finally {
+                this.file.remove();
+            }
+        }
+        if (read <= 0) {
+            return -1;
+        }
+        this.position += read;
+        return read;
+    }
+
+    @Override
+    public long skip(long n) {
+        if (n <= 0) {
+            return 0;
+        }
+        long skipped = Math.min(n, this.end - this.position);
+        this.position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(this.end - this.position, 0));
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public synchronized void mark(int readLimit) {
+        this.markedPosition = this.position;
+    }
+
+    @Override
+    public synchronized void reset() {
+        this.position = this.markedPosition;
+    }
+
+}
@@ -106,7 +106,7 @@ public class PagedRandomAccessFile implements Closeable {
             if (logicPageId == this.logicWritePointer.get().getLogicPageId()) {
                 seekPostion = this.logicWritePointer.get().getOffset();
             }
-            int copyLength = Math.min(buffer.length - pointer, pageSize - seekPostion);
+            int copyLength = Math.min(offset + actualLength - pointer, pageSize - seekPostion);
             Page physicalPage = nullSafeFindPage(physicalPageId2Page, this.metaInfo.getPhysicalPageId(logicPageId));
             try {
                 physicalPage.seekForWrite(seekPostion);
@@ -147,7 +147,7 @@ public class PagedRandomAccessFile implements Closeable {
             if (logicPageId == this.logicReadPointer.get().getLogicPageId()) {
                 seekPostion = this.logicReadPointer.get().getOffset();
             }
-            int copyLength = Math.min(buffer.length - pointer, pageSize - seekPostion);
+            int copyLength = Math.min(offset + actualLength - pointer, pageSize - seekPostion);
             Page physicalPage = nullSafeFindPage(physicalPageId2Page, this.metaInfo.getPhysicalPageId(logicPageId));
             try {
                 physicalPage.seekForRead(seekPostion);
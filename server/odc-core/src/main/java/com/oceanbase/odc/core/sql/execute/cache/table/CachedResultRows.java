@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.core.sql.execute.cache.table;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.Validate;
+
+import com.oceanbase.odc.core.sql.execute.cache.model.CommonVirtualElement;
+
+import lombok.NonNull;
+
+/**
+ * {@link CachedResultRows}, rows of a query result kept in a session. The rows are referenced as
+ * they are and copied into a {@link ColumnarVirtualTable} on the first {@link #getTable()}, so that
+ * a result set which is never sorted or filtered costs nothing but the references.
+ *
+ * @author agent
+ * @date 2026-10-17 23:55
+ * @since ODC_release_4.3.2
+ */
+public class CachedResultRows {
+
+    private final String tableId;
+    private final List<String> columnNames;
+    private final List<String> dataTypes;
+    private List<List<Object>> pendingRows = new ArrayList<>();
+    private ColumnarVirtualTable table;
+    private long count = 0;
+
+    public CachedResultRows(@NonNull String tableId, @NonNull List<String> columnNames,
+            @NonNull List<String> dataTypes) {
+        Validate.isTrue(columnNames.size() == dataTypes.size(), "Column names and data types are not matched");
+        this.tableId = tableId;
+        this.columnNames = columnNames;
+        this.dataTypes = dataTypes;
+    }
+
+    public String tableId() {
+        return this.tableId;
+    }
+
+    public synchronized long count() {
+        return this.count;
+    }
+
+    /**
+     * Append the rows, which are numbered after the existing ones
+     */
+    public synchronized void addRows(@NonNull List<List<Object>> rows) {
+        if (this.table == null) {
+            this.pendingRows.addAll(rows);
+        } else {
+            copy(rows, this.count);
+        }
+        this.count += rows.size();
+    }
+
+    public synchronized ColumnarVirtualTable getTable() {
+        if (this.table == null) {
+            this.table = new ColumnarVirtualTable(this.tableId);
+            for (int i = 0; i < this.columnNames.size(); i++) {
+                this.table.addColumn(i, this.columnNames.get(i), this.dataTypes.get(i));
+            }
+            copy(this.pendingRows, 0);
+            this.pendingRows = null;
+        }
+        return this.table;
+    }
+
+    private void copy(List<List<Object>> rows, long offset) {
+        for (int i = 0; i < rows.size(); i++) {
+            long rowId = offset + i;
+            this.table.addLine(rowId);
+            List<Object> row = rows.get(i);
+            for (int j = 0; j < row.size() && j < this.columnNames.size(); j++) {
+                Object value = row.get(j);
+                if (value != null) {
+                    this.table.put(new CommonVirtualElement(this.tableId, rowId, j, this.dataTypes.get(j),
+                            this.columnNames.get(j), value));
+                }
+            }
+        }
+    }
+
+}
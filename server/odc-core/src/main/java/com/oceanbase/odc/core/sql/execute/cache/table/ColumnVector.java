@@ -0,0 +1,418 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.core.sql.execute.cache.table;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.oceanbase.odc.core.sql.execute.cache.model.BinaryContentMetaData;
+
+import lombok.NonNull;
+
+/**
+ * {@link ColumnVector}, the storage of one column of a {@link ColumnarVirtualTable}. Values are
+ * addressed by the position of the row in the table and stored in arrays of primitives, absent
+ * values are recorded by a bitmap.
+ *
+ * @author agent
+ * @date 2026-10-17 20:10
+ * @since ODC_release_4.3.2
+ * @see ColumnarVirtualTable
+ */
+abstract class ColumnVector {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private long[] presence = new long[1];
+    protected int capacity = 0;
+
+    /**
+     * Choose the most compact vector for a value
+     */
+    static ColumnVector of(@NonNull Object value) {
+        if (value instanceof String) {
+            return new StringColumnVector();
+        } else if (value instanceof BinaryContentMetaData) {
+            return new BinaryColumnVector();
+        } else if (LongColumnVector.supports(value)) {
+            return new LongColumnVector(value.getClass());
+        } else if (DoubleColumnVector.supports(value)) {
+            return new DoubleColumnVector(value.getClass());
+        }
+        return new ObjectColumnVector();
+    }
+
+    /**
+     * Set the value at a position
+     *
+     * @return {@code false} means the value can not be encoded by this vector, nothing changes in this
+     *         case
+     */
+    boolean set(int position, @NonNull Object value) {
+        if (!accept(value)) {
+            return false;
+        }
+        if (position >= this.capacity) {
+            int newCapacity = Math.max(INITIAL_CAPACITY, this.capacity + (this.capacity >> 1));
+            grow(Math.max(newCapacity, position + 1));
+        }
+        doSet(position, value);
+        int word = position >>> 6;
+        if (word >= this.presence.length) {
+            this.presence = Arrays.copyOf(this.presence, Math.max(word + 1, this.presence.length << 1));
+        }
+        this.presence[word] |= 1L << position;
+        return true;
+    }
+
+    boolean isPresent(int position) {
+        int word = position >>> 6;
+        return word < this.presence.length && (this.presence[word] & (1L << position)) != 0;
+    }
+
+    /**
+     * @return {@code null} if the value at the position is absent
+     */
+    Object get(int position) {
+        return isPresent(position) ? doGet(position) : null;
+    }
+
+    /**
+     * Copy all the values of this vector into a vector which is able to hold any object
+     */
+    ColumnVector toObjectVector(int size) {
+        ObjectColumnVector target = new ObjectColumnVector();
+        for (int i = 0; i < size; i++) {
+            if (isPresent(i)) {
+                target.set(i, doGet(i));
+            }
+        }
+        return target;
+    }
+
+    protected abstract boolean accept(Object value);
+
+    protected abstract void grow(int newCapacity);
+
+    protected abstract void doSet(int position, Object value);
+
+    protected abstract Object doGet(int position);
+
+    /**
+     * Integral numbers, the exact class of the value is kept so that the boxed value equals to the
+     * original one
+     */
+    static class LongColumnVector extends ColumnVector {
+
+        private final Class<?> type;
+        private long[] values = new long[0];
+
+        LongColumnVector(@NonNull Class<?> type) {
+            this.type = type;
+        }
+
+        static boolean supports(Object value) {
+            return value instanceof Long || value instanceof Integer
+                    || value instanceof Short || value instanceof Byte;
+        }
+
+        @Override
+        protected boolean accept(Object value) {
+            return value.getClass() == this.type;
+        }
+
+        @Override
+        protected void grow(int newCapacity) {
+            this.values = Arrays.copyOf(this.values, newCapacity);
+            this.capacity = newCapacity;
+        }
+
+        @Override
+        protected void doSet(int position, Object value) {
+            this.values[position] = ((Number) value).longValue();
+        }
+
+        @Override
+        protected Object doGet(int position) {
+            long value = this.values[position];
+            if (this.type == Long.class) {
+                return value;
+            } else if (this.type == Integer.class) {
+                return (int) value;
+            } else if (this.type == Short.class) {
+                return (short) value;
+            }
+            return (byte) value;
+        }
+    }
+
+    static class DoubleColumnVector extends ColumnVector {
+
+        private final Class<?> type;
+        private double[] values = new double[0];
+
+        DoubleColumnVector(@NonNull Class<?> type) {
+            this.type = type;
+        }
+
+        static boolean supports(Object value) {
+            return value instanceof Double || value instanceof Float;
+        }
+
+        @Override
+        protected boolean accept(Object value) {
+            return value.getClass() == this.type;
+        }
+
+        @Override
+        protected void grow(int newCapacity) {
+            this.values = Arrays.copyOf(this.values, newCapacity);
+            this.capacity = newCapacity;
+        }
+
+        @Override
+        protected void doSet(int position, Object value) {
+            this.values[position] = ((Number) value).doubleValue();
+        }
+
+        @Override
+        protected Object doGet(int position) {
+            double value = this.values[position];
+            return this.type == Double.class ? (Object) value : (Object) (float) value;
+        }
+    }
+
+    /**
+     * Strings are dictionary encoded until the column turns out to have too many distinct values, then
+     * all of them are moved into an utf-8 byte arena indexed by offsets. Decoding is much cheaper while
+     * the arena holds only ascii characters, so that this is tracked. An overwritten value is replaced
+     * in place if the new one fits, otherwise its bytes are left as garbage, which is reclaimed by
+     * compacting the arena before it grows.
+     */
+    static class StringColumnVector extends ColumnVector {
+
+        static final int MAX_DICTIONARY_SIZE = 1024;
+        private List<String> dictionary = new ArrayList<>();
+        private Map<String, Integer> dictionaryIndex = new HashMap<>();
+        private int[] codes = new int[0];
+        private byte[] arena;
+        private int arenaSize;
+        /**
+         * Bytes of the arena which are no longer referenced by any position
+         */
+        private int garbageSize;
+        private boolean ascii = true;
+        private int[] offsets;
+        private int[] lengths;
+
+        @Override
+        protected boolean accept(Object value) {
+            if (!(value instanceof String)) {
+                return false;
+            }
+            String str = (String) value;
+            for (int i = 0; i < str.length(); i++) {
+                if (Character.isSurrogate(str.charAt(i))) {
+                    // unpaired surrogates can not survive an utf-8 round trip
+                    return str.equals(new String(str.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8));
+                }
+            }
+            return true;
+        }
+
+        @Override
+        protected void grow(int newCapacity) {
+            if (this.arena == null) {
+                this.codes = Arrays.copyOf(this.codes, newCapacity);
+            } else {
+                this.offsets = Arrays.copyOf(this.offsets, newCapacity);
+                this.lengths = Arrays.copyOf(this.lengths, newCapacity);
+            }
+            this.capacity = newCapacity;
+        }
+
+        @Override
+        protected void doSet(int position, Object value) {
+            String str = (String) value;
+            if (this.arena == null) {
+                Integer code = this.dictionaryIndex.get(str);
+                if (code == null && this.dictionary.size() < MAX_DICTIONARY_SIZE) {
+                    code = this.dictionary.size();
+                    this.dictionary.add(str);
+                    this.dictionaryIndex.put(str, code);
+                }
+                if (code != null) {
+                    this.codes[position] = code;
+                    return;
+                }
+                toArena();
+            }
+            byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+            if (this.ascii && bytes.length != str.length()) {
+                this.ascii = false;
+            }
+            if (isPresent(position)) {
+                int oldLength = this.lengths[position];
+                if (bytes.length <= oldLength) {
+                    System.arraycopy(bytes, 0, this.arena, this.offsets[position], bytes.length);
+                    this.lengths[position] = bytes.length;
+                    this.garbageSize += oldLength - bytes.length;
+                    return;
+                }
+                // the old value is dropped before the arena may be compacted
+                this.lengths[position] = 0;
+                this.garbageSize += oldLength;
+            }
+            if (this.arenaSize + bytes.length > this.arena.length) {
+                if (this.garbageSize > this.arenaSize >> 1) {
+                    compact(bytes.length);
+                }
+                if (this.arenaSize + bytes.length > this.arena.length) {
+                    long newLength = Math.max((long) this.arena.length << 1, (long) this.arenaSize + bytes.length);
+                    this.arena = Arrays.copyOf(this.arena, (int) Math.min(Integer.MAX_VALUE - 8, newLength));
+                }
+            }
+            System.arraycopy(bytes, 0, this.arena, this.arenaSize, bytes.length);
+            this.offsets[position] = this.arenaSize;
+            this.lengths[position] = bytes.length;
+            this.arenaSize += bytes.length;
+        }
+
+        int getGarbageSize() {
+            return this.garbageSize;
+        }
+
+        /**
+         * Move the referenced bytes to the head of a new arena, which has room for the extra bytes
+         */
+        private void compact(int extraLength) {
+            int liveSize = this.arenaSize - this.garbageSize;
+            byte[] compacted = new byte[Math.max(this.arena.length, liveSize + extraLength)];
+            int size = 0;
+            for (int i = 0; i < this.capacity; i++) {
+                if (isPresent(i)) {
+                    System.arraycopy(this.arena, this.offsets[i], compacted, size, this.lengths[i]);
+                    this.offsets[i] = size;
+                    size += this.lengths[i];
+                }
+            }
+            this.arena = compacted;
+            this.arenaSize = size;
+            this.garbageSize = 0;
+        }
+
+        @Override
+        protected Object doGet(int position) {
+            if (this.arena == null) {
+                return this.dictionary.get(this.codes[position]);
+            }
+            return new String(this.arena, this.offsets[position], this.lengths[position],
+                    this.ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+        }
+
+        private void toArena() {
+            int[] oldCodes = this.codes;
+            this.arena = new byte[Math.max(1024, this.capacity * 16)];
+            this.offsets = new int[this.capacity];
+            this.lengths = new int[this.capacity];
+            for (int i = 0; i < this.capacity; i++) {
+                if (isPresent(i)) {
+                    doSet(i, this.dictionary.get(oldCodes[i]));
+                }
+            }
+            this.codes = null;
+            this.dictionary = null;
+            this.dictionaryIndex = null;
+        }
+    }
+
+    /**
+     * Metadata of the binary contents, the file paths are shared by lots of contents, so that they are
+     * dictionary encoded
+     */
+    static class BinaryColumnVector extends ColumnVector {
+
+        private final List<String> filePaths = new ArrayList<>();
+        private int[] filePathCodes = new int[0];
+        private long[] offsets = new long[0];
+        private int[] sizes = new int[0];
+
+        @Override
+        protected boolean accept(Object value) {
+            return value instanceof BinaryContentMetaData;
+        }
+
+        @Override
+        protected void grow(int newCapacity) {
+            this.filePathCodes = Arrays.copyOf(this.filePathCodes, newCapacity);
+            this.offsets = Arrays.copyOf(this.offsets, newCapacity);
+            this.sizes = Arrays.copyOf(this.sizes, newCapacity);
+            this.capacity = newCapacity;
+        }
+
+        @Override
+        protected void doSet(int position, Object value) {
+            BinaryContentMetaData metaData = (BinaryContentMetaData) value;
+            int code = this.filePaths.indexOf(metaData.getFilePath());
+            if (code < 0) {
+                code = this.filePaths.size();
+                this.filePaths.add(metaData.getFilePath());
+            }
+            this.filePathCodes[position] = code;
+            this.offsets[position] = metaData.getOffset();
+            this.sizes[position] = metaData.getSizeInBytes();
+        }
+
+        @Override
+        protected Object doGet(int position) {
+            return new BinaryContentMetaData(this.filePaths.get(this.filePathCodes[position]),
+                    this.offsets[position], this.sizes[position]);
+        }
+    }
+
+    /**
+     * Fallback of the values which have no compact representation, eg. {@code BigDecimal}
+     */
+    static class ObjectColumnVector extends ColumnVector {
+
+        private Object[] values = new Object[0];
+
+        @Override
+        protected boolean accept(Object value) {
+            return true;
+        }
+
+        @Override
+        protected void grow(int newCapacity) {
+            this.values = Arrays.copyOf(this.values, newCapacity);
+            this.capacity = newCapacity;
+        }
+
+        @Override
+        protected void doSet(int position, Object value) {
+            this.values[position] = value;
+        }
+
+        @Override
+        protected Object doGet(int position) {
+            return this.values[position];
+        }
+    }
+
+}
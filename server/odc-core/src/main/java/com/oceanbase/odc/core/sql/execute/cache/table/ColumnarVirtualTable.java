@@ -0,0 +1,559 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.core.sql.execute.cache.table;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.apache.commons.lang3.Validate;
+
+import com.oceanbase.odc.core.sql.execute.cache.model.BinaryContentMetaData;
+import com.oceanbase.odc.core.sql.execute.cache.model.BinaryVirtualElement;
+import com.oceanbase.odc.core.sql.execute.cache.model.CommonVirtualElement;
+
+import lombok.NonNull;
+
+/**
+ * The columnar realization of the {@code VirtualTable}. Each column is stored in a
+ * {@link ColumnVector} of primitive arrays instead of a node per element, which makes the table
+ * several times smaller than a {@link CrossLinkedVirtualTable} holding the same data and makes the
+ * scan of a column cache-friendly. Elements, lines and columns are views created on access. The
+ * vectors are not thread-safe, all the reads and writes of the storage are guarded by the monitor
+ * of the table, the views read the storage through the synchronized methods of the table.
+ *
+ * @author agent
+ * @date 2026-10-17 20:25
+ * @since ODC_release_4.3.2
+ * @see CrossLinkedVirtualTable
+ */
+public class ColumnarVirtualTable implements VirtualTable {
+
+    private final String tableId;
+    private final Map<Integer, Column> columns = new TreeMap<>();
+    /**
+     * Values of {@link #columns} in the order of column id, replaced when a column is added
+     */
+    private Column[] orderedColumns = new Column[0];
+    private long[] rowIds = new long[16];
+    private int rowCount = 0;
+    /**
+     * Positions of the rows sorted by row id, {@code null} means the rows are appended in the order of
+     * the row id, which is the common case
+     */
+    private int[] sortedPositions = null;
+    /**
+     * Positions of the rows sorted by the values of a column in ascending and descending order, built
+     * on the first sort of the column in that order and dropped once the table is modified
+     */
+    private final Map<Integer, SortedIndex> ascendingIndexes = new HashMap<>();
+    private final Map<Integer, SortedIndex> descendingIndexes = new HashMap<>();
+
+    public ColumnarVirtualTable(@NonNull String tableId) {
+        this.tableId = tableId;
+    }
+
+    @Override
+    public VirtualTable project(@NonNull List<Integer> columnIds,
+            @NonNull Function<VirtualColumn, VirtualColumn> columenMapper) throws NullPointerException {
+        ColumnarVirtualTable virtualTable = new ColumnarVirtualTable("tmp_" + System.currentTimeMillis());
+        for (Integer columnId : columnIds) {
+            Column column = getColumnStorage(columnId);
+            if (column == null) {
+                throw new NullPointerException("Column with Id " + columnId + " is not found");
+            }
+            VirtualColumn mappedColumn = columenMapper.apply(new ColumnarVirtualColumn(column));
+            for (VirtualElement elt : mappedColumn) {
+                Validate.isTrue(Objects.equals(elt.columnId(), mappedColumn.columnId()));
+                virtualTable.put(elt);
+            }
+        }
+        return virtualTable;
+    }
+
+    @Override
+    public VirtualTable select(@NonNull Predicate<VirtualLine> predicate) {
+        ColumnarVirtualTable virtualTable = new ColumnarVirtualTable("tmp_" + System.currentTimeMillis());
+        forEach(virtualLine -> {
+            if (predicate.test(virtualLine)) {
+                for (VirtualElement elt : virtualLine) {
+                    virtualTable.put(elt);
+                }
+            }
+        });
+        return virtualTable;
+    }
+
+    @Override
+    public String tableId() {
+        return this.tableId;
+    }
+
+    @Override
+    public synchronized Long count() {
+        return (long) this.rowCount;
+    }
+
+    @Override
+    public synchronized List<Integer> columnIds() {
+        return new ArrayList<>(this.columns.keySet());
+    }
+
+    /**
+     * The table is locked during the traversal, the consumer is able to modify this table but the
+     * modification is visible to the following lines only if they have not been traversed
+     */
+    @Override
+    public synchronized void forEach(@NonNull Consumer<VirtualLine> lineConsumer) {
+        int[] positions = this.sortedPositions;
+        for (int i = 0; i < this.rowCount; i++) {
+            lineConsumer.accept(new ColumnarVirtualLine(positions == null ? i : positions[i]));
+        }
+    }
+
+    public synchronized VirtualElement put(@NonNull VirtualElement elt) {
+        Long rowId = elt.rowId();
+        Integer columnId = elt.columnId();
+        if (rowId == null || columnId == null) {
+            throw new NullPointerException("RowId or ColumnId can not be null");
+        }
+        Object content = elt.getContent();
+        if (content == null) {
+            throw new NullPointerException("Content can not be null");
+        }
+        Column column = this.columns.get(columnId);
+        if (column == null) {
+            column = addColumn(new Column(columnId, elt.columnName(), elt.tableId(), elt.dataTypeName()));
+        }
+        int position = findPosition(rowId);
+        if (position < 0) {
+            position = addRow(rowId);
+        }
+        if (column.vector == null) {
+            column.vector = ColumnVector.of(content);
+        }
+        if (!column.vector.set(position, content)) {
+            column.vector = column.vector.toObjectVector(this.rowCount);
+            column.vector.set(position, content);
+        }
+        clearSortedIndexes();
+        return elt;
+    }
+
+    /**
+     * @return {@code null} if the column does not exist
+     */
+    public VirtualColumn getColumn(@NonNull Integer columnId) {
+        Column column = getColumnStorage(columnId);
+        return column == null ? null : new ColumnarVirtualColumn(column);
+    }
+
+    /**
+     * Add a column without any element, so that the column is known by {@link #columnIds()} even if all
+     * of its values are absent. Nothing changes if the column already exists.
+     */
+    public synchronized void addColumn(@NonNull Integer columnId, @NonNull String columnName,
+            @NonNull String dataType) {
+        if (!this.columns.containsKey(columnId)) {
+            addColumn(new Column(columnId, columnName, this.tableId, dataType));
+        }
+    }
+
+    /**
+     * Add a line without any element, so that the line is counted and traversed even if all of its
+     * values are absent. Nothing changes if the line already exists.
+     */
+    public synchronized void addLine(@NonNull Long rowId) {
+        if (findPosition(rowId) < 0) {
+            addRow(rowId);
+            clearSortedIndexes();
+        }
+    }
+
+    /**
+     * Traverse the lines in the order of the values of a column, absent values are the smallest ones.
+     * Lines with equal values are kept in the order of the row id in both ascending and descending
+     * order. The order is computed by {@code sortKey} on the first traversal in that direction and
+     * reused until the table is modified, so that the same {@code sortKey} instance is expected for a
+     * column.
+     *
+     * @param columnId id of the column to be sorted by
+     * @param sortKey maps a non-null content to the key to be compared, the keys are totally ordered
+     * @param ascending order of the traversal
+     * @throws NullPointerException The column does not exist
+     */
+    public <K extends Comparable<? super K>> Iterator<VirtualLine> sortedLines(@NonNull Integer columnId,
+            @NonNull Function<Object, K> sortKey, boolean ascending) {
+        int[] positions = getSortedIndex(columnId, sortKey, ascending);
+        return new Iterator<VirtualLine>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < positions.length;
+            }
+
+            @Override
+            public VirtualLine next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int i = this.index++;
+                return new ColumnarVirtualLine(positions[i]);
+            }
+        };
+    }
+
+    public synchronized VirtualElement get(@NonNull Long rowId, @NonNull Integer columnId) {
+        Column column = this.columns.get(columnId);
+        int position = findPosition(rowId);
+        if (column == null || position < 0) {
+            return null;
+        }
+        return column.element(rowId, position);
+    }
+
+    /**
+     * @return {@code null} if the line does not exist
+     */
+    protected synchronized VirtualLine getLine(@NonNull Long rowId) {
+        int position = findPosition(rowId);
+        return position < 0 ? null : new ColumnarVirtualLine(position);
+    }
+
+    private synchronized Column getColumnStorage(Integer columnId) {
+        return this.columns.get(columnId);
+    }
+
+    private synchronized long rowIdAt(int position) {
+        return this.rowIds[position];
+    }
+
+    private synchronized Column[] getOrderedColumns() {
+        return this.orderedColumns;
+    }
+
+    /**
+     * @return {@code null} if the element is absent
+     */
+    private synchronized VirtualElement elementAt(@NonNull Column column, int position) {
+        return column.element(this.rowIds[position], position);
+    }
+
+    /**
+     * @return positions of all the rows in the order of row id, copied since the positions are shifted
+     *         in place when a row is inserted
+     */
+    private synchronized int[] positionsInRowIdOrder() {
+        if (this.sortedPositions != null) {
+            return Arrays.copyOf(this.sortedPositions, this.rowCount);
+        }
+        int[] positions = new int[this.rowCount];
+        for (int i = 0; i < this.rowCount; i++) {
+            positions[i] = i;
+        }
+        return positions;
+    }
+
+    private Column addColumn(Column column) {
+        this.columns.put(column.columnId, column);
+        this.orderedColumns = this.columns.values().toArray(new Column[0]);
+        return column;
+    }
+
+    private synchronized <K extends Comparable<? super K>> int[] getSortedIndex(Integer columnId,
+            Function<Object, K> sortKey, boolean ascending) {
+        Column column = this.columns.get(columnId);
+        if (column == null) {
+            throw new NullPointerException("Column with Id " + columnId + " is not found");
+        }
+        Map<Integer, SortedIndex> sortedIndexes = ascending ? this.ascendingIndexes : this.descendingIndexes;
+        SortedIndex sortedIndex = sortedIndexes.get(columnId);
+        if (sortedIndex != null && sortedIndex.sortKey == sortKey) {
+            return sortedIndex.positions;
+        }
+        List<K> keys = new ArrayList<>(this.rowCount);
+        Integer[] positions = new Integer[this.rowCount];
+        for (int i = 0; i < this.rowCount; i++) {
+            Object content = column.vector == null ? null : column.vector.get(i);
+            keys.add(content == null ? null : sortKey.apply(content));
+            positions[i] = this.sortedPositions == null ? i : this.sortedPositions[i];
+        }
+        Comparator<Integer> comparator =
+                Comparator.comparing(keys::get, Comparator.nullsFirst(Comparator.<K>naturalOrder()));
+        // the sort is stable and the positions are in the order of row id, so that lines with equal values
+        // keep the order of row id in both directions
+        Arrays.sort(positions, ascending ? comparator : comparator.reversed());
+        int[] result = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            result[i] = positions[i];
+        }
+        sortedIndexes.put(columnId, new SortedIndex(sortKey, result));
+        return result;
+    }
+
+    private void clearSortedIndexes() {
+        if (!this.ascendingIndexes.isEmpty()) {
+            this.ascendingIndexes.clear();
+        }
+        if (!this.descendingIndexes.isEmpty()) {
+            this.descendingIndexes.clear();
+        }
+    }
+
+    private int addRow(long rowId) {
+        int position = this.rowCount;
+        if (position == this.rowIds.length) {
+            this.rowIds = Arrays.copyOf(this.rowIds, position + (position >> 1) + 1);
+        }
+        this.rowIds[position] = rowId;
+        if (this.sortedPositions == null && (position == 0 || this.rowIds[position - 1] < rowId)) {
+            return this.rowCount++;
+        }
+        if (this.sortedPositions == null) {
+            this.sortedPositions = new int[this.rowIds.length];
+            for (int i = 0; i < position; i++) {
+                this.sortedPositions[i] = i;
+            }
+        } else if (position == this.sortedPositions.length) {
+            this.sortedPositions = Arrays.copyOf(this.sortedPositions, this.rowIds.length);
+        }
+        int index = -(binarySearch(rowId) + 1);
+        System.arraycopy(this.sortedPositions, index, this.sortedPositions, index + 1, position - index);
+        this.sortedPositions[index] = position;
+        return this.rowCount++;
+    }
+
+    private int findPosition(long rowId) {
+        int index = binarySearch(rowId);
+        if (index < 0) {
+            return -1;
+        }
+        return this.sortedPositions == null ? index : this.sortedPositions[index];
+    }
+
+    /**
+     * @return index of the row in the order of row id, or {@code -(insertion point) - 1} if absent
+     */
+    private int binarySearch(long rowId) {
+        int[] positions = this.sortedPositions;
+        int low = 0;
+        int high = this.rowCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long current = this.rowIds[positions == null ? middle : positions[middle]];
+            if (current < rowId) {
+                low = middle + 1;
+            } else if (current > rowId) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private class Column {
+        private final Integer columnId;
+        private final String columnName;
+        private final String tableId;
+        private final String dataType;
+        /**
+         * {@code null} until the first element of the column is put
+         */
+        private ColumnVector vector;
+
+        Column(Integer columnId, String columnName, String tableId, String dataType) {
+            this.columnId = columnId;
+            this.columnName = columnName;
+            this.tableId = tableId;
+            this.dataType = dataType;
+        }
+
+        VirtualElement element(Long rowId, int position) {
+            Object content = this.vector == null ? null : this.vector.get(position);
+            if (content == null) {
+                return null;
+            } else if (content instanceof BinaryContentMetaData) {
+                return new BinaryVirtualElement(this.tableId, rowId, this.columnId, this.dataType, this.columnName,
+                        (BinaryContentMetaData) content);
+            }
+            return new CommonVirtualElement(this.tableId, rowId, this.columnId, this.dataType, this.columnName,
+                    content);
+        }
+    }
+
+    private static class SortedIndex {
+        private final Function<Object, ?> sortKey;
+        private final int[] positions;
+
+        SortedIndex(Function<Object, ?> sortKey, int[] positions) {
+            this.sortKey = sortKey;
+            this.positions = positions;
+        }
+    }
+
+    private class ColumnarVirtualLine implements VirtualLine {
+
+        private final int position;
+
+        ColumnarVirtualLine(int position) {
+            this.position = position;
+        }
+
+        @Override
+        public Long rowId() {
+            return rowIdAt(this.position);
+        }
+
+        @Override
+        public String tableId() {
+            return tableId;
+        }
+
+        @Override
+        public VirtualElementNode put(@NonNull VirtualElementNode elt) {
+            if (!Objects.equals(elt.getElement().rowId(), rowId())) {
+                throw new IllegalArgumentException("Wrong rowId");
+            }
+            ColumnarVirtualTable.this.put(elt.getElement());
+            return elt;
+        }
+
+        @Override
+        public VirtualElementNode get(Integer columnId) {
+            Column column = getColumnStorage(columnId);
+            VirtualElement elt = column == null ? null : elementAt(column, this.position);
+            return elt == null ? null : new VirtualElementNode(elt);
+        }
+
+        @Override
+        public Iterator<VirtualElement> iterator() {
+            return new ElementIterator<>(Arrays.asList(getOrderedColumns()).iterator(),
+                    column -> elementAt(column, this.position));
+        }
+    }
+
+    private class ColumnarVirtualColumn implements VirtualColumn {
+
+        private final Column column;
+
+        ColumnarVirtualColumn(Column column) {
+            this.column = column;
+        }
+
+        @Override
+        public Integer columnId() {
+            return this.column.columnId;
+        }
+
+        @Override
+        public String columnName() {
+            return this.column.columnName;
+        }
+
+        @Override
+        public String tableId() {
+            return this.column.tableId;
+        }
+
+        @Override
+        public String dataTypeName() {
+            return this.column.dataType;
+        }
+
+        @Override
+        public VirtualElementNode put(@NonNull VirtualElementNode elt) {
+            if (!Objects.equals(elt.getElement().columnId(), columnId())) {
+                throw new IllegalArgumentException("Wrong columnId");
+            }
+            ColumnarVirtualTable.this.put(elt.getElement());
+            return elt;
+        }
+
+        @Override
+        public VirtualElementNode get(Long rowId) {
+            VirtualElement elt = ColumnarVirtualTable.this.get(rowId, columnId());
+            return elt == null ? null : new VirtualElementNode(elt);
+        }
+
+        @Override
+        public Iterator<VirtualElement> iterator() {
+            int[] positions = positionsInRowIdOrder();
+            Iterator<Integer> iterator = new Iterator<Integer>() {
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return this.index < positions.length;
+                }
+
+                @Override
+                public Integer next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return positions[this.index++];
+                }
+            };
+            return new ElementIterator<>(iterator, position -> elementAt(this.column, position));
+        }
+    }
+
+    /**
+     * Maps the sources to the elements and skips the absent ones
+     */
+    private static class ElementIterator<T> implements Iterator<VirtualElement> {
+
+        private final Iterator<T> sources;
+        private final Function<T, VirtualElement> mapper;
+        private VirtualElement next;
+
+        ElementIterator(Iterator<T> sources, Function<T, VirtualElement> mapper) {
+            this.sources = sources;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (this.next == null && this.sources.hasNext()) {
+                this.next = this.mapper.apply(this.sources.next());
+            }
+            return this.next != null;
+        }
+
+        @Override
+        public VirtualElement next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            VirtualElement current = this.next;
+            this.next = null;
+            return current;
+        }
+    }
+
+}
@@ -34,10 +34,10 @@ import lombok.NonNull;
  * @author yh263208
  * @date 2021-11-04 12:13
  * @since ODC_release_3.2.2
- * @see CrossLinkedVirtualTable
+ * @see ColumnarVirtualTable
  */
 @Getter
-public class ResultSetVirtualTable extends CrossLinkedVirtualTable {
+public class ResultSetVirtualTable extends ColumnarVirtualTable {
 
     private final int maxCachedLines;
     private final long maxCachedSize;
@@ -98,8 +98,8 @@ public class ResultSetVirtualTable extends CrossLinkedVirtualTable {
                 put(element);
             }
         }
-        LineNode lineNode = findLineNode(rowNum);
-        if (lineNode == null) {
+        VirtualLine virtualLine = getLine(rowNum);
+        if (virtualLine == null) {
             return null;
         }
         totalCachedLines++;
@@ -107,7 +107,7 @@ public class ResultSetVirtualTable extends CrossLinkedVirtualTable {
             maxCachedRowId = rowNum;
         }
         refreshCacheFlag();
-        return new LinkedVirtualLine(lineNode);
+        return virtualLine;
     }
 
     private void refreshCacheFlag() {
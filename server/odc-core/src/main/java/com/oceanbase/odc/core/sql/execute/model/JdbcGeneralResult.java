@@ -56,6 +56,16 @@ public class JdbcGeneralResult {
     @Getter
     @Setter
     private String traceEmptyReason;
+    /**
+     * {@code true} means that the result is only a chunk of the result set and more rows of the same
+     * sql will be published later
+     */
+    @Getter
+    @Setter
+    private boolean partial = false;
+    @Getter
+    @Setter
+    private int chunkIndex = 0;
 
     public static JdbcGeneralResult successResult(@NonNull SqlTuple sqlTuple) {
         JdbcGeneralResult executeResult = new JdbcGeneralResult(sqlTuple);
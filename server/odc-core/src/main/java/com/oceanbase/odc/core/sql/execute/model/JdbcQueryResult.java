@@ -43,8 +43,20 @@ public class JdbcQueryResult {
     private final List<List<Object>> rows = new LinkedList<>();
 
     public JdbcQueryResult(@NonNull ResultSetMetaData metaData, @NonNull JdbcRowMapper mapper) throws SQLException {
+        this(new JdbcResultSetMetaData(metaData), mapper);
+    }
+
+    private JdbcQueryResult(@NonNull JdbcResultSetMetaData metaData, @NonNull JdbcRowMapper mapper) {
         this.mapper = mapper;
-        this.metaData = new JdbcResultSetMetaData(metaData);
+        this.metaData = metaData;
+    }
+
+    /**
+     * Create an empty result which shares the metadata and row mapper with the current one, used to
+     * publish a result set in several chunks while it is still being read
+     */
+    public JdbcQueryResult newChunk() {
+        return new JdbcQueryResult(this.metaData, this.mapper);
     }
 
     public void addLine(@NonNull ResultSet resultSet) throws SQLException, IOException {
@@ -74,6 +74,16 @@ public class SqlTuple {
         return newOne;
     }
 
+    /**
+     * Copy for a chunk of a streaming result set. The copy keeps the same sql id so that all the chunks
+     * can be merged by the client and shares the {@link TraceWatch} of the statement, the watch is
+     * still running when a chunk is published and is only closed with the final result.
+     */
+    public SqlTuple chunkCopy() {
+        SqlTuple newOne = new SqlTuple(this.sqlId, this.originalSql, this.executedSql, this.sqlWatch, this.offset);
+        newOne.ast = this.ast;
+        return newOne;
+    }
 
     public static SqlTuple newTuple(@NonNull String originalSql, @NonNull String executedSql,
             @NonNull TraceWatch traceWatch, @NonNull Integer offset) {
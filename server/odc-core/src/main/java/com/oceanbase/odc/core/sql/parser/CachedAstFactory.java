@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.oceanbase.odc.core.sql.parser;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+
+import org.antlr.v4.runtime.tree.ParseTree;
+
+import com.google.common.cache.AbstractCache.SimpleStatsCounter;
+import com.google.common.cache.AbstractCache.StatsCounter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.oceanbase.tools.sqlparser.SyntaxErrorException;
+
+import lombok.NonNull;
+
+/**
+ * {@link CachedAstFactory}, an {@link AbstractSyntaxTreeFactory} which caches the
+ * {@link AbstractSyntaxTree} built by the delegate. The cache is keyed by the sql text itself since
+ * the offsets of the tokens in the tree refer to it, failures are not cached. An entry weighs the
+ * count of the nodes of its parse tree, which the memory of the tree grows with, and the cache is
+ * bounded by the total weight, sqls longer than {@code maxSqlLength} are parsed by the delegate
+ * without being cached. The stats of all the instances are summed up by {@link #totalStats()} for
+ * monitoring. Only the parse tree is shared, {@link AbstractSyntaxTree#getStatement()} and
+ * {@link AbstractSyntaxTree#getParseResult()} still build a new object for every call so that
+ * callers are free to modify the result.
+ *
+ * @author agent
+ * @date 2026-10-17 17:05
+ * @since ODC_release_4.3.2
+ */
+public class CachedAstFactory implements AbstractSyntaxTreeFactory {
+
+    private static final StatsCounter TOTAL_STATS = new SimpleStatsCounter();
+    private final AbstractSyntaxTreeFactory delegate;
+    private final Cache<String, AbstractSyntaxTree> cache;
+    private final int maxSqlLength;
+
+    /**
+     * @param maximumWeight max total count of the parse tree nodes of the cached sqls
+     * @param maxSqlLength sqls longer than it are not cached
+     */
+    public CachedAstFactory(@NonNull AbstractSyntaxTreeFactory delegate, long maximumWeight, int maxSqlLength) {
+        this.delegate = delegate;
+        this.maxSqlLength = maxSqlLength;
+        // one segment so that a tree may take the whole weight, the cache is only used by one session
+        this.cache = CacheBuilder.newBuilder().concurrencyLevel(1).maximumWeight(maximumWeight)
+                .weigher((String sql, AbstractSyntaxTree ast) -> countNodes(ast.getRoot()))
+                .removalListener(notification -> {
+                    if (notification.wasEvicted()) {
+                        TOTAL_STATS.recordEviction();
+                    }
+                }).recordStats().build();
+    }
+
+    @Override
+    public AbstractSyntaxTree buildAst(@NonNull String statement) throws SyntaxErrorException {
+        if (statement.length() > this.maxSqlLength) {
+            return this.delegate.buildAst(statement);
+        }
+        boolean[] loaded = new boolean[1];
+        try {
+            return this.cache.get(statement, () -> {
+                loaded[0] = true;
+                return this.delegate.buildAst(statement);
+            });
+        } catch (UncheckedExecutionException | ExecutionError e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            if (loaded[0]) {
+                TOTAL_STATS.recordMisses(1);
+            } else {
+                TOTAL_STATS.recordHits(1);
+            }
+        }
+    }
+
+    /**
+     * @return hit, miss and eviction counts summed up from all the instances
+     */
+    public static CacheStats totalStats() {
+        return TOTAL_STATS.snapshot();
+    }
+
+    static int countNodes(ParseTree root) {
+        if (root == null) {
+            return 1;
+        }
+        int count = 0;
+        Deque<ParseTree> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            ParseTree node = stack.pop();
+            count++;
+            for (int i = 0; i < node.getChildCount(); i++) {
+                stack.push(node.getChild(i));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return hit, miss and eviction counts of the cache
+     */
+    public CacheStats stats() {
+        return this.cache.stats();
+    }
+
+    /**
+     * @return count of the cached trees
+     */
+    public long size() {
+        return this.cache.size();
+    }
+
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    @Override
+    public String toString() {
+        CacheStats stats = stats();
+        return "CachedAstFactory{size=" + size() + ", hitCount=" + stats.hitCount() + ", missCount="
+                + stats.missCount() + ", evictionCount=" + stats.evictionCount() + "}";
+    }
+
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.core.sql.split;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.IntStream;
+import org.antlr.v4.runtime.misc.Interval;
+
+import lombok.NonNull;
+
+/**
+ * {@link ReaderCharStream}, a {@link CharStream} which reads code points from a {@link Reader} on
+ * demand. Indexes are code point based, the same as the {@link CharStream} created by
+ * {@link org.antlr.v4.runtime.CharStreams#fromString(String)}, so that tokens lexed from this
+ * stream have the same offsets as the ones lexed from the whole script.
+ *
+ * Code points are kept in a window, the caller should call {@link #discardBefore(int)} to drop the
+ * code points which will never be visited again, otherwise the whole input will be kept in memory.
+ *
+ * @author agent
+ * @date 2026-10-17 16:20
+ * @since ODC_release_4.3.2
+ */
+class ReaderCharStream implements CharStream {
+
+    private static final int READ_BUFFER_SIZE = 8192;
+    private final Reader reader;
+    private final char[] readBuffer = new char[READ_BUFFER_SIZE];
+    /**
+     * code points in the window, {@code data[start]} is the code point at index {@link #base}
+     */
+    private int[] data = new int[READ_BUFFER_SIZE];
+    private int start = 0;
+    private int size = 0;
+    private int base = 0;
+    private int position = 0;
+    private int pendingHighSurrogate = -1;
+    private boolean eof = false;
+
+    ReaderCharStream(@NonNull Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Drop the code points before {@code index}, those code points can not be visited any more
+     */
+    void discardBefore(int index) {
+        int count = Math.min(index, this.position) - this.base;
+        if (count <= 0) {
+            return;
+        }
+        this.start += count;
+        this.size -= count;
+        this.base += count;
+    }
+
+    @Override
+    public void consume() {
+        if (LA(1) == IntStream.EOF) {
+            throw new IllegalStateException("cannot consume EOF");
+        }
+        this.position++;
+    }
+
+    @Override
+    public int LA(int i) {
+        if (i == 0) {
+            return 0;
+        }
+        int index = i < 0 ? this.position + i : this.position + i - 1;
+        if (index < 0) {
+            return IntStream.EOF;
+        }
+        if (index < this.base) {
+            throw new IllegalStateException("Code point has been discarded, index=" + index);
+        }
+        if (!fill(index)) {
+            return IntStream.EOF;
+        }
+        return this.data[this.start + index - this.base];
+    }
+
+    @Override
+    public int mark() {
+        // the window is managed by discardBefore
+        return -1;
+    }
+
+    @Override
+    public void release(int marker) {}
+
+    @Override
+    public int index() {
+        return this.position;
+    }
+
+    @Override
+    public void seek(int index) {
+        if (index < this.base) {
+            throw new IllegalStateException("Code point has been discarded, index=" + index);
+        }
+        fill(index - 1);
+        this.position = Math.min(index, this.base + this.size);
+    }
+
+    @Override
+    public int size() {
+        throw new UnsupportedOperationException("Reader based stream can not know its size");
+    }
+
+    @Override
+    public String getSourceName() {
+        return IntStream.UNKNOWN_SOURCE_NAME;
+    }
+
+    @Override
+    public String getText(Interval interval) {
+        int begin = interval.a;
+        int end = Math.min(interval.b, this.base + this.size - 1);
+        if (begin < this.base) {
+            throw new IllegalStateException("Code point has been discarded, index=" + begin);
+        }
+        if (end < begin) {
+            return "";
+        }
+        return new String(this.data, this.start + begin - this.base, end - begin + 1);
+    }
+
+    /**
+     * make sure the code point at {@code index} is in the window
+     *
+     * @return false if the input reaches the end before {@code index}
+     */
+    private boolean fill(int index) {
+        while (index >= this.base + this.size) {
+            if (this.eof) {
+                return false;
+            }
+            readMore();
+        }
+        return true;
+    }
+
+    private void readMore() {
+        int count;
+        try {
+            count = this.reader.read(this.readBuffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (count < 0) {
+            this.eof = true;
+            if (this.pendingHighSurrogate != -1) {
+                append(this.pendingHighSurrogate);
+                this.pendingHighSurrogate = -1;
+            }
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            char c = this.readBuffer[i];
+            if (this.pendingHighSurrogate != -1) {
+                char high = (char) this.pendingHighSurrogate;
+                this.pendingHighSurrogate = -1;
+                if (Character.isLowSurrogate(c)) {
+                    append(Character.toCodePoint(high, c));
+                    continue;
+                }
+                append(high);
+            }
+            if (Character.isHighSurrogate(c)) {
+                this.pendingHighSurrogate = c;
+            } else {
+                append(c);
+            }
+        }
+    }
+
+    private void append(int codePoint) {
+        if (this.start + this.size == this.data.length) {
+            if (this.size > this.data.length >> 1) {
+                this.data = Arrays.copyOf(this.data, this.data.length << 1);
+            }
+            // compact the window, discarded code points are dropped
+            System.arraycopy(this.data, this.start, this.data, 0, this.size);
+            this.start = 0;
+        }
+        this.data[this.start + this.size++] = codePoint;
+    }
+
+}
@@ -19,24 +19,17 @@ import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import com.oceanbase.odc.common.lang.Holder;
 import com.oceanbase.odc.common.util.StringUtils;
 import com.oceanbase.odc.core.shared.constant.DialectType;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
 
 /**
  * 该类用于SQL预处理，去除注释以及进行SQL断句
@@ -44,24 +37,20 @@ import lombok.NoArgsConstructor;
  * @author yh263208
  * @reference(Oracle) https://docs.oracle.com/cd/B19306_01/server.102/b14200/sql_elements006.htm#i31713
  * @reference(Mysql5.6) https://dev.mysql.com/doc/refman/5.6/en/comments.html
- * @notice 该类为有状态的类，状态是session级别的，因此不建议使用spring自动装配。@Scope也无法解决状态冲突的问题，因此建议直接使用new的方式获取对象
+ * @notice 该类为有状态的类，状态是session级别的，因此不建议使用spring自动装配。@Scope也无法解决状态冲突的问题，因此建议直接使用new的方式获取对象。
+ *         该类不是线程安全的，同一个对象不能被多个线程同时使用
  * @date 2020-07-02
  * @since 公有云2.0.2
  */
 public class SqlCommentProcessor {
 
-    private static final String DELIMITER_NAME = "delimiter";
+    private static final char[] DELIMITER_PREFIX = "delimiter ".toCharArray();
     /**
      * 是否保留格式
      */
     private boolean preserveFormat = false;
-    private String delimiter = ";";
-    @Getter
-    private boolean mlComment = false;
-    private char inString = '\0';
+    private volatile String delimiter = ";";
     private DialectType dialectType;
-    private char escapeString = '\0';
-    private boolean inNormalSql = false;
     /**
      * 是否保留单行注释
      */
@@ -73,9 +62,6 @@ public class SqlCommentProcessor {
     @Getter
     private boolean preserveMultiComments = false;
 
-    private static Pattern pattern = Pattern.compile("\\r\\n|\\r|\\n");
-
-
     public SqlCommentProcessor(boolean preserveFormat, String delimiter) {
         this.delimiter = delimiter;
         this.preserveFormat = preserveFormat;
@@ -115,16 +101,21 @@ public class SqlCommentProcessor {
     public static List<OffsetString> removeSqlComments(String originalSql,
             String delimiter, DialectType dbMode, boolean preserveFormat) {
         SqlCommentProcessor sqlCommentProcessor = new SqlCommentProcessor(preserveFormat, delimiter);
-        StringBuffer buffer = new StringBuffer();
+        StringBuilder buffer = new StringBuilder();
         List<OffsetString> offsetStrings = new ArrayList<>();
-        List<List<OrderChar>> lines = splitLine(originalSql);
         Holder<Integer> bufferOrder = new Holder<>(0);
-        for (List<OrderChar> item : lines) {
+        LineBuffer line = new LineBuffer();
+        ScanState state = new ScanState(delimiter);
+        int length = originalSql.length();
+        for (int start = 0; start < length;) {
+            int end = indexOfLineEnd(originalSql, start);
+            line.load(originalSql, start, end, start);
             if (Objects.nonNull(dbMode) && dbMode.isMysql()) {
-                sqlCommentProcessor.addLineMysql(offsetStrings, buffer, bufferOrder, item);
+                sqlCommentProcessor.addLineMysql(offsetStrings, buffer, bufferOrder, line, state);
             } else {
-                sqlCommentProcessor.addLineOracle(offsetStrings, buffer, bufferOrder, item);
+                sqlCommentProcessor.addLineOracle(offsetStrings, buffer, bufferOrder, line, state);
             }
+            start = nextLineStart(originalSql, end);
         }
 
         String bufferStr = buffer.toString();
@@ -151,50 +142,81 @@ public class SqlCommentProcessor {
         return offsetStrings;
     }
 
-    public synchronized List<OffsetString> split(StringBuffer buffer, String sqlScript) {
+    /**
+     * @deprecated use {@link #split(StringBuilder, CharSequence)} instead, this method is kept for
+     *             compatibility and copies the content of the buffer in and out
+     */
+    @Deprecated
+    public List<OffsetString> split(StringBuffer buffer, String sqlScript) {
+        StringBuilder builder = new StringBuilder(buffer);
+        try {
+            return split(builder, sqlScript);
+        } finally {
+            buffer.setLength(0);
+            buffer.append(builder);
+        }
+    }
+
+    /**
+     * Split the sql script into statements. The content which is not terminated by the delimiter will
+     * be left in the buffer.
+     *
+     * @param buffer buffer to hold the unterminated content
+     * @param sqlScript sql script to be split
+     * @return statements with their offsets in the script
+     */
+    public List<OffsetString> split(StringBuilder buffer, CharSequence sqlScript) {
         if (StringUtils.isBlank(sqlScript)) {
             return new ArrayList<>();
         }
-        try {
-            List<OffsetString> offsetStrings = new ArrayList<>();
-
-            List<List<OrderChar>> lines = splitLine(sqlScript);
-            Holder<Integer> bufferOrder = new Holder<>(0);
-            for (List<OrderChar> item : lines) {
-                if (Objects.nonNull(this.dialectType) && this.dialectType.isMysql()) {
-                    addLineMysql(offsetStrings, buffer, bufferOrder, item);
-                } else if (Objects.nonNull(this.dialectType) && this.dialectType.isOracle()) {
-                    addLineOracle(offsetStrings, buffer, bufferOrder, item);
-                } else if (Objects.nonNull(this.dialectType) && this.dialectType.isDoris()) {
-                    addLineMysql(offsetStrings, buffer, bufferOrder, item);
-                } else {
-                    throw new IllegalArgumentException("dialect type is illegal");
-                }
-            }
-            return offsetStrings;
-        } finally {
-            mlComment = false;
-            inString = '\0';
-            inNormalSql = false;
+        if (Objects.isNull(this.dialectType)
+                || !(this.dialectType.isMysql() || this.dialectType.isOracle() || this.dialectType.isDoris())) {
+            throw new IllegalArgumentException("dialect type is illegal");
         }
+        List<OffsetString> offsetStrings = new ArrayList<>();
+        Holder<Integer> bufferOrder = new Holder<>(0);
+        LineBuffer line = new LineBuffer();
+        ScanState state = new ScanState(this.delimiter);
+        int length = sqlScript.length();
+        for (int start = 0; start < length;) {
+            int end = indexOfLineEnd(sqlScript, start);
+            line.load(sqlScript, start, end, start);
+            addLine(offsetStrings, buffer, bufferOrder, line, state);
+            start = nextLineStart(sqlScript, end);
+        }
+        return offsetStrings;
     }
 
-    private synchronized void addLineMysql(List<OffsetString> sqls, StringBuffer buffer, Holder<Integer> bufferOrder,
-            List<OrderChar> line) {
+    private void addLine(List<OffsetString> sqls, StringBuilder buffer, Holder<Integer> bufferOrder,
+            LineBuffer line, ScanState state) {
+        if (this.dialectType.isOracle()) {
+            addLineOracle(sqls, buffer, bufferOrder, line, state);
+        } else {
+            // mysql and doris share the same comment syntax
+            addLineMysql(sqls, buffer, bufferOrder, line, state);
+        }
+    }
+
+    /**
+     * The line is scanned and compacted in place: {@code pos} is the read index and {@code out} is the
+     * write index, {@code out} never goes beyond {@code pos}, so chars after {@code pos} always keep
+     * their original values.
+     */
+    void addLineMysql(List<OffsetString> sqls, StringBuilder buffer, Holder<Integer> bufferOrder,
+            LineBuffer line, ScanState state) {
         int pos, out;
         boolean needSpace = false;
         // 标识量，用于标识当前是否处于HINT，CONDITIONAL中
         SSC ssComment = SSC.NONE;
         boolean isSameLine = false;
-        int lineLength = line.size();
-        OrderChar[] lines = line.toArray(new OrderChar[lineLength + 1]);
-        if ((lines.length == 0 || lines[0] == null || lines[0].getCh() == 0) && buffer.length() == 0) {
+        int lineLength = line.length;
+        char[] chars = line.chars;
+        if ((lineLength == 0 || chars[0] == 0) && buffer.length() == 0) {
             return;
         }
-        lines[lineLength] = new OrderChar((char) 0, lineLength);
+        line.seal();
         for (pos = out = 0; pos < lineLength; pos++) {
-            OrderChar inOrderChar = lines[pos];
-            char inChar = inOrderChar.getCh();
+            char inChar = chars[pos];
             // 去掉每一行SQL语句最开始的空格
             if (inChar == ' ' && out == 0 && buffer.length() == 0 && !preserveFormat) {
                 continue;
@@ -202,223 +224,130 @@ public class SqlCommentProcessor {
             int delimiterBegin = 0;
             if (preserveFormat) {
                 for (; delimiterBegin < out
-                        && (lines[delimiterBegin].getCh() == ' '
-                                || lines[delimiterBegin].getCh() == '\t'); delimiterBegin++) {
+                        && (chars[delimiterBegin] == ' ' || chars[delimiterBegin] == '\t'); delimiterBegin++) {
                 }
             }
-            if (equalsIgnoreCase((DELIMITER_NAME + " ").toCharArray(), lines, delimiterBegin, (out - delimiterBegin))) {
+            if (equalsIgnoreCase(DELIMITER_PREFIX, chars, delimiterBegin, (out - delimiterBegin))) {
                 // 检测到"delimiter "字符串，且不在多行注释以及多行字符串中，说明有设定分隔符的语句
-                StringBuilder newDelimiter = new StringBuilder();
-                for (; pos < lineLength; pos++) {
-                    char tempChar = lines[pos].getCh();
-                    if (tempChar != ' ') {
-                        newDelimiter.append(tempChar);
-                    } else if (newDelimiter.length() != 0) {
-                        break;
-                    }
-                }
+                pos = readDelimiter(chars, pos, lineLength, state);
                 out = 0;
-                this.delimiter = newDelimiter.toString();
                 continue;
             }
             // 扫描到转义字符，可能出现指令
-            if ((!mlComment && inChar == '\\')) {
-                inOrderChar = lines[++pos];
-                inChar = inOrderChar.getCh();
+            if ((!state.mlComment && inChar == '\\')) {
+                inChar = chars[++pos];
                 if (inChar == 0) {
                     break;
                 }
-                if (inString != '\0' || inChar == 'N') {
-                    lines[out++] = OrderChar.newOrderChar(lines[pos - 1]);
-                    if (inChar == '`' && inString == inChar) {
+                if (state.inString != '\0' || inChar == 'N') {
+                    line.copy(out++, pos - 1);
+                    if (inChar == '`' && state.inString == inChar) {
                         pos--;
                     } else {
-                        lines[out++] = OrderChar.newOrderChar(lines[pos]);
+                        line.copy(out++, pos);
                     }
                     continue;
                 }
                 // 非mysql model或没有检索到正确的命令，直接将转义符号及转义字符放入缓冲
-                lines[out++] = OrderChar.newOrderChar(lines[pos - 1]);
-                lines[out++] = OrderChar.newOrderChar(lines[pos]);
-            } else if (!mlComment && inString == '\0' && ssComment != SSC.HINT
-                    && isPrefix(lines, pos, delimiter)) {
+                line.copy(out++, pos - 1);
+                line.copy(out++, pos);
+            } else if (!state.mlComment && state.inString == '\0' && ssComment != SSC.HINT
+                    && isPrefix(chars, lineLength, pos, state.delimiter)) {
                 // 不是多行注释，未在字符串中，不是hint且以delimiter开头，通常是扫描到了sql的末尾
-                pos += delimiter.length();
+                pos += state.delimiter.length();
                 if (out != 0) {
                     if (buffer.length() == 0) {
-                        bufferOrder.setValue(lines[0].getOrder());
+                        bufferOrder.setValue(line.orders[0]);
                     }
-                    append(buffer, lines, 0, out);
+                    buffer.append(chars, 0, out);
                     out = 0;
                 }
-                // buffer.append(";").append('\n');
                 sqls.add(new OffsetString(bufferOrder.getValue(), buffer.toString()));
                 bufferOrder.setValue(bufferOrder.getValue() + buffer.length());
                 pos--;
                 buffer.setLength(0);
                 isSameLine = true;
-                inNormalSql = false;
-            } else if (!mlComment
-                    && (inString == '\0' && (inChar == '#' || (inChar == '-' && lines[pos + 1].getCh() == '-'
-                            && ((lines[pos + 2].getCh() == ' ' || lines[pos + 2].getCh() == '\0')))))) {
+                state.inNormalSql = false;
+            } else if (!state.mlComment
+                    && (state.inString == '\0' && (inChar == '#' || (inChar == '-' && chars[pos + 1] == '-'
+                            && ((chars[pos + 2] == ' ' || chars[pos + 2] == '\0')))))) {
                 // 处于单行注释中
-                if (buffer.length() == 0) {
-                    bufferOrder.setValue(lines[0].getOrder());
-                }
-                append(buffer, lines, 0, out);
+                appendSingleLineComment(sqls, buffer, bufferOrder, line, pos, out, isSameLine);
                 out = 0;
-                if (preserveSingleComments) {
-                    // 如果保留单行注释则需要将注释完整地拷贝到缓冲中不能丢弃
-                    for (; pos < lineLength; pos++) {
-                        lines[out++] = OrderChar.newOrderChar(lines[pos]);
-                    }
-                    if (isOnlyWhiteSpace(buffer)) {
-                        // 缓冲中全部是空格，或者缓冲为空说明注释要么处于第一行要么处于个已经完结的sql语句之后
-                        if (sqls.size() != 0) {
-                            if (buffer.length() == 0) {
-                                bufferOrder.setValue(lines[0].getOrder());
-                            }
-                            // 说明注释处于一个已经完结的sql之后，且该sql已经被加入到sql集合中，此处的注释需要追加到最后一句sql中
-                            append(buffer, lines, 0, out);
-                            int lastIndex = sqls.size() - 1;
-                            String lastSql = sqls.get(lastIndex).getStr();
-                            if (!isSameLine) {
-                                lastSql += '\n';
-                            }
-                            lastSql += buffer + "\n";
-                            sqls.set(lastIndex, new OffsetString(sqls.get(lastIndex).getOffset(), lastSql));
-                            buffer.setLength(0);
-                        } else {
-                            lines[out++].setCh('\n');
-                            if (buffer.length() == 0) {
-                                bufferOrder.setValue(lines[0].getOrder());
-                            }
-                            append(buffer, lines, 0, out - 1);
-                        }
-                    } else {
-                        lines[out++].setCh('\n');
-                        if (buffer.length() == 0) {
-                            bufferOrder.setValue(lines[0].getOrder());
-                        }
-                        append(buffer, lines, 0, out - 1);
-                    }
-                    out = 0;
-                }
                 break;
-            } else if (inString == '\0' && (inChar == '/' && lines[pos + 1].getCh() == '*')
+            } else if (state.inString == '\0' && (inChar == '/' && chars[pos + 1] == '*')
             // 此处注意，Oracle模式下没有Conditional，故这里要做规避。Mysql模式下的Conditional在Oracle模式在要识别为注释去掉
-                    && lines[pos + 2].getCh() != '!'
-                    && lines[pos + 2].getCh() != '+' && ssComment != SSC.HINT) {
+                    && chars[pos + 2] != '!'
+                    && chars[pos + 2] != '+' && ssComment != SSC.HINT) {
                 // 处于多行注释中，注意规避了HINT和CONDITIONAL，Oracle模式下没有conditional
                 if (preserveMultiComments) {
-                    lines[out++].setCh('/');
-                    lines[out++].setCh('*');
+                    chars[out++] = '/';
+                    chars[out++] = '*';
                 }
                 pos++;
-                mlComment = true;
-            } else if (mlComment && ssComment == SSC.NONE && inChar == '*' && lines[pos + 1].getCh() == '/') {
+                state.mlComment = true;
+            } else if (state.mlComment && ssComment == SSC.NONE && inChar == '*' && chars[pos + 1] == '/') {
                 // 多行注释结束
                 pos++;
-                mlComment = false;
-                if (buffer.length() == 0) {
-                    bufferOrder.setValue(lines[0].getOrder());
-                }
-                append(buffer, lines, 0, out);
+                endMultiLineComment(sqls, buffer, bufferOrder, line, out, state);
                 out = 0;
-                if (preserveMultiComments) {
-                    lines[out++].setCh('*');
-                    lines[out++].setCh('/');
-                    if (buffer.length() == 0) {
-                        bufferOrder.setValue(lines[0].getOrder());
-                    }
-                    append(buffer, lines, 0, out);
-                    out = 0;
-                    if (sqls.size() != 0 && !inNormalSql) {
-                        int lastIndex = sqls.size() - 1;
-                        String lastSql = sqls.get(lastIndex).getStr() + buffer;
-                        sqls.set(lastIndex, new OffsetString(sqls.get(lastIndex).getOffset(), lastSql));
-                        buffer.setLength(0);
-                    }
-                }
                 needSpace = true;
             } else {
-                if (inString == '\0' && inChar == '/' && lines[pos + 1].getCh() == '*') {
-                    if (lines[pos + 2].getCh() == '!') {
+                if (state.inString == '\0' && inChar == '/' && chars[pos + 1] == '*') {
+                    if (chars[pos + 2] == '!') {
                         // 处于CONDITIONAL中
                         ssComment = SSC.CONDITIONAL;
-                    } else if (lines[pos + 2].getCh() == '+') {
+                    } else if (chars[pos + 2] == '+') {
                         // 处于HINT中
                         ssComment = SSC.HINT;
                     }
-                } else if (inString == '\0' && ssComment != SSC.NONE && inChar == '*'
-                        && lines[pos + 1].getCh() == '/') {
+                } else if (state.inString == '\0' && ssComment != SSC.NONE && inChar == '*' && chars[pos + 1] == '/') {
                     // HINT或CONDITIONAL结束
                     ssComment = SSC.NONE;
                 }
-                if (inChar == inString) {
+                if (inChar == state.inString) {
                     // 字符指针出字符串或表达式
-                    inString = '\0';
-                } else if (!mlComment && inString == '\0' && ssComment != SSC.HINT
+                    state.inString = '\0';
+                } else if (!state.mlComment && state.inString == '\0' && ssComment != SSC.HINT
                         && (inChar == '\'' || inChar == '"' || inChar == '`')) {
                     // 字符指针进入字符串或者表达式
-                    inString = inChar;
+                    state.inString = inChar;
                 }
-                if (!mlComment) {
+                if (!state.mlComment) {
                     if (needSpace && inChar == ' ') {
-                        lines[out++].setCh(' ');
+                        chars[out++] = ' ';
                     }
                     needSpace = false;
                     // 正常的SQL语句，将其放入line缓冲当中，在合适的实际flush如buffer缓存
-                    lines[out++] = OrderChar.newOrderChar(inOrderChar);
+                    line.copy(out++, pos);
                     if (inChar != ' ') {
-                        inNormalSql = true;
+                        state.inNormalSql = true;
                     }
                 } else if (preserveMultiComments) {
                     // 保留多行注释
-                    lines[out++] = OrderChar.newOrderChar(inOrderChar);
+                    line.copy(out++, pos);
                 }
             }
         }
-        // 拦截性的处理，如果out指针没有为0，说明lines中还有内容没有被刷入到buffer，在这里进行flush
-        if (out != 0 || buffer.length() != 0) {
-            lines[out++].setCh('\n');
-            if (buffer.length() == 0) {
-                bufferOrder.setValue(lines[0].getOrder());
-            }
-            append(buffer, lines, 0, out);
-        }
+        flushLine(buffer, bufferOrder, line, out);
     }
 
-    private boolean isOnlyWhiteSpace(StringBuffer buffer) {
-        if (buffer == null) {
-            return false;
-        }
-        int length = buffer.length();
-        for (int i = 0; i < length; i++) {
-            if (buffer.charAt(i) != ' ') {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    public synchronized void addLineOracle(List<OffsetString> sqls, StringBuffer buffer, Holder<Integer> bufferOrder,
-            List<OrderChar> line) {
+    void addLineOracle(List<OffsetString> sqls, StringBuilder buffer, Holder<Integer> bufferOrder,
+            LineBuffer line, ScanState state) {
         int pos, out;
         boolean needSpace = false;
         // 标识量，用于标识当前是否处于HINT，CONDITIONAL中
         SSC ssComment = SSC.NONE;
 
         boolean isSameLine = false;
-        int lineLength = line.size();
-        OrderChar[] lines = line.toArray(new OrderChar[lineLength + 1]);
-        if ((lines.length == 0 || lines[0] == null || lines[0].getCh() == 0) && buffer.length() == 0) {
+        int lineLength = line.length;
+        char[] chars = line.chars;
+        if ((lineLength == 0 || chars[0] == 0) && buffer.length() == 0) {
             return;
         }
-        lines[lineLength] = new OrderChar((char) 0, lineLength);
+        line.seal();
         for (pos = out = 0; pos < lineLength; pos++) {
-            OrderChar inOrderChar = lines[pos];
-            char inChar = inOrderChar.getCh();
+            char inChar = chars[pos];
             // 去掉每一行SQL语句最开始的空格
             if (inChar == ' ' && out == 0 && buffer.length() == 0 && !preserveFormat) {
                 continue;
@@ -426,236 +355,268 @@ public class SqlCommentProcessor {
             int delimiterBegin = 0;
             if (preserveFormat) {
                 for (; delimiterBegin < out
-                        && (lines[delimiterBegin].getCh() == ' '
-                                || lines[delimiterBegin].getCh() == '\t'); delimiterBegin++) {
+                        && (chars[delimiterBegin] == ' ' || chars[delimiterBegin] == '\t'); delimiterBegin++) {
                 }
             }
-            if (equalsIgnoreCase((DELIMITER_NAME + " ").toCharArray(), lines, delimiterBegin, (out - delimiterBegin))) {
+            if (equalsIgnoreCase(DELIMITER_PREFIX, chars, delimiterBegin, (out - delimiterBegin))) {
                 // 检测到"delimiter "字符串，且不在多行注释以及多行字符串中，说明有设定分隔符的语句
-                StringBuilder newDelimiter = new StringBuilder();
-                for (; pos < lineLength; pos++) {
-                    char tempChar = lines[pos].getCh();
-                    if (tempChar != ' ') {
-                        newDelimiter.append(tempChar);
-                    } else if (newDelimiter.length() != 0) {
-                        break;
-                    }
-                }
+                pos = readDelimiter(chars, pos, lineLength, state);
                 out = 0;
-                this.delimiter = newDelimiter.toString();
                 continue;
             }
-            if (!mlComment && inString == '\0' && ssComment != SSC.HINT && isPrefix(lines, pos, delimiter)) {
+            if (!state.mlComment && state.inString == '\0' && ssComment != SSC.HINT
+                    && isPrefix(chars, lineLength, pos, state.delimiter)) {
                 // 不是多行注释，未在字符串中，不是hint且以delimiter开头，通常是扫描到了sql的末尾
-                pos += delimiter.length();
+                pos += state.delimiter.length();
                 if (out != 0) {
                     if (buffer.length() == 0) {
-                        bufferOrder.setValue(lines[0].getOrder());
+                        bufferOrder.setValue(line.orders[0]);
                     }
-                    append(buffer, lines, 0, out);
+                    buffer.append(chars, 0, out);
                     out = 0;
                 }
-                // buffer.append(";").append('\n');
                 sqls.add(new OffsetString(bufferOrder.getValue(), buffer.toString()));
                 bufferOrder.setValue(bufferOrder.getValue() + buffer.length());
                 pos--;
                 buffer.setLength(0);
                 isSameLine = true;
-                inNormalSql = false;
-            } else if (!mlComment && (inString == '\0' && (inChar == '-' && lines[pos + 1].getCh() == '-'
-                    && (lines[pos + 2].getCh() != '+' || (lines[pos + 2].getCh() == ' '
-                            || lines[pos + 2].getCh() == '\0'))))) {
+                state.inNormalSql = false;
+            } else if (!state.mlComment && (state.inString == '\0' && (inChar == '-' && chars[pos + 1] == '-'
+                    && (chars[pos + 2] != '+' || (chars[pos + 2] == ' ' || chars[pos + 2] == '\0'))))) {
                 // 处于单行注释中，注意规避单行HINT
-                if (buffer.length() == 0) {
-                    bufferOrder.setValue(lines[0].getOrder());
-                }
-                append(buffer, lines, 0, out);
+                appendSingleLineComment(sqls, buffer, bufferOrder, line, pos, out, isSameLine);
                 out = 0;
-                if (preserveSingleComments) {
-                    // 如果保留单行注释则需要将注释完整地拷贝到缓冲中不能丢弃
-                    for (; pos < lineLength; pos++) {
-                        lines[out++] = OrderChar.newOrderChar(lines[pos]);
-                    }
-                    if (isOnlyWhiteSpace(buffer)) {
-                        // 缓冲中全部是空格，或者缓冲为空说明注释要么处于第一行要么处于个已经完结的sql语句之后
-                        if (sqls.size() != 0) {
-                            if (buffer.length() == 0) {
-                                bufferOrder.setValue(lines[0].getOrder());
-                            }
-                            // 说明注释处于一个已经完结的sql之后，且该sql已经被加入到sql集合中，此处的注释需要追加到最后一句sql中
-                            append(buffer, lines, 0, out);
-                            int lastIndex = sqls.size() - 1;
-                            String lastSql = sqls.get(lastIndex).getStr();
-                            if (!isSameLine) {
-                                lastSql += '\n';
-                            }
-                            lastSql += buffer + "\n";
-                            sqls.set(lastIndex, new OffsetString(sqls.get(lastIndex).getOffset(), lastSql));
-                            buffer.setLength(0);
-                        } else {
-                            lines[out++].setCh('\n');
-                            if (buffer.length() == 0) {
-                                bufferOrder.setValue(lines[0].getOrder());
-                            }
-                            append(buffer, lines, 0, out - 1);
-                        }
-                    } else {
-                        lines[out++].setCh('\n');
-                        if (buffer.length() == 0) {
-                            bufferOrder.setValue(lines[0].getOrder());
-                        }
-                        append(buffer, lines, 0, out - 1);
-                    }
-                    out = 0;
-                }
                 break;
-            } else if (inString == '\0' && (inChar == '/' && lines[pos + 1].getCh() == '*')
-                    && lines[pos + 2].getCh() != '+'
+            } else if (state.inString == '\0' && (inChar == '/' && chars[pos + 1] == '*')
+                    && chars[pos + 2] != '+'
                     && ssComment != SSC.HINT) {
                 // 处于多行注释中，注意规避了HINT和CONDITIONAL，Oracle模式下没有conditional
                 if (preserveMultiComments) {
-                    lines[out++].setCh('/');
-                    lines[out++].setCh('*');
+                    chars[out++] = '/';
+                    chars[out++] = '*';
                 }
                 pos++;
-                mlComment = true;
-            } else if (mlComment && ssComment == SSC.NONE && inChar == '*' && lines[pos + 1].getCh() == '/') {
+                state.mlComment = true;
+            } else if (state.mlComment && ssComment == SSC.NONE && inChar == '*' && chars[pos + 1] == '/') {
                 // 多行注释结束
                 pos++;
-                mlComment = false;
-                if (buffer.length() == 0) {
-                    bufferOrder.setValue(lines[0].getOrder());
-                }
-                append(buffer, lines, 0, out);
+                endMultiLineComment(sqls, buffer, bufferOrder, line, out, state);
                 out = 0;
-                if (preserveMultiComments) {
-                    lines[out++].setCh('*');
-                    lines[out++].setCh('/');
-                    if (buffer.length() == 0) {
-                        bufferOrder.setValue(lines[0].getOrder());
-                    }
-                    append(buffer, lines, 0, out);
-                    out = 0;
-                    if (sqls.size() != 0 && !inNormalSql) {
-                        int lastIndex = sqls.size() - 1;
-                        String lastSql = sqls.get(lastIndex).getStr() + buffer;
-                        sqls.set(lastIndex, new OffsetString(sqls.get(lastIndex).getOffset(), lastSql));
-                        buffer.setLength(0);
-                    }
-                }
                 needSpace = true;
             } else {
-                if (inString == '\0' && inChar == '/' && lines[pos + 1].getCh() == '*') {
-                    if (lines[pos + 2].getCh() == '+') {
+                if (state.inString == '\0' && inChar == '/' && chars[pos + 1] == '*') {
+                    if (chars[pos + 2] == '+') {
                         // 处于HINT中
                         ssComment = SSC.HINT;
                     }
-                } else if (inString == '\0' && ssComment != SSC.NONE && inChar == '*'
-                        && lines[pos + 1].getCh() == '/') {
+                } else if (state.inString == '\0' && ssComment != SSC.NONE && inChar == '*' && chars[pos + 1] == '/') {
                     // HINT或CONDITIONAL结束
                     ssComment = SSC.NONE;
-                } else if (inString == '\0' && inChar == '-' && lines[pos + 1].getCh() == '-'
-                        && lines[pos + 2].getCh() == '+') {
+                } else if (state.inString == '\0' && inChar == '-' && chars[pos + 1] == '-' && chars[pos + 2] == '+') {
                     // 在Oracle模式下Hint有单行Hint和多行Hint之分，这里处理Oracle模式下的单行Hint
                     ssComment = SSC.HINT;
                 }
-                if (inChar == inString) {
+                if (inChar == state.inString) {
                     // 字符指针出字符串或表达式
-                    if (escapeString == '\0') {
-                        inString = '\0';
-                    } else if (pos >= 1 && matchQEscape(lines[pos - 1].getCh())) {
-                        inString = '\0';
-                        escapeString = '\0';
+                    if (state.escapeString == '\0') {
+                        state.inString = '\0';
+                    } else if (pos >= 1 && matchQEscape(chars[pos - 1], state.escapeString)) {
+                        state.inString = '\0';
+                        state.escapeString = '\0';
                     }
-                } else if (!mlComment && inString == '\0' && ssComment != SSC.HINT
+                } else if (!state.mlComment && state.inString == '\0' && ssComment != SSC.HINT
                         && (inChar == '\'' || inChar == '"' || inChar == '`')) {
                     // 字符指针进入字符串或者表达式
-                    inString = inChar;
-                    if (pos >= 1 && (lines[pos - 1].getCh() == 'q' || lines[pos - 1].getCh() == 'Q')) {
+                    state.inString = inChar;
+                    if (pos >= 1 && (chars[pos - 1] == 'q' || chars[pos - 1] == 'Q')) {
                         // oracle 特有语法，Q 转义
-                        escapeString = lines[pos + 1].getCh();
+                        state.escapeString = chars[pos + 1];
                     }
                 }
-                if (!mlComment) {
+                if (!state.mlComment) {
                     if (needSpace && inChar == ' ') {
-                        lines[out++].setCh(' ');
+                        chars[out++] = ' ';
                     }
                     needSpace = false;
                     // 正常的SQL语句，将其放入line缓冲当中，在合适的实际flush如buffer缓存
-                    lines[out++] = new OrderChar(inOrderChar.getCh(), inOrderChar.getOrder());
+                    line.copy(out++, pos);
                     if (inChar != ' ') {
-                        inNormalSql = true;
+                        state.inNormalSql = true;
                     }
                 } else if (preserveMultiComments) {
                     // 保留多行注释
-                    lines[out++] = new OrderChar(inOrderChar.getCh(), inOrderChar.getOrder());
+                    line.copy(out++, pos);
                 }
             }
         }
-        // 拦截性的处理，如果out指针没有为0，说明lines中还有内容没有被刷入到buffer，在这里进行flush
+        flushLine(buffer, bufferOrder, line, out);
+    }
+
+    /**
+     * 读取 "delimiter xxx" 语句中新的分隔符，返回值为扫描结束的位置
+     */
+    private int readDelimiter(char[] chars, int pos, int lineLength, ScanState state) {
+        int begin = -1;
+        int end = pos;
+        for (; pos < lineLength; pos++) {
+            if (chars[pos] != ' ') {
+                if (begin == -1) {
+                    begin = pos;
+                }
+                end = pos + 1;
+            } else if (begin != -1) {
+                break;
+            }
+        }
+        state.delimiter = begin == -1 ? "" : new String(chars, begin, end - begin);
+        // the delimiter is a setting of the session, it is kept for the following scripts
+        this.delimiter = state.delimiter;
+        return pos;
+    }
+
+    private void appendSingleLineComment(List<OffsetString> sqls, StringBuilder buffer, Holder<Integer> bufferOrder,
+            LineBuffer line, int pos, int out, boolean isSameLine) {
+        char[] chars = line.chars;
+        if (buffer.length() == 0) {
+            bufferOrder.setValue(line.orders[0]);
+        }
+        buffer.append(chars, 0, out);
+        out = 0;
+        if (!preserveSingleComments) {
+            return;
+        }
+        // 如果保留单行注释则需要将注释完整地拷贝到缓冲中不能丢弃
+        for (; pos < line.length; pos++) {
+            line.copy(out++, pos);
+        }
+        if (isOnlyWhiteSpace(buffer) && sqls.size() != 0) {
+            // 缓冲中全部是空格，或者缓冲为空说明注释要么处于第一行要么处于个已经完结的sql语句之后
+            if (buffer.length() == 0) {
+                bufferOrder.setValue(line.orders[0]);
+            }
+            // 说明注释处于一个已经完结的sql之后，且该sql已经被加入到sql集合中，此处的注释需要追加到最后一句sql中
+            buffer.append(chars, 0, out);
+            int lastIndex = sqls.size() - 1;
+            StringBuilder lastSql = new StringBuilder(sqls.get(lastIndex).getStr());
+            if (!isSameLine) {
+                lastSql.append('\n');
+            }
+            lastSql.append(buffer).append('\n');
+            sqls.set(lastIndex, new OffsetString(sqls.get(lastIndex).getOffset(), lastSql.toString()));
+            buffer.setLength(0);
+        } else {
+            chars[out++] = '\n';
+            if (buffer.length() == 0) {
+                bufferOrder.setValue(line.orders[0]);
+            }
+            buffer.append(chars, 0, out - 1);
+        }
+    }
+
+    private void endMultiLineComment(List<OffsetString> sqls, StringBuilder buffer, Holder<Integer> bufferOrder,
+            LineBuffer line, int out, ScanState state) {
+        char[] chars = line.chars;
+        state.mlComment = false;
+        if (buffer.length() == 0) {
+            bufferOrder.setValue(line.orders[0]);
+        }
+        buffer.append(chars, 0, out);
+        if (!preserveMultiComments) {
+            return;
+        }
+        chars[0] = '*';
+        chars[1] = '/';
+        if (buffer.length() == 0) {
+            bufferOrder.setValue(line.orders[0]);
+        }
+        buffer.append(chars, 0, 2);
+        if (sqls.size() != 0 && !state.inNormalSql) {
+            int lastIndex = sqls.size() - 1;
+            String lastSql = sqls.get(lastIndex).getStr() + buffer;
+            sqls.set(lastIndex, new OffsetString(sqls.get(lastIndex).getOffset(), lastSql));
+            buffer.setLength(0);
+        }
+    }
+
+    /**
+     * 拦截性的处理，如果out指针没有为0，说明lines中还有内容没有被刷入到buffer，在这里进行flush
+     */
+    private void flushLine(StringBuilder buffer, Holder<Integer> bufferOrder, LineBuffer line, int out) {
         if (out != 0 || buffer.length() != 0) {
-            lines[out++].setCh('\n');
+            line.chars[out++] = '\n';
             if (buffer.length() == 0) {
-                bufferOrder.setValue(lines[0].getOrder());
+                bufferOrder.setValue(line.orders[0]);
             }
-            append(buffer, lines, 0, out);
+            buffer.append(line.chars, 0, out);
         }
     }
 
-    private boolean equalsIgnoreCase(char[] src, OrderChar[] dest, int begin, int count) {
-        if (src == null && dest == null) {
-            return true;
-        } else if (src != null && dest != null) {
-            if (src.length != count) {
+    private boolean isOnlyWhiteSpace(CharSequence buffer) {
+        if (buffer == null) {
+            return false;
+        }
+        int length = buffer.length();
+        for (int i = 0; i < length; i++) {
+            if (buffer.charAt(i) != ' ') {
                 return false;
             }
-            for (int i = 0; i < count; i++) {
-                char c1 = src[i];
-                char c2 = dest[begin + i].getCh();
-                if (c1 == c2) {
-                    continue;
-                }
-                char u1 = Character.toUpperCase(c1);
-                char u2 = Character.toUpperCase(c2);
-                if (u1 == u2) {
-                    continue;
-                }
-                if (Character.toLowerCase(u1) == Character.toLowerCase(u2)) {
-                    continue;
-                }
-                return false;
+        }
+        return true;
+    }
+
+    private boolean equalsIgnoreCase(char[] src, char[] dest, int begin, int count) {
+        if (src.length != count) {
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            char c1 = src[i];
+            char c2 = dest[begin + i];
+            if (c1 == c2) {
+                continue;
             }
-            return true;
+            char u1 = Character.toUpperCase(c1);
+            char u2 = Character.toUpperCase(c2);
+            if (u1 == u2) {
+                continue;
+            }
+            if (Character.toLowerCase(u1) == Character.toLowerCase(u2)) {
+                continue;
+            }
+            return false;
         }
-        return false;
+        return true;
     }
 
     /**
-     * 当前SQL是否是以分隔符开头
+     * 当前SQL是否是以分隔符开头，{@code line[lineLength]} 为行结束标记 {@code '\0'}
      */
-    private boolean isPrefix(OrderChar[] line, int pos, String delim) {
-        StringBuilder builder = new StringBuilder();
-        for (int i = 0; i < line.length - pos; i++) {
-            builder.append(line[pos + i].getCh());
+    private boolean isPrefix(char[] line, int lineLength, int pos, String delim) {
+        int delimLength = delim.length();
+        if (pos + delimLength > lineLength + 1) {
+            return false;
         }
-        boolean res = builder.toString().startsWith(delim);
-        if (!res || !"/".equals(delim) || line.length <= 1) {
-            return res;
+        for (int i = 0; i < delimLength; i++) {
+            if (line[pos + i] != delim.charAt(i)) {
+                return false;
+            }
+        }
+        if (!"/".equals(delim) || lineLength == 0) {
+            return true;
         }
         // 匹配到分隔符，分隔符为正斜杠且当前行的大小大于 1，需要注意规避多行注释
         if (pos == 0) {
-            return !(line[pos + 1].getCh() == '*');
-        } else if (line.length - 1 == pos) {
-            return !(line[pos - 1].getCh() == '*');
+            return !(line[pos + 1] == '*');
+        } else if (lineLength == pos) {
+            return !(line[pos - 1] == '*');
         }
-        return !(line[pos + 1].getCh() == '*' || line[pos - 1].getCh() == '*');
+        return !(line[pos + 1] == '*' || line[pos - 1] == '*');
     }
 
-    private boolean matchQEscape(char escapeChar) {
-        if (this.escapeString == '\0') {
+    private boolean matchQEscape(char escapeChar, char escapeString) {
+        if (escapeString == '\0') {
             return false;
         }
-        switch (this.escapeString) {
+        switch (escapeString) {
             case '<':
                 return escapeChar == '>';
             case '{':
@@ -665,41 +626,53 @@ public class SqlCommentProcessor {
             case '(':
                 return escapeChar == ')';
             default:
-                return this.escapeString == escapeChar;
+                return escapeString == escapeChar;
         }
     }
 
-    private void append(StringBuffer buffer, OrderChar[] chars, int begin, int count) {
-        for (int i = begin; i < count; i++) {
-            buffer.append(chars[i].getCh());
+    /**
+     * 行结束符为 {@code \r\n}、{@code \r} 或 {@code \n}，返回从 {@code start} 开始的一行的结束位置（不包含行结束符）
+     */
+    private static int indexOfLineEnd(CharSequence sqlScript, int start) {
+        int length = sqlScript.length();
+        for (int i = start; i < length; i++) {
+            char c = sqlScript.charAt(i);
+            if (c == '\n' || c == '\r') {
+                return i;
+            }
         }
+        return length;
     }
 
-    private static List<List<OrderChar>> splitLine(String sqlScript) {
-        List<List<OrderChar>> lines = new ArrayList<>();
-        List<OrderChar> currentList = new ArrayList<>();
-        Matcher matcher = pattern.matcher(sqlScript);
-        int start = 0;
-        while (matcher.find()) {
-            int end = matcher.start();
-            for (int i = start; i < end; i++) {
-                OrderChar orderChar = new OrderChar(sqlScript.charAt(i), i);
-                currentList.add(orderChar);
-            }
-            lines.add(currentList);
-            currentList = new ArrayList<>();
-            start = matcher.end();
-        }
-        if (start < sqlScript.length()) {
-            for (int i = start; i < sqlScript.length(); i++) {
-                OrderChar orderChar = new OrderChar(sqlScript.charAt(i), i);
-                currentList.add(orderChar);
-            }
+    private static int nextLineStart(CharSequence sqlScript, int lineEnd) {
+        if (lineEnd + 1 < sqlScript.length() && sqlScript.charAt(lineEnd) == '\r'
+                && sqlScript.charAt(lineEnd + 1) == '\n') {
+            return lineEnd + 2;
         }
-        if (!currentList.isEmpty()) {
-            lines.add(currentList);
+        return lineEnd + 1;
+    }
+
+    static long utf8Length(CharSequence str) {
+        long bytes = 0;
+        int length = str.length();
+        for (int i = 0; i < length; i++) {
+            char c = str.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(str.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                // malformed surrogate is encoded as '?'
+                bytes++;
+            } else {
+                bytes += 3;
+            }
         }
-        return lines;
+        return bytes;
     }
 
     public String getDelimiter() {
@@ -735,13 +708,86 @@ public class SqlCommentProcessor {
         }
     }
 
+    /**
+     * State of a single scan over a script, it is created for each call so that the processor of a
+     * session can be shared by concurrent requests of the session
+     */
+    static class ScanState {
+
+        private String delimiter;
+        private boolean mlComment = false;
+        private char inString = '\0';
+        private char escapeString = '\0';
+        private boolean inNormalSql = false;
+
+        ScanState(String delimiter) {
+            this.delimiter = delimiter;
+        }
+    }
+
+    /**
+     * Reusable holder of a single line, each char of the line has an order which is the offset of the
+     * char in the whole script. The arrays are grown on demand and reused between lines, so that no
+     * object is allocated per char.
+     */
+    static class LineBuffer {
+
+        private char[] chars = new char[256];
+        private int[] orders = new int[256];
+        private int length;
+
+        /**
+         * load {@code src[start, end)} as a line, the order of the first char is {@code firstOrder}
+         */
+        LineBuffer load(CharSequence src, int start, int end, int firstOrder) {
+            int lineLength = end - start;
+            ensureCapacity(lineLength + 1);
+            if (src instanceof String) {
+                ((String) src).getChars(start, end, this.chars, 0);
+            } else {
+                for (int i = 0; i < lineLength; i++) {
+                    this.chars[i] = src.charAt(start + i);
+                }
+            }
+            for (int i = 0; i < lineLength; i++) {
+                this.orders[i] = firstOrder + i;
+            }
+            this.length = lineLength;
+            return this;
+        }
+
+        /**
+         * append the end mark {@code '\0'} to the line
+         */
+        private void seal() {
+            this.chars[this.length] = '\0';
+            this.orders[this.length] = this.length;
+        }
+
+        private void copy(int dest, int src) {
+            this.chars[dest] = this.chars[src];
+            this.orders[dest] = this.orders[src];
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (this.chars.length >= capacity) {
+                return;
+            }
+            int newCapacity = Math.max(capacity, this.chars.length << 1);
+            this.chars = new char[newCapacity];
+            this.orders = new int[newCapacity];
+        }
+    }
+
     private static class SqlCommentProcessorIterator implements SqlStatementIterator {
 
         private final BufferedReader reader;
-        private final StringBuffer buffer = new StringBuffer();
+        private final StringBuilder buffer = new StringBuilder();
         private final LinkedList<OffsetString> holder = new LinkedList<>();
         private final Holder<Integer> bufferOrder = new Holder<>(0);
+        private final LineBuffer lineBuffer = new LineBuffer();
         private final SqlCommentProcessor processor;
+        private final ScanState state;
 
         private OffsetString current;
         private int lastLineOrder = 0;
@@ -750,6 +796,7 @@ public class SqlCommentProcessor {
         public SqlCommentProcessorIterator(InputStream input, Charset charset, SqlCommentProcessor processor) {
             this.reader = new BufferedReader(new InputStreamReader(input, charset));
             this.processor = processor;
+            this.state = new ScanState(processor.getDelimiter());
         }
 
         @Override
@@ -785,22 +832,15 @@ public class SqlCommentProcessor {
                 }
                 String line;
                 while (holder.isEmpty() && (line = reader.readLine()) != null) {
-                    if (processor.dialectType.isMysql()) {
-                        processor.addLineMysql(holder, buffer, bufferOrder, line.chars()
-                                .mapToObj(c -> new OrderChar((char) c, lastLineOrder++))
-                                .collect(Collectors.toList()));
+                    lineBuffer.load(line, 0, line.length(), lastLineOrder);
+                    if (processor.dialectType.isMysql() || processor.dialectType.isDoris()) {
+                        processor.addLineMysql(holder, buffer, bufferOrder, lineBuffer, state);
                     } else if (processor.dialectType.isOracle()) {
-                        processor.addLineOracle(holder, buffer, bufferOrder, line.chars()
-                                .mapToObj(c -> new OrderChar((char) c, lastLineOrder++))
-                                .collect(Collectors.toList()));
-                    } else if (processor.dialectType.isDoris()) {
-                        processor.addLineMysql(holder, buffer, bufferOrder, line.chars()
-                                .mapToObj(c -> new OrderChar((char) c, lastLineOrder++))
-                                .collect(Collectors.toList()));
+                        processor.addLineOracle(holder, buffer, bufferOrder, lineBuffer, state);
                     }
                     // consider \n in the end of each line
-                    lastLineOrder++;
-                    iteratedBytes += line.getBytes(StandardCharsets.UTF_8).length + 1;
+                    lastLineOrder += line.length() + 1;
+                    iteratedBytes += utf8Length(line) + 1;
                 }
                 if (!holder.isEmpty()) {
                     return holder.poll();
@@ -818,16 +858,4 @@ public class SqlCommentProcessor {
 
     }
 
-    @Data
-    @AllArgsConstructor
-    @NoArgsConstructor
-    static class OrderChar {
-        private char ch;
-        private int order;
-
-        static OrderChar newOrderChar(OrderChar orderChar) {
-            return new OrderChar(orderChar.getCh(), orderChar.getOrder());
-        }
-    }
-
 }
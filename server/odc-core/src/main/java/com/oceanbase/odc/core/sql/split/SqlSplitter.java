@@ -18,27 +18,27 @@ package com.oceanbase.odc.core.sql.split;
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.Set;
 import java.util.Stack;
-import java.util.stream.Collectors;
 
 import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonToken;
+import org.antlr.v4.runtime.CommonTokenFactory;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.Lexer;
 import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.misc.Interval;
 import org.apache.commons.lang3.ArrayUtils;
 
 import com.google.common.collect.ImmutableMap;
@@ -47,10 +47,10 @@ import com.oceanbase.odc.common.util.StringUtils;
 import com.oceanbase.odc.core.shared.PreConditions;
 import com.oceanbase.odc.core.shared.Verify;
 import com.oceanbase.odc.core.shared.exception.UnsupportedException;
-import com.oceanbase.odc.core.sql.split.SqlCommentProcessor.OrderChar;
 import com.oceanbase.tools.sqlparser.oracle.PlSqlLexer;
 
 import lombok.Getter;
+import lombok.NonNull;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -151,9 +151,16 @@ public class SqlSplitter {
      */
     private Map<Integer, PLStartSymbol> INDEX_2_START_SYMBOL;
 
-    private String sql;
     private Boolean whileForLoopFlag = false;
 
+    /**
+     * 待拆句的 token 序列，流式拆句时 token 是按需从 lexer 中读取的
+     */
+    private TokenSequence tokens;
+    private int position = 0;
+    private int labelRightCount = 0;
+    private boolean finished = false;
+
     private Holder<Integer> currentOffset = new Holder<>(0);
 
 
@@ -251,17 +258,57 @@ public class SqlSplitter {
             return new ArrayList<>();
         }
         clear();
-        this.sql = sql;
-
         /**
          * Antlr Lexer 拆词后的 token 列表
          */
-        Token[] tokens = innerUtils.initTokens(sql);
+        this.tokens = new ArrayTokenSequence(innerUtils.initTokens(sql));
+        splitTokens(false);
+        return stmts;
+    }
+
+    /**
+     * Split the sql script read from the reader. Tokens are lexed on demand and released once they are
+     * split, so the memory used does not depend on the size of the script but the size of the largest
+     * statement.
+     *
+     * @param reader reader of the sql script
+     * @param charset charset of the sql script, used to count the bytes of the split statements
+     */
+    void startStreaming(@NonNull Reader reader, @NonNull Charset charset) {
+        clear();
+        this.tokens = new LexerTokenSequence(new ReaderCharStream(reader), charset);
+    }
+
+    /**
+     * @return bytes of the streamed script which are split, including the delimiter and blanks of the
+     *         last returned statement
+     */
+    long streamedBytes() {
+        if (!(this.tokens instanceof LexerTokenSequence)) {
+            throw new IllegalStateException("Script is not streamed");
+        }
+        return ((LexerTokenSequence) this.tokens).bytesBefore(this.position);
+    }
 
-        int tokenCount = tokens.length;
-        int labelRightCount = 0;
-        for (int pos = 0; pos < tokenCount; pos++) {
-            Token token = tokens[pos];
+    /**
+     * @return next statement of the script being streamed, null if there is no more statement
+     */
+    OffsetString nextStatement() {
+        while (this.stmts.isEmpty() && !this.finished) {
+            splitTokens(true);
+        }
+        return this.stmts.isEmpty() ? null : this.stmts.remove(0);
+    }
+
+    /**
+     * @param stopAtStmtEnd whether to return as soon as a statement is split
+     */
+    private void splitTokens(boolean stopAtStmtEnd) {
+        TokenSequence tokens = this.tokens;
+        int pos = this.position;
+        for (; tokens.exists(pos); pos++) {
+            tokens.release(pos);
+            Token token = tokens.get(pos);
             int type = token.getType();
             if (type < Token.MIN_USER_TOKEN_TYPE) {
                 // invalid token type
@@ -271,9 +318,9 @@ public class SqlSplitter {
             String text = token.getText();
             int offset = token.getStartIndex();
             if (">".equals(text)) {
-                labelRightCount++;
+                this.labelRightCount++;
             } else {
-                labelRightCount = 0;
+                this.labelRightCount = 0;
             }
             if (this.removeCommentPrefix
                     && 0 == currentStmtBuilder.length()
@@ -281,7 +328,7 @@ public class SqlSplitter {
                 continue;
             }
             if (innerUtils.isPLStartPatternIgnoreTypes(type)) {
-                if (StringUtils.isBlank(currentStmtBuilder.toString()) && type != tokenDefinition.SPACES()) {
+                if (StringUtils.isBlank(currentStmtBuilder) && type != tokenDefinition.SPACES()) {
                     currentOffset.setValue(offset);
                 }
                 // skip analysis blank, comment and other PL block start math pattern ignore types
@@ -299,7 +346,7 @@ public class SqlSplitter {
                 }
                 if (isPLBlockStart()) {
                     pushToStack(cacheTokenTypes);
-                    if (StringUtils.isBlank(currentStmtBuilder.toString()) && type != tokenDefinition.SPACES()) {
+                    if (StringUtils.isBlank(currentStmtBuilder) && type != tokenDefinition.SPACES()) {
                         currentOffset.setValue(offset);
                     }
                     currentStmtBuilder.append(text);
@@ -308,7 +355,7 @@ public class SqlSplitter {
                 } else if (isStmtEnd(tokens, pos)) {
                     pos = addStmtWhileStmtEnd(tokens, pos);
                 } else {
-                    if (StringUtils.isBlank(currentStmtBuilder.toString()) && type != tokenDefinition.SPACES()) {
+                    if (StringUtils.isBlank(currentStmtBuilder) && type != tokenDefinition.SPACES()) {
                         currentOffset.setValue(offset);
                     }
                     currentStmtBuilder.append(text);
@@ -316,9 +363,9 @@ public class SqlSplitter {
             } else if (this.state == State.PL_STMT) {
                 // sql statement inside PL block end
                 if (SQL_DELIMITER == type || PL_ELSE == type || PL_THEN == type || PL_RIGHTPAREN == type
-                        || (labelRightCount == 2 && PL_GREATER_THAN_OP == type) || PL_LEFTPAREN == type) {
+                        || (this.labelRightCount == 2 && PL_GREATER_THAN_OP == type) || PL_LEFTPAREN == type) {
                     plCacheTokenTypes.clear();
-                    labelRightCount = 0;
+                    this.labelRightCount = 0;
                 } else if (plCacheTokenTypes.size() < MAX_PL_PATTEN_TYPE_SIZE) {
                     plCacheTokenTypes.add(type);
                 }
@@ -351,7 +398,7 @@ public class SqlSplitter {
                         subPLStack.pop();
                         plCacheTokenTypes.clear();
                     }
-                    if (StringUtils.isBlank(currentStmtBuilder.toString()) && type != tokenDefinition.SPACES()) {
+                    if (StringUtils.isBlank(currentStmtBuilder) && type != tokenDefinition.SPACES()) {
                         currentOffset.setValue(offset);
                     }
                     currentStmtBuilder.append(text);
@@ -359,18 +406,23 @@ public class SqlSplitter {
                     // like end[;] / end [object_name;] / end [loop;] / end [if;] / end [case;]
                     if (posShift > 0) {
                         for (int index = 1; index <= posShift; index++) {
-                            if (StringUtils.isBlank(currentStmtBuilder.toString())
+                            if (StringUtils.isBlank(currentStmtBuilder)
                                     && type != tokenDefinition.SPACES()) {
                                 currentOffset.setValue(offset);
                             }
-                            currentStmtBuilder.append(tokens[pos - posShift + index].getText());
+                            currentStmtBuilder.append(tokens.get(pos - posShift + index).getText());
                         }
                     }
                 }
             }
+            if (stopAtStmtEnd && !this.stmts.isEmpty()) {
+                this.position = pos + 1;
+                return;
+            }
         }
-        addStmtWhileStmtEnd(tokens, tokenCount);
-        return stmts;
+        addStmtWhileStmtEnd(tokens, pos);
+        this.position = pos;
+        this.finished = true;
     }
 
     public static SqlStatementIterator iterator(InputStream in, Charset charset, String delimiter) {
@@ -387,23 +439,22 @@ public class SqlSplitter {
         this.cacheTokenTypes.clear();
         this.currentStmtBuilder.setLength(0);
         this.state = State.SQL_STMT;
+        this.position = 0;
+        this.labelRightCount = 0;
+        this.finished = false;
     }
 
-    private int addStmtWhileStmtEnd(Token[] tokens, int pos) {
+    private int addStmtWhileStmtEnd(TokenSequence tokens, int pos) {
         String currentStmt = currentStmtBuilder.toString();
         boolean notDefaultSqlDelimiter = false;
         if (StringUtils.isNotBlank(currentStmt)) {
             if (addDelimiter) {
-                for (int cursor = pos - 1; cursor > 0; cursor--) {
-                    Token token = tokens[cursor];
-                    if (innerUtils.isEOF(token.getType()) || innerUtils.isBlankOrComment(token.getType())) {
-                        continue;
-                    }
+                Token token = tokens.lastSignificant(pos);
+                if (token != null) {
                     notDefaultSqlDelimiter = !DEFAULT_SQL_DELIMITER.equals(token.getText());
                     if (notDefaultSqlDelimiter) {
                         currentStmt += DEFAULT_SQL_DELIMITER;
                     }
-                    break;
                 }
             }
             this.stmts.add(new OffsetString(currentOffset.getValue(), currentStmt.trim()));
@@ -416,17 +467,17 @@ public class SqlSplitter {
         return pos + delimiterTokens.length - 1;
     }
 
-    private int executeDelimiterCommand(Token[] tokens, int pos) {
+    private int executeDelimiterCommand(TokenSequence tokens, int pos) {
         // delimiter command identified, will ignore built-in pl delimiter logic,
         // examples:
         // - delimiter $$
         // - delimiter /
-        if (pos + 2 >= tokens.length) {
+        if (!tokens.exists(pos + 2)) {
             // invalid syntax
             throw new IllegalArgumentException("Invalid delimiter command syntax");
         }
         pos++;
-        Token expectBlank = tokens[pos];
+        Token expectBlank = tokens.get(pos);
         if (expectBlank.getType() != tokenDefinition.SPACES()) {
             throw new IllegalArgumentException(
                     "Invalid delimiter command syntax, expect blank after 'delimiter'");
@@ -436,8 +487,8 @@ public class SqlSplitter {
 
         // ignore multiple blanks between delimiter keyword and value of delimiter
         boolean hasDelimiterValue = false;
-        while (++pos < tokens.length) {
-            Token delimiterToken = tokens[pos];
+        while (tokens.exists(++pos)) {
+            Token delimiterToken = tokens.get(pos);
             int delimiterTokenType = delimiterToken.getType();
             if (delimiterTokenType > Token.MIN_USER_TOKEN_TYPE && delimiterTokenType != tokenDefinition.SPACES()) {
                 hasDelimiterValue = true;
@@ -452,8 +503,8 @@ public class SqlSplitter {
         }
 
         // extract value of delimiter, may multiple tokens
-        while (++pos < tokens.length) {
-            Token delimiterToken = tokens[pos];
+        while (tokens.exists(++pos)) {
+            Token delimiterToken = tokens.get(pos);
             int delimiterTokenType = delimiterToken.getType();
             if (delimiterTokenType > Token.MIN_USER_TOKEN_TYPE && delimiterTokenType != tokenDefinition.SPACES()) {
                 delimiterTokensToSet.add(delimiterToken);
@@ -578,8 +629,8 @@ public class SqlSplitter {
      * value > 0 means is end and pos needs moving forward according to value
      * </pre>
      */
-    private int isPLBlockEnd(Token[] tokens, int pos) {
-        if (pos >= tokens.length || subPLStack.empty()) {
+    private int isPLBlockEnd(TokenSequence tokens, int pos) {
+        if (!tokens.exists(pos) || subPLStack.empty()) {
             return -1;
         }
 
@@ -600,14 +651,14 @@ public class SqlSplitter {
             case CREATE_TYPE_BODY:
             case TRIGGER:
             case CREATE_TRIGGER:
-                isEnd = tokens[pos].getType() == this.tokenDefinition.END();
+                isEnd = tokens.get(pos).getType() == this.tokenDefinition.END();
                 break;
             case FUNCTION:
             case PROCEDURE:
                 // member or static function && procedure declare in type which does not contain IS or AS
                 // should end with `)` or `,`
                 if (peekLevel.matchMemberOrStatic && !peekLevel.matchIsOrAs) {
-                    isEnd = tokens[pos].getText().equals(")") || tokens[pos].getText().equals(",");
+                    isEnd = tokens.get(pos).getText().equals(")") || tokens.get(pos).getText().equals(",");
                     break;
                 }
             case PACKAGE:
@@ -623,7 +674,7 @@ public class SqlSplitter {
                     // 2. `IS` or `AS` is matched but `EXTERNAL` or `LANGUAGE` is also matched
                     isEnd = !peekLevel.matchIsOrAs || peekLevel.matchExternalOrLanguage;
                 } else {
-                    isEnd = tokens[pos].getType() == this.tokenDefinition.END();
+                    isEnd = tokens.get(pos).getType() == this.tokenDefinition.END();
                 }
                 break;
             case FOR:
@@ -651,22 +702,21 @@ public class SqlSplitter {
         return -1;
     }
 
-    private boolean matchPLBlockEnd(Token[] tokens, int pos, Integer endObjectType) {
-        boolean match = tokens[pos].getType() == this.tokenDefinition.END();
-        int tokensLength = tokens.length;
+    private boolean matchPLBlockEnd(TokenSequence tokens, int pos, Integer endObjectType) {
+        boolean match = tokens.get(pos).getType() == this.tokenDefinition.END();
         if (Objects.nonNull(endObjectType)) {
             if (endObjectType != Token.MIN_USER_TOKEN_TYPE) {
                 // use MIN_USER_TOKEN_TYPE means place holder here
                 // in which we can recognize `end object_name;` as pl block ending
-                match &= (pos + 2 < tokensLength) && tokens[pos + 2].getType() == endObjectType;
+                match &= tokens.exists(pos + 2) && tokens.get(pos + 2).getType() == endObjectType;
             }
         }
         return match;
     }
 
-    private boolean isStmtEnd(Token[] tokens, int pos) {
+    private boolean isStmtEnd(TokenSequence tokens, int pos) {
         // only use Div `/` as while in PL stmt and use `;` as delimiter
-        if (pos >= tokens.length) {
+        if (!tokens.exists(pos)) {
             return false;
         }
         if (!subPLStack.empty()) {
@@ -677,23 +727,22 @@ public class SqlSplitter {
             if (!DEFAULT_SQL_DELIMITER.equals(delimiter)) {
                 return matchDelimiterTokens(tokens, pos);
             }
-            return tokens[pos].getType() == DEFAULT_PL_END_DELIMITER;
+            return tokens.get(pos).getType() == DEFAULT_PL_END_DELIMITER;
         }
         return matchDelimiterTokens(tokens, pos);
     }
 
-    private boolean matchDelimiterTokens(Token[] tokens, int pos) {
+    private boolean matchDelimiterTokens(TokenSequence tokens, int pos) {
         Token[] dt = delimiterTokens;
         if (this.state == State.PL_STMT && !subPLStack.empty()) {
             dt = innerUtils.extractDelimiterTokens(DEFAULT_SQL_DELIMITER);
         }
         int delimiterLength = dt.length;
-        int tokensLength = tokens.length;
-        if (pos + delimiterLength > tokensLength) {
+        if (delimiterLength > 0 && !tokens.exists(pos + delimiterLength - 1)) {
             return false;
         }
         for (int i = 0; i < delimiterLength; i++) {
-            if (!innerUtils.isTokenEquals(dt[i], tokens[pos + i])) {
+            if (!innerUtils.isTokenEquals(dt[i], tokens.get(pos + i))) {
                 return false;
             }
         }
@@ -765,15 +814,16 @@ public class SqlSplitter {
          * 这里对不识别的词法转换为 IDENT 和 SPACES 类型的 Token，使得上层可以一致化处理
          */
         private List<Token> tokens(String sql) {
-            List<Token> tokens = initTokenStream(sql).getTokens();
-            int length = sql.codePointCount(0, sql.length());
+            CharStream input = CharStreams.fromString(sql);
+            List<Token> tokens = initTokenStream(input).getTokens();
+            int length = input.size();
             int size = tokens.size();
             Token firstToken = size > 0 ? tokens.get(0) : null;
             Token lastToken = size > 0 ? tokens.get(size - 1) : null;
             List<Token> allTokens = new ArrayList<>(tokens.size());
             if (firstToken != null) {
                 if (firstToken.getStartIndex() > 0) {
-                    allTokens.addAll(generateInvalidTokens(sql, 0, firstToken.getStartIndex()));
+                    allTokens.addAll(generateInvalidTokens(input, 0, firstToken.getStartIndex()));
                 }
                 allTokens.add(firstToken);
             }
@@ -781,19 +831,24 @@ public class SqlSplitter {
                 Token current = tokens.get(i);
                 Token previous = tokens.get(i - 1);
                 if (current.getStartIndex() - previous.getStopIndex() > 1) {
-                    allTokens.addAll(generateInvalidTokens(sql, previous.getStopIndex() + 1, current.getStartIndex()));
+                    allTokens
+                            .addAll(generateInvalidTokens(input, previous.getStopIndex() + 1, current.getStartIndex()));
                 }
                 allTokens.add(current);
             }
             if (lastToken != null && lastToken.getStopIndex() < length - 1) {
-                allTokens.addAll(generateInvalidTokens(sql, lastToken.getStopIndex() + 1, length));
+                allTokens.addAll(generateInvalidTokens(input, lastToken.getStopIndex() + 1, length));
             }
             return allTokens;
         }
 
-        private List<Token> generateInvalidTokens(String sql, int start, int end) {
+        private List<Token> generateInvalidTokens(CharStream input, int start, int end) {
             Verify.lessThan(start, end, "start < end");
-            String invalidStr = StringUtils.substring(sql, start, end);
+            // indexes of the tokens are code point indexes, which differ from char indexes of the sql
+            return generateInvalidTokens(input.getText(Interval.of(start, end - 1)));
+        }
+
+        private List<Token> generateInvalidTokens(String invalidStr) {
             char[] chars = invalidStr.toCharArray();
             if (chars.length == 1) {
                 Token token = new CommonToken(PL_IDENT_TYPES[0], invalidStr);
@@ -824,8 +879,7 @@ public class SqlSplitter {
             return token;
         }
 
-        private CommonTokenStream initTokenStream(String sql) {
-            CharStream input = CharStreams.fromString(sql);
+        private CommonTokenStream initTokenStream(CharStream input) {
             Lexer lexer = lexerFactory.create(input);
             CommonTokenStream tokenStream = new CommonTokenStream(lexer);
             tokenStream.fill();
@@ -857,35 +911,206 @@ public class SqlSplitter {
             return tokenType == -1;
         }
 
+        boolean isSignificant(Token token) {
+            return !isEOF(token.getType()) && !isBlankOrComment(token.getType());
+        }
+
         private boolean isIdent(int tokenType) {
             return ArrayUtils.contains(PL_IDENT_TYPES, tokenType);
         }
 
     }
 
+    /**
+     * Tokens to be split, positions are absolute positions in the whole script
+     */
+    private interface TokenSequence {
+
+        boolean exists(int pos);
+
+        Token get(int pos);
+
+        /**
+         * Tokens before {@code pos} will not be visited any more, except the last significant one
+         */
+        void release(int pos);
+
+        /**
+         * @return the last token which is not EOF, blank or comment before {@code pos}, the first token is
+         *         excluded. null if not found.
+         */
+        Token lastSignificant(int pos);
+    }
+
+    private class ArrayTokenSequence implements TokenSequence {
+
+        private final Token[] tokens;
+
+        private ArrayTokenSequence(Token[] tokens) {
+            this.tokens = tokens;
+        }
+
+        @Override
+        public boolean exists(int pos) {
+            return pos < this.tokens.length;
+        }
+
+        @Override
+        public Token get(int pos) {
+            return this.tokens[pos];
+        }
+
+        @Override
+        public void release(int pos) {}
+
+        @Override
+        public Token lastSignificant(int pos) {
+            for (int cursor = Math.min(pos, this.tokens.length) - 1; cursor > 0; cursor--) {
+                if (innerUtils.isSignificant(this.tokens[cursor])) {
+                    return this.tokens[cursor];
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Tokens are lexed from the {@link ReaderCharStream} on demand. The code points are discarded once
+     * they are lexed, tokens are discarded once they are released.
+     */
+    private class LexerTokenSequence implements TokenSequence {
+
+        /**
+         * Some lexer rules look behind a few code points, eg. {@code REMARK_COMMENT} in PlSqlLexer
+         */
+        private static final int LOOK_BEHIND_SIZE = 16;
+        private final ReaderCharStream input;
+        private final Lexer lexer;
+        private final Charset charset;
+        private final List<Token> window = new ArrayList<>();
+        /**
+         * position of the first token in the window
+         */
+        private int base = 0;
+        /**
+         * bytes of the released tokens, tokens cover every code point of the script
+         */
+        private long releasedBytes = 0;
+        private int lastStopIndex = -1;
+        private boolean eof = false;
+        private Token lastReleasedSignificant;
+        private int lastReleasedSignificantPos = -1;
+
+        private LexerTokenSequence(ReaderCharStream input, Charset charset) {
+            this.input = input;
+            this.charset = charset;
+            this.lexer = lexerFactory.create(input);
+            this.lexer.setTokenFactory(new CommonTokenFactory(true));
+        }
+
+        @Override
+        public boolean exists(int pos) {
+            return pos < this.base || fill(pos);
+        }
+
+        @Override
+        public Token get(int pos) {
+            if (pos < this.base) {
+                if (pos == this.lastReleasedSignificantPos) {
+                    return this.lastReleasedSignificant;
+                }
+                throw new IllegalStateException("Token has been released, pos=" + pos);
+            }
+            if (!fill(pos)) {
+                throw new IndexOutOfBoundsException("pos=" + pos);
+            }
+            return this.window.get(pos - this.base);
+        }
+
+        @Override
+        public void release(int pos) {
+            int count = Math.min(pos - this.base, this.window.size());
+            if (count <= 0) {
+                return;
+            }
+            for (int i = count - 1; i >= 0; i--) {
+                if (innerUtils.isSignificant(this.window.get(i))) {
+                    this.lastReleasedSignificant = this.window.get(i);
+                    this.lastReleasedSignificantPos = this.base + i;
+                    break;
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                this.releasedBytes += byteLength(this.window.get(i));
+            }
+            this.window.subList(0, count).clear();
+            this.base += count;
+        }
+
+        private long bytesBefore(int pos) {
+            long bytes = this.releasedBytes;
+            int count = Math.min(pos - this.base, this.window.size());
+            for (int i = 0; i < count; i++) {
+                bytes += byteLength(this.window.get(i));
+            }
+            return bytes;
+        }
+
+        private long byteLength(Token token) {
+            if (token.getType() == Token.EOF) {
+                return 0;
+            }
+            return StandardCharsets.UTF_8.equals(this.charset) ? SqlCommentProcessor.utf8Length(token.getText())
+                    : token.getText().getBytes(this.charset).length;
+        }
+
+        @Override
+        public Token lastSignificant(int pos) {
+            int cursor = Math.min(pos, this.base + this.window.size()) - 1;
+            for (; cursor >= this.base && cursor > 0; cursor--) {
+                Token token = this.window.get(cursor - this.base);
+                if (innerUtils.isSignificant(token)) {
+                    return token;
+                }
+            }
+            return this.lastReleasedSignificantPos > 0 ? this.lastReleasedSignificant : null;
+        }
+
+        private boolean fill(int pos) {
+            while (pos >= this.base + this.window.size()) {
+                if (this.eof) {
+                    return false;
+                }
+                Token token = this.lexer.nextToken();
+                int startIndex = token.getStartIndex();
+                if (startIndex - this.lastStopIndex > 1) {
+                    // code points skipped by the lexer
+                    String invalidStr = this.input.getText(Interval.of(this.lastStopIndex + 1, startIndex - 1));
+                    this.window.addAll(innerUtils.generateInvalidTokens(invalidStr));
+                }
+                this.window.add(token);
+                this.lastStopIndex = token.getStopIndex();
+                this.eof = token.getType() == Token.EOF;
+                this.input.discardBefore(startIndex - LOOK_BEHIND_SIZE);
+            }
+            return true;
+        }
+    }
+
     private static class SqlSplitterIterator implements SqlStatementIterator {
 
-        private final BufferedReader reader;
-        private final StringBuilder buffer = new StringBuilder();
-        private final LinkedList<OffsetString> holder = new LinkedList<>();
-        private final boolean addDelimiter;
+        private final SqlSplitter splitter;
 
         private OffsetString current;
-        private String delimiter;
-        private boolean firstLine = true;
-        private List<String> sqls = new ArrayList<>();
+        /**
+         * bytes split when {@link #current} is parsed
+         */
+        private long currentBytes;
         private long iteratedBytes = 0;
-        private int offset = 0;
-
-        private static final Character SQL_SEPARATOR_CHAR = '/';
-        private static final Character LINE_SEPARATOR_CHAR = '\n';
-        private static final String SQL_MULTI_LINE_COMMENT_PREFIX = "/*";
-        private static final Set<Character> DELIMITER_CHARACTERS = new HashSet<>(Arrays.asList(';', '/', '$'));
 
         public SqlSplitterIterator(InputStream input, Charset charset, String delimiter, boolean addDelimiter) {
-            this.reader = new BufferedReader(new InputStreamReader(input, charset));
-            this.delimiter = delimiter;
-            this.addDelimiter = addDelimiter;
+            this.splitter = new SqlSplitter(PlSqlLexer.class, delimiter, addDelimiter);
+            this.splitter.startStreaming(new BufferedReader(new InputStreamReader(input, charset)), charset);
         }
 
         @Override
@@ -898,14 +1123,12 @@ public class SqlSplitter {
 
         @Override
         public OffsetString next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more available sql.");
+            }
             OffsetString next = this.current;
             this.current = null;
-            if (next == null) {
-                next = parseNext();
-                if (next == null) {
-                    throw new NoSuchElementException("No more available sql.");
-                }
-            }
+            this.iteratedBytes = this.currentBytes;
             return next;
         }
 
@@ -916,78 +1139,18 @@ public class SqlSplitter {
 
         private OffsetString parseNext() {
             try {
-                if (!this.holder.isEmpty()) {
-                    return this.holder.poll();
-                }
-                String line;
-                while (this.holder.isEmpty() && (line = this.reader.readLine()) != null) {
-                    this.iteratedBytes += line.getBytes(Charset.defaultCharset()).length + 1;
-                    addLineToBuffer(line);
-                    SqlCommentProcessor processor = new SqlCommentProcessor();
-                    LinkedList<OffsetString> innerHolder = new LinkedList<>();
-                    StringBuffer innerBuffer = new StringBuffer();
-                    Holder<Integer> bufferOrder = new Holder<>(0);
-                    processor.addLineOracle(innerHolder, innerBuffer, bufferOrder,
-                            line.chars().mapToObj(c -> new OrderChar((char) c, -1)).collect(Collectors.toList()));
-                    while (processor.isMlComment() && (line = reader.readLine()) != null) {
-                        this.iteratedBytes += line.getBytes(Charset.defaultCharset()).length + 1;
-                        addLineToBuffer(line);
-                        processor.addLineOracle(innerHolder, innerBuffer, bufferOrder,
-                                line.chars().mapToObj(c -> new OrderChar((char) c, -1)).collect(Collectors.toList()));
-                    }
-                    // SqlSplitter is non-reentrant, so we need to create a new one for each loop
-                    SqlSplitter splitter = createSplitter();
-                    this.sqls = splitter.split(this.buffer.toString()).stream().map(OffsetString::getStr)
-                            .collect(Collectors.toList());
-                    while (this.sqls.size() > 1) {
-                        String sql = this.sqls.remove(0);
-                        int index = this.buffer.indexOf(sql.substring(0, sql.length() - 1));
-                        this.holder.addLast(new OffsetString(this.offset + index, sql));
-                        this.buffer.delete(0, index + sql.length());
-                        this.offset += index + sql.length();
-                        clearUselessPrefix();
-                        this.delimiter = splitter.getDelimiter();
-                    }
-                }
-                if (!this.holder.isEmpty()) {
-                    return this.holder.poll();
-                }
-                if (this.sqls.isEmpty()) {
-                    return null;
+                OffsetString next = this.splitter.nextStatement();
+                this.currentBytes = this.splitter.streamedBytes();
+                if (next == null) {
+                    // the whole script is iterated
+                    this.iteratedBytes = this.currentBytes;
                 }
-                return new OffsetString(this.offset, this.sqls.remove(0));
+                return next;
             } catch (Exception e) {
                 throw new RuntimeException("Failed to parse input. reason: " + e.getMessage(), e);
             }
         }
 
-        private void addLineToBuffer(String line) {
-            if (this.firstLine) {
-                this.buffer.append(line);
-                this.firstLine = false;
-            } else {
-                this.buffer.append(LINE_SEPARATOR_CHAR).append(line);
-            }
-        }
-
-        private void clearUselessPrefix() {
-            while (this.buffer.length() > 0 && DELIMITER_CHARACTERS.contains(this.buffer.charAt(0))
-                    && !(this.buffer.toString().startsWith(SQL_MULTI_LINE_COMMENT_PREFIX))) {
-                this.buffer.deleteCharAt(0);
-                this.offset++;
-            }
-            while ((this.buffer.length() > 0 && (Character.isWhitespace(this.buffer.charAt(0)))) ||
-                    (this.buffer.toString().startsWith(SQL_SEPARATOR_CHAR.toString())
-                            && !this.buffer.toString().startsWith(SQL_MULTI_LINE_COMMENT_PREFIX))) {
-                this.buffer.deleteCharAt(0);
-                this.offset++;
-            }
-        }
-
-        private SqlSplitter createSplitter() {
-            return new SqlSplitter(PlSqlLexer.class, this.delimiter, addDelimiter);
-        }
-
     }
 
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.core.datamasking.masker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oceanbase.odc.core.datamasking.algorithm.Algorithm;
+import com.oceanbase.odc.core.datamasking.algorithm.AlgorithmEnum;
+import com.oceanbase.odc.core.datamasking.algorithm.AlgorithmFactory;
+import com.oceanbase.odc.core.datamasking.data.metadata.MetadataFactory;
+import com.oceanbase.odc.core.datamasking.masker.DataMaskingEngine.MaskingStats;
+import com.oceanbase.odc.core.datamasking.util.HashUtils;
+
+/**
+ * @author agent
+ * @date 2026-10-17 14:40
+ * @since ODC_release_4.3.2
+ */
+public class DataMaskingEngineTest {
+
+    @Test
+    public void test_mask_large_input_in_parallel() {
+        List<List<Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            rows.add(new ArrayList<>(Arrays.asList("value_" + (i % 13), i)));
+        }
+        MaskingStats stats = DataMaskingEngine.mask(rows, Arrays.asList(hashMasker(), null));
+        for (int i = 0; i < rows.size(); i++) {
+            Assert.assertEquals(HashUtils.sha256("value_" + (i % 13)), rows.get(i).get(0));
+            Assert.assertEquals(i, rows.get(i).get(1));
+        }
+        Assert.assertEquals(20000, stats.getTotalCount());
+        Assert.assertEquals(10000, stats.getSkippedCount());
+        Assert.assertEquals(0, stats.getFailedCount());
+    }
+
+    @Test
+    public void test_mask_null_value_skipped() {
+        List<List<Object>> rows = new ArrayList<>();
+        rows.add(new ArrayList<>(Arrays.asList("abc", "def")));
+        rows.add(new ArrayList<>(Arrays.asList(null, "ghi")));
+        MaskingStats stats = DataMaskingEngine.mask(rows, Arrays.asList(hashMasker(), hashMasker()));
+        Assert.assertNull(rows.get(1).get(0));
+        Assert.assertEquals(HashUtils.sha256("ghi"), rows.get(1).get(1));
+        Assert.assertEquals(4, stats.getTotalCount());
+        Assert.assertEquals(1, stats.getSkippedCount());
+    }
+
+    @Test
+    public void test_mask_failed_value_kept() {
+        Map<String, Object> params = new HashMap<>();
+        params.put(AlgorithmFactory.ROUNDING_IS_DECIMAL_KEY, true);
+        params.put(AlgorithmFactory.ROUNDING_PRECISION_KEY, 1);
+        Algorithm rounding = AlgorithmFactory.createAlgorithm(AlgorithmEnum.ROUNDING, params);
+        ColumnMasker masker = new ColumnMasker(rounding, MetadataFactory.createMetadata(null, "double"));
+        List<List<Object>> rows = new ArrayList<>();
+        rows.add(new ArrayList<>(Arrays.asList("1.27")));
+        rows.add(new ArrayList<>(Arrays.asList("abc")));
+        rows.add(new ArrayList<>(Arrays.asList("xyz")));
+        MaskingStats stats = DataMaskingEngine.mask(rows, Arrays.asList(masker));
+        Assert.assertEquals("1.2", rows.get(0).get(0));
+        Assert.assertEquals("abc", rows.get(1).get(0));
+        Assert.assertEquals(2, stats.getFailedCount());
+        Assert.assertEquals(Integer.valueOf(1), stats.getFailedColumn2FirstRow().get(0));
+    }
+
+    @Test
+    public void test_column_masker_memoized_value_same() {
+        ColumnMasker masker = hashMasker();
+        Assert.assertEquals(masker.mask("abc"), masker.mask("abc"));
+        Assert.assertEquals(HashUtils.sha256("abc"), masker.mask("abc"));
+    }
+
+    private ColumnMasker hashMasker() {
+        Map<String, Object> params = new HashMap<>();
+        params.put(AlgorithmFactory.HASH_TYPE_KEY, "SHA256");
+        Algorithm algorithm = AlgorithmFactory.createAlgorithm(AlgorithmEnum.HASH, params);
+        return new ColumnMasker(algorithm, MetadataFactory.createMetadata(null, "string"));
+    }
+
+}
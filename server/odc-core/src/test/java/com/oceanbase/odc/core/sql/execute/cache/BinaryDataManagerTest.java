@@ -20,6 +20,7 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
@@ -100,6 +101,25 @@ public class BinaryDataManagerTest {
         }
     }
 
+    @Test
+    public void testReadContent_skipAndReadRange() throws IOException {
+        BinaryDataManager dataManager = getDataManager();
+        dataManager.write(getInputContentStream(getInputContent()));
+        byte[] content = new byte[100 * 1024];
+        random.nextBytes(content);
+        BinaryContentMetaData metaData = dataManager.write(new ByteArrayInputStream(content));
+        Assert.assertEquals(content.length, metaData.getSizeInBytes());
+
+        InputStream inputStream = dataManager.read(metaData);
+        Assert.assertEquals(content.length, inputStream.available());
+        Assert.assertEquals(50000, inputStream.skip(50000));
+        byte[] range = new byte[10];
+        Assert.assertEquals(range.length, inputStream.read(range));
+        Assert.assertArrayEquals(Arrays.copyOfRange(content, 50000, 50010), range);
+        Assert.assertEquals(content.length - 50010, inputStream.skip(Long.MAX_VALUE));
+        Assert.assertEquals(-1, inputStream.read());
+    }
+
     private FileBaseBinaryDataManager getDataManager() throws IOException {
         return new FileBaseBinaryDataManager(getBinaryFilePath());
     }
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.core.sql.execute.cache;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oceanbase.odc.core.sql.execute.cache.table.CachedResultRows;
+import com.oceanbase.odc.core.sql.execute.cache.table.ColumnarVirtualTable;
+
+/**
+ * @author agent
+ * @date 2026-10-18 00:05
+ * @since ODC_release_4.3.2
+ */
+public class CachedResultRowsTest {
+
+    @Test
+    public void getTable_rowsAddedInChunks_builtOnceWithAllRows() {
+        CachedResultRows rows = newRows();
+        rows.addRows(Arrays.asList(row("1", "bob"), row("2", null)));
+        rows.addRows(Collections.singletonList(row("3", "carol")));
+        Assert.assertEquals(3, rows.count());
+
+        ColumnarVirtualTable table = rows.getTable();
+        Assert.assertSame(table, rows.getTable());
+        Assert.assertEquals(3L, (long) table.count());
+        Assert.assertEquals(Arrays.asList(0, 1), table.columnIds());
+        Assert.assertEquals("VARCHAR", table.getColumn(1).dataTypeName());
+        Assert.assertEquals("carol", table.get(2L, 1).getContent());
+        Assert.assertNull(table.get(1L, 1));
+    }
+
+    @Test
+    public void addRows_afterTableBuilt_appendedToTable() {
+        CachedResultRows rows = newRows();
+        rows.addRows(Collections.singletonList(row("1", "bob")));
+        ColumnarVirtualTable table = rows.getTable();
+
+        rows.addRows(Collections.singletonList(row("2", "alice")));
+        Assert.assertEquals(2, rows.count());
+        Assert.assertEquals(2L, (long) table.count());
+        Assert.assertEquals("alice", table.get(1L, 1).getContent());
+    }
+
+    private CachedResultRows newRows() {
+        return new CachedResultRows("sql_id", Arrays.asList("id", "name"), Arrays.asList("DECIMAL", "VARCHAR"));
+    }
+
+    private List<Object> row(Object... values) {
+        return Arrays.asList(values);
+    }
+
+}
@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.core.sql.execute.cache;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.oceanbase.odc.core.sql.execute.cache.model.BinaryContentMetaData;
+import com.oceanbase.odc.core.sql.execute.cache.model.BinaryVirtualElement;
+import com.oceanbase.odc.core.sql.execute.cache.model.CommonVirtualElement;
+import com.oceanbase.odc.core.sql.execute.cache.table.ColumnarVirtualTable;
+import com.oceanbase.odc.core.sql.execute.cache.table.CrossLinkedVirtualTable;
+import com.oceanbase.odc.core.sql.execute.cache.table.VirtualElement;
+import com.oceanbase.odc.core.sql.execute.cache.table.VirtualLine;
+import com.oceanbase.odc.core.sql.execute.cache.table.VirtualTable;
+
+/**
+ * Test cases for {@link ColumnarVirtualTable}, the results are compared with the ones of
+ * {@link CrossLinkedVirtualTable}
+ *
+ * @author agent
+ * @date 2026-10-17 20:50
+ * @since ODC_release_4.3.2
+ */
+public class ColumnarVirtualTableTest {
+
+    private final String tableId = "test_table";
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void put_sequentialRows_sameAsCrossLinked() {
+        Object[][] matrix = generateMatrix(100, 6, new Random(1));
+        assertSameContent(matrix, rowOrder(100, false));
+    }
+
+    @Test
+    public void put_reversedRows_sameAsCrossLinked() {
+        Object[][] matrix = generateMatrix(100, 6, new Random(2));
+        assertSameContent(matrix, rowOrder(100, true));
+    }
+
+    @Test
+    public void put_shuffledRows_sameAsCrossLinked() {
+        Object[][] matrix = generateMatrix(100, 6, new Random(3));
+        List<Integer> order = rowOrder(100, false);
+        Collections.shuffle(order, new Random(4));
+        assertSameContent(matrix, order);
+    }
+
+    @Test
+    public void put_replaceAnElement_contentReplaced() {
+        ColumnarVirtualTable virtualTable = new ColumnarVirtualTable(tableId);
+        virtualTable.put(getElement(1, 2, "1-2"));
+        virtualTable.put(getElement(1, 2, "1-5"));
+        Assert.assertEquals("1-5", virtualTable.get(1L, 2).getContent());
+        Assert.assertEquals(1L, (long) virtualTable.count());
+    }
+
+    @Test
+    public void put_mixedTypesInAColumn_keepEachType() {
+        ColumnarVirtualTable virtualTable = new ColumnarVirtualTable(tableId);
+        List<Object> values = Arrays.asList(1, 2L, "3", 4.0D, 5.0F, new BigDecimal("6.01"), (short) 7, (byte) 8,
+                new BinaryContentMetaData("file", 9, 10));
+        for (int i = 0; i < values.size(); i++) {
+            virtualTable.put(getElement(i, 0, values.get(i)));
+        }
+        for (int i = 0; i < values.size(); i++) {
+            Assert.assertEquals(values.get(i), virtualTable.get((long) i, 0).getContent());
+        }
+    }
+
+    @Test
+    public void put_manyDistinctStrings_moveToArena() {
+        ColumnarVirtualTable virtualTable = new ColumnarVirtualTable(tableId);
+        int rowCount = 5000;
+        for (int i = 0; i < rowCount; i++) {
+            virtualTable.put(getElement(i, 0, i % 3 == 0 ? "中文_" + i : "str_" + (i % 100)));
+        }
+        for (int i = 0; i < rowCount; i++) {
+            Assert.assertEquals(i % 3 == 0 ? "中文_" + i : "str_" + (i % 100),
+                    virtualTable.get((long) i, 0).getContent());
+        }
+    }
+
+    @Test
+    public void forEach_putConcurrently_consistentLinesRead() throws Exception {
+        ColumnarVirtualTable virtualTable = new ColumnarVirtualTable(tableId);
+        int rowCount = 5000;
+        Thread writer = new Thread(() -> {
+            // rows are put in the reversed order so that the positions are shifted on each insertion
+            for (int i = rowCount - 1; i >= 0; i--) {
+                virtualTable.put(getElement(i, 0, "str_" + i));
+                virtualTable.put(getElement(i, 1, (long) i));
+            }
+        });
+        writer.start();
+        List<Throwable> errors = new ArrayList<>();
+        while (writer.isAlive()) {
+            try {
+                virtualTable.forEach(line -> {
+                    for (VirtualElement elt : line) {
+                        Object expected = elt.columnId() == 0 ? "str_" + line.rowId() : line.rowId();
+                        if (!expected.equals(elt.getContent())) {
+                            throw new IllegalStateException("Wrong content " + elt.getContent());
+                        }
+                    }
+                });
+            } catch (Throwable e) {
+                errors.add(e);
+                break;
+            }
+        }
+        writer.join();
+        Assert.assertEquals(Collections.emptyList(), errors);
+        Assert.assertEquals(rowCount, (long) virtualTable.count());
+    }
+
+    @Test
+    public void put_unpairedSurrogate_contentKept() {
+        ColumnarVirtualTable virtualTable = new ColumnarVirtualTable(tableId);
+        virtualTable.put(getElement(0, 0, "abc"));
+        virtualTable.put(getElement(1, 0, "a\uD800b"));
+        virtualTable.put(getElement(2, 0, "😀"));
+        Assert.assertEquals("a\uD800b", virtualTable.get(1L, 0).getContent());
+        Assert.assertEquals("😀", virtualTable.get(2L, 0).getContent());
+    }
+
+    @Test
+    public void get_absentElement_returnNull() {
+        ColumnarVirtualTable virtualTable = new ColumnarVirtualTable(tableId);
+        virtualTable.put(getElement(1, 2, "1-2"));
+        virtualTable.put(getElement(1, 5, "1-5"));
+        virtualTable.put(getElement(3, 4, "3-4"));
+        Assert.assertNull(virtualTable.get(0L, 0));
+        Assert.assertNull(virtualTable.get(1L, 4));
+        Assert.assertNull(virtualTable.get(3L, 2));
+        Assert.assertEquals(Arrays.asList(2, 4, 5), virtualTable.columnIds());
+    }
+
+    @Test
+    public void select_byContent_selectedLinesReturned() {
+        ColumnarVirtualTable virtualTable = new ColumnarVirtualTable(tableId);
+        for (int i = 0; i < 10; i++) {
+            virtualTable.put(getElement(i, 0, i));
+            virtualTable.put(getElement(i, 1, "name_" + i));
+        }
+        VirtualTable selectedTable = virtualTable.select(line -> {
+            for (VirtualElement element : line) {
+                if (element.columnId() == 0) {
+                    return (Integer) element.getContent() > 6;
+                }
+            }
+            return false;
+        });
+        List<Long> rowIds = new ArrayList<>();
+        selectedTable.forEach(line -> rowIds.add(line.rowId()));
+        Assert.assertEquals(Arrays.asList(7L, 8L, 9L), rowIds);
+        Assert.assertEquals(Arrays.asList(0, 1), selectedTable.columnIds());
+    }
+
+    @Test
+    public void project_someColumns_onlyProjectedColumnsReturned() {
+        ColumnarVirtualTable virtualTable = new ColumnarVirtualTable(tableId);
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 5; j++) {
+                virtualTable.put(getElement(i, j, i + "-" + j));
+            }
+        }
+        VirtualTable projectedTable = virtualTable.project(Arrays.asList(2, 3), column -> column);
+        Assert.assertEquals(Arrays.asList(2, 3), projectedTable.columnIds());
+        Assert.assertEquals(10L, (long) projectedTable.count());
+        projectedTable.forEach(line -> {
+            for (VirtualElement element : line) {
+                Assert.assertEquals(line.rowId() + "-" + element.columnId(), element.getContent());
+            }
+        });
+    }
+
+    @Test
+    public void project_absentColumn_expThrown() {
+        ColumnarVirtualTable virtualTable = new ColumnarVirtualTable(tableId);
+        virtualTable.put(getElement(1, 2, "1-2"));
+
+        thrown.expect(NullPointerException.class);
+        thrown.expectMessage("Column with Id 5 is not found");
+        virtualTable.project(Arrays.asList(2, 5), column -> column);
+    }
+
+    @Test
+    public void sortedLines_ascendingAndDescending_absentValuesSmallest() {
+        ColumnarVirtualTable virtualTable = new ColumnarVirtualTable(tableId);
+        long[] values = new long[] {5, 3, 9, 3, 1};
+        for (int i = 0; i < values.length; i++) {
+            virtualTable.put(getElement(i, 0, "row_" + i));
+            virtualTable.put(getElement(i, 1, values[i]));
+        }
+        virtualTable.addLine(5L);
+        Function<Object, Long> sortKey = value -> (Long) value;
+        Assert.assertEquals(Arrays.asList(5L, 4L, 1L, 3L, 0L, 2L),
+                toRowIds(virtualTable.sortedLines(1, sortKey, true)));
+        Assert.assertEquals(Arrays.asList(2L, 0L, 1L, 3L, 4L, 5L),
+                toRowIds(virtualTable.sortedLines(1, sortKey, false)));
+
+        virtualTable.put(getElement(6, 1, 0L));
+        Assert.assertEquals(Arrays.asList(5L, 6L, 4L, 1L, 3L, 0L, 2L),
+                toRowIds(virtualTable.sortedLines(1, sortKey, true)));
+    }
+
+    @Test
+    public void addColumn_noElement_columnIdReturned() {
+        ColumnarVirtualTable virtualTable = new ColumnarVirtualTable(tableId);
+        virtualTable.addColumn(3, "c3", "VARCHAR");
+        virtualTable.addLine(0L);
+        Assert.assertEquals(Collections.singletonList(3), virtualTable.columnIds());
+        Assert.assertEquals("VARCHAR", virtualTable.getColumn(3).dataTypeName());
+        Assert.assertEquals(1L, (long) virtualTable.count());
+        Assert.assertNull(virtualTable.get(0L, 3));
+    }
+
+    private List<Long> toRowIds(Iterator<VirtualLine> iterator) {
+        List<Long> rowIds = new ArrayList<>();
+        iterator.forEachRemaining(line -> rowIds.add(line.rowId()));
+        return rowIds;
+    }
+
+    private void assertSameContent(Object[][] matrix, List<Integer> rowOrder) {
+        ColumnarVirtualTable columnar = new ColumnarVirtualTable(tableId);
+        CrossLinkedVirtualTable crossLinked = new CrossLinkedVirtualTable(tableId);
+        for (int i : rowOrder) {
+            for (int j = 0; j < matrix[i].length; j++) {
+                if (matrix[i][j] != null) {
+                    columnar.put(getElement(i, j, matrix[i][j]));
+                    crossLinked.put(getElement(i, j, matrix[i][j]));
+                }
+            }
+        }
+        Assert.assertEquals(crossLinked.count(), columnar.count());
+        Assert.assertEquals(crossLinked.columnIds(), columnar.columnIds());
+        Assert.assertEquals(toList(crossLinked), toList(columnar));
+        for (Integer columnId : columnar.columnIds()) {
+            Assert.assertEquals(toList(crossLinked.project(Arrays.asList(columnId), c -> c)),
+                    toList(columnar.project(Arrays.asList(columnId), c -> c)));
+        }
+    }
+
+    private List<String> toList(VirtualTable virtualTable) {
+        List<String> result = new ArrayList<>();
+        virtualTable.forEach(line -> {
+            for (VirtualElement elt : line) {
+                result.add(elt.rowId() + "/" + elt.columnId() + "/" + elt.columnName() + "/"
+                        + elt.dataTypeName() + "/" + elt.getContent());
+            }
+        });
+        return result;
+    }
+
+    private List<Integer> rowOrder(int rowNum, boolean reversed) {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < rowNum; i++) {
+            order.add(reversed ? rowNum - 1 - i : i);
+        }
+        return order;
+    }
+
+    private Object[][] generateMatrix(int rowNum, int colNum, Random random) {
+        Object[][] matrix = new Object[rowNum][colNum];
+        for (int i = 0; i < rowNum; i++) {
+            for (int j = 0; j < colNum; j++) {
+                if (random.nextInt(10) < 3) {
+                    continue;
+                }
+                switch (j) {
+                    case 0:
+                        matrix[i][j] = (long) i * 1000;
+                        break;
+                    case 1:
+                        matrix[i][j] = random.nextInt();
+                        break;
+                    case 2:
+                        matrix[i][j] = random.nextDouble();
+                        break;
+                    case 3:
+                        matrix[i][j] = "value_" + random.nextInt(5);
+                        break;
+                    case 4:
+                        matrix[i][j] = new BinaryContentMetaData("file_" + (i % 2), i * 100L, i);
+                        break;
+                    default:
+                        matrix[i][j] = new BigDecimal(random.nextInt(1000)).movePointLeft(2);
+                }
+            }
+        }
+        return matrix;
+    }
+
+    private VirtualElement getElement(long rowId, int columnId, Object value) {
+        if (value instanceof BinaryContentMetaData) {
+            return new BinaryVirtualElement(tableId, rowId, columnId, "test_type", "test_name",
+                    (BinaryContentMetaData) value);
+        }
+        return new CommonVirtualElement(tableId, rowId, columnId, "test_type", "test_name", value);
+    }
+
+}
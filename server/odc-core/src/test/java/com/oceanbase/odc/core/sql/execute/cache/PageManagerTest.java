@@ -35,7 +35,6 @@ import java.util.stream.Collectors;
 import org.apache.commons.io.FileUtils;
 import org.junit.Assert;
 import org.junit.Before;
-import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -278,7 +277,6 @@ public class PageManagerTest {
     }
 
     @Test
-    @Ignore("TODO: fix this test")
     public void create_createMultiPagesConcurrently_createSucceed()
             throws IOException, InterruptedException, TimeoutException, ExecutionException {
         PageManager pageManager = getPageManager(15);
@@ -366,7 +364,6 @@ public class PageManagerTest {
     }
 
     @Test
-    @Ignore("TODO: fix this test")
     public void allOperations_createModifyAndGetConcurrently_operateSucceed()
             throws IOException, InterruptedException, TimeoutException, ExecutionException {
         PageManager pageManager = getPageManager(15);
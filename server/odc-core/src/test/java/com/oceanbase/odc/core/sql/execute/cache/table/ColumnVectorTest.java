@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.core.sql.execute.cache.table;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oceanbase.odc.core.sql.execute.cache.table.ColumnVector.StringColumnVector;
+
+/**
+ * Test cases for {@link ColumnVector}
+ *
+ * @author agent
+ * @date 2026-10-18 10:20
+ * @since ODC_release_4.3.2
+ */
+public class ColumnVectorTest {
+
+    @Test
+    public void set_overwriteArenaWithShorterValue_replacedInPlace() {
+        StringColumnVector vector = newArenaVector();
+        vector.set(0, "abc");
+        Assert.assertEquals("abc", vector.get(0));
+        Assert.assertEquals(2, vector.getGarbageSize());
+        Assert.assertEquals("str_1", vector.get(1));
+    }
+
+    @Test
+    public void set_overwriteArenaRepeatedly_garbageReclaimed() {
+        StringColumnVector vector = newArenaVector();
+        int rowCount = StringColumnVector.MAX_DICTIONARY_SIZE + 1;
+        // longer values are appended to the arena every other round, the garbage keeps growing unless it
+        // is reclaimed
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < rowCount; i++) {
+                vector.set(i, round % 2 == 0 ? "r" + i : "round_" + round + "_" + i);
+            }
+            Assert.assertTrue(vector.getGarbageSize() < 64 * rowCount);
+        }
+        for (int i = 0; i < rowCount; i++) {
+            Assert.assertEquals("round_99_" + i, vector.get(i));
+        }
+    }
+
+    private StringColumnVector newArenaVector() {
+        StringColumnVector vector = new StringColumnVector();
+        for (int i = 0; i <= StringColumnVector.MAX_DICTIONARY_SIZE; i++) {
+            Assert.assertTrue(vector.set(i, "str_" + i));
+        }
+        return vector;
+    }
+
+}
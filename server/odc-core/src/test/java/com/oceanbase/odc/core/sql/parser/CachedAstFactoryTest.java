@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.oceanbase.odc.core.sql.parser;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.cache.CacheStats;
+import com.oceanbase.odc.core.shared.constant.DialectType;
+import com.oceanbase.tools.sqlparser.SyntaxErrorException;
+
+/**
+ * {@link CachedAstFactoryTest}
+ *
+ * @author agent
+ * @date 2026-10-17 17:30
+ * @since ODC_release_4.3.2
+ */
+public class CachedAstFactoryTest {
+
+    @Test
+    public void buildAst_sameSql_parsedOnce() {
+        CachedAstFactory factory = new CachedAstFactory(
+                AbstractSyntaxTreeFactories.getAstFactory(DialectType.OB_MYSQL, 0), 1024, 256);
+        AbstractSyntaxTree first = factory.buildAst("select * from tb");
+        AbstractSyntaxTree second = factory.buildAst("select * from tb");
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, factory.stats().hitCount());
+        Assert.assertEquals(1, factory.stats().missCount());
+    }
+
+    @Test
+    public void buildAst_differentSql_parsedSeparately() {
+        CachedAstFactory factory = new CachedAstFactory(
+                AbstractSyntaxTreeFactories.getAstFactory(DialectType.OB_ORACLE, 0), 1024, 256);
+        AbstractSyntaxTree first = factory.buildAst("select * from tb");
+        AbstractSyntaxTree second = factory.buildAst("select * from tb2");
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(2, factory.stats().missCount());
+    }
+
+    @Test
+    public void buildAst_exceedMaximumWeight_evicted() {
+        AbstractSyntaxTreeFactory delegate = AbstractSyntaxTreeFactories.getAstFactory(DialectType.OB_MYSQL, 0);
+        // trees of the sqls have the same count of nodes, at most 2 of them fit in the weight
+        int nodes = CachedAstFactory.countNodes(delegate.buildAst("select 0 from dual").getRoot());
+        CachedAstFactory factory = new CachedAstFactory(delegate, nodes * 2L + 1, 256);
+        for (int i = 0; i < 10; i++) {
+            factory.buildAst("select " + i + " from dual");
+        }
+        Assert.assertEquals(2, factory.size());
+        Assert.assertEquals(8, factory.stats().evictionCount());
+    }
+
+    @Test
+    public void totalStats_severalFactories_summedUp() {
+        CacheStats before = CachedAstFactory.totalStats();
+        for (int i = 0; i < 2; i++) {
+            CachedAstFactory factory = new CachedAstFactory(
+                    AbstractSyntaxTreeFactories.getAstFactory(DialectType.OB_MYSQL, 0), 1024, 256);
+            factory.buildAst("select * from tb");
+            factory.buildAst("select * from tb");
+        }
+        CacheStats delta = CachedAstFactory.totalStats().minus(before);
+        Assert.assertEquals(2, delta.hitCount());
+        Assert.assertEquals(2, delta.missCount());
+    }
+
+    @Test
+    public void buildAst_sqlTooLong_notCached() {
+        CachedAstFactory factory = new CachedAstFactory(
+                AbstractSyntaxTreeFactories.getAstFactory(DialectType.OB_MYSQL, 0), 1024, 16);
+        AbstractSyntaxTree first = factory.buildAst("select * from long_table_name");
+        AbstractSyntaxTree second = factory.buildAst("select * from long_table_name");
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(0, factory.size());
+        Assert.assertEquals(0, factory.stats().requestCount());
+    }
+
+    @Test(expected = SyntaxErrorException.class)
+    public void buildAst_syntaxErrorSql_expThrown() {
+        CachedAstFactory factory = new CachedAstFactory(
+                AbstractSyntaxTreeFactories.getAstFactory(DialectType.OB_MYSQL, 0), 1024, 256);
+        try {
+            factory.buildAst("select * fro tb");
+        } finally {
+            Assert.assertEquals(0, factory.size());
+        }
+    }
+
+}
@@ -16,13 +16,18 @@
 package com.oceanbase.odc.core.sql.split;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.IteratorUtils;
@@ -160,6 +165,126 @@ public class SqlCommentProcessorTest {
         Assert.assertEquals(sqls, actual);
     }
 
+    @Test
+    public void split_mysqlNestedMultiComment_endAtFirstCommentEnd() {
+        SqlCommentProcessor processor = new SqlCommentProcessor(DialectType.OB_MYSQL, true, false, false);
+        List<OffsetString> actual = processor.split(new StringBuilder(),
+                "/* outer /* inner */ select 1 from dual;\nselect 1 /* a /* b */ c */ from dual;");
+        List<OffsetString> expected = Arrays.asList(new OffsetString(0, "  select 1 from dual"),
+                new OffsetString(41, "select 1   c */ from dual"));
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void split_oracleNestedMultiCommentPreserved_endAtFirstCommentEnd() {
+        SqlCommentProcessor processor = new SqlCommentProcessor(DialectType.OB_ORACLE, true, true, true);
+        List<OffsetString> actual = processor.split(new StringBuilder(),
+                "select 1 /* a /* b */ from dual;\nselect 2 from dual;");
+        List<OffsetString> expected = Arrays.asList(new OffsetString(0, "select 1 /* a /* b */  from dual"),
+                new OffsetString(33, "select 2 from dual"));
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void split_delimiterChangedAndRestored_splitByCurrentDelimiter() {
+        SqlCommentProcessor processor = new SqlCommentProcessor(DialectType.OB_MYSQL, true, false, false);
+        List<OffsetString> actual = processor.split(new StringBuilder(), "delimiter $$\n"
+                + "create procedure p() begin select 1; end$$\n"
+                + "delimiter ;\n"
+                + "select 2 from dual;");
+        List<OffsetString> expected = Arrays.asList(new OffsetString(13, "create procedure p() begin select 1; end"),
+                new OffsetString(68, "select 2 from dual"));
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals(";", processor.getDelimiter());
+    }
+
+    @Test
+    public void split_delimiterChangedInUpperCase_oldDelimiterKeptInSql() {
+        SqlCommentProcessor processor = new SqlCommentProcessor(DialectType.OB_MYSQL, true, false, false);
+        List<OffsetString> actual = processor.split(new StringBuilder(),
+                "DELIMITER //\nselect 1 from dual//\nselect 2 from dual;//");
+        List<OffsetString> expected = Arrays.asList(new OffsetString(13, "select 1 from dual"),
+                new OffsetString(34, "select 2 from dual;"));
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals("//", processor.getDelimiter());
+    }
+
+    @Test
+    public void split_mysqlCommentMarkersInQuotes_notTreatedAsComments() {
+        SqlCommentProcessor processor = new SqlCommentProcessor(DialectType.OB_MYSQL, true, false, false);
+        List<OffsetString> actual = processor.split(new StringBuilder(),
+                "select '-- no', \"/* no */\", '#no', `a;--b` from dual;\nselect 'x;y' from dual;");
+        List<OffsetString> expected = Arrays.asList(
+                new OffsetString(0, "select '-- no', \"/* no */\", '#no', `a;--b` from dual"),
+                new OffsetString(54, "select 'x;y' from dual"));
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void split_oracleCommentMarkersInQuotes_notTreatedAsComments() {
+        SqlCommentProcessor processor = new SqlCommentProcessor(DialectType.OB_ORACLE, true, false, false);
+        List<OffsetString> actual = processor.split(new StringBuilder(),
+                "select '/* no */ -- no;', \"a--b\" from dual;\nselect 'it''s -- ok' from dual;");
+        List<OffsetString> expected = Arrays.asList(new OffsetString(0, "select '/* no */ -- no;', \"a--b\" from dual"),
+                new OffsetString(44, "select 'it''s -- ok' from dual"));
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void split_delimiterInSingleLineComments_notSplit() {
+        SqlCommentProcessor processor = new SqlCommentProcessor(DialectType.OB_MYSQL, true, true, true);
+        List<OffsetString> actual = processor.split(new StringBuilder(),
+                "select 1 from dual; -- tail; comment\n# hash; comment\nselect 2 from dual;");
+        List<OffsetString> expected = Arrays.asList(
+                new OffsetString(0, "select 1 from dual -- tail; comment\n\n# hash; comment\n"),
+                new OffsetString(53, "select 2 from dual"));
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void iterator_delimiterChanged_sameAsSplit() {
+        String sql = "delimiter $$\ncreate procedure p() begin select 1; end$$\ndelimiter ;\nselect 2 from dual;";
+        List<OffsetString> expected = new SqlCommentProcessor(DialectType.OB_MYSQL, true, false, false)
+                .split(new StringBuilder(), sql);
+        SqlStatementIterator iterator = SqlCommentProcessor.iterator(
+                new ByteArrayInputStream(sql.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8,
+                new SqlCommentProcessor(DialectType.OB_MYSQL, true, false, false));
+        Assert.assertEquals(expected, IteratorUtils.toList(iterator));
+    }
+
+    @Test
+    public void split_sharedByConcurrentCalls_sameAsSequentialCalls() throws Exception {
+        SqlCommentProcessor processor = new SqlCommentProcessor(DialectType.OB_MYSQL, true, false, false);
+        List<String> scripts = Arrays.asList(
+                "select '/* a; */' from dual; /* unterminated comment\nselect 1;",
+                "select \"b;\nc\" from dual;\nselect 2 from dual;",
+                "select 3 /* x;\ny */ from dual;\nselect 'd' from dual;");
+        List<List<OffsetString>> expected = new ArrayList<>();
+        for (String script : scripts) {
+            expected.add(processor.split(new StringBuilder(), script));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(scripts.size());
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < scripts.size(); i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 2000; j++) {
+                        if (!expected.get(index).equals(processor.split(new StringBuilder(), scripts.get(index)))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                Assert.assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private String getSqlFromFile(String fileName) throws IOException {
         InputStream input = this.getClass().getClassLoader().getResourceAsStream(fileName);
         assert input != null;
@@ -18,15 +18,19 @@ package com.oceanbase.odc.core.sql.split;
 
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.StringWriter;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import java.util.stream.Collectors;
 
+import org.apache.commons.io.IOUtils;
 import org.junit.Assert;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -278,6 +282,85 @@ public class SqlSplitterIteratorTest {
         verifyByFileName("src/test/resources/sql/split/sql-splitter-23-multi-lines-comment-inside.yml");
     }
 
+    @Test
+    public void iterator_StatementsSpanBufferRefills_SameAsSplit() {
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < 1200; i++) {
+            switch (i % 4) {
+                case 0:
+                    sql.append("select '中文😀").append(i).append("' from dual;\n");
+                    break;
+                case 1:
+                    sql.append("-- comment; ").append(i).append("\ninsert into t values(").append(i).append(");\n");
+                    break;
+                case 2:
+                    sql.append("begin\n  insert into t values(").append(i).append(");\nend;\n/\n");
+                    break;
+                default:
+                    sql.append("update t set c = 'a; ").append(i).append("' /* ; */ where id = 1;\n\n");
+            }
+        }
+        Assert.assertTrue(sql.length() > 4 * 8192);
+        List<String> expected = sqlSplitter().split(sql.toString()).stream().map(OffsetString::getStr)
+                .collect(Collectors.toList());
+        SqlStatementIterator iterator = SqlSplitter.iterator(
+                new TrickleInputStream(sql.toString().getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8, ";");
+        List<String> actual = new ArrayList<>();
+        while (iterator.hasNext()) {
+            actual.add(iterator.next().getStr());
+        }
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals(sql.toString().getBytes(StandardCharsets.UTF_8).length, iterator.iteratedBytes());
+    }
+
+    @Test
+    public void iteratedBytes_EachStatement_BytesUntilItsDelimiter() {
+        String first = "select '中文😀' from dual;";
+        String second = "\n\n  select 2 from dual;";
+        String sql = first + second + "\n  \n";
+        SqlStatementIterator iterator = sqlStatementIterator(sql);
+        Assert.assertEquals(0, iterator.iteratedBytes());
+
+        iterator.next();
+        Assert.assertEquals(first.getBytes(StandardCharsets.UTF_8).length, iterator.iteratedBytes());
+        Assert.assertTrue(iterator.hasNext());
+        Assert.assertEquals(first.getBytes(StandardCharsets.UTF_8).length, iterator.iteratedBytes());
+        iterator.next();
+        Assert.assertEquals((first + second).getBytes(StandardCharsets.UTF_8).length, iterator.iteratedBytes());
+        Assert.assertFalse(iterator.hasNext());
+        Assert.assertEquals(sql.getBytes(StandardCharsets.UTF_8).length, iterator.iteratedBytes());
+    }
+
+    @Test
+    public void iteratedBytes_GbkScript_BytesInGbk() {
+        Charset gbk = Charset.forName("GBK");
+        String sql = "select '中文' from dual;\nselect 2 from dual;\n";
+        SqlStatementIterator iterator = SqlSplitter.iterator(new ByteArrayInputStream(sql.getBytes(gbk)), gbk, ";");
+        iterator.next();
+        Assert.assertEquals("select '中文' from dual;".getBytes(gbk).length, iterator.iteratedBytes());
+        iterator.next();
+        Assert.assertFalse(iterator.hasNext());
+        Assert.assertEquals(sql.getBytes(gbk).length, iterator.iteratedBytes());
+    }
+
+    @Test
+    public void iteratedBytes_WholeFile_SizeOfFile() throws IOException {
+        byte[] bytes;
+        try (InputStream input = getClass().getClassLoader()
+                .getResourceAsStream("sql/split/sql-splitter-0-offset-test.sql")) {
+            bytes = IOUtils.toByteArray(input);
+        }
+        SqlStatementIterator iterator =
+                SqlSplitter.iterator(new TrickleInputStream(bytes), StandardCharsets.UTF_8, ";");
+        long last = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            Assert.assertTrue(iterator.iteratedBytes() > last);
+            last = iterator.iteratedBytes();
+        }
+        Assert.assertEquals(bytes.length, iterator.iteratedBytes());
+    }
+
     protected void verifyByFileName(String fileName) {
         TestData testData = DataLoaders.yaml().fromFile(fileName, TestData.class);
         SqlSplitter sqlSplitter = sqlSplitter();
@@ -300,6 +383,22 @@ public class SqlSplitterIteratorTest {
                 StandardCharsets.UTF_8, ";");
     }
 
+    /**
+     * returns a few bytes for each read, so that statements and code points span buffer refills
+     */
+    private static class TrickleInputStream extends FilterInputStream {
+        private final Random random = new Random(0);
+
+        private TrickleInputStream(byte[] bytes) {
+            super(new ByteArrayInputStream(bytes));
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return super.read(b, off, Math.min(len, 1 + random.nextInt(7)));
+        }
+    }
+
     @Data
     static class TestData {
         private String origin;
@@ -0,0 +1,4 @@
+--
+-- Add column `content_regex_expressions` to `data_security_sensitive_rule` table
+--
+alter table `data_security_sensitive_rule` add column `content_regex_expressions` varchar(1024) DEFAULT NULL COMMENT 'Record the regular expressions matched against sampled column values, valid when type="CONTENT"';
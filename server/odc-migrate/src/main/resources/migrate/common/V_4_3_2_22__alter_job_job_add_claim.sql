@@ -0,0 +1,7 @@
+--
+-- Add columns `claim_owner` and `claim_expire_time` to `job_job` table, a PREPARING or RETRYING job is claimed by one
+-- odc node before it is started, so that the nodes do not contend for the same jobs
+--
+alter table `job_job` add column `claim_owner` varchar(128) DEFAULT NULL COMMENT 'Owner of the latest claim to start the job, an odc node and the claiming round';
+alter table `job_job` add column `claim_expire_time` datetime DEFAULT NULL COMMENT 'The claim is released when it is expired, then the job can be claimed again';
+alter table `job_job` add index `idx_job_job_claim_owner` (`claim_owner`);
@@ -0,0 +1,12 @@
+--
+-- Add `data_security_sensitive_column_version` table, the version of a datasource is increased in the same
+-- transaction as its sensitive columns are changed, so that every odc node can tell whether its in-memory index of
+-- the sensitive columns is stale
+--
+CREATE TABLE IF NOT EXISTS `data_security_sensitive_column_version` (
+  `connection_id` BIGINT(20) NOT NULL COMMENT 'Id of the datasource, refer to connect_connection.id',
+  `version` BIGINT(20) NOT NULL DEFAULT '0' COMMENT 'Increased every time the sensitive columns of the datasource are changed',
+  `create_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT 'Record insertion time',
+  `update_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT 'Record modification time',
+  CONSTRAINT `pk_data_security_sensitive_column_version_connection_id` PRIMARY KEY (`connection_id`)
+) COMMENT 'Record the version of the sensitive columns of a datasource';
@@ -0,0 +1,13 @@
+--
+-- Add `iam_user_permission_version` table, the version of a user is increased in the same transaction as the grants
+-- or project roles of the user are changed, so that every odc node can tell whether its in-memory permission snapshot
+-- of the user is stale. The row of user_id 0 is increased when the changed users are unknown, eg. a permission is
+-- revoked by its id, which makes the snapshots of all users stale
+--
+CREATE TABLE IF NOT EXISTS `iam_user_permission_version` (
+  `user_id` BIGINT(20) NOT NULL COMMENT 'Id of the user, refer to iam_user.id, 0 stands for all users',
+  `version` BIGINT(20) NOT NULL DEFAULT '0' COMMENT 'Increased every time the grants or project roles of the user are changed',
+  `create_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT 'Record insertion time',
+  `update_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT 'Record modification time',
+  CONSTRAINT `pk_iam_user_permission_version_user_id` PRIMARY KEY (`user_id`)
+) COMMENT 'Record the version of the permissions of a user';
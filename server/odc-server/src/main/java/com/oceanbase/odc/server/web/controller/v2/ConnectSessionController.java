@@ -25,7 +25,8 @@ import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -37,6 +38,7 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.oceanbase.odc.core.session.ConnectionSession;
 import com.oceanbase.odc.service.common.response.ListResponse;
@@ -57,6 +59,8 @@ import com.oceanbase.odc.service.session.ConnectConsoleService;
 import com.oceanbase.odc.service.session.ConnectSessionService;
 import com.oceanbase.odc.service.session.model.AsyncExecuteResultResp;
 import com.oceanbase.odc.service.session.model.BinaryContent;
+import com.oceanbase.odc.service.session.model.CachedRowsQueryReq;
+import com.oceanbase.odc.service.session.model.CachedRowsQueryResp;
 import com.oceanbase.odc.service.session.model.QueryTableOrViewDataReq;
 import com.oceanbase.odc.service.session.model.SqlAsyncExecuteReq;
 import com.oceanbase.odc.service.session.model.SqlAsyncExecuteResp;
@@ -118,6 +122,14 @@ public class ConnectSessionController {
         return Responses.success(consoleService.getMoreResults(SidUtils.getSessionId(sessionId), requestId));
     }
 
+    @ApiOperation(value = "pushResults", notes = "push the results of an async execution as server-sent events")
+    @RequestMapping(value = "/sessions/{sessionId}/sqls/pushResults", method = RequestMethod.GET,
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @StatefulRoute(stateName = StateName.DB_SESSION, stateIdExpression = "#sessionId")
+    public SseEmitter pushResults(@PathVariable String sessionId, @RequestParam String requestId) {
+        return consoleService.pushResults(SidUtils.getSessionId(sessionId), requestId);
+    }
+
     /**
      * 对 sql 脚本的内容进行静态检查
      *
@@ -163,6 +175,14 @@ public class ConnectSessionController {
                 SidUtils.getSessionId(sessionId), sqlId, row, col, skip * 1024, len * 1024, format));
     }
 
+    @ApiOperation(value = "queryCachedRows", notes = "在缓存的结果集上进行排序、过滤和分页")
+    @RequestMapping(value = "/sessions/{sessionId}/sqls/{sqlId}/rows", method = RequestMethod.POST)
+    @StatefulRoute(stateName = StateName.DB_SESSION, stateIdExpression = "#sessionId")
+    public SuccessResponse<CachedRowsQueryResp> queryCachedRows(@PathVariable String sessionId,
+            @PathVariable String sqlId, @RequestBody CachedRowsQueryReq req) {
+        return Responses.success(consoleService.queryCachedRows(SidUtils.getSessionId(sessionId), sqlId, req));
+    }
+
     /**
      * 下载二进制对象数据
      *
@@ -172,7 +192,7 @@ public class ConnectSessionController {
     @ApiOperation(value = "download", notes = "下载二进制对象数据")
     @RequestMapping(value = "/sessions/{sessionId}/sqls/{sqlId}/download", method = RequestMethod.GET)
     @StatefulRoute(stateName = StateName.DB_SESSION, stateIdExpression = "#sessionId")
-    public ResponseEntity<InputStreamResource> download(@PathVariable String sessionId, @PathVariable String sqlId,
+    public ResponseEntity<Resource> download(@PathVariable String sessionId, @PathVariable String sqlId,
             @RequestParam Long row, @RequestParam Integer col) {
         return consoleService.downloadBinaryContent(SidUtils.getSessionId(sessionId), sqlId, row, col);
     }
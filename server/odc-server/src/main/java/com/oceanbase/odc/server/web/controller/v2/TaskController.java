@@ -16,6 +16,7 @@
 
 package com.oceanbase.odc.server.web.controller.v2;
 
+import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -27,6 +28,7 @@ import com.oceanbase.odc.service.common.response.Responses;
 import com.oceanbase.odc.service.common.response.SuccessResponse;
 import com.oceanbase.odc.service.datasecurity.DataMaskingService;
 import com.oceanbase.odc.service.task.executor.server.HeartbeatRequest;
+import com.oceanbase.odc.service.task.executor.server.TaskReportBatch;
 import com.oceanbase.odc.service.task.executor.task.DefaultTaskResult;
 import com.oceanbase.odc.service.task.runtime.QuerySensitiveColumnReq;
 import com.oceanbase.odc.service.task.runtime.QuerySensitiveColumnResp;
@@ -68,6 +70,18 @@ public class TaskController {
         return Responses.success("ok");
     }
 
+    @ApiOperation(value = "report", notes = "batch of heartbeats and changed results from one executor")
+    @RequestMapping(value = "/report", method = RequestMethod.POST)
+    public SuccessResponse<String> report(@RequestBody TaskReportBatch batch) {
+        if (CollectionUtils.isNotEmpty(batch.getHeartbeats())) {
+            taskFrameworkService.handleHeartbeats(batch.getHeartbeats());
+        }
+        if (CollectionUtils.isNotEmpty(batch.getResults())) {
+            batch.getResults().forEach(taskFrameworkService::handleResult);
+        }
+        return Responses.success("ok");
+    }
+
     @ApiOperation(value = "querySensitiveColumn", notes = "query sensitive columns")
     @RequestMapping(value = "/querySensitiveColumn", method = RequestMethod.POST)
     public SuccessResponse<QuerySensitiveColumnResp> querySensitiveColumn(@RequestBody QuerySensitiveColumnReq req) {
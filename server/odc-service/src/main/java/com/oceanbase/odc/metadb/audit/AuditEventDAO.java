@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.metadb.audit;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.oceanbase.odc.core.shared.PreConditions;
+import com.oceanbase.odc.core.shared.constant.AuditEventResult;
+
+/**
+ * {@link AuditEventDAO}, writes audit events with jdbc batch statements, used by the async audit
+ * writer to avoid one flush per event
+ *
+ * @author agent
+ * @date 2026-10-17 16:10
+ * @since ODC_release_4.3.2
+ */
+@Component
+public class AuditEventDAO {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert the entities in one batch, ids generated by metadb are set to the entities
+     */
+    public int batchInsert(List<AuditEventEntity> entities) {
+        PreConditions.notEmpty(entities, "entities");
+        String sql = "INSERT INTO audit_event(type, action, database_id, database_name, connection_id,"
+                + " connection_name, connection_host, connection_port, connection_cluster_name,"
+                + " connection_tenant_name, connection_username, connection_dialect_type, client_ip_address,"
+                + " server_ip_address, detail, result, user_id, username, organization_id, task_id, start_time,"
+                + " end_time) VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (AuditEventEntity entity : entities) {
+                    new ArgumentPreparedStatementSetter(new Object[] {name(entity.getType()),
+                            name(entity.getAction()), entity.getDatabaseId(), entity.getDatabaseName(),
+                            entity.getConnectionId(), entity.getConnectionName(), entity.getConnectionHost(),
+                            entity.getConnectionPort(), entity.getConnectionClusterName(),
+                            entity.getConnectionTenantName(), entity.getConnectionUsername(),
+                            name(entity.getConnectionDialectType()), entity.getClientIpAddress(),
+                            entity.getServerIpAddress(), entity.getDetail(), name(entity.getResult()),
+                            entity.getUserId(), entity.getUsername(), entity.getOrganizationId(),
+                            entity.getTaskId(), timestamp(entity.getStartTime()), timestamp(entity.getEndTime())})
+                                    .setValues(ps);
+                    ps.addBatch();
+                }
+                int[] rets = ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (int i = 0; i < entities.size() && keys.next(); i++) {
+                        entities.get(i).setId(keys.getLong(1));
+                    }
+                }
+                return Arrays.stream(rets).filter(ret -> ret > 0).sum();
+            }
+        });
+    }
+
+    /**
+     * Finish the {@link AuditEventResult#UNFINISHED} events by task id, only end time, action, detail
+     * and result of the given entities are used
+     */
+    public int batchFinishByTaskId(List<AuditEventEntity> entities) {
+        PreConditions.notEmpty(entities, "entities");
+        String sql = "UPDATE audit_event SET end_time = ?, action = ?, detail = ?, result = ?"
+                + " WHERE task_id = ? AND result = ?";
+        int[] rets = jdbcTemplate.batchUpdate(sql, entities.stream().map(
+                entity -> new Object[] {timestamp(entity.getEndTime()), name(entity.getAction()),
+                        entity.getDetail(), name(entity.getResult()), entity.getTaskId(),
+                        AuditEventResult.UNFINISHED.name()})
+                .collect(Collectors.toList()));
+        return Arrays.stream(rets).sum();
+    }
+
+    private static String name(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+
+    private static Timestamp timestamp(Date date) {
+        return date == null ? null : new Timestamp(date.getTime());
+    }
+
+}
@@ -19,15 +19,18 @@ import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import com.oceanbase.odc.config.jpa.OdcJpaRepository;
 import com.oceanbase.odc.core.shared.constant.AuditEventResult;
 
-public interface AuditEventRepository extends JpaSpecificationExecutor<AuditEventEntity>,
-        JpaRepository<AuditEventEntity, Long> {
+public interface AuditEventRepository extends OdcJpaRepository<AuditEventEntity, Long> {
 
     Optional<AuditEventEntity> findFirstByTaskIdAndResult(String taskId, AuditEventResult result);
 
@@ -37,4 +40,18 @@ public interface AuditEventRepository extends JpaSpecificationExecutor<AuditEven
     List<AuditEventOperator> findAllOperatorsByOrganizationId(@Param("organizationId") Long organizationId,
             @Param("startTime") Date startTime, @Param("endTime") Date endTime);
 
+    /**
+     * Keyset pagination by id, unlike an offset page there is neither a count query nor a scan of the
+     * skipped rows, so the cost of fetching a page does not grow with the position of the page
+     */
+    default List<AuditEventEntity> findAllAfterId(Specification<AuditEventEntity> specs, Long afterId,
+            int limit) {
+        CriteriaBuilder cb = getEntityManager().getCriteriaBuilder();
+        CriteriaQuery<AuditEventEntity> query = cb.createQuery(AuditEventEntity.class);
+        Root<AuditEventEntity> root = query.from(AuditEventEntity.class);
+        Specification<AuditEventEntity> afterIdSpecs = (r, q, builder) -> builder.greaterThan(r.get("id"), afterId);
+        query.where(afterIdSpecs.and(specs).toPredicate(root, query, cb)).orderBy(cb.asc(root.get("id")));
+        return getEntityManager().createQuery(query).setMaxResults(limit).getResultList();
+    }
+
 }
@@ -16,20 +16,51 @@
 package com.oceanbase.odc.metadb.datasecurity;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import com.oceanbase.odc.config.jpa.OdcJpaRepository;
 
 /**
  * @author gaoda.xy
  * @date 2023/5/11 10:45
  */
-public interface SensitiveColumnRepository
-        extends JpaRepository<SensitiveColumnEntity, Long>, JpaSpecificationExecutor<SensitiveColumnEntity> {
+public interface SensitiveColumnRepository extends OdcJpaRepository<SensitiveColumnEntity, Long> {
 
     List<SensitiveColumnEntity> findByIdIn(Collection<Long> ids);
 
     List<SensitiveColumnEntity> findByDatabaseIdIn(Collection<Long> databaseIds);
 
+    /**
+     * Increase the version of the sensitive columns of a datasource, call it in the transaction which
+     * changes the sensitive columns
+     */
+    default int increaseVersion(Long connectionId) {
+        String sql = "INSERT INTO `data_security_sensitive_column_version`(`connection_id`, `version`)"
+                + " VALUES(?, 1) ON DUPLICATE KEY UPDATE `version`=`version`+1";
+        return getJdbcTemplate().update(sql, connectionId);
+    }
+
+    default long getVersion(Long connectionId) {
+        String sql = "SELECT `version` FROM `data_security_sensitive_column_version` WHERE `connection_id`=?";
+        List<Long> versions = getJdbcTemplate().queryForList(sql, Long.class, connectionId);
+        return versions.isEmpty() ? 0 : versions.get(0);
+    }
+
+    /**
+     * @return connection id to version, a datasource whose version is never increased is absent
+     */
+    default Map<Long, Long> getVersions(Collection<Long> connectionIds) {
+        String sql = "SELECT `connection_id`, `version` FROM `data_security_sensitive_column_version`"
+                + " WHERE `connection_id` IN (" + String.join(",", Collections.nCopies(connectionIds.size(), "?"))
+                + ")";
+        Map<Long, Long> connectionId2Version = new HashMap<>();
+        getJdbcTemplate().query(sql, rs -> {
+            connectionId2Version.put(rs.getLong("connection_id"), rs.getLong("version"));
+        }, connectionIds.toArray());
+        return connectionId2Version;
+    }
+
 }
@@ -86,6 +86,10 @@ public class SensitiveRuleEntity {
     @Column(name = "path_excludes")
     private List<String> pathExcludes;
 
+    @Convert(converter = JsonListConverter.class)
+    @Column(name = "content_regex_expressions")
+    private List<String> contentRegexExpressions;
+
     @Enumerated(value = EnumType.STRING)
     @Column(name = "sensitive_level", nullable = false)
     private SensitiveLevel level;
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.metadb.iam;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.oceanbase.odc.core.shared.PreConditions;
+
+/**
+ * {@link UserPermissionVersionDAO}, reads and increases the versions in
+ * {@code iam_user_permission_version}, {@link #ALL_USERS} stands for the version of all users
+ *
+ * @author agent
+ * @date 2026-10-17 23:20
+ * @since ODC_release_4.3.2
+ */
+@Component
+public class UserPermissionVersionDAO {
+
+    public static final long ALL_USERS = 0L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Increase the versions of the users, the users are increased in ascending order so that concurrent
+     * transactions always lock the rows in the same order
+     */
+    public void increase(Collection<Long> userIds) {
+        PreConditions.notEmpty(userIds, "userIds");
+        String sql = "INSERT INTO iam_user_permission_version(user_id, version) VALUES(?, 1)"
+                + " ON DUPLICATE KEY UPDATE version = version + 1";
+        jdbcTemplate.batchUpdate(sql, userIds.stream().distinct().sorted()
+                .map(userId -> new Object[] {userId}).collect(Collectors.toList()));
+    }
+
+    /**
+     * @return user id to version, a user which is never increased is absent
+     */
+    public Map<Long, Long> queryByUserIds(Collection<Long> userIds) {
+        PreConditions.notEmpty(userIds, "userIds");
+        String sql = "SELECT user_id, version FROM iam_user_permission_version WHERE user_id IN ("
+                + String.join(",", Collections.nCopies(userIds.size(), "?")) + ")";
+        Map<Long, Long> userId2Version = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            userId2Version.put(rs.getLong("user_id"), rs.getLong("version"));
+        }, userIds.toArray());
+        return userId2Version;
+    }
+
+}
@@ -112,6 +112,12 @@ public class JobEntity implements Serializable {
     @Column(name = "last_heart_time")
     private Date lastHeartTime;
 
+    @Column(name = "claim_owner")
+    private String claimOwner;
+
+    @Column(name = "claim_expire_time")
+    private Date claimExpireTime;
+
     @Column(name = "creator_id")
     private Long creatorId;
 
@@ -15,17 +15,19 @@
  */
 package com.oceanbase.odc.metadb.task;
 
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 import javax.transaction.Transactional;
 
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.oceanbase.odc.config.jpa.OdcJpaRepository;
 import com.oceanbase.odc.service.task.enums.JobStatus;
 
 /**
@@ -34,8 +36,7 @@ import com.oceanbase.odc.service.task.enums.JobStatus;
  * @since 4.2.4
  */
 @Repository
-public interface JobRepository extends JpaRepository<JobEntity, Long>,
-        JpaSpecificationExecutor<JobEntity> {
+public interface JobRepository extends OdcJpaRepository<JobEntity, Long> {
 
     @Transactional
     @Query(value = "update job_job set "
@@ -69,6 +70,19 @@ public interface JobRepository extends JpaRepository<JobEntity, Long>,
     @Modifying
     int updateHeartbeatTime(@Param("id") Long id, @Param("oldStatus") JobStatus oldStatus);
 
+    /**
+     * update lastHeartTime of the jobs with one jdbc batch, a job is updated only when it is still
+     * executed by the given executor endpoint
+     *
+     * @param jobIdToExecutorEndpoints list of job id and executor endpoint pair
+     */
+    @Transactional
+    default int batchUpdateHeartbeatTime(List<Object[]> jobIdToExecutorEndpoints) {
+        String sql = "update job_job set last_heart_time=CURRENT_TIMESTAMP where id=? and executor_endpoint=?";
+        int[] rets = getJdbcTemplate().batchUpdate(sql, jobIdToExecutorEndpoints);
+        return Arrays.stream(rets).filter(ret -> ret > 0).sum();
+    }
+
     @Transactional
     @Query("update JobEntity set "
             + " executorIdentifier=:#{#param.executorIdentifier}"
@@ -87,6 +101,33 @@ public interface JobRepository extends JpaRepository<JobEntity, Long>,
     @Modifying
     int updateJobStatusAndExecutionTimesById(@Param("param") JobEntity entity);
 
+    /**
+     * claim at most limit PREPARING or RETRYING jobs which are not claimed or whose claim is expired,
+     * one statement claims a batch of jobs without holding row locks across the start of the jobs
+     */
+    @Transactional
+    @Query(value = "update job_job set claim_owner=:owner,"
+            + " claim_expire_time=:expireTime"
+            + " where status in ('PREPARING', 'RETRYING') and create_time >= :createdAfter"
+            + " and (claim_expire_time is null or claim_expire_time < :now)"
+            + " order by id limit :limit", nativeQuery = true)
+    @Modifying
+    int claimPreparingJobs(@Param("owner") String owner, @Param("now") Date now,
+            @Param("expireTime") Date expireTime, @Param("createdAfter") Date createdAfter,
+            @Param("limit") int limit);
+
+    /**
+     * find the jobs claimed by the owner which are still waiting to be started, served by the index on
+     * claim_owner
+     */
+    List<JobEntity> findByClaimOwnerAndStatusIn(String claimOwner, List<JobStatus> statuses);
+
+    @Transactional
+    @Query(value = "update job_job set claim_expire_time=null where id=:id and claim_owner=:owner",
+            nativeQuery = true)
+    @Modifying
+    int releaseClaim(@Param("id") Long id, @Param("owner") String owner);
+
     @Query(value = "SELECT * FROM job_job WHERE id = ?1", nativeQuery = true)
     Optional<JobEntity> findByIdNative(Long id);
 }
@@ -77,6 +77,7 @@ import com.oceanbase.odc.service.connection.model.ConnectionConfig;
 import com.oceanbase.odc.service.flow.model.CreateFlowInstanceReq;
 import com.oceanbase.odc.service.flow.model.FlowInstanceDetailResp;
 import com.oceanbase.odc.service.iam.auth.AuthenticationFacade;
+import com.oceanbase.odc.service.session.AsyncExecuteResultListener;
 import com.oceanbase.odc.service.session.ConnectSessionService;
 import com.oceanbase.odc.service.session.model.AsyncExecuteResultResp;
 import com.oceanbase.odc.service.session.model.SqlAsyncExecuteResp;
@@ -94,7 +95,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @Aspect
 @ConditionalOnProperty(name = "odc.audit.enabled", havingValue = "true")
-public class AuditEventAspect {
+public class AuditEventAspect implements AsyncExecuteResultListener {
     private final String COMMA = ",";
 
     private final int MAX_DETAIL_LENGTH = 20000;
@@ -105,7 +106,7 @@ public class AuditEventAspect {
     private final ExpressionParser parser = new SpelExpressionParser();
 
     @Autowired
-    private AuditEventService auditEventService;
+    private AuditEventWriter auditEventWriter;
 
     @Autowired
     private AuditEventMetaService auditEventMetaService;
@@ -164,12 +165,15 @@ public class AuditEventAspect {
 
     @AfterReturning(value = "getAsyncSqlExecuteResult()", returning = "returnValue")
     public void afterSqlExecute(Object returnValue) {
+        if (!(returnValue instanceof SuccessResponse)) {
+            return;
+        }
+        onResults(((AsyncExecuteResultResp) ((SuccessResponse) returnValue).getData()).getResults());
+    }
+
+    @Override
+    public void onResults(List<SqlExecuteResult> results) {
         try {
-            if (!(returnValue instanceof SuccessResponse)) {
-                return;
-            }
-            AsyncExecuteResultResp data = (AsyncExecuteResultResp) ((SuccessResponse) returnValue).getData();
-            List<SqlExecuteResult> results = data.getResults();
             if (results.isEmpty()) {
                 return;
             }
@@ -185,20 +189,25 @@ public class AuditEventAspect {
                     if (last > 0) {
                         taskId = result.getSqlId().substring(0, last);
                     }
-                    AuditEventEntity eventEntity =
-                            auditEventService.updateSqlExecuteEvent(taskId, action, detail, auditEventResult);
-                    if (eventEntity != null) {
-                        events.add(eventEntity);
+                    AuditEventEntity event = auditEventWriter.finish(taskId, action, detail, auditEventResult);
+                    if (event != null) {
+                        events.add(event);
                     }
                 }
             }
-            this.auditEventHandler.handle(events, servletRequest);
+            if (!events.isEmpty()) {
+                this.auditEventHandler.handle(events, servletRequest);
+            }
         } catch (Exception ex) {
             log.warn("update async sql execute audit events failed, ex=", ex);
         }
     }
 
     private AuditEventResult getAuditEventResultFromResult(SqlExecuteResult result) {
+        if (result.isPartial()) {
+            // chunks of a streamed result set are always followed by the final result of the statement
+            return AuditEventResult.UNFINISHED;
+        }
         if (SqlExecuteStatus.SUCCESS == result.getStatus()) {
             return AuditEventResult.SUCCESS;
         } else if (SqlExecuteStatus.RUNNING == result.getStatus()) {
@@ -220,7 +229,10 @@ public class AuditEventAspect {
         try {
             List<String> taskIds = parseTaskIds(auditEvent, processResult);
             if (CollectionUtils.isNotEmpty(taskIds)) {
-                auditEventService.saveAsyncTaskEvent(auditEvent, taskIds);
+                for (String taskId : taskIds) {
+                    auditEvent.setTaskId(taskId);
+                    auditEventWriter.insert(mapper.modelToEntity(auditEvent));
+                }
                 this.auditEventHandler.handle(Collections.singletonList(mapper.modelToEntity(auditEvent)),
                         servletRequest);
                 return;
@@ -274,7 +286,7 @@ public class AuditEventAspect {
         try {
             auditEvent.setResult(result);
             auditEvent.setEndTime(new Date());
-            auditEventService.record(auditEvent);
+            auditEventWriter.insert(mapper.modelToEntity(auditEvent));
             this.auditEventHandler.handle(Collections.singletonList(mapper.modelToEntity(auditEvent)), servletRequest);
         } catch (Exception ex) {
             log.warn("save audit events failed, ex=", ex);
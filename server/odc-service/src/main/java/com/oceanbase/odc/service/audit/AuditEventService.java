@@ -15,11 +15,17 @@
  */
 package com.oceanbase.odc.service.audit;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -36,6 +42,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import com.google.common.collect.AbstractIterator;
 import com.oceanbase.odc.common.util.CSVUtils;
 import com.oceanbase.odc.common.util.StringUtils;
 import com.oceanbase.odc.core.authority.SecurityManager;
@@ -102,6 +109,8 @@ public class AuditEventService {
 
     private AuditEventMapper mapper = AuditEventMapper.INSTANCE;
 
+    private static final int EXPORT_PAGE_SIZE = 1000;
+
     /**
      * List audit events of the current user
      */
@@ -123,13 +132,50 @@ public class AuditEventService {
     }
 
     private Page<AuditEvent> list(Specification<AuditEventEntity> specs, Pageable pageable) {
-        return auditEventRepository.findAll(specs, pageable)
-                .map(entity -> {
-                    AuditEvent event = mapper.entityToModel(entity);
-                    event.setActionName(entity.getAction().getLocalizedMessage());
-                    event.setTypeName(entity.getType().getLocalizedMessage());
-                    return event;
-                });
+        return auditEventRepository.findAll(specs, pageable).map(this::toModelWithName);
+    }
+
+    /**
+     * Iterate the audit events page by page with keyset pagination, only one page is held in memory
+     */
+    private Iterable<AuditEvent> iterate(Specification<AuditEventEntity> specs) {
+        return () -> new AbstractIterator<AuditEvent>() {
+            private Iterator<AuditEventEntity> page = Collections.emptyIterator();
+            private boolean lastPage = false;
+            private long lastId = 0;
+            private long count = 0;
+
+            @Override
+            protected AuditEvent computeNext() {
+                if (!page.hasNext()) {
+                    if (lastPage) {
+                        return endOfData();
+                    }
+                    List<AuditEventEntity> entities =
+                            auditEventRepository.findAllAfterId(specs, lastId, EXPORT_PAGE_SIZE);
+                    lastPage = entities.size() < EXPORT_PAGE_SIZE;
+                    if (entities.isEmpty()) {
+                        return endOfData();
+                    }
+                    page = entities.iterator();
+                    count += entities.size();
+                    if (count % (EXPORT_PAGE_SIZE * 100L) == 0) {
+                        log.info("Export audit events in progress, fetchedCount={}, lastId={}", count,
+                                lastId);
+                    }
+                }
+                AuditEventEntity entity = page.next();
+                lastId = entity.getId();
+                return toModelWithName(entity);
+            }
+        };
+    }
+
+    private AuditEvent toModelWithName(AuditEventEntity entity) {
+        AuditEvent event = mapper.entityToModel(entity);
+        event.setActionName(entity.getAction().getLocalizedMessage());
+        event.setTypeName(entity.getType().getLocalizedMessage());
+        return event;
     }
 
 
@@ -222,8 +268,7 @@ public class AuditEventService {
                 .connectionIds(req.getConnectionIds())
                 .userIds(req.getUserIds())
                 .build();
-        Page<AuditEvent> records = list(AuditSpecs.of(params), Pageable.unpaged());
-        return getFileDownloadUrl(records, AuditEvent.class, req.getFormat());
+        return getFileDownloadUrl(iterate(AuditSpecs.of(params)), AuditEvent.class, req.getFormat());
     }
 
     @PreAuthenticate(actions = "read", resourceType = "ODC_AUDIT_EVENT", isForAll = true)
@@ -238,7 +283,6 @@ public class AuditEventService {
 
     private <T> String getFileDownloadUrl(Iterable<T> records, Class<T> clazz, DownloadFormat format)
             throws IOException {
-        String csvStr = CSVUtils.buildCSVFormatData(records, clazz);
         String fileId = StringUtils.uuid();
 
         /**
@@ -247,7 +291,12 @@ public class AuditEventService {
         String csvFilePath = String.format("%s/%s", FileManager.generateDir(FileBucket.AUDIT),
                 fileId + DownloadFormat.CSV.getExtension());
         File file = new File(csvFilePath);
-        FileUtils.write(file, csvStr);
+        FileUtils.forceMkdirParent(file);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file),
+                StandardCharsets.UTF_8))) {
+            long count = CSVUtils.writeCSVFormatData(records, clazz, writer);
+            log.info("Export audit events to csv file finished, count={}, fileId={}", count, fileId);
+        }
         String downloadBaseUrl = FileManager.generateBaseDownloadUrl(FileBucket.AUDIT);
         String downloadUrl;
         if (DownloadFormat.CSV == format) {
@@ -0,0 +1,408 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.audit;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.oceanbase.odc.common.json.JsonUtils;
+import com.oceanbase.odc.core.authority.util.SkipAuthorize;
+import com.oceanbase.odc.core.shared.constant.AuditEventAction;
+import com.oceanbase.odc.core.shared.constant.AuditEventResult;
+import com.oceanbase.odc.metadb.audit.AuditEventDAO;
+import com.oceanbase.odc.metadb.audit.AuditEventEntity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link AuditEventWriter}, takes audit events off the request threads. Events are put into a
+ * bounded ring and written to metadb by a dedicated thread with jdbc batch statements, one
+ * transaction per batch. When the ring is full or metadb is not writable, events are appended to a
+ * spill file which is synced to disk, and replayed once metadb is back or at the next startup. The
+ * ring is flushed or spilled on shutdown, but the events in it, at most {@code capacity} of them or
+ * the events of one flush interval, are lost if odc is killed or crashes. A replayed batch may be
+ * written again if odc crashes during the replay. Events which can not be spilled are counted by
+ * {@link #getLostEventCount()}.
+ *
+ * @author agent
+ * @date 2026-10-17 16:30
+ * @since ODC_release_4.3.2
+ */
+@Slf4j
+@Component
+@SkipAuthorize("odc internal usage")
+@ConditionalOnProperty(name = "odc.audit.enabled", havingValue = "true")
+public class AuditEventWriter {
+
+    private static final long RETRY_INTERVAL_MILLIS = 5000;
+    private static final String REPLAY_FILE_SUFFIX = ".replaying";
+
+    private final AuditEventDAO auditEventDAO;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingAuditEvent> ring;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    /**
+     * new events are appended to the spill file while spilling
+     */
+    private final File spillFile;
+    /**
+     * events which are older than the ones in the spill file, the spill file is renamed to it when it
+     * is replayed, a batch which failed to be written is also put here
+     */
+    private final File replayFile;
+    private final Object spillLock = new Object();
+    /**
+     * unfinished events by task id, so that the whole event is handed out when it is finished
+     */
+    private final Cache<String, AuditEventEntity> unfinishedEvents = CacheBuilder.newBuilder()
+            .maximumSize(10000).expireAfterWrite(1, TimeUnit.DAYS).build();
+    private final AtomicLong lostEventCount = new AtomicLong();
+    /**
+     * true if there are events in the spill files, the writer keeps appending to the spill file until
+     * it is replayed, so that the events are written in order
+     */
+    private volatile boolean spilling;
+    private volatile boolean running;
+    private long nextReplayMillis;
+    private Thread writerThread;
+
+    @Autowired
+    public AuditEventWriter(AuditEventDAO auditEventDAO, TransactionTemplate transactionTemplate,
+            @Value("${odc.audit.writer.capacity:1000}") int capacity,
+            @Value("${odc.audit.writer.batch-size:500}") int batchSize,
+            @Value("${odc.audit.writer.flush-interval-millis:200}") long flushIntervalMillis,
+            @Value("${odc.audit.writer.spill-file:${file.storage.dir:./data}/AUDIT/audit-event.spill}") String spillFile) {
+        this.auditEventDAO = auditEventDAO;
+        this.transactionTemplate = transactionTemplate;
+        this.ring = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.spillFile = new File(spillFile);
+        this.replayFile = new File(spillFile + REPLAY_FILE_SUFFIX);
+        this.spilling = this.spillFile.length() > 0 || this.replayFile.length() > 0;
+    }
+
+    @PostConstruct
+    public void start() {
+        this.running = true;
+        this.writerThread = new Thread(this::writeLoop, "audit-event-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        log.info("Audit event writer started, spillFile={}, spilling={}", spillFile.getAbsolutePath(), spilling);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        this.running = false;
+        if (writerThread != null) {
+            writerThread.join(RETRY_INTERVAL_MILLIS);
+            if (writerThread.isAlive()) {
+                // the writer is still writing a batch, leave the rest to the next startup
+                spillRing(Collections.emptyList());
+                log.warn("Audit event writer is still writing, spill the rest events, spilling={}", spilling);
+                return;
+            }
+        }
+        while (!ring.isEmpty()) {
+            flush();
+        }
+        log.info("Audit event writer stopped, spilling={}", spilling);
+    }
+
+    public void insert(AuditEventEntity event) {
+        if (event.getResult() == AuditEventResult.UNFINISHED && event.getTaskId() != null) {
+            unfinishedEvents.put(event.getTaskId(), event);
+        }
+        offer(new PendingAuditEvent(Operation.INSERT, event));
+    }
+
+    /**
+     * Finish the {@link AuditEventResult#UNFINISHED} event of an async task
+     *
+     * @return the finished event, or null if the unfinished event is not inserted by this odc server
+     *         since it started, metadb is not queried on the request thread
+     */
+    public AuditEventEntity finish(String taskId, AuditEventAction action, String detail, AuditEventResult result) {
+        AuditEventEntity unfinished = unfinishedEvents.asMap().remove(taskId);
+        AuditEventEntity event = new AuditEventEntity();
+        event.setTaskId(taskId);
+        event.setAction(action);
+        event.setDetail(detail);
+        event.setResult(result);
+        event.setEndTime(new Date());
+        // the finish is written anyway, the event may be inserted by another odc server or before a restart
+        offer(new PendingAuditEvent(Operation.FINISH, event));
+        if (unfinished == null) {
+            return null;
+        }
+        AuditEventEntity finished = new AuditEventEntity();
+        BeanUtils.copyProperties(unfinished, finished);
+        finished.setAction(action);
+        finished.setDetail(detail);
+        finished.setResult(result);
+        finished.setEndTime(event.getEndTime());
+        return finished;
+    }
+
+    /**
+     * @return count of the events which are dropped since odc started, because they can not be spilled
+     */
+    public long getLostEventCount() {
+        return lostEventCount.get();
+    }
+
+    private void offer(PendingAuditEvent event) {
+        if (!ring.offer(event)) {
+            spillRing(Collections.singletonList(event));
+        }
+    }
+
+    /**
+     * spill the events in the ring and then the given events, the events in the ring are older
+     */
+    private void spillRing(List<PendingAuditEvent> events) {
+        synchronized (spillLock) {
+            List<PendingAuditEvent> spilled = new ArrayList<>();
+            ring.drainTo(spilled);
+            spilled.addAll(events);
+            if (!spilled.isEmpty()) {
+                spilling = true;
+                append(spillFile, spilled);
+            }
+        }
+    }
+
+    private void writeLoop() {
+        while (running) {
+            try {
+                if (flush() < batchSize) {
+                    Thread.sleep(flushIntervalMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("Failed to flush audit events", e);
+            }
+        }
+    }
+
+    /**
+     * Write at most one batch of events from the ring, and replay the spill files if it is due
+     *
+     * @return count of events taken from the ring
+     */
+    int flush() {
+        List<PendingAuditEvent> batch = new ArrayList<>();
+        boolean spilled;
+        synchronized (spillLock) {
+            // events are drained and spilled atomically, so that they are not overtaken by an overflow
+            ring.drainTo(batch, batchSize);
+            spilled = spilling;
+            if (spilled && !batch.isEmpty()) {
+                append(spillFile, batch);
+            }
+        }
+        if (spilled) {
+            if (System.currentTimeMillis() >= nextReplayMillis) {
+                replay();
+            }
+        } else if (!batch.isEmpty() && !write(batch)) {
+            synchronized (spillLock) {
+                // there is no replay file when not spilling, the batch is older than any spilled event
+                spilling = true;
+                append(replayFile, batch);
+            }
+        }
+        return batch.size();
+    }
+
+    private void replay() {
+        synchronized (spillLock) {
+            if (!replayFile.exists() && spillFile.exists() && !spillFile.renameTo(replayFile)) {
+                log.warn("Failed to rename audit event spill file, file={}", spillFile.getAbsolutePath());
+                nextReplayMillis = System.currentTimeMillis() + RETRY_INTERVAL_MILLIS;
+                return;
+            }
+        }
+        List<PendingAuditEvent> events;
+        try {
+            events = read(replayFile);
+        } catch (IOException e) {
+            log.warn("Failed to read audit event spill file, file={}", replayFile.getAbsolutePath(), e);
+            nextReplayMillis = System.currentTimeMillis() + RETRY_INTERVAL_MILLIS;
+            return;
+        }
+        log.info("Replay spilled audit events, count={}", events.size());
+        for (int i = 0; i < events.size(); i += batchSize) {
+            if (!write(events.subList(i, Math.min(events.size(), i + batchSize)))) {
+                // only the events which are not written are replayed next time
+                rewrite(replayFile, events.subList(i, events.size()));
+                return;
+            }
+        }
+        synchronized (spillLock) {
+            if (replayFile.exists() && !replayFile.delete()) {
+                log.warn("Failed to delete audit event spill file, file={}", replayFile.getAbsolutePath());
+                nextReplayMillis = System.currentTimeMillis() + RETRY_INTERVAL_MILLIS;
+                return;
+            }
+            // events spilled during the replay are replayed in the next round
+            spilling = spillFile.length() > 0;
+        }
+    }
+
+    private boolean write(List<PendingAuditEvent> events) {
+        List<AuditEventEntity> inserts = filter(events, Operation.INSERT);
+        List<AuditEventEntity> finishes = filter(events, Operation.FINISH);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!inserts.isEmpty()) {
+                    auditEventDAO.batchInsert(inserts);
+                }
+                if (!finishes.isEmpty()) {
+                    auditEventDAO.batchFinishByTaskId(finishes);
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Failed to write audit events, spill them to file, count={}, reason={}",
+                    events.size(), e.getMessage());
+            nextReplayMillis = System.currentTimeMillis() + RETRY_INTERVAL_MILLIS;
+            return false;
+        }
+        // publish the ids generated by metadb to the request threads which finish the events
+        inserts.stream().filter(e -> e.getTaskId() != null && e.getResult() == AuditEventResult.UNFINISHED)
+                .forEach(e -> unfinishedEvents.asMap().replace(e.getTaskId(), e, e));
+        return true;
+    }
+
+    private List<AuditEventEntity> filter(List<PendingAuditEvent> events, Operation operation) {
+        return events.stream().filter(e -> e.getOperation() == operation)
+                .map(PendingAuditEvent::getEvent).collect(Collectors.toList());
+    }
+
+    private void append(File file, List<PendingAuditEvent> events) {
+        String lines = toLines(events);
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            lostEventCount.addAndGet(events.size());
+            log.error("Failed to create audit event spill dir, lost events={}", lines);
+            return;
+        }
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(lines.getBytes(StandardCharsets.UTF_8));
+            out.getFD().sync();
+        } catch (IOException e) {
+            lostEventCount.addAndGet(events.size());
+            log.error("Failed to spill audit events, lost events={}", lines, e);
+        }
+    }
+
+    /**
+     * replace the content of the file atomically, the file is left as it was if it fails
+     */
+    private void rewrite(File file, List<PendingAuditEvent> events) {
+        File tmp = new File(file.getPath() + ".tmp");
+        try {
+            try (FileOutputStream out = new FileOutputStream(tmp, false)) {
+                out.write(toLines(events).getBytes(StandardCharsets.UTF_8));
+                out.getFD().sync();
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to rewrite audit event spill file, written events may be replayed again, file={}",
+                    file.getAbsolutePath(), e);
+        }
+    }
+
+    private static String toLines(List<PendingAuditEvent> events) {
+        StringBuilder lines = new StringBuilder();
+        for (PendingAuditEvent event : events) {
+            lines.append(JsonUtils.toJson(event)).append('\n');
+        }
+        return lines.toString();
+    }
+
+    private static List<PendingAuditEvent> read(File file) throws IOException {
+        List<PendingAuditEvent> events = new ArrayList<>();
+        if (!file.exists()) {
+            return events;
+        }
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(file.toPath()), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                PendingAuditEvent event = line.isEmpty() ? null : JsonUtils.fromJson(line, PendingAuditEvent.class);
+                if (event == null || event.getOperation() == null || event.getEvent() == null) {
+                    // the last line may be partially written if odc crashed while spilling
+                    log.warn("Skip broken line in audit event spill file, line={}", line);
+                    continue;
+                }
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    enum Operation {
+        INSERT,
+        /**
+         * finish an unfinished event by task id
+         */
+        FINISH
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class PendingAuditEvent {
+        private Operation operation;
+        private AuditEventEntity event;
+    }
+
+}
@@ -93,11 +93,11 @@ public class FileConvertUtils {
         SXSSFSheet sheet;
         xlsFilePath = xlsFilePath.trim();
         try (SXSSFWorkbook workBook = new SXSSFWorkbook();
-                FileOutputStream fileOutputStream = new FileOutputStream(xlsFilePath)) {
+                FileOutputStream fileOutputStream = new FileOutputStream(xlsFilePath);
+                Reader in = new FileReader(csvFilePath)) {
             /**
              * Read CSV using org.apache.commons.CSVParser
              */
-            Reader in = new FileReader(csvFilePath);
             Iterable<CSVRecord> records = CSVFormat.DEFAULT
                     .withSkipHeaderRecord(false)
                     .withEscape('\\')
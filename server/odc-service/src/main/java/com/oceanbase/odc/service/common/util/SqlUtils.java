@@ -128,7 +128,7 @@ public class SqlUtils {
             processor.setDelimiter(sqlSplitter.getDelimiter());
             return sqls;
         } else {
-            StringBuffer buffer = new StringBuffer();
+            StringBuilder buffer = new StringBuilder();
             List<OffsetString> sqls = processor.split(buffer, sql);
             String bufferStr = buffer.toString();
             if (bufferStr.trim().length() != 0) {
@@ -189,7 +189,7 @@ public class SqlUtils {
      */
     public static String removeComments(SqlCommentProcessor processor, String sql) {
         try {
-            StringBuffer buffer = new StringBuffer();
+            StringBuilder buffer = new StringBuilder();
             List<String> splitedSqls = processor.split(buffer, sql).stream().map(OffsetString::getStr)
                     .collect(Collectors.toList());
             String bufferStr = buffer.toString();
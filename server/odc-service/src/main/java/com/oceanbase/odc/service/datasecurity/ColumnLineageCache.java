@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.datasecurity;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.oceanbase.odc.service.datasecurity.extractor.model.DBColumn;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * {@link ColumnLineageCache}, caches the column lineage (result column to the source
+ * {@link DBColumn}s) extracted from a query, so that a query which is executed again and again does
+ * not have to be parsed and resolved against the datasource for data masking. The lineage is keyed
+ * by the datasource, the schema version of the datasource, the current schema of the session and
+ * the exact sql text. The sql is not normalized on purpose: telling a comment from the rest of a
+ * sql needs the dialect lexer, and two sqls which only differ inside a comment may have different
+ * lineages, eg. a line comment may hide everything behind it. The schema version is bumped when a
+ * ddl is executed on the datasource, the ttl bounds the staleness of schema changes made outside
+ * odc. The cache is bounded by the estimated heap size of the entries, which is dominated by the
+ * sql text of the keys.
+ *
+ * @author agent
+ * @date 2026-10-17 18:05
+ * @since ODC_release_4.3.2
+ */
+@Component
+public class ColumnLineageCache {
+
+    /**
+     * sql longer than this is not cached, such a sql is rarely executed repeatedly
+     */
+    private static final int MAX_CACHED_SQL_LENGTH = 64 * 1024;
+    /**
+     * max estimated heap size of all the cached entries in bytes
+     */
+    private static final long DEFAULT_MAX_WEIGHT_BYTES = 32L * 1024 * 1024;
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+    private static final int COLUMN_SET_OVERHEAD_BYTES = 64;
+    private static final int COLUMN_BYTES = 160;
+
+    private final Map<Long, AtomicLong> dataSourceId2SchemaVersion = new ConcurrentHashMap<>();
+    private final Cache<LineageKey, List<Set<DBColumn>>> lineages;
+
+    public ColumnLineageCache() {
+        this(DEFAULT_MAX_WEIGHT_BYTES);
+    }
+
+    ColumnLineageCache(long maxWeightBytes) {
+        this.lineages = Caffeine.newBuilder().maximumWeight(maxWeightBytes)
+                .weigher(ColumnLineageCache::weigh).expireAfterWrite(10, TimeUnit.MINUTES).build();
+    }
+
+    /**
+     * Get the cached lineage of the sql, extract and cache it if absent. A failed extraction, which is
+     * represented by {@code null}, is not cached.
+     */
+    public List<Set<DBColumn>> get(@NonNull Long dataSourceId, String currentSchema, @NonNull String sql,
+            @NonNull Supplier<List<Set<DBColumn>>> extractor) {
+        if (sql.length() > MAX_CACHED_SQL_LENGTH) {
+            return extractor.get();
+        }
+        LineageKey key = new LineageKey(dataSourceId, getSchemaVersion(dataSourceId), currentSchema, sql);
+        List<Set<DBColumn>> lineage = lineages.getIfPresent(key);
+        if (lineage != null) {
+            return copy(lineage);
+        }
+        lineage = extractor.get();
+        if (lineage == null) {
+            return null;
+        }
+        lineages.put(key, Collections.unmodifiableList(copy(lineage)));
+        return lineage;
+    }
+
+    /**
+     * The schema of the datasource is changed, all cached lineages of the datasource are stale
+     */
+    public void onSchemaChanged(@NonNull Long dataSourceId) {
+        dataSourceId2SchemaVersion.computeIfAbsent(dataSourceId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    private long getSchemaVersion(Long dataSourceId) {
+        AtomicLong version = dataSourceId2SchemaVersion.get(dataSourceId);
+        return version == null ? 0 : version.get();
+    }
+
+    long estimatedSize() {
+        lineages.cleanUp();
+        return lineages.estimatedSize();
+    }
+
+    /**
+     * Estimated heap size of an entry in bytes, a char of the sql takes 2 bytes
+     */
+    private static int weigh(LineageKey key, List<Set<DBColumn>> lineage) {
+        long weight = ENTRY_OVERHEAD_BYTES + 2L * key.getSql().length();
+        if (key.getCurrentSchema() != null) {
+            weight += 2L * key.getCurrentSchema().length();
+        }
+        for (Set<DBColumn> columns : lineage) {
+            weight += COLUMN_SET_OVERHEAD_BYTES + (long) COLUMN_BYTES * columns.size();
+        }
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    /**
+     * Callers may modify the returned lineage, never hand out the cached sets
+     */
+    private static List<Set<DBColumn>> copy(List<Set<DBColumn>> lineage) {
+        return lineage.stream().map(HashSet::new).collect(Collectors.toList());
+    }
+
+    @Value
+    private static class LineageKey {
+        Long dataSourceId;
+        long schemaVersion;
+        String currentSchema;
+        String sql;
+    }
+
+}
@@ -19,6 +19,7 @@ import com.oceanbase.odc.core.shared.constant.ErrorCodes;
 import com.oceanbase.odc.core.shared.exception.UnsupportedException;
 import com.oceanbase.odc.service.datasecurity.model.SensitiveRule;
 import com.oceanbase.odc.service.datasecurity.recognizer.ColumnRecognizer;
+import com.oceanbase.odc.service.datasecurity.recognizer.ContentColumnRecognizer;
 import com.oceanbase.odc.service.datasecurity.recognizer.GroovyColumnRecognizer;
 import com.oceanbase.odc.service.datasecurity.recognizer.PathColumnRecognizer;
 import com.oceanbase.odc.service.datasecurity.recognizer.RegexColumnRecognizer;
@@ -32,6 +33,10 @@ import lombok.NonNull;
 public class ColumnRecognizerFactory {
 
     public static ColumnRecognizer create(@NonNull SensitiveRule rule) {
+        return create(rule, null);
+    }
+
+    public static ColumnRecognizer create(@NonNull SensitiveRule rule, SensitiveColumnContentSampler sampler) {
         switch (rule.getType()) {
             case REGEX:
                 return new RegexColumnRecognizer(rule.getDatabaseRegexExpression(), rule.getTableRegexExpression(),
@@ -40,6 +45,8 @@ public class ColumnRecognizerFactory {
                 return new PathColumnRecognizer(rule.getPathIncludes(), rule.getPathExcludes());
             case GROOVY:
                 return new GroovyColumnRecognizer(rule.getGroovyScript());
+            case CONTENT:
+                return new ContentColumnRecognizer(rule.getContentRegexExpressions(), sampler);
             default:
                 String errorMsg = String.format("Unsupported sensitive rule type: %s", rule.getType().name());
                 throw new UnsupportedException(ErrorCodes.BadArgument, new Object[] {errorMsg}, errorMsg);
@@ -46,6 +46,7 @@ import com.oceanbase.odc.service.session.model.SqlAsyncExecuteResp;
 import com.oceanbase.odc.service.session.model.SqlExecuteResult;
 import com.oceanbase.tools.dbbrowser.model.DBConstraintType;
 import com.oceanbase.tools.dbbrowser.model.DBTableConstraint;
+import com.oceanbase.tools.dbbrowser.parser.constant.GeneralSqlType;
 import com.oceanbase.tools.dbbrowser.schema.DBSchemaAccessor;
 
 import lombok.NonNull;
@@ -73,6 +74,10 @@ public class DataMaskingInterceptor extends BaseTimeConsumingInterceptor {
     public void doAfterCompletion(@NonNull SqlExecuteResult response, @NonNull ConnectionSession session,
             @NonNull AsyncExecuteContext context) throws Exception {
         // TODO: May intercept sensitive column operation (WHERE / ORDER BY / HAVING)
+        if (response.getStatus() == SqlExecuteStatus.SUCCESS && response.getGeneralSqlType() == GeneralSqlType.DDL) {
+            maskingService.onSchemaChanged(session);
+            return;
+        }
         if (!maskingService.isMaskingEnabled()) {
             return;
         }
@@ -39,14 +39,15 @@ import com.oceanbase.odc.core.authority.util.SkipAuthorize;
 import com.oceanbase.odc.core.datamasking.algorithm.Algorithm;
 import com.oceanbase.odc.core.datamasking.algorithm.AlgorithmEnum;
 import com.oceanbase.odc.core.datamasking.algorithm.AlgorithmFactory;
-import com.oceanbase.odc.core.datamasking.data.Data;
 import com.oceanbase.odc.core.datamasking.data.metadata.MetadataFactory;
+import com.oceanbase.odc.core.datamasking.masker.ColumnMasker;
+import com.oceanbase.odc.core.datamasking.masker.DataMaskingEngine;
+import com.oceanbase.odc.core.datamasking.masker.DataMaskingEngine.MaskingStats;
 import com.oceanbase.odc.core.session.ConnectionSession;
 import com.oceanbase.odc.core.session.ConnectionSessionUtil;
 import com.oceanbase.odc.core.shared.Verify;
 import com.oceanbase.odc.core.shared.exception.UnsupportedException;
 import com.oceanbase.odc.core.sql.execute.model.JdbcColumnMetaData;
-import com.oceanbase.odc.core.sql.parser.AbstractSyntaxTreeFactories;
 import com.oceanbase.odc.core.sql.parser.AbstractSyntaxTreeFactory;
 import com.oceanbase.odc.service.connection.model.ConnectionConfig;
 import com.oceanbase.odc.service.datasecurity.accessor.DatasourceColumnAccessor;
@@ -89,6 +90,9 @@ public class DataMaskingService {
     @Autowired
     private AuthenticationFacade authenticationFacade;
 
+    @Autowired
+    private ColumnLineageCache lineageCache;
+
     @SkipAuthorize("odc internal usages")
     public QuerySensitiveColumnResp querySensitiveColumn(@NotNull @Valid QuerySensitiveColumnReq req) {
         List<Set<SensitiveColumn>> sensitiveColumns =
@@ -103,10 +107,34 @@ public class DataMaskingService {
 
     @SkipAuthorize("odc internal usages")
     public List<Set<SensitiveColumn>> getResultSetSensitiveColumns(@NotBlank String sql, ConnectionSession session) {
-        List<Set<SensitiveColumn>> result = new ArrayList<>();
+        Long datasourceId = ((ConnectionConfig) ConnectionSessionUtil.getConnectionConfig(session)).getId();
+        List<Set<DBColumn>> tableRelatedDBColumns = lineageCache.get(datasourceId,
+                ConnectionSessionUtil.getCurrentSchema(session), sql, () -> extractTableRelatedDBColumns(sql, session));
+        if (CollectionUtils.isEmpty(tableRelatedDBColumns)) {
+            return new ArrayList<>();
+        }
+        return columnService.filterSensitiveColumns(datasourceId, tableRelatedDBColumns);
+    }
+
+    /**
+     * The schema of the datasource is changed, eg. a ddl is executed in a session of the datasource
+     */
+    @SkipAuthorize("odc internal usages")
+    public void onSchemaChanged(@NonNull ConnectionSession session) {
+        ConnectionConfig config = (ConnectionConfig) ConnectionSessionUtil.getConnectionConfig(session);
+        if (Objects.nonNull(config) && Objects.nonNull(config.getId())) {
+            lineageCache.onSchemaChanged(config.getId());
+        }
+        Object accessor = ConnectionSessionUtil.getColumnAccessor(session);
+        if (accessor instanceof DatasourceColumnAccessor) {
+            ((DatasourceColumnAccessor) accessor).invalidateAll();
+        }
+    }
+
+    private List<Set<DBColumn>> extractTableRelatedDBColumns(String sql, ConnectionSession session) {
         Statement stmt;
         try {
-            AbstractSyntaxTreeFactory factory = AbstractSyntaxTreeFactories.getAstFactory(session.getDialectType(), 0);
+            AbstractSyntaxTreeFactory factory = ConnectionSessionUtil.getAstFactory(session);
             if (factory == null) {
                 throw new UnsupportedException("Unsupported dialect type: " + session.getDialectType());
             }
@@ -124,14 +152,12 @@ public class DataMaskingService {
             table = extractor.extract(stmt);
         } catch (Exception e) {
             log.warn("Extract sensitive columns failed, stmt={}", stmt, e);
-            return result;
+            return null;
         }
         if (Objects.isNull(table) || table.getColumnList().isEmpty()) {
-            return result;
+            return new ArrayList<>();
         }
-        List<Set<DBColumn>> tableRelatedDBColumns = table.getTableRelatedDBColumns();
-        Long datasourceId = ((ConnectionConfig) ConnectionSessionUtil.getConnectionConfig(session)).getId();
-        return columnService.filterSensitiveColumns(datasourceId, tableRelatedDBColumns);
+        return table.getTableRelatedDBColumns();
     }
 
     @SkipAuthorize("odc internal usages")
@@ -178,47 +204,27 @@ public class DataMaskingService {
         List<JdbcColumnMetaData> fieldMetaDataList = result.getResultSetMetaData().getFieldMetaDataList();
         int columnCount = rows.get(0).size();
         Verify.equals(columnCount, algorithms.size(), "algorithms.size");
-        String dataType = "string";
-        int totalCount = 0;
-        int skippedCount = 0;
-        int failedCount = 0;
-        Map<String, Integer> failedColumn2FirstRow = new HashMap<>();
-        for (int i = 0; i < columnCount; i++) {
-            Algorithm algorithm = algorithms.get(i);
+        List<ColumnMasker> maskers = new ArrayList<>(columnCount);
+        for (Algorithm algorithm : algorithms) {
             if (Objects.isNull(algorithm)) {
-                totalCount += rows.size();
-                skippedCount += rows.size();
+                maskers.add(null);
                 continue;
             }
-            if (algorithm.getType() == AlgorithmEnum.ROUNDING) {
-                dataType = "double";
-            }
-            Data before = Data.of(null, MetadataFactory.createMetadata(null, dataType));
-            for (int j = 0; j < rows.size(); j++) {
-                List<Object> rowData = rows.get(j);
-                totalCount++;
-                if (rowData.get(i) == null) {
-                    skippedCount++;
-                    continue;
-                }
-                before.setValue(rowData.get(i).toString());
-                Data masked;
-                try {
-                    masked = algorithm.mask(before);
-                } catch (Exception e) {
-                    // Eat exception
-                    failedCount++;
-                    failedColumn2FirstRow.putIfAbsent(columnLabels.get(i), j);
-                    continue;
-                }
-                rowData.set(i, masked.getValue());
+            String dataType = algorithm.getType() == AlgorithmEnum.ROUNDING ? "double" : "string";
+            maskers.add(new ColumnMasker(algorithm, MetadataFactory.createMetadata(null, dataType)));
+        }
+        MaskingStats stats = DataMaskingEngine.mask(rows, maskers);
+        for (int i = 0; i < columnCount; i++) {
+            if (Objects.nonNull(maskers.get(i))) {
+                fieldMetaDataList.get(i).setMasked(true);
             }
-            fieldMetaDataList.get(i).setMasked(true);
         }
-        log.info("Data masking finished, total: {}, skipped: {}, failed: {}.", totalCount, skippedCount, failedCount);
-        if (failedCount > 0) {
-            String msg = failedColumn2FirstRow.entrySet().stream()
-                    .map(e -> String.format("columnLabel: %s, columnIndex: %d", e.getKey(), e.getValue()))
+        log.info("Data masking finished, total: {}, skipped: {}, failed: {}.", stats.getTotalCount(),
+                stats.getSkippedCount(), stats.getFailedCount());
+        if (stats.getFailedCount() > 0) {
+            String msg = stats.getFailedColumn2FirstRow().entrySet().stream()
+                    .map(e -> String.format("columnLabel: %s, columnIndex: %d", columnLabels.get(e.getKey()),
+                            e.getValue()))
                     .collect(Collectors.joining("; "));
             log.warn("Exception happened during data masking, position details: {}", msg);
         }
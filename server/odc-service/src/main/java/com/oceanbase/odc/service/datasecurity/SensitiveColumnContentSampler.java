@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.datasecurity;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.oceanbase.odc.core.session.ConnectionSession;
+import com.oceanbase.odc.core.session.ConnectionSessionConstants;
+import com.oceanbase.odc.core.shared.constant.DialectType;
+import com.oceanbase.tools.dbbrowser.model.DBTableColumn;
+import com.oceanbase.tools.dbbrowser.util.MySQLSqlBuilder;
+import com.oceanbase.tools.dbbrowser.util.OracleSqlBuilder;
+import com.oceanbase.tools.dbbrowser.util.SqlBuilder;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link SensitiveColumnContentSampler}, samples the values of columns for content based sensitive
+ * rules. The first {@link #SAMPLE_ROWS_PER_TABLE} rows of a table are read by one query without any
+ * sort, so that no full table scan happens. Only the non large object columns added by
+ * {@link #addColumns(List)} are selected, a table without added columns is sampled for the
+ * requested column only. To keep the scanned database unaffected, sampling queries on one database
+ * are limited by {@link #MAX_CONCURRENT_SAMPLES_PER_DATABASE} and the rows read from one database
+ * during a scanning are limited by {@link #MAX_ROWS_PER_DATABASE}. A sampler is shared by all sub
+ * tasks of a scanning, the session is expired after the last sub task released it.
+ *
+ * @author agent
+ * @date 2026-10-17 16:10
+ * @since ODC_release_4.3.2
+ */
+@Slf4j
+public class SensitiveColumnContentSampler {
+
+    private static final int SAMPLE_ROWS_PER_TABLE = 100;
+    private static final int MAX_VALUE_LENGTH = 256;
+    private static final int MAX_CONCURRENT_SAMPLES_PER_DATABASE = 2;
+    private static final long MAX_ROWS_PER_DATABASE = 200000L;
+    private static final int QUERY_TIMEOUT_SECONDS = 10;
+    private static final long ACQUIRE_TIMEOUT_SECONDS = 30L;
+    private static final Map<String, Semaphore> DATABASE_2_PERMITS = new ConcurrentHashMap<>();
+
+    private final ConnectionSession session;
+    private final Long datasourceId;
+    private final Map<String, AtomicLong> database2RowBudget = new ConcurrentHashMap<>();
+    private final Cache<String, Map<String, List<String>>> table2Samples =
+            Caffeine.newBuilder().maximumSize(64).build();
+    private final Map<String, List<String>> table2CandidateColumns = new ConcurrentHashMap<>();
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    public SensitiveColumnContentSampler(@NonNull ConnectionSession session, Long datasourceId) {
+        this.session = session;
+        this.datasourceId = datasourceId;
+    }
+
+    /**
+     * @return values of the column, {@code null} if the column can not be sampled, eg. the row budget
+     *         of the database is exhausted
+     */
+    public List<String> sample(@NonNull DBTableColumn column) {
+        if (isLargeObject(column.getTypeName())) {
+            return Collections.emptyList();
+        }
+        String tableKey = tableKey(column);
+        Map<String, List<String>> column2Values = table2Samples.getIfPresent(tableKey);
+        if (column2Values == null || !column2Values.containsKey(column.getName())) {
+            List<String> columnNames = table2CandidateColumns.remove(tableKey);
+            if (columnNames == null || !columnNames.contains(column.getName())) {
+                columnNames = Collections.singletonList(column.getName());
+            }
+            Map<String, List<String>> sampled = sampleTable(column.getSchemaName(), column.getTableName(), columnNames);
+            if (sampled == null) {
+                return null;
+            }
+            if (column2Values != null) {
+                sampled.putAll(column2Values);
+            }
+            column2Values = sampled;
+            table2Samples.put(tableKey, column2Values);
+        }
+        return column2Values.getOrDefault(column.getName(), Collections.emptyList());
+    }
+
+    /**
+     * Adds the columns of a table, all of them which may hold sensitive content are sampled by one
+     * query once any of them is sampled
+     */
+    public void addColumns(@NonNull List<DBTableColumn> columns) {
+        List<String> columnNames = columns.stream().filter(c -> !isLargeObject(c.getTypeName()))
+                .map(DBTableColumn::getName).collect(Collectors.toList());
+        if (!columnNames.isEmpty()) {
+            table2CandidateColumns.put(tableKey(columns.get(0)), columnNames);
+        }
+    }
+
+    /**
+     * Identifies a column, verdicts of a column can be reused as long as its fingerprint is unchanged
+     */
+    public String fingerprint(@NonNull DBTableColumn column) {
+        return String.join("/", String.valueOf(datasourceId), column.getSchemaName(), column.getTableName(),
+                column.getName(), String.valueOf(column.getTypeName()));
+    }
+
+    public void retain() {
+        references.incrementAndGet();
+    }
+
+    public void release() {
+        if (references.decrementAndGet() == 0) {
+            table2Samples.invalidateAll();
+            table2CandidateColumns.clear();
+            session.expire();
+        }
+    }
+
+    private Map<String, List<String>> sampleTable(String schema, String table, List<String> columnNames) {
+        DialectType dialectType = session.getDialectType();
+        SqlBuilder sqlBuilder;
+        if (dialectType.isMysql()) {
+            sqlBuilder = new MySQLSqlBuilder().append("SELECT ").identifiers(columnNames).append(" FROM ")
+                    .identifier(schema, table).append(" LIMIT ").append(SAMPLE_ROWS_PER_TABLE);
+        } else if (dialectType.isOracle()) {
+            sqlBuilder = new OracleSqlBuilder().append("SELECT ").identifiers(columnNames).append(" FROM ")
+                    .identifier(schema, table).append(" WHERE ROWNUM <= ").append(SAMPLE_ROWS_PER_TABLE);
+        } else {
+            return null;
+        }
+        AtomicLong budget = database2RowBudget.computeIfAbsent(schema, s -> new AtomicLong(MAX_ROWS_PER_DATABASE));
+        if (budget.addAndGet(-SAMPLE_ROWS_PER_TABLE) < 0) {
+            return null;
+        }
+        Semaphore permits = DATABASE_2_PERMITS.computeIfAbsent(datasourceId + "/" + schema,
+                k -> new Semaphore(MAX_CONCURRENT_SAMPLES_PER_DATABASE));
+        try {
+            if (!permits.tryAcquire(ACQUIRE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                return null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        try {
+            return session.getSyncJdbcExecutor(ConnectionSessionConstants.BACKEND_DS_KEY)
+                    .execute((ConnectionCallback<Map<String, List<String>>>) con -> {
+                        try (Statement stmt = con.createStatement()) {
+                            stmt.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+                            stmt.setMaxRows(SAMPLE_ROWS_PER_TABLE);
+                            try (ResultSet rs = stmt.executeQuery(sqlBuilder.toString())) {
+                                return readValues(rs, columnNames);
+                            }
+                        }
+                    });
+        } catch (Exception e) {
+            log.warn("Failed to sample table, schema={}, table={}, reason={}", schema, table, e.getMessage());
+            return null;
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * values are keyed by the selected column names rather than the labels, which may be folded to
+     * upper case by the driver
+     */
+    private static Map<String, List<String>> readValues(ResultSet rs, List<String> columnNames)
+            throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        Map<String, List<String>> column2Values = new HashMap<>();
+        for (String columnName : columnNames) {
+            column2Values.put(columnName, new ArrayList<>());
+        }
+        while (rs.next()) {
+            for (int i = 1; i <= columnCount; i++) {
+                if (isLargeObject(metaData.getColumnType(i))) {
+                    continue;
+                }
+                String value = rs.getString(i);
+                if (value != null && value.length() <= MAX_VALUE_LENGTH) {
+                    column2Values.get(columnNames.get(i - 1)).add(value);
+                }
+            }
+        }
+        return column2Values;
+    }
+
+    private static String tableKey(DBTableColumn column) {
+        return column.getSchemaName() + "." + column.getTableName();
+    }
+
+    private static boolean isLargeObject(String typeName) {
+        if (typeName == null) {
+            return false;
+        }
+        String type = typeName.toLowerCase();
+        return type.contains("lob") || type.contains("text") || type.contains("binary") || type.contains("raw")
+                || "bfile".equals(type);
+    }
+
+    private static boolean isLargeObject(int sqlType) {
+        switch (sqlType) {
+            case Types.BLOB:
+            case Types.CLOB:
+            case Types.NCLOB:
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+}
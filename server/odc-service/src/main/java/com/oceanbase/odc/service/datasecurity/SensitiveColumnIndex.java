@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.datasecurity;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.oceanbase.odc.core.authority.util.SkipAuthorize;
+import com.oceanbase.odc.metadb.connection.DatabaseEntity;
+import com.oceanbase.odc.metadb.connection.DatabaseRepository;
+import com.oceanbase.odc.metadb.datasecurity.SensitiveColumnEntity;
+import com.oceanbase.odc.metadb.datasecurity.SensitiveColumnRepository;
+import com.oceanbase.odc.metadb.datasecurity.SensitiveColumnSpecs;
+import com.oceanbase.odc.service.datasecurity.extractor.model.DBColumn;
+import com.oceanbase.odc.service.datasecurity.model.SensitiveColumn;
+import com.oceanbase.odc.service.datasecurity.util.SensitiveColumnMapper;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link SensitiveColumnIndex}, keeps the enabled sensitive columns of a datasource in memory, so
+ * that masking a query result does not load them from metadb and a query which touches no sensitive
+ * table is rejected by one hash lookup per table. Every change of the sensitive columns increases
+ * the version of the datasource in metadb in the same transaction. A lookup is served from memory,
+ * the index of a datasource is evicted once a change made on this odc node is committed, and the
+ * versions of the cached indexes are checked on a timer, so a change made on another node takes
+ * effect within the check interval. The ttl only bounds the staleness of renamed databases.
+ *
+ * @author agent
+ * @date 2026-10-17 17:10
+ * @since ODC_release_4.3.2
+ */
+@Slf4j
+@Component
+@SkipAuthorize("odc internal usage")
+public class SensitiveColumnIndex {
+
+    private static final SensitiveColumnMapper mapper = SensitiveColumnMapper.INSTANCE;
+
+    @Value("${odc.data-security.sensitive-column-index-ttl-seconds:60}")
+    private long indexTtlSeconds;
+
+    @Autowired
+    private SensitiveColumnRepository repository;
+
+    @Autowired
+    private DatabaseRepository databaseRepository;
+
+    private Cache<Long, DataSourceIndex> dataSourceIndexes;
+
+    @PostConstruct
+    public void init() {
+        this.dataSourceIndexes = Caffeine.newBuilder().maximumSize(1024)
+                .expireAfterWrite(indexTtlSeconds, TimeUnit.SECONDS).build();
+    }
+
+    public DataSourceIndex get(@NonNull Long dataSourceId) {
+        DataSourceIndex index = dataSourceIndexes.getIfPresent(dataSourceId);
+        return index != null ? index : dataSourceIndexes.get(dataSourceId, this::load);
+    }
+
+    /**
+     * Evict the indexes which are older than the versions in metadb, the versions of all cached
+     * datasources are read by one query
+     */
+    @Scheduled(fixedDelayString = "${odc.data-security.sensitive-column-version-check-interval-millis:1000}")
+    public void checkVersions() {
+        Map<Long, DataSourceIndex> cached = new HashMap<>(dataSourceIndexes.asMap());
+        if (cached.isEmpty()) {
+            return;
+        }
+        try {
+            Map<Long, Long> dataSourceId2Version = repository.getVersions(cached.keySet());
+            cached.forEach((dataSourceId, index) -> {
+                if (index.version < dataSourceId2Version.getOrDefault(dataSourceId, 0L)) {
+                    dataSourceIndexes.asMap().remove(dataSourceId, index);
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Failed to check versions of sensitive columns, reason={}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sensitive columns are created, updated or deleted, call it in the transaction of the change. The
+     * indexes of the datasources are evicted after the transaction is completed.
+     */
+    public void onChanged(@NonNull Collection<SensitiveColumnEntity> entities) {
+        Set<Long> databaseIds = entities.stream().map(SensitiveColumnEntity::getDatabaseId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        if (databaseIds.isEmpty()) {
+            return;
+        }
+        List<Long> dataSourceIds = databaseRepository.findAllById(databaseIds).stream()
+                .map(DatabaseEntity::getConnectionId).filter(Objects::nonNull).distinct().sorted()
+                .collect(Collectors.toList());
+        dataSourceIds.forEach(repository::increaseVersion);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dataSourceIndexes.invalidateAll(dataSourceIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                dataSourceIndexes.invalidateAll(dataSourceIds);
+            }
+        });
+    }
+
+    /**
+     * The version is read before the columns, a change committed in between makes the index look stale
+     * and evicted by the next check, but never hides the change
+     */
+    private DataSourceIndex load(Long dataSourceId) {
+        long version = repository.getVersion(dataSourceId);
+        Map<Long, String> databaseId2Name = new HashMap<>();
+        for (DatabaseEntity database : databaseRepository.findByConnectionIdAndExisted(dataSourceId, true)) {
+            databaseId2Name.putIfAbsent(database.getId(), database.getName());
+        }
+        if (databaseId2Name.isEmpty()) {
+            return new DataSourceIndex(version, Collections.emptyMap());
+        }
+        Specification<SensitiveColumnEntity> spec = Specification
+                .where(SensitiveColumnSpecs.databaseIdIn(databaseId2Name.keySet()))
+                .and(SensitiveColumnSpecs.enabledEqual(true));
+        Map<DBColumn, SensitiveColumn> columns = new HashMap<>();
+        for (SensitiveColumnEntity entity : repository.findAll(spec)) {
+            String databaseName = databaseId2Name.get(entity.getDatabaseId());
+            if (databaseName != null) {
+                columns.put(new DBColumn(databaseName, entity.getTableName(), entity.getColumnName()),
+                        mapper.entityToModel(entity));
+            }
+        }
+        return new DataSourceIndex(version, columns);
+    }
+
+    /**
+     * Enabled sensitive columns of a datasource at a version, never modified after it is loaded
+     */
+    public static class DataSourceIndex {
+        private final long version;
+        private final Map<DBColumn, SensitiveColumn> columns;
+        private final Set<String> tables;
+
+        DataSourceIndex(long version, Map<DBColumn, SensitiveColumn> columns) {
+            this.version = version;
+            this.columns = columns;
+            this.tables = columns.keySet().stream()
+                    .map(c -> tableKey(c.getDatabaseName(), c.getTableName())).collect(Collectors.toSet());
+        }
+
+        public boolean containsTable(String databaseName, String tableName) {
+            return databaseName != null && tableName != null && tables.contains(tableKey(databaseName, tableName));
+        }
+
+        public SensitiveColumn get(DBColumn column) {
+            return columns.get(column);
+        }
+
+        public boolean isEmpty() {
+            return columns.isEmpty();
+        }
+
+        private static String tableKey(String databaseName, String tableName) {
+            return databaseName.toLowerCase(Locale.ROOT) + "\u0000" + tableName.toLowerCase(Locale.ROOT);
+        }
+    }
+
+}
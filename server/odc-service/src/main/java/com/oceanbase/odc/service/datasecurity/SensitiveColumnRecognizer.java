@@ -16,10 +16,12 @@
 package com.oceanbase.odc.service.datasecurity;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 import com.oceanbase.odc.service.datasecurity.model.SensitiveLevel;
 import com.oceanbase.odc.service.datasecurity.model.SensitiveRule;
+import com.oceanbase.odc.service.datasecurity.model.SensitiveRuleType;
 import com.oceanbase.odc.service.datasecurity.recognizer.ColumnRecognizer;
 import com.oceanbase.tools.dbbrowser.model.DBTableColumn;
 
@@ -36,10 +38,18 @@ public class SensitiveColumnRecognizer implements ColumnRecognizer {
     private final List<ColumnRecognizer> recognizers;
 
     public SensitiveColumnRecognizer(List<SensitiveRule> rules) {
-        this.sensitiveRules = rules;
+        this(rules, null);
+    }
+
+    /**
+     * Rules which read the column values are tried after the ones which only look at the metadata
+     */
+    public SensitiveColumnRecognizer(List<SensitiveRule> rules, SensitiveColumnContentSampler sampler) {
+        this.sensitiveRules = new ArrayList<>(rules);
+        this.sensitiveRules.sort(Comparator.comparing(rule -> rule.getType() == SensitiveRuleType.CONTENT));
         this.recognizers = new ArrayList<>();
         for (SensitiveRule rule : this.sensitiveRules) {
-            this.recognizers.add(ColumnRecognizerFactory.create(rule));
+            this.recognizers.add(ColumnRecognizerFactory.create(rule, sampler));
         }
     }
 
@@ -23,6 +23,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 
+import org.apache.commons.collections4.CollectionUtils;
+
 import com.oceanbase.odc.core.shared.constant.ErrorCodes;
 import com.oceanbase.odc.service.connection.database.model.Database;
 import com.oceanbase.odc.service.datasecurity.model.SensitiveColumn;
@@ -33,6 +35,9 @@ import com.oceanbase.odc.service.datasecurity.model.SensitiveColumnType;
 import com.oceanbase.odc.service.datasecurity.model.SensitiveRule;
 import com.oceanbase.tools.dbbrowser.model.DBTableColumn;
 
+import lombok.AccessLevel;
+import lombok.Getter;
+
 /**
  * @author gaoda.xy
  * @date 2023/5/25 14:43
@@ -45,12 +50,25 @@ public class SensitiveColumnScanningTask implements Callable<Void> {
     private final Map<String, List<DBTableColumn>> table2Columns;
     private final Map<String, List<DBTableColumn>> view2Columns;
     private final Set<SensitiveColumnMeta> existsSensitiveColumns;
+    @Getter(AccessLevel.PACKAGE)
+    private final SensitiveColumnContentSampler sampler;
 
     public SensitiveColumnScanningTask(Database database, List<SensitiveRule> rules,
             SensitiveColumnScanningTaskInfo taskInfo, List<SensitiveColumnMeta> existsSensitiveColumns,
             Map<String, List<DBTableColumn>> table2Columns, Map<String, List<DBTableColumn>> view2Columns) {
+        this(database, rules, taskInfo, existsSensitiveColumns, table2Columns, view2Columns, null);
+    }
+
+    /**
+     * @param sampler retained by the caller for this task, released once the task finished
+     */
+    public SensitiveColumnScanningTask(Database database, List<SensitiveRule> rules,
+            SensitiveColumnScanningTaskInfo taskInfo, List<SensitiveColumnMeta> existsSensitiveColumns,
+            Map<String, List<DBTableColumn>> table2Columns, Map<String, List<DBTableColumn>> view2Columns,
+            SensitiveColumnContentSampler sampler) {
         this.database = database;
-        this.recognizer = new SensitiveColumnRecognizer(rules);
+        this.sampler = sampler;
+        this.recognizer = new SensitiveColumnRecognizer(rules, sampler);
         this.table2Columns = table2Columns;
         this.view2Columns = view2Columns;
         this.taskInfo = taskInfo;
@@ -69,14 +87,25 @@ public class SensitiveColumnScanningTask implements Callable<Void> {
             taskInfo.setErrorCode(ErrorCodes.Unexpected);
             taskInfo.setErrorMsg(String.format("Some errors happen when scanning sensitive column, database=%s",
                     database.getName()));
+        } finally {
+            if (sampler != null) {
+                sampler.release();
+            }
         }
         return null;
     }
 
     private void scanColumns(Map<String, List<DBTableColumn>> object2Columns, SensitiveColumnType columnType) {
         for (String objectName : object2Columns.keySet()) {
+            if (taskInfo.getStatus() == ScanningTaskStatus.FAILED) {
+                return;
+            }
             List<SensitiveColumn> sensitiveColumns = new ArrayList<>();
-            for (DBTableColumn dbTableColumn : object2Columns.get(objectName)) {
+            List<DBTableColumn> columns = object2Columns.get(objectName);
+            if (sampler != null && CollectionUtils.isNotEmpty(columns)) {
+                sampler.addColumns(columns);
+            }
+            for (DBTableColumn dbTableColumn : columns) {
                 if (recognizer.recognize(dbTableColumn) && !existsSensitiveColumns
                         .contains(new SensitiveColumnMeta(database.getId(), objectName, dbTableColumn.getName()))) {
                     SensitiveColumn column = new SensitiveColumn();
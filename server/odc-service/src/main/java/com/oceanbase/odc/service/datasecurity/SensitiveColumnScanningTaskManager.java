@@ -15,17 +15,21 @@
  */
 package com.oceanbase.odc.service.datasecurity;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.RejectedExecutionException;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 
@@ -41,6 +45,7 @@ import com.oceanbase.odc.service.datasecurity.model.SensitiveColumnMeta;
 import com.oceanbase.odc.service.datasecurity.model.SensitiveColumnScanningTaskInfo;
 import com.oceanbase.odc.service.datasecurity.model.SensitiveColumnScanningTaskInfo.ScanningTaskStatus;
 import com.oceanbase.odc.service.datasecurity.model.SensitiveRule;
+import com.oceanbase.odc.service.datasecurity.model.SensitiveRuleType;
 import com.oceanbase.odc.service.db.browser.DBSchemaAccessors;
 import com.oceanbase.odc.service.session.factory.DefaultConnectSessionFactory;
 import com.oceanbase.odc.service.state.StatefulUuidStateIdGenerator;
@@ -57,16 +62,26 @@ import lombok.extern.slf4j.Slf4j;
 @Component
 public class SensitiveColumnScanningTaskManager {
 
+    private static final int MAX_COLUMNS_PER_SUB_TASK = 2000;
     private final SensitiveColumnScanningResultCache cache = SensitiveColumnScanningResultCache.getInstance();
     @Autowired
     @Qualifier("scanSensitiveColumnExecutor")
     private ThreadPoolTaskExecutor executor;
     @Autowired
     private StatefulUuidStateIdGenerator statefulUuidStateIdGenerator;
+    /**
+     * sampling a view runs its query, which may join or aggregate large tables, so view columns are
+     * recognized by their names only unless it is enabled
+     */
+    @Value("${odc.data-security.sample-view-content:false}")
+    private boolean sampleViewContent;
 
     public SensitiveColumnScanningTaskInfo start(List<Database> databases, List<SensitiveRule> rules,
             ConnectionConfig connectionConfig, Map<Long, List<SensitiveColumnMeta>> databaseId2SensitiveColumns) {
         ConnectionSession session = new DefaultConnectSessionFactory(connectionConfig).generateSession();
+        SensitiveColumnContentSampler sampler = rules.stream().anyMatch(r -> r.getType() == SensitiveRuleType.CONTENT)
+                ? new SensitiveColumnContentSampler(session, connectionConfig.getId())
+                : null;
         try {
             Long projectId = databases.get(0).getProject().getId();
             Verify.notNull(projectId, "projectId");
@@ -101,23 +116,77 @@ public class SensitiveColumnScanningTaskManager {
                     sensitiveColumns =
                             databaseId2SensitiveColumns.getOrDefault(database.getId(), Collections.emptyList());
                 }
-                SensitiveColumnScanningTask subTask = new SensitiveColumnScanningTask(database, rules, taskInfo,
-                        sensitiveColumns, database2Table2ColumnsList.getOrDefault(database, new HashMap<>()),
-                        database2View2ColumnsList.getOrDefault(database, new HashMap<>()));
-                try {
-                    executor.submit(subTask);
-                } catch (RejectedExecutionException e) {
-                    taskInfo.setCompleteTime(new Date());
-                    taskInfo.setStatus(ScanningTaskStatus.FAILED);
-                    taskInfo.setErrorCode(ErrorCodes.Unexpected);
-                    taskInfo.setErrorMsg(e.getLocalizedMessage());
+                List<Map<String, List<DBTableColumn>>> tableBatches =
+                        partition(database2Table2ColumnsList.getOrDefault(database, new HashMap<>()));
+                List<Map<String, List<DBTableColumn>>> viewBatches =
+                        partition(database2View2ColumnsList.getOrDefault(database, new HashMap<>()));
+                List<SensitiveColumnScanningTask> subTasks = new ArrayList<>();
+                for (Map<String, List<DBTableColumn>> batch : tableBatches) {
+                    subTasks.add(new SensitiveColumnScanningTask(database, rules, taskInfo, sensitiveColumns, batch,
+                            Collections.emptyMap(), sampler));
+                }
+                for (Map<String, List<DBTableColumn>> batch : viewBatches) {
+                    subTasks.add(new SensitiveColumnScanningTask(database, rules, taskInfo, sensitiveColumns,
+                            Collections.emptyMap(), batch, sampleViewContent ? sampler : null));
+                }
+                if (!submit(subTasks, taskInfo)) {
                     break;
                 }
             }
             return taskInfo;
         } finally {
-            session.expire();
+            // the session is kept by the sampler until all sub tasks finished sampling
+            if (sampler != null) {
+                sampler.release();
+            } else {
+                session.expire();
+            }
+        }
+    }
+
+    /**
+     * Tables of a database are scanned by several sub tasks concurrently, each sub task reports its
+     * result to the task info in {@link SensitiveColumnScanningResultCache} once a table is finished
+     */
+    private static List<Map<String, List<DBTableColumn>>> partition(Map<String, List<DBTableColumn>> object2Columns) {
+        List<Map<String, List<DBTableColumn>>> batches = new ArrayList<>();
+        Map<String, List<DBTableColumn>> batch = new LinkedHashMap<>();
+        int columnCount = 0;
+        for (Entry<String, List<DBTableColumn>> entry : object2Columns.entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+            columnCount += entry.getValue().size();
+            if (columnCount >= MAX_COLUMNS_PER_SUB_TASK) {
+                batches.add(batch);
+                batch = new LinkedHashMap<>();
+                columnCount = 0;
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    private boolean submit(List<SensitiveColumnScanningTask> subTasks, SensitiveColumnScanningTaskInfo taskInfo) {
+        for (SensitiveColumnScanningTask subTask : subTasks) {
+            SensitiveColumnContentSampler sampler = subTask.getSampler();
+            if (sampler != null) {
+                sampler.retain();
+            }
+            try {
+                executor.submit(subTask);
+            } catch (RejectedExecutionException e) {
+                if (sampler != null) {
+                    sampler.release();
+                }
+                taskInfo.setCompleteTime(new Date());
+                taskInfo.setStatus(ScanningTaskStatus.FAILED);
+                taskInfo.setErrorCode(ErrorCodes.Unexpected);
+                taskInfo.setErrorMsg(e.getLocalizedMessage());
+                return false;
+            }
         }
+        return true;
     }
 
     public SensitiveColumnScanningTaskInfo get(String taskId) {
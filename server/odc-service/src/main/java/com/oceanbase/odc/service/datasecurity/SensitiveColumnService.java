@@ -58,6 +58,7 @@ import com.oceanbase.odc.service.connection.ConnectionService;
 import com.oceanbase.odc.service.connection.database.DatabaseService;
 import com.oceanbase.odc.service.connection.database.model.Database;
 import com.oceanbase.odc.service.connection.model.ConnectionConfig;
+import com.oceanbase.odc.service.datasecurity.SensitiveColumnIndex.DataSourceIndex;
 import com.oceanbase.odc.service.datasecurity.extractor.model.DBColumn;
 import com.oceanbase.odc.service.datasecurity.model.DatabaseWithAllColumns;
 import com.oceanbase.odc.service.datasecurity.model.MaskingAlgorithm;
@@ -113,6 +114,8 @@ public class SensitiveColumnService {
     private HorizontalDataPermissionValidator permissionValidator;
     @Autowired
     private VersionDiffConfigService versionDiffConfigService;
+    @Autowired
+    private SensitiveColumnIndex sensitiveColumnIndex;
 
     @Transactional(rollbackFor = Exception.class)
     @PreAuthenticate(hasAnyResourceRole = {"OWNER, DBA, SECURITY_ADMINISTRATOR"}, resourceType = "ODC_PROJECT",
@@ -198,6 +201,7 @@ public class SensitiveColumnService {
             exists.add(new SensitiveColumnMeta(entity));
         }
         repository.saveAll(entities);
+        sensitiveColumnIndex.onChanged(entities);
         log.info("Sensitive columns has been created, id={}", entities.stream().map(SensitiveColumnEntity::getId)
                 .map(Object::toString).collect(Collectors.joining(",")));
         return entities.stream().map(mapper::entityToModel).collect(Collectors.toList());
@@ -243,6 +247,7 @@ public class SensitiveColumnService {
                 algorithmService.batchNullSafeGetModel(Collections.singleton(maskingAlgorithmId)));
         entities.forEach(entity -> entity.setMaskingAlgorithmId(maskingAlgorithmId));
         repository.saveAll(entities);
+        sensitiveColumnIndex.onChanged(entities);
         log.info("Sensitive columns has been updated, id={}", entities.stream().map(SensitiveColumnEntity::getId)
                 .map(Object::toString).collect(Collectors.joining(",")));
         return entities.stream().map(mapper::entityToModel).collect(Collectors.toList());
@@ -258,6 +263,7 @@ public class SensitiveColumnService {
         List<SensitiveColumn> columns = entities.stream().map(mapper::entityToModel).collect(Collectors.toList());
         permissionValidator.checkCurrentOrganization(columns);
         repository.deleteAll(entities);
+        sensitiveColumnIndex.onChanged(entities);
         log.info("Sensitive columns has been deleted, id={}", entities.stream().map(SensitiveColumnEntity::getId)
                 .map(Object::toString).collect(Collectors.joining(",")));
         return columns;
@@ -341,6 +347,7 @@ public class SensitiveColumnService {
         if (!Objects.equals(entity.getEnabled(), enabled)) {
             entity.setEnabled(enabled);
             repository.saveAndFlush(entity);
+            sensitiveColumnIndex.onChanged(Collections.singletonList(entity));
             log.info("Sensitive column has been updated, id={}", entity.getId());
         }
         return mapper.entityToModel(entity);
@@ -411,40 +418,26 @@ public class SensitiveColumnService {
     @SkipAuthorize("odc internal usages")
     public List<Set<SensitiveColumn>> filterSensitiveColumns(@NotNull Long datasourceId,
             @NotEmpty List<Set<DBColumn>> tableColumns) {
-        Set<String> databaseNames = new HashSet<>();
-        Set<String> tableNames = new HashSet<>();
-        for (Set<DBColumn> columns : tableColumns) {
-            if (CollectionUtils.isNotEmpty(columns)) {
-                databaseNames.addAll(columns.stream().map(DBColumn::getDatabaseName).collect(Collectors.toSet()));
-                tableNames.addAll(columns.stream().map(DBColumn::getTableName).collect(Collectors.toSet()));
-            }
-        }
+        DataSourceIndex index = sensitiveColumnIndex.get(datasourceId);
+        boolean sensitive = !index.isEmpty() && tableColumns.stream().filter(CollectionUtils::isNotEmpty)
+                .flatMap(Collection::stream)
+                .anyMatch(column -> index.containsTable(column.getDatabaseName(), column.getTableName()));
         List<Set<SensitiveColumn>> tableSensitiveColumns = new ArrayList<>();
-        if (databaseNames.isEmpty() || tableNames.isEmpty()) {
+        if (!sensitive) {
             tableColumns.forEach(t -> tableSensitiveColumns.add(new HashSet<>()));
             return tableSensitiveColumns;
         }
-        Map<String, Long> databaseName2Id = databaseService.listExistDatabasesByConnectionId(datasourceId).stream()
-                .collect(Collectors.toMap(Database::getName, Database::getId, (d1, d2) -> d1));
-        Map<Long, String> databaseId2Name = new HashMap<>();
-        for (String databaseName : databaseNames) {
-            databaseId2Name.put(databaseName2Id.get(databaseName), databaseName);
-        }
-        Specification<SensitiveColumnEntity> spec = Specification
-                .where(SensitiveColumnSpecs.databaseIdIn(databaseId2Name.keySet()))
-                .and(SensitiveColumnSpecs.tableNameIn(tableNames))
-                .and(SensitiveColumnSpecs.enabledEqual(true));
-        List<SensitiveColumn> sensitiveColumns =
-                repository.findAll(spec).stream().map(mapper::entityToModel).collect(Collectors.toList());
-        Map<DBColumn, SensitiveColumn> dbColumn2SensitiveColumn =
-                sensitiveColumns.stream().collect(Collectors.toMap(
-                        column -> new DBColumn(databaseId2Name.get(column.getDatabase().getId()), column.getTableName(),
-                                column.getColumnName()),
-                        column -> column,
-                        (c1, c2) -> c2));
         for (Set<DBColumn> columns : tableColumns) {
-            tableSensitiveColumns.add(columns.stream().filter(dbColumn2SensitiveColumn::containsKey)
-                    .map(dbColumn2SensitiveColumn::get).collect(Collectors.toSet()));
+            Set<SensitiveColumn> sensitiveColumns = new HashSet<>();
+            if (CollectionUtils.isNotEmpty(columns)) {
+                for (DBColumn column : columns) {
+                    SensitiveColumn sensitiveColumn = index.get(column);
+                    if (sensitiveColumn != null) {
+                        sensitiveColumns.add(sensitiveColumn);
+                    }
+                }
+            }
+            tableSensitiveColumns.add(sensitiveColumns);
         }
         return tableSensitiveColumns;
     }
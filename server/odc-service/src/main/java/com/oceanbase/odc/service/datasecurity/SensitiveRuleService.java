@@ -153,6 +153,7 @@ public class SensitiveRuleService {
         entity.setGroovyScript(rule.getGroovyScript());
         entity.setPathIncludes(rule.getPathIncludes());
         entity.setPathExcludes(rule.getPathExcludes());
+        entity.setContentRegexExpressions(rule.getContentRegexExpressions());
         entity.setLevel(rule.getLevel());
         entity.setMaskingAlgorithmId(algorithmId);
         entity.setDescription(rule.getDescription());
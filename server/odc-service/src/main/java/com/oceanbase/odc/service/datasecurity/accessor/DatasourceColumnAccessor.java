@@ -55,6 +55,13 @@ public class DatasourceColumnAccessor implements ColumnAccessor {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Forget the cached columns, eg. after a ddl is executed
+     */
+    public void invalidateAll() {
+        databaseTable2Columns.invalidateAll();
+    }
+
     private List<DBTableColumn> queryColumns(DatabaseTable databaseTable) {
         List<DBTableColumn> columns =
                 accessor.listBasicTableColumns(databaseTable.getDatabaseName(), databaseTable.getObjectName());
@@ -15,9 +15,9 @@
  */
 package com.oceanbase.odc.service.datasecurity.model;
 
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.oceanbase.odc.core.shared.constant.ErrorCode;
 
@@ -36,6 +36,9 @@ public class SensitiveColumnScanningTaskInfo {
     private ScanningTaskStatus status;
     private final Integer allTableCount;
     private Integer finishedTableCount;
+    /**
+     * Added by the scanning sub tasks and read by the polling of the task concurrently
+     */
     private final List<SensitiveColumn> sensitiveColumns;
     private final Date createTime;
     private Date completeTime;
@@ -49,23 +52,27 @@ public class SensitiveColumnScanningTaskInfo {
         this.status = ScanningTaskStatus.CREATED;
         this.allTableCount = allTableCount;
         this.finishedTableCount = 0;
-        this.sensitiveColumns = new ArrayList<>();
+        this.sensitiveColumns = new CopyOnWriteArrayList<>();
         this.createTime = new Date();
     }
 
     public synchronized void addFinishedTableCount() {
         this.finishedTableCount = this.finishedTableCount + 1;
-        if (finishedTableCount.equals(allTableCount)) {
+        if (finishedTableCount.equals(allTableCount) && this.status != ScanningTaskStatus.FAILED) {
             this.completeTime = new Date();
             this.status = ScanningTaskStatus.SUCCESS;
         }
     }
 
-    public synchronized void addSensitiveColumns(List<SensitiveColumn> columns) {
+    public void addSensitiveColumns(List<SensitiveColumn> columns) {
         this.sensitiveColumns.addAll(columns);
     }
 
     public synchronized void setStatus(ScanningTaskStatus status) {
+        // the task is scanned by several sub tasks, a failed one fails the whole task
+        if (this.status == ScanningTaskStatus.FAILED) {
+            return;
+        }
         this.status = status;
     }
 
@@ -70,6 +70,8 @@ public class SensitiveRule implements SecurityResource, OrganizationIsolated {
 
     private List<String> pathExcludes = new ArrayList<>();
 
+    private List<String> contentRegexExpressions = new ArrayList<>();
+
     @NotNull
     private Long maskingAlgorithmId;
 
@@ -124,6 +126,9 @@ public class SensitiveRule implements SecurityResource, OrganizationIsolated {
             case GROOVY:
                 ParameterValidateUtil.validateGroovyScript(groovyScript);
                 break;
+            case CONTENT:
+                ParameterValidateUtil.validateContentRegexExpressions(contentRegexExpressions);
+                break;
             default:
                 break;
         }
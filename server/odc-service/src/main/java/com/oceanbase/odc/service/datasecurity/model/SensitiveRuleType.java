@@ -33,5 +33,10 @@ public enum SensitiveRuleType {
     /**
      * Path expression fuzzy match
      */
-    PATH
+    PATH,
+
+    /**
+     * Regular expression match against sampled column values
+     */
+    CONTENT
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.datasecurity.recognizer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.apache.commons.collections4.CollectionUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.oceanbase.odc.common.util.StringUtils;
+import com.oceanbase.odc.service.datasecurity.SensitiveColumnContentSampler;
+import com.oceanbase.tools.dbbrowser.model.DBTableColumn;
+
+/**
+ * {@link ContentColumnRecognizer}, recognizes a column by its values. A column is sensitive if most
+ * of its sampled values match any of the regular expressions, eg. a column named {@code c7} which
+ * holds phone numbers. Verdicts are cached by the fingerprint of the column, so that a rescan does
+ * not sample the unchanged columns again. A column without any sampled value is not cached, it may
+ * be filled before the next scan.
+ *
+ * @author agent
+ * @date 2026-10-17 16:30
+ * @since ODC_release_4.3.2
+ */
+public class ContentColumnRecognizer implements ColumnRecognizer {
+
+    private static final double MATCH_RATIO = 0.6;
+    private static final Cache<String, Boolean> VERDICTS = Caffeine.newBuilder().maximumSize(100000)
+            .expireAfterWrite(Duration.ofHours(24)).build();
+
+    private final Pattern pattern;
+    private final String patternKey;
+    private final SensitiveColumnContentSampler sampler;
+
+    /**
+     * @param sampler sampler of the scanned datasource, columns are never recognized if it is
+     *        {@code null}
+     */
+    public ContentColumnRecognizer(List<String> regexes, SensitiveColumnContentSampler sampler) {
+        List<String> valid = CollectionUtils.isEmpty(regexes) ? null
+                : regexes.stream().filter(StringUtils::isNotBlank).collect(Collectors.toList());
+        // all expressions are compiled into one pattern so that a value is matched by one pass
+        this.patternKey = CollectionUtils.isEmpty(valid) ? null
+                : valid.stream().map(r -> "(?:" + r + ")").collect(Collectors.joining("|"));
+        this.pattern = this.patternKey == null ? null : Pattern.compile(this.patternKey);
+        this.sampler = sampler;
+    }
+
+    @Override
+    public boolean recognize(DBTableColumn column) {
+        if (pattern == null || sampler == null) {
+            return false;
+        }
+        String key = sampler.fingerprint(column) + "|" + patternKey;
+        Boolean verdict = VERDICTS.getIfPresent(key);
+        if (verdict != null) {
+            return verdict;
+        }
+        List<String> values = sampler.sample(column);
+        if (values == null || values.isEmpty()) {
+            return false;
+        }
+        verdict = matches(values);
+        VERDICTS.put(key, verdict);
+        return verdict;
+    }
+
+    boolean matches(List<String> values) {
+        if (values.isEmpty()) {
+            return false;
+        }
+        int required = (int) Math.ceil(values.size() * MATCH_RATIO);
+        int matched = 0;
+        for (int i = 0; i < values.size(); i++) {
+            if (pattern.matcher(values.get(i)).matches() && ++matched >= required) {
+                return true;
+            }
+            if (matched + values.size() - i - 1 < required) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+}
@@ -16,7 +16,10 @@
 package com.oceanbase.odc.service.datasecurity.recognizer;
 
 import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.runtime.InvokerHelper;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.oceanbase.odc.service.datasecurity.util.SecureAstCustomizerUtil;
 import com.oceanbase.tools.dbbrowser.model.DBTableColumn;
 
@@ -27,34 +30,44 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 
 /**
+ * A groovy script is compiled only once into a script class which is shared by all recognizers of
+ * the same script. Each recognition runs a new instance of the class with its own binding since
+ * {@link Script} is not thread-safe, the instance is cheap to create and nothing is left on the
+ * threads of the scanning pool, so that a recognizer can be used by several threads concurrently.
+ *
  * @author gaoda.xy
  * @date 2023/5/30 10:50
  */
 public class GroovyColumnRecognizer implements ColumnRecognizer {
 
-    private final Script script;
     private static final String COLUMN_KEYWORD = "column";
+    private static final Cache<String, Class<? extends Script>> SCRIPT_CLASSES =
+            Caffeine.newBuilder().maximumSize(256).build();
+
+    private final Class<? extends Script> scriptClass;
 
     public GroovyColumnRecognizer(String groovyScript) {
-        CompilerConfiguration config = new CompilerConfiguration();
-        config.addCompilationCustomizers(SecureAstCustomizerUtil.buildSecureASTCustomizer());
-        GroovyShell shell = new GroovyShell(config);
-        this.script = shell.parse(groovyScript);
+        this.scriptClass = SCRIPT_CLASSES.get(groovyScript, GroovyColumnRecognizer::compile);
     }
 
     @Override
     public boolean recognize(DBTableColumn column) {
         try {
-            GroovyColumnMeta groovyColumnMeta = new GroovyColumnMeta(column);
             Binding binding = new Binding();
-            binding.setVariable(COLUMN_KEYWORD, groovyColumnMeta);
-            script.setBinding(binding);
-            return (boolean) script.run();
+            binding.setVariable(COLUMN_KEYWORD, new GroovyColumnMeta(column));
+            return (boolean) InvokerHelper.createScript(scriptClass, binding).run();
         } catch (Exception e) {
             return false;
         }
     }
 
+    private static Class<? extends Script> compile(String groovyScript) {
+        CompilerConfiguration config = new CompilerConfiguration();
+        config.addCompilationCustomizers(SecureAstCustomizerUtil.buildSecureASTCustomizer());
+        GroovyShell shell = new GroovyShell(config);
+        return shell.parse(groovyScript).getClass();
+    }
+
     @Data
     @AllArgsConstructor
     public static class GroovyColumnMeta {
@@ -20,6 +20,7 @@ import java.util.regex.Pattern;
 
 import org.codehaus.groovy.control.CompilerConfiguration;
 
+import com.oceanbase.odc.common.json.JsonUtils;
 import com.oceanbase.odc.common.util.StringUtils;
 import com.oceanbase.odc.core.shared.PreConditions;
 import com.oceanbase.odc.core.shared.constant.ErrorCodes;
@@ -36,6 +37,10 @@ import groovy.lang.Script;
 public class ParameterValidateUtil {
 
     private static final Pattern PATH_EXPRESSION_PATTERN = Pattern.compile("^[^,.\\s]+\\.[^,.\\s]+\\.[^,.\\s]+$");
+    /**
+     * content regex expressions are stored as a json array in a varchar(1024) column
+     */
+    private static final int MAX_CONTENT_REGEX_EXPRESSIONS_LENGTH = 1024;
 
     public static void validatePathExpression(List<String> pathIncludes, List<String> pathExcludes) {
         PreConditions.notEmpty(pathIncludes, "pathIncludes");
@@ -81,6 +86,20 @@ public class ParameterValidateUtil {
         }
     }
 
+    public static void validateContentRegexExpressions(List<String> contentRegexExpressions) {
+        PreConditions.notEmpty(contentRegexExpressions, "contentRegexExpressions");
+        for (String expression : contentRegexExpressions) {
+            String msg = String.format("contentRegexExpression: %s is not valid", expression);
+            PreConditions.validArgumentState(StringUtils.isNotBlank(expression) && isValidRegexExpression(expression),
+                    ErrorCodes.IllegalArgument, new Object[] {"contentRegexExpression", msg}, msg);
+        }
+        String msg = String.format("contentRegexExpressions is too long, max length is %d",
+                MAX_CONTENT_REGEX_EXPRESSIONS_LENGTH);
+        PreConditions.validArgumentState(
+                JsonUtils.toJson(contentRegexExpressions).length() <= MAX_CONTENT_REGEX_EXPRESSIONS_LENGTH,
+                ErrorCodes.IllegalArgument, new Object[] {"contentRegexExpressions", msg}, msg);
+    }
+
     public static void validateGroovyScript(String groovyScript) {
         PreConditions.notBlank(groovyScript, "groovyScript");
         executeGroovyScript(groovyScript);
@@ -56,10 +56,26 @@ public enum DefaultMeterName implements MeterName {
     CONNECT_SESSION_DELETE_SUCCESS_COUNT("connect.session.delete.success.count", "connect session get count"),
     CONNECT_SESSION_DELETE_FAILED_COUNT("connect.session.delete.failed.count", "connect session get count"),
     CONNECT_SESSION_GET_FAILED_COUNT("connect.session.get.failed.count", "connect session get failed count"),
+    SQL_EXECUTE_STAGE_DURATION("sql.execute.stage.duration", "duration of each stage of executing sql in console"),
+    SQL_AST_CACHE_HIT_COUNT("sql.ast.cache.hit.count", "sql syntax tree cache hit count"),
+    SQL_AST_CACHE_MISS_COUNT("sql.ast.cache.miss.count", "sql syntax tree cache miss count"),
+    SQL_AST_CACHE_EVICTION_COUNT("sql.ast.cache.eviction.count", "sql syntax tree cache eviction count"),
+
+    // audit
+    AUDIT_EVENT_LOST_COUNT("audit.event.lost.count", "audit events lost since they can not be spilled"),
 
     // datasource
     DATASOURCE_GET_CONNECTION_FAILED_COUNT("datasource.get.connection.failed.count",
             "datasource get connection failed count"),
+    DATASOURCE_SHARED_POOL_COUNT("datasource.shared.pool.count", "datasource shared pool count"),
+    DATASOURCE_SHARED_LEASE_COUNT("datasource.shared.lease.count", "datasource shared lease count"),
+    DATASOURCE_SHARED_MAX_ACTIVE_COUNT("datasource.shared.max.active.count", "datasource shared max active count"),
+    DATASOURCE_SHARED_ACTIVE_COUNT("datasource.shared.active.count", "datasource shared active connection count"),
+    DATASOURCE_SHARED_POOLING_COUNT("datasource.shared.pooling.count", "datasource shared idle connection count"),
+    DATASOURCE_SHARED_PIN_RATIO("datasource.shared.pin.ratio", "datasource shared pinned connection ratio"),
+    DATASOURCE_SHARED_BORROW_COUNT("datasource.shared.borrow.count", "datasource shared borrow count"),
+    DATASOURCE_SHARED_BORROW_WAIT_TIME("datasource.shared.borrow.wait.time",
+            "datasource shared borrow wait time in millis"),
 
     // meter holder;
 
@@ -163,6 +163,18 @@ public class InMemoryMeterManager implements MeterManager, InitializingBean {
         }
     }
 
+    @Override
+    public Timer registerHistogramTimer(MeterKey meterKey) {
+        Timer.Builder builder = Timer.builder(meterKey.getMeterName().getName())
+                .description(meterKey.getMeterName().getDescription())
+                .publishPercentileHistogram();
+        for (Tag tag : meterKey.getTags()) {
+            builder.tag(tag.getKey(), tag.getValue());
+        }
+        Timer timer = builder.register(businessMeterRegistry);
+        log.info(String.format("Register histogram timer, meterKey=[%s]", meterKey));
+        return timer;
+    }
 
     @Data
     private static class TimerSampleHolder {
@@ -17,6 +17,8 @@ package com.oceanbase.odc.service.monitor;
 
 import java.util.function.Supplier;
 
+import io.micrometer.core.instrument.Timer;
+
 public interface MeterManager {
 
     boolean registerGauge(MeterKey meterKey, Supplier<Number> f);
@@ -28,4 +30,12 @@ public interface MeterManager {
     boolean startTimerSample(String sampleKey, MeterKey meterKey);
 
     boolean recordTimerSample(String sampleKey, MeterKey meterKey);
+
+    /**
+     * Register a timer which publishes a percentile histogram, callers are expected to hold the timer
+     * and record to it directly
+     *
+     * @return the registered timer, {@code null} if meters are not enabled
+     */
+    Timer registerHistogramTimer(MeterKey meterKey);
 }
@@ -32,6 +32,7 @@ import com.oceanbase.odc.common.util.SystemUtils;
 
 import io.micrometer.core.instrument.Clock;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.binder.MeterBinder;
 import io.micrometer.core.lang.NonNull;
 import io.micrometer.core.lang.Nullable;
@@ -141,5 +142,10 @@ public class MonitorAutoConfiguration {
             return false;
         }
 
+        @Override
+        public Timer registerHistogramTimer(MeterKey meterKey) {
+            return null;
+        }
+
     }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.monitor.audit;
+
+import static com.oceanbase.odc.service.monitor.DefaultMeterName.AUDIT_EVENT_LOST_COUNT;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.oceanbase.odc.service.audit.AuditEventWriter;
+import com.oceanbase.odc.service.monitor.MeterKey;
+import com.oceanbase.odc.service.monitor.MeterManager;
+
+/**
+ * {@link AuditEventMetrics}, publishes the count of the audit events lost by
+ * {@link AuditEventWriter}
+ *
+ * @author agent
+ * @date 2026-10-18 14:10
+ * @since ODC_release_4.3.2
+ */
+@Component
+@ConditionalOnProperty(value = "odc.system.monitor.actuator.enabled", havingValue = "true")
+public class AuditEventMetrics implements InitializingBean {
+
+    @Autowired
+    private MeterManager meterManager;
+    /**
+     * absent if audit is disabled
+     */
+    @Autowired(required = false)
+    private AuditEventWriter auditEventWriter;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (auditEventWriter != null) {
+            meterManager.registerGauge(MeterKey.ofMeter(AUDIT_EVENT_LOST_COUNT), auditEventWriter::getLostEventCount);
+        }
+    }
+
+}
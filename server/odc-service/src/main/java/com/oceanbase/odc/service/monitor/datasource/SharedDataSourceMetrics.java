@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.monitor.datasource;
+
+import static com.oceanbase.odc.service.monitor.DefaultMeterName.DATASOURCE_SHARED_ACTIVE_COUNT;
+import static com.oceanbase.odc.service.monitor.DefaultMeterName.DATASOURCE_SHARED_BORROW_COUNT;
+import static com.oceanbase.odc.service.monitor.DefaultMeterName.DATASOURCE_SHARED_BORROW_WAIT_TIME;
+import static com.oceanbase.odc.service.monitor.DefaultMeterName.DATASOURCE_SHARED_LEASE_COUNT;
+import static com.oceanbase.odc.service.monitor.DefaultMeterName.DATASOURCE_SHARED_MAX_ACTIVE_COUNT;
+import static com.oceanbase.odc.service.monitor.DefaultMeterName.DATASOURCE_SHARED_PIN_RATIO;
+import static com.oceanbase.odc.service.monitor.DefaultMeterName.DATASOURCE_SHARED_POOLING_COUNT;
+import static com.oceanbase.odc.service.monitor.DefaultMeterName.DATASOURCE_SHARED_POOL_COUNT;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.oceanbase.odc.service.monitor.MeterKey;
+import com.oceanbase.odc.service.monitor.MeterManager;
+import com.oceanbase.odc.service.session.factory.SharedDataSourcePool;
+
+@Component
+@ConditionalOnProperty(value = "odc.system.monitor.actuator.enabled", havingValue = "true")
+public class SharedDataSourceMetrics implements InitializingBean {
+
+    @Autowired
+    private MeterManager meterManager;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        SharedDataSourcePool pool = SharedDataSourcePool.getInstance();
+        meterManager.registerGauge(MeterKey.ofMeter(DATASOURCE_SHARED_POOL_COUNT), pool::getPoolCount);
+        meterManager.registerGauge(MeterKey.ofMeter(DATASOURCE_SHARED_LEASE_COUNT), pool::getLeaseCount);
+        meterManager.registerGauge(MeterKey.ofMeter(DATASOURCE_SHARED_MAX_ACTIVE_COUNT), pool::getMaxActiveCount);
+        meterManager.registerGauge(MeterKey.ofMeter(DATASOURCE_SHARED_ACTIVE_COUNT), pool::getActiveConnectionCount);
+        meterManager.registerGauge(MeterKey.ofMeter(DATASOURCE_SHARED_POOLING_COUNT),
+                pool::getPoolingConnectionCount);
+        meterManager.registerGauge(MeterKey.ofMeter(DATASOURCE_SHARED_PIN_RATIO), pool::getPinRatio);
+        meterManager.registerGauge(MeterKey.ofMeter(DATASOURCE_SHARED_BORROW_COUNT), pool::getBorrowCount);
+        meterManager.registerGauge(MeterKey.ofMeter(DATASOURCE_SHARED_BORROW_WAIT_TIME), pool::getBorrowWaitMillis);
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.monitor.session;
+
+import static com.oceanbase.odc.service.monitor.DefaultMeterName.SQL_AST_CACHE_EVICTION_COUNT;
+import static com.oceanbase.odc.service.monitor.DefaultMeterName.SQL_AST_CACHE_HIT_COUNT;
+import static com.oceanbase.odc.service.monitor.DefaultMeterName.SQL_AST_CACHE_MISS_COUNT;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.oceanbase.odc.core.sql.parser.CachedAstFactory;
+import com.oceanbase.odc.service.monitor.MeterKey;
+import com.oceanbase.odc.service.monitor.MeterManager;
+
+/**
+ * {@link AstCacheMetrics}, publishes the stats of the syntax tree caches of all the sessions
+ *
+ * @author agent
+ * @date 2026-10-18 10:20
+ * @since ODC_release_4.3.2
+ */
+@Component
+@ConditionalOnProperty(value = "odc.system.monitor.actuator.enabled", havingValue = "true")
+public class AstCacheMetrics implements InitializingBean {
+
+    @Autowired
+    private MeterManager meterManager;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        meterManager.registerGauge(MeterKey.ofMeter(SQL_AST_CACHE_HIT_COUNT),
+                () -> CachedAstFactory.totalStats().hitCount());
+        meterManager.registerGauge(MeterKey.ofMeter(SQL_AST_CACHE_MISS_COUNT),
+                () -> CachedAstFactory.totalStats().missCount());
+        meterManager.registerGauge(MeterKey.ofMeter(SQL_AST_CACHE_EVICTION_COUNT),
+                () -> CachedAstFactory.totalStats().evictionCount());
+    }
+
+}
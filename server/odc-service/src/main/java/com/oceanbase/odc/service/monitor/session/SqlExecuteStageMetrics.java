@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.monitor.session;
+
+import static com.oceanbase.odc.service.monitor.DefaultMeterName.SQL_EXECUTE_STAGE_DURATION;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.oceanbase.odc.common.util.TraceStage;
+import com.oceanbase.odc.common.util.TraceWatch;
+import com.oceanbase.odc.core.shared.constant.ConnectType;
+import com.oceanbase.odc.core.sql.execute.SqlExecuteStages;
+import com.oceanbase.odc.service.monitor.MeterKey;
+import com.oceanbase.odc.service.monitor.MeterManager;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link SqlExecuteStageMetrics}, exports the duration of every stage in {@link SqlExecuteStages}
+ * timed by the {@link TraceWatch} of a sql as a histogram timer, tagged by stage, dialect and
+ * datasource type. Timers are registered once and kept in arrays indexed by {@link ConnectType},
+ * recording a stage allocates nothing.
+ *
+ * @author agent
+ * @date 2026-10-17 18:40
+ * @since ODC_release_4.3.2
+ */
+@Slf4j
+@Component
+public class SqlExecuteStageMetrics {
+
+    private static final Map<String, Integer> STAGE_NAME2INDEX = getStageName2Index();
+    private static final int CONNECT_TYPE_COUNT = ConnectType.values().length;
+
+    @Autowired
+    private MeterManager meterManager;
+
+    /**
+     * timer of (stage index, connect type ordinal) is at
+     * {@code stageIndex * CONNECT_TYPE_COUNT + ordinal}, a missing timer is registered on first use
+     */
+    private final AtomicReferenceArray<Timer> timers =
+            new AtomicReferenceArray<>(STAGE_NAME2INDEX.size() * CONNECT_TYPE_COUNT);
+    private volatile boolean disabled = false;
+
+    public void record(@NonNull ConnectType connectType, @NonNull TraceWatch watch) {
+        if (disabled) {
+            return;
+        }
+        try {
+            List<TraceStage> stages = watch.getStageList();
+            synchronized (stages) {
+                for (TraceStage stage : stages) {
+                    record(connectType, stage);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to record sql execute stages, reason={}", e.getMessage());
+        }
+    }
+
+    private void record(ConnectType connectType, TraceStage stage) {
+        if (!stage.isStopped()) {
+            return;
+        }
+        Integer index = STAGE_NAME2INDEX.get(stage.getMessage());
+        if (index != null) {
+            Timer timer = getTimer(index, stage.getMessage(), connectType);
+            if (timer == null) {
+                return;
+            }
+            timer.record(stage.getTime(TimeUnit.MICROSECONDS), TimeUnit.MICROSECONDS);
+        }
+        for (TraceStage subStage : stage.getSubStageList()) {
+            record(connectType, subStage);
+        }
+    }
+
+    private Timer getTimer(int stageIndex, String stageName, ConnectType connectType) {
+        int index = stageIndex * CONNECT_TYPE_COUNT + connectType.ordinal();
+        Timer timer = timers.get(index);
+        if (timer != null) {
+            return timer;
+        }
+        synchronized (timers) {
+            timer = timers.get(index);
+            if (timer == null) {
+                timer = meterManager.registerHistogramTimer(MeterKey.ofMeter(SQL_EXECUTE_STAGE_DURATION,
+                        Tag.of("stage", stageName), Tag.of("dialect", connectType.getDialectType().name()),
+                        Tag.of("datasourceType", connectType.name())));
+                if (timer == null) {
+                    // meters are not enabled
+                    disabled = true;
+                    return null;
+                }
+                timers.set(index, timer);
+            }
+            return timer;
+        }
+    }
+
+    private static Map<String, Integer> getStageName2Index() {
+        Map<String, Integer> stageName2Index = new HashMap<>();
+        for (Field field : SqlExecuteStages.class.getFields()) {
+            int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers) && Modifier.isFinal(modifiers) && field.getType() == String.class) {
+                try {
+                    stageName2Index.putIfAbsent((String) field.get(null), stageName2Index.size());
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        return stageName2Index;
+    }
+
+}
@@ -25,7 +25,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.stream.Collectors;
 
@@ -57,10 +56,12 @@ import com.oceanbase.odc.service.connection.database.model.DBResource;
 import com.oceanbase.odc.service.connection.database.model.UnauthorizedDBResource;
 import com.oceanbase.odc.service.connection.model.ConnectionConfig;
 import com.oceanbase.odc.service.iam.auth.AuthenticationFacade;
+import com.oceanbase.odc.service.permission.DBResourcePermissionSnapshotCache.DataSourceSnapshot;
+import com.oceanbase.odc.service.permission.DBResourcePermissionSnapshotCache.TableIdentity;
+import com.oceanbase.odc.service.permission.DBResourcePermissionSnapshotCache.UserSnapshot;
 import com.oceanbase.odc.service.permission.common.PermissionCheckWhitelist;
 import com.oceanbase.odc.service.permission.database.model.DatabasePermissionType;
 import com.oceanbase.odc.service.session.util.DBSchemaExtractor.DBSchemaIdentity;
-import com.oceanbase.tools.dbbrowser.model.DBObjectType;
 import com.oceanbase.tools.dbbrowser.parser.constant.SqlType;
 
 /**
@@ -95,6 +96,9 @@ public class DBResourcePermissionHelper {
     @Autowired
     private ConnectionConfigRepository connectionConfigRepository;
 
+    @Autowired
+    private DBResourcePermissionSnapshotCache snapshotCache;
+
     private static final Set<String> ORACLE_DATA_DICTIONARY = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
 
     private static final Set<String> MYSQL_DATA_DICTIONARY = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
@@ -257,61 +261,39 @@ public class DBResourcePermissionHelper {
             return Collections.emptyList();
         }
         // Pre-handle DBResource (fill in databaseId, databaseName, tableId, tableName)
-        Set<Long> dsIds = resource2Types.keySet().stream().map(DBResource::getDataSourceId).collect(Collectors.toSet());
-        List<DatabaseEntity> dbEntities = databaseRepository.findByConnectionIdIn(dsIds);
-        Map<Long, DatabaseEntity> dbId2Entity =
-                dbEntities.stream().collect(Collectors.toMap(DatabaseEntity::getId, e -> e));
-        Map<Long, Map<String, DatabaseEntity>> dsId2dbName2dbEntity = new HashMap<>();
-        for (DatabaseEntity dbEntity : dbEntities) {
-            dsId2dbName2dbEntity
-                    .computeIfAbsent(dbEntity.getConnectionId(), k -> new TreeMap<>(String.CASE_INSENSITIVE_ORDER))
-                    .put(dbEntity.getName(), dbEntity);
-        }
-        resource2Types.forEach((k, v) -> {
-            if (dsId2dbName2dbEntity.containsKey(k.getDataSourceId())) {
-                DatabaseEntity dbEntity = dsId2dbName2dbEntity.get(k.getDataSourceId()).get(k.getDatabaseName());
-                if (dbEntity != null) {
-                    k.setDatabaseId(dbEntity.getId());
-                    k.setDatabaseName(dbEntity.getName());
-                }
+        Map<Long, DataSourceSnapshot> dsId2Snapshot = new HashMap<>();
+        for (DBResource resource : resource2Types.keySet()) {
+            DataSourceSnapshot dataSource = dsId2Snapshot.computeIfAbsent(resource.getDataSourceId(),
+                    snapshotCache::getDataSource);
+            DatabaseEntity dbEntity = dataSource.getDatabase(resource.getDatabaseName());
+            if (dbEntity != null) {
+                resource.setDatabaseId(dbEntity.getId());
+                resource.setDatabaseName(dbEntity.getName());
             }
-        });
-        Set<Long> dbIds = resource2Types.keySet().stream().map(DBResource::getDatabaseId).collect(Collectors.toSet());
-        List<DBObjectEntity> tbEntities = dbObjectRepository.findByDatabaseIdInAndType(dbIds, DBObjectType.TABLE);
-        Map<Long, DBObjectEntity> tbId2Entity =
-                tbEntities.stream().collect(Collectors.toMap(DBObjectEntity::getId, e -> e));
-        Map<Long, Map<String, DBObjectEntity>> dbId2tbName2tbEntity = new HashMap<>();
-        for (DBObjectEntity tbEntity : tbEntities) {
-            dbId2tbName2tbEntity
-                    .computeIfAbsent(tbEntity.getDatabaseId(), k -> new TreeMap<>(String.CASE_INSENSITIVE_ORDER))
-                    .put(tbEntity.getName(), tbEntity);
         }
+        Map<Long, Set<Long>> dsId2TableDbIds = new HashMap<>();
+        resource2Types.keySet().stream().filter(k -> k.getTableName() != null && k.getDatabaseId() != null)
+                .forEach(k -> dsId2TableDbIds.computeIfAbsent(k.getDataSourceId(), id -> new HashSet<>())
+                        .add(k.getDatabaseId()));
+        dsId2TableDbIds.forEach((dsId, dbIds) -> snapshotCache.loadTables(dsId2Snapshot.get(dsId), dbIds));
         resource2Types.forEach((k, v) -> {
-            if (k.getTableName() != null && k.getDatabaseId() != null
-                    && dbId2tbName2tbEntity.containsKey(k.getDatabaseId())) {
-                DBObjectEntity tbEntity = dbId2tbName2tbEntity.get(k.getDatabaseId()).get(k.getTableName());
-                if (tbEntity != null) {
-                    k.setTableId(tbEntity.getId());
-                    k.setTableName(tbEntity.getName());
+            if (k.getTableName() != null && k.getDatabaseId() != null) {
+                TableIdentity table = dsId2Snapshot.get(k.getDataSourceId()).getTable(k.getDatabaseId(),
+                        k.getTableName());
+                if (table != null) {
+                    k.setTableId(table.getId());
+                    k.setTableName(table.getName());
                 }
             }
         });
-        Set<Long> tbIds = resource2Types.keySet().stream().map(DBResource::getTableId).collect(Collectors.toSet());
-        // Get permitted and involved project ids
-        Map<Long, Set<ResourceRoleName>> projectIds2Roles = projectService.getProjectId2ResourceRoleNames();
-        Set<Long> involvedProjectIds = projectIds2Roles.keySet();
-        Set<Long> permittedProjectIds = projectIds2Roles.entrySet().stream()
-                .filter(e -> e.getValue().contains(ResourceRoleName.OWNER)
-                        || e.getValue().contains(ResourceRoleName.DBA)
-                        || e.getValue().contains(ResourceRoleName.DEVELOPER))
-                .map(Map.Entry::getKey).collect(Collectors.toSet());
-        // Get user permissions
-        Map<Long, List<UserDatabasePermissionEntity>> dbId2Permissions = userDatabasePermissionRepository
-                .findNotExpiredByUserIdAndDatabaseIdIn(authenticationFacade.currentUserId(), dbIds)
-                .stream().collect(Collectors.groupingBy(UserDatabasePermissionEntity::getDatabaseId));
-        Map<Long, List<UserTablePermissionEntity>> tbId2Permissions = userTablePermissionRepository
-                .findNotExpiredByUserIdAndTableIdIn(authenticationFacade.currentUserId(), tbIds)
-                .stream().collect(Collectors.groupingBy(UserTablePermissionEntity::getTableId));
+        // Get project roles and permissions of the current user
+        Map<Long, UserSnapshot> dsId2UserSnapshot = new HashMap<>();
+        dsId2Snapshot.forEach((dsId, snapshot) -> dsId2UserSnapshot.put(dsId, snapshotCache.getUser(snapshot, dsId)));
+        // Database is accessible if any table of it referred by the resources is granted
+        Set<Long> tableGrantedDbIds = resource2Types.keySet().stream()
+                .filter(k -> k.getTableId() != null && !dsId2UserSnapshot.get(k.getDataSourceId())
+                        .getTablePermissionTypes(k.getTableId()).isEmpty())
+                .map(DBResource::getDatabaseId).collect(Collectors.toSet());
         // Filter unauthorized resources
         List<UnauthorizedDBResource> unauthorizedDBResources = new ArrayList<>();
         for (Map.Entry<DBResource, Set<DatabasePermissionType>> entry : resource2Types.entrySet()) {
@@ -321,72 +303,36 @@ public class DBResourcePermissionHelper {
                     resource.getDialectType())) {
                 continue;
             }
-            if (resource.getType() == ResourceType.ODC_DATABASE) {
-                if (resource.getDatabaseId() == null) {
-                    unauthorizedDBResources.add(UnauthorizedDBResource.from(resource, needs, false, null));
-                    continue;
-                }
-                DatabaseEntity database = dbId2Entity.get(resource.getDatabaseId());
-                Set<DatabasePermissionType> authorized = new HashSet<>();
-                if (permittedProjectIds.contains(database.getProjectId())) {
-                    authorized.addAll(DatabasePermissionType.all());
-                } else {
-                    List<UserDatabasePermissionEntity> permissions = dbId2Permissions.get(database.getId());
-                    if (CollectionUtils.isNotEmpty(permissions)) {
-                        authorized.addAll(permissions.stream().map(e -> DatabasePermissionType.from(e.getAction()))
-                                .collect(Collectors.toSet()));
-                    }
-                    if (dbId2tbName2tbEntity.get(database.getId()) != null) {
-                        Collection<DBObjectEntity> tbs = dbId2tbName2tbEntity.get(database.getId()).values();
-                        for (DBObjectEntity tbEntity : tbs) {
-                            List<UserTablePermissionEntity> tablePermissions = tbId2Permissions.get(tbEntity.getId());
-                            if (CollectionUtils.isNotEmpty(tablePermissions)) {
-                                authorized.add(DatabasePermissionType.ACCESS);
-                                break;
-                            }
-                        }
-                    }
-                }
-                Set<DatabasePermissionType> unauthorized =
-                        needs.stream().filter(p -> !authorized.contains(p)).collect(Collectors.toSet());
-                if (CollectionUtils.isNotEmpty(unauthorized)) {
-                    unauthorizedDBResources.add(UnauthorizedDBResource.from(resource, unauthorized,
-                            database.getProjectId() != null && involvedProjectIds.contains(database.getProjectId()),
-                            database.getProjectId()));
-                }
-            } else if (resource.getType() == ResourceType.ODC_TABLE) {
-                if (resource.getDatabaseId() == null) {
-                    unauthorizedDBResources.add(UnauthorizedDBResource.from(resource, needs, false, null));
-                    continue;
-                }
-                Set<DatabasePermissionType> authorized = new HashSet<>();
-                DatabaseEntity database = dbId2Entity.get(resource.getDatabaseId());
-                if (permittedProjectIds.contains(database.getProjectId())) {
-                    authorized.addAll(DatabasePermissionType.all());
-                } else {
-                    List<UserDatabasePermissionEntity> dbPermissions = dbId2Permissions.get(database.getId());
-                    if (CollectionUtils.isNotEmpty(dbPermissions)) {
-                        authorized.addAll(dbPermissions.stream().map(e -> DatabasePermissionType.from(e.getAction()))
-                                .collect(Collectors.toSet()));
-                    }
-                    if (resource.getTableId() != null) {
-                        DBObjectEntity table = tbId2Entity.get(resource.getTableId());
-                        List<UserTablePermissionEntity> permissions = tbId2Permissions.get(table.getId());
-                        if (CollectionUtils.isNotEmpty(permissions)) {
-                            authorized.addAll(permissions.stream().map(e -> DatabasePermissionType.from(e.getAction()))
-                                    .collect(Collectors.toSet()));
-                        }
+            if (resource.getType() != ResourceType.ODC_DATABASE && resource.getType() != ResourceType.ODC_TABLE) {
+                throw new IllegalStateException("Unsupported resource type: " + resource.getType());
+            }
+            if (resource.getDatabaseId() == null) {
+                unauthorizedDBResources.add(UnauthorizedDBResource.from(resource, needs, false, null));
+                continue;
+            }
+            DatabaseEntity database = dsId2Snapshot.get(resource.getDataSourceId())
+                    .getDatabase(resource.getDatabaseId());
+            UserSnapshot user = dsId2UserSnapshot.get(resource.getDataSourceId());
+            Set<DatabasePermissionType> authorized = new HashSet<>();
+            if (user.getPermittedProjectIds().contains(database.getProjectId())) {
+                authorized.addAll(DatabasePermissionType.all());
+            } else {
+                authorized.addAll(user.getDatabasePermissionTypes(database.getId()));
+                if (resource.getType() == ResourceType.ODC_DATABASE) {
+                    if (tableGrantedDbIds.contains(database.getId())) {
+                        authorized.add(DatabasePermissionType.ACCESS);
                     }
+                } else if (resource.getTableId() != null) {
+                    authorized.addAll(user.getTablePermissionTypes(resource.getTableId()));
                 }
-                Set<DatabasePermissionType> unauthorized =
-                        needs.stream().filter(p -> !authorized.contains(p)).collect(Collectors.toSet());
-                if (CollectionUtils.isNotEmpty(unauthorized)) {
-                    unauthorizedDBResources.add(UnauthorizedDBResource.from(resource, unauthorized,
-                            database.getProjectId() != null && involvedProjectIds.contains(database.getProjectId()),
-                            database.getProjectId()));
-                }
-            } else {
-                throw new IllegalStateException("Unsupported resource type: " + resource.getType());
+            }
+            Set<DatabasePermissionType> unauthorized =
+                    needs.stream().filter(p -> !authorized.contains(p)).collect(Collectors.toSet());
+            if (CollectionUtils.isNotEmpty(unauthorized)) {
+                unauthorizedDBResources.add(UnauthorizedDBResource.from(resource, unauthorized,
+                        database.getProjectId() != null
+                                && user.getInvolvedProjectIds().contains(database.getProjectId()),
+                        database.getProjectId()));
             }
         }
         // Filter data dictionary schema
@@ -0,0 +1,426 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.permission;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.oceanbase.odc.core.authority.util.SkipAuthorize;
+import com.oceanbase.odc.core.shared.constant.ResourceRoleName;
+import com.oceanbase.odc.metadb.connection.DatabaseEntity;
+import com.oceanbase.odc.metadb.connection.DatabaseRepository;
+import com.oceanbase.odc.metadb.dbobject.DBObjectEntity;
+import com.oceanbase.odc.metadb.dbobject.DBObjectRepository;
+import com.oceanbase.odc.metadb.iam.UserDatabasePermissionEntity;
+import com.oceanbase.odc.metadb.iam.UserDatabasePermissionRepository;
+import com.oceanbase.odc.metadb.iam.UserPermissionVersionDAO;
+import com.oceanbase.odc.metadb.iam.UserTablePermissionEntity;
+import com.oceanbase.odc.metadb.iam.UserTablePermissionRepository;
+import com.oceanbase.odc.service.collaboration.project.ProjectService;
+import com.oceanbase.odc.service.iam.auth.AuthenticationFacade;
+import com.oceanbase.odc.service.permission.database.model.DatabasePermissionType;
+import com.oceanbase.tools.dbbrowser.model.DBObjectType;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * {@link DBResourcePermissionSnapshotCache}, keeps in-memory snapshots of what
+ * {@link DBResourcePermissionHelper} needs to check the permission of databases and tables, so that
+ * the check of a sql is a few hash lookups instead of several metadb queries. There are two kinds
+ * of snapshots:
+ * <ul>
+ * <li>{@link DataSourceSnapshot}, databases of a datasource and tables of these databases, shared
+ * by all users</li>
+ * <li>{@link UserSnapshot}, project roles and not expired grants of a user on a datasource</li>
+ * </ul>
+ * A snapshot is stamped with versions when it is loaded and is discarded once a version is bumped
+ * by {@link DBResourcePermissionVersionAspect}, when a grant expires or when the ttl is reached.
+ * <ul>
+ * <li>a {@link DataSourceSnapshot} is stamped with the schema version of its datasource and a
+ * schema epoch, the epoch is only bumped when the changed datasources are unknown. Schema versions
+ * live in memory, the ttl bounds the staleness of schema changes made by other odc nodes</li>
+ * <li>a {@link UserSnapshot} is stamped with the metadb versions of its user and of all users,
+ * which are increased in the same transaction as the grants or roles are changed. The versions read
+ * by primary key are reused for {@code versionCheckIntervalMillis} and evicted once a change made
+ * on this odc node is committed, so that a revocation takes effect at once on this node and within
+ * the interval on the other nodes</li>
+ * </ul>
+ *
+ * @author agent
+ * @date 2026-10-17 11:05
+ * @since ODC_release_4.3.2
+ */
+@Component
+@SkipAuthorize("odc internal usage")
+public class DBResourcePermissionSnapshotCache {
+
+    @Value("${odc.iam.permission.snapshot-ttl-seconds:60}")
+    private long snapshotTtlSeconds;
+
+    @Value("${odc.iam.permission.version-check-interval-millis:1000}")
+    private long versionCheckIntervalMillis;
+
+    @Autowired
+    private DatabaseRepository databaseRepository;
+
+    @Autowired
+    private DBObjectRepository dbObjectRepository;
+
+    @Autowired
+    private UserDatabasePermissionRepository userDatabasePermissionRepository;
+
+    @Autowired
+    private UserTablePermissionRepository userTablePermissionRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private AuthenticationFacade authenticationFacade;
+
+    @Autowired
+    private UserPermissionVersionDAO userPermissionVersionDAO;
+
+    private final AtomicLong schemaEpoch = new AtomicLong();
+    /**
+     * bounded by the number of datasources, an entry is never removed so that a version never goes back
+     * to one which a cached snapshot is stamped with
+     */
+    private final Map<Long, AtomicLong> dataSourceId2SchemaVersion = new ConcurrentHashMap<>();
+    private Cache<Long, DataSourceSnapshot> dataSourceSnapshots;
+    private Cache<UserSnapshotKey, UserSnapshot> userSnapshots;
+    private Cache<Long, Long> userId2Version;
+    private Ticker ticker = Ticker.systemTicker();
+
+    @PostConstruct
+    public void init() {
+        this.dataSourceSnapshots = Caffeine.newBuilder().maximumSize(1024)
+                .expireAfterWrite(snapshotTtlSeconds, TimeUnit.SECONDS).build();
+        this.userSnapshots = Caffeine.newBuilder().maximumSize(4096)
+                .expireAfterWrite(snapshotTtlSeconds, TimeUnit.SECONDS).build();
+        this.userId2Version = Caffeine.newBuilder().maximumSize(4096).ticker(ticker)
+                .expireAfterWrite(versionCheckIntervalMillis, TimeUnit.MILLISECONDS).build();
+    }
+
+    /**
+     * Databases or tables of unknown datasources are changed, all {@link DataSourceSnapshot}s are out
+     * of date
+     */
+    public void invalidateSchema() {
+        bumpVersion(schemaEpoch);
+    }
+
+    /**
+     * Databases or tables of the datasources are changed
+     */
+    public void invalidateSchema(@NonNull Collection<Long> dataSourceIds) {
+        dataSourceIds.stream().filter(Objects::nonNull).distinct().forEach(id -> bumpVersion(
+                dataSourceId2SchemaVersion.computeIfAbsent(id, k -> new AtomicLong())));
+    }
+
+    /**
+     * The datasources of the databases, looked up from the cached snapshots, an absent database is not
+     * referred by any cached snapshot
+     */
+    public Set<Long> getCachedDataSourceIds(@NonNull Collection<Long> databaseIds) {
+        Set<Long> dataSourceIds = new HashSet<>();
+        dataSourceSnapshots.asMap().forEach((dataSourceId, snapshot) -> {
+            if (databaseIds.stream().anyMatch(snapshot.id2Database::containsKey)) {
+                dataSourceIds.add(dataSourceId);
+            }
+        });
+        return dataSourceIds;
+    }
+
+    /**
+     * Grants or project roles of unknown users are changed, all {@link UserSnapshot}s are out of date.
+     * Call it in the transaction of the change.
+     */
+    public void invalidateAuthority() {
+        invalidateAuthority(Collections.singleton(UserPermissionVersionDAO.ALL_USERS));
+    }
+
+    /**
+     * Grants or project roles of the users are changed, the metadb versions of the users are increased
+     * right before the transaction of the change is committed, once for each user, and the cached
+     * versions are evicted after the transaction is completed. Call it in the transaction of the
+     * change.
+     */
+    @SuppressWarnings("unchecked")
+    public void invalidateAuthority(@NonNull Collection<Long> userIds) {
+        Set<Long> filtered = userIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (filtered.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increaseVersions(filtered);
+            userId2Version.invalidateAll(filtered);
+            return;
+        }
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Long> created = new TreeSet<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    increaseVersions(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DBResourcePermissionSnapshotCache.this);
+                    userId2Version.invalidateAll(created);
+                }
+            });
+            pending = created;
+        }
+        pending.addAll(filtered);
+    }
+
+    public DataSourceSnapshot getDataSource(@NonNull Long dataSourceId) {
+        long epoch = schemaEpoch.get();
+        long version = getSchemaVersion(dataSourceId);
+        DataSourceSnapshot snapshot = dataSourceSnapshots.getIfPresent(dataSourceId);
+        if (snapshot != null && snapshot.epoch == epoch && snapshot.version == version) {
+            return snapshot;
+        }
+        // the versions are read before loading, a concurrent change makes the snapshot stale instead of
+        // lost
+        snapshot = new DataSourceSnapshot(epoch, version, databaseRepository.findByConnectionId(dataSourceId));
+        dataSourceSnapshots.put(dataSourceId, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Get the snapshot of the current user on the datasource
+     */
+    public UserSnapshot getUser(@NonNull DataSourceSnapshot dataSource, @NonNull Long dataSourceId) {
+        UserSnapshotKey key = new UserSnapshotKey(authenticationFacade.currentOrganizationId(),
+                authenticationFacade.currentUserId(), dataSourceId);
+        Map<Long, Long> userId2Version = this.userId2Version
+                .getAll(Arrays.asList(UserPermissionVersionDAO.ALL_USERS, key.userId), this::queryVersions);
+        long allUsersVersion = userId2Version.getOrDefault(UserPermissionVersionDAO.ALL_USERS, 0L);
+        long userVersion = userId2Version.getOrDefault(key.userId, 0L);
+        UserSnapshot snapshot = userSnapshots.getIfPresent(key);
+        if (snapshot != null && snapshot.allUsersVersion == allUsersVersion && snapshot.version == userVersion
+                && snapshot.expireTime > System.currentTimeMillis()) {
+            return snapshot;
+        }
+        snapshot = new UserSnapshot(allUsersVersion, userVersion, projectService.getProjectId2ResourceRoleNames());
+        Set<Long> databaseIds = dataSource.id2Database.keySet();
+        if (!databaseIds.isEmpty()) {
+            for (UserDatabasePermissionEntity e : userDatabasePermissionRepository
+                    .findNotExpiredByUserIdAndDatabaseIdIn(key.userId, databaseIds)) {
+                snapshot.grant(snapshot.databaseId2Types, e.getDatabaseId(), e.getAction(), e.getExpireTime());
+            }
+            for (UserTablePermissionEntity e : userTablePermissionRepository
+                    .findNotExpiredByUserIdAndDatabaseIdIn(key.userId, databaseIds)) {
+                snapshot.grant(snapshot.tableId2Types, e.getTableId(), e.getAction(), e.getExpireTime());
+            }
+        }
+        userSnapshots.put(key, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Make sure tables of the databases are loaded, tables are loaded lazily because a datasource may
+     * have tens of thousands of tables and most of them are never touched
+     */
+    public void loadTables(@NonNull DataSourceSnapshot dataSource, @NonNull Collection<Long> databaseIds) {
+        Set<Long> toBeLoaded = databaseIds.stream()
+                .filter(id -> id != null && dataSource.id2Database.containsKey(id)
+                        && !dataSource.databaseId2Tables.containsKey(id))
+                .collect(Collectors.toSet());
+        if (toBeLoaded.isEmpty()) {
+            return;
+        }
+        Map<Long, Map<String, TableIdentity>> loaded = new HashMap<>();
+        toBeLoaded.forEach(id -> loaded.put(id, new HashMap<>()));
+        for (DBObjectEntity e : dbObjectRepository.findByDatabaseIdInAndType(toBeLoaded, DBObjectType.TABLE)) {
+            loaded.get(e.getDatabaseId()).put(normalize(e.getName()), new TableIdentity(e.getId(), e.getName()));
+        }
+        loaded.forEach(dataSource.databaseId2Tables::putIfAbsent);
+    }
+
+    /**
+     * The version of all users makes every snapshot stale, the rows of the other users are not locked
+     * if it is increased
+     */
+    private void increaseVersions(Set<Long> userIds) {
+        userPermissionVersionDAO.increase(userIds.contains(UserPermissionVersionDAO.ALL_USERS)
+                ? Collections.singleton(UserPermissionVersionDAO.ALL_USERS)
+                : userIds);
+    }
+
+    /**
+     * @return versions of all the users, a user which is never increased is at version 0
+     */
+    private Map<Long, Long> queryVersions(Iterable<? extends Long> userIds) {
+        List<Long> ids = new ArrayList<>();
+        userIds.forEach(ids::add);
+        Map<Long, Long> userId2Version = new HashMap<>(userPermissionVersionDAO.queryByUserIds(ids));
+        ids.forEach(id -> userId2Version.putIfAbsent(id, 0L));
+        return userId2Version;
+    }
+
+    private long getSchemaVersion(Long dataSourceId) {
+        AtomicLong version = dataSourceId2SchemaVersion.get(dataSourceId);
+        return version == null ? 0 : version.get();
+    }
+
+    private static void bumpVersion(AtomicLong version) {
+        version.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // snapshots loaded before the transaction is committed may still see the old data
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    version.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    private static String normalize(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
+    public static class DataSourceSnapshot {
+
+        private final long epoch;
+        private final long version;
+        private final Map<Long, DatabaseEntity> id2Database;
+        private final Map<String, DatabaseEntity> name2Database;
+        private final Map<Long, Map<String, TableIdentity>> databaseId2Tables = new ConcurrentHashMap<>();
+
+        private DataSourceSnapshot(long epoch, long version, List<DatabaseEntity> databases) {
+            this.epoch = epoch;
+            this.version = version;
+            this.id2Database = databases.stream().collect(Collectors.toMap(DatabaseEntity::getId,
+                    Function.identity(), (e1, e2) -> e2));
+            this.name2Database = new HashMap<>();
+            databases.forEach(e -> this.name2Database.put(normalize(e.getName()), e));
+        }
+
+        public DatabaseEntity getDatabase(Long databaseId) {
+            return databaseId == null ? null : id2Database.get(databaseId);
+        }
+
+        /**
+         * Find the database by name case-insensitively
+         */
+        public DatabaseEntity getDatabase(String databaseName) {
+            return databaseName == null ? null : name2Database.get(normalize(databaseName));
+        }
+
+        /**
+         * Find the table by name case-insensitively, tables of the database should be loaded by
+         * {@link DBResourcePermissionSnapshotCache#loadTables(DataSourceSnapshot, Collection)} first
+         */
+        public TableIdentity getTable(Long databaseId, String tableName) {
+            Map<String, TableIdentity> tables = databaseId == null ? null : databaseId2Tables.get(databaseId);
+            return tables == null || tableName == null ? null : tables.get(normalize(tableName));
+        }
+    }
+
+    public static class UserSnapshot {
+
+        private final long allUsersVersion;
+        private final long version;
+        private long expireTime = Long.MAX_VALUE;
+        @Getter
+        private final Set<Long> involvedProjectIds;
+        @Getter
+        private final Set<Long> permittedProjectIds;
+        private final Map<Long, Set<DatabasePermissionType>> databaseId2Types = new HashMap<>();
+        private final Map<Long, Set<DatabasePermissionType>> tableId2Types = new HashMap<>();
+
+        private UserSnapshot(long allUsersVersion, long version, Map<Long, Set<ResourceRoleName>> projectId2Roles) {
+            this.allUsersVersion = allUsersVersion;
+            this.version = version;
+            this.involvedProjectIds = new HashSet<>(projectId2Roles.keySet());
+            // OWNER, DBA or DEVELOPER can access all databases inner the project
+            this.permittedProjectIds = projectId2Roles.entrySet().stream()
+                    .filter(e -> e.getValue().contains(ResourceRoleName.OWNER)
+                            || e.getValue().contains(ResourceRoleName.DBA)
+                            || e.getValue().contains(ResourceRoleName.DEVELOPER))
+                    .map(Map.Entry::getKey).collect(Collectors.toSet());
+        }
+
+        public Set<DatabasePermissionType> getDatabasePermissionTypes(Long databaseId) {
+            return databaseId2Types.getOrDefault(databaseId, Collections.emptySet());
+        }
+
+        public Set<DatabasePermissionType> getTablePermissionTypes(Long tableId) {
+            return tableId2Types.getOrDefault(tableId, Collections.emptySet());
+        }
+
+        private void grant(Map<Long, Set<DatabasePermissionType>> id2Types, Long id, String action,
+                Date expireTime) {
+            id2Types.computeIfAbsent(id, k -> new HashSet<>()).add(DatabasePermissionType.from(action));
+            if (expireTime != null) {
+                this.expireTime = Math.min(this.expireTime, expireTime.getTime());
+            }
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class TableIdentity {
+        private final Long id;
+        private final String name;
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class UserSnapshotKey {
+        private final Long organizationId;
+        private final Long userId;
+        private final Long dataSourceId;
+    }
+
+}
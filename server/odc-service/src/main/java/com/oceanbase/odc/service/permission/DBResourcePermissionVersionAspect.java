@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.permission;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Component;
+
+import com.oceanbase.odc.metadb.connection.DatabaseEntity;
+import com.oceanbase.odc.metadb.connection.DatabaseRepository;
+import com.oceanbase.odc.metadb.dbobject.DBObjectEntity;
+import com.oceanbase.odc.metadb.dbobject.DBObjectRepository;
+import com.oceanbase.odc.metadb.iam.PermissionRepository;
+import com.oceanbase.odc.metadb.iam.UserPermissionEntity;
+import com.oceanbase.odc.metadb.iam.UserPermissionRepository;
+import com.oceanbase.odc.metadb.iam.resourcerole.UserResourceRoleEntity;
+import com.oceanbase.odc.metadb.iam.resourcerole.UserResourceRoleRepository;
+
+/**
+ * {@link DBResourcePermissionVersionAspect}, bumps the versions of
+ * {@link DBResourcePermissionSnapshotCache} whenever a repository which the snapshots are loaded
+ * from is written. Watching the repositories instead of the services makes sure that every path
+ * (sync of schemas, applying or revoking grants, changing project members, etc.) is covered. The
+ * changed datasources or users are resolved from the arguments of the written method, looked up
+ * from metadb before the write if needed, only the snapshots of them are made stale. All snapshots
+ * of the kind are made stale if they can not be resolved.
+ *
+ * @author agent
+ * @date 2026-10-17 11:20
+ * @since ODC_release_4.3.2
+ */
+@Aspect
+@Component
+public class DBResourcePermissionVersionAspect {
+
+    private static final String[] READ_ONLY_METHOD_PREFIXES =
+            new String[] {"find", "get", "count", "exists", "list", "query", "equals", "hashCode", "toString"};
+    /**
+     * these methods only write the sync bookkeeping of databases, which is not in any snapshot
+     */
+    private static final String[] SCHEMA_IRRELEVANT_METHOD_PREFIXES =
+            new String[] {"setObjectSyncStatus", "setObjectLastSyncTime"};
+
+    /**
+     * the cache and the repositories are watched by this aspect, inject them lazily to keep them out of
+     * a cycle
+     */
+    @Lazy
+    @Autowired
+    private DBResourcePermissionSnapshotCache snapshotCache;
+    @Lazy
+    @Autowired
+    private DatabaseRepository databaseRepository;
+    @Lazy
+    @Autowired
+    private DBObjectRepository dbObjectRepository;
+    @Lazy
+    @Autowired
+    private UserPermissionRepository userPermissionRepository;
+    @Lazy
+    @Autowired
+    private UserResourceRoleRepository userResourceRoleRepository;
+
+    @Pointcut("target(com.oceanbase.odc.metadb.connection.DatabaseRepository) "
+            + "|| target(com.oceanbase.odc.metadb.dbobject.DBObjectRepository)")
+    public void schemaRepositories() {}
+
+    @Pointcut("target(com.oceanbase.odc.metadb.iam.PermissionRepository) "
+            + "|| target(com.oceanbase.odc.metadb.iam.UserPermissionRepository) "
+            + "|| target(com.oceanbase.odc.metadb.iam.resourcerole.UserResourceRoleRepository)")
+    public void authorityRepositories() {}
+
+    @Around("schemaRepositories()")
+    public Object aroundSchemaRepositoryCalled(ProceedingJoinPoint joinPoint) throws Throwable {
+        String methodName = joinPoint.getSignature().getName();
+        if (!isWriting(methodName) || startsWithAny(methodName, SCHEMA_IRRELEVANT_METHOD_PREFIXES)) {
+            return joinPoint.proceed();
+        }
+        Set<Long> dataSourceIds = resolveDataSourceIds(joinPoint);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (dataSourceIds == null) {
+                snapshotCache.invalidateSchema();
+            } else {
+                snapshotCache.invalidateSchema(dataSourceIds);
+            }
+        }
+    }
+
+    @Around("authorityRepositories()")
+    public Object aroundAuthorityRepositoryCalled(ProceedingJoinPoint joinPoint) throws Throwable {
+        String methodName = joinPoint.getSignature().getName();
+        // a new permission grants nothing until it is bound to a user by a user permission
+        if (!isWriting(methodName)
+                || (joinPoint.getTarget() instanceof PermissionRepository && methodName.startsWith("batchCreate"))) {
+            return joinPoint.proceed();
+        }
+        Set<Long> userIds = resolveUserIds(joinPoint);
+        Object result = joinPoint.proceed();
+        if (userIds == null) {
+            snapshotCache.invalidateAuthority();
+        } else {
+            snapshotCache.invalidateAuthority(userIds);
+        }
+        return result;
+    }
+
+    /**
+     * @return the datasources whose databases or tables are written, {@code null} if unknown
+     */
+    private Set<Long> resolveDataSourceIds(ProceedingJoinPoint joinPoint) {
+        boolean databaseTarget = joinPoint.getTarget() instanceof DatabaseRepository;
+        Set<Long> dataSourceIds = new HashSet<>();
+        Set<Long> databaseIds = new HashSet<>();
+        Set<Long> objectIds = new HashSet<>();
+        boolean resolved = false;
+        for (Argument argument : getArguments(joinPoint)) {
+            List<Object> values = argument.flatten();
+            if (values.stream().anyMatch(v -> v instanceof DatabaseEntity || v instanceof DBObjectEntity)) {
+                for (Object value : values) {
+                    if (value instanceof DatabaseEntity) {
+                        dataSourceIds.add(((DatabaseEntity) value).getConnectionId());
+                    } else if (value instanceof DBObjectEntity) {
+                        databaseIds.add(((DBObjectEntity) value).getDatabaseId());
+                    }
+                }
+                resolved = true;
+            } else if (argument.isNamed("connectionId", "connectionIds")) {
+                dataSourceIds.addAll(argument.longs());
+                resolved = true;
+            } else if (argument.isNamed("databaseId", "databaseIds")
+                    || databaseTarget && argument.isIdOf(joinPoint)) {
+                databaseIds.addAll(argument.longs());
+                resolved = true;
+            } else if (!databaseTarget && argument.isIdOf(joinPoint)) {
+                objectIds.addAll(argument.longs());
+                resolved = true;
+            }
+        }
+        if (!resolved || dataSourceIds.contains(null) || databaseIds.contains(null)) {
+            // no argument tells the changed datasources, or an entity has no datasource or database
+            return null;
+        }
+        if (!objectIds.isEmpty()) {
+            databaseIds.addAll(collect(dbObjectRepository.findByIdIn(objectIds), DBObjectEntity::getDatabaseId));
+        }
+        if (!databaseIds.isEmpty()) {
+            // a database may be referred by a cached snapshot but deleted from metadb, look up both
+            dataSourceIds.addAll(snapshotCache.getCachedDataSourceIds(databaseIds));
+            dataSourceIds.addAll(collect(databaseRepository.findByIdIn(databaseIds), DatabaseEntity::getConnectionId));
+        }
+        return dataSourceIds;
+    }
+
+    /**
+     * @return the users whose grants or project roles are written, {@code null} if unknown
+     */
+    private Set<Long> resolveUserIds(ProceedingJoinPoint joinPoint) {
+        Object target = joinPoint.getTarget();
+        Set<Long> userIds = new HashSet<>();
+        boolean resolved = false;
+        for (Argument argument : getArguments(joinPoint)) {
+            List<Object> values = argument.flatten();
+            if (values.stream()
+                    .anyMatch(v -> v instanceof UserPermissionEntity || v instanceof UserResourceRoleEntity)) {
+                for (Object value : values) {
+                    if (value instanceof UserPermissionEntity) {
+                        userIds.add(((UserPermissionEntity) value).getUserId());
+                    } else if (value instanceof UserResourceRoleEntity) {
+                        userIds.add(((UserResourceRoleEntity) value).getUserId());
+                    }
+                }
+                return userIds.contains(null) ? null : userIds;
+            }
+            if (argument.isNamed("userId", "userIds")
+                    || argument.index == 0 && argument.name == null
+                            && joinPoint.getSignature().getName().startsWith("deleteByUserId")) {
+                userIds.addAll(argument.longs());
+                return userIds.contains(null) ? null : userIds;
+            }
+            if (target instanceof PermissionRepository && argument.isIdOf(joinPoint)
+                    || target instanceof UserPermissionRepository && argument.isNamed("permissionIds")) {
+                userIds.addAll(collect(userPermissionRepository.findByPermissionIdIn(argument.longs()),
+                        UserPermissionEntity::getUserId));
+                resolved = true;
+            } else if (target instanceof UserPermissionRepository && argument.isIdOf(joinPoint)) {
+                userIds.addAll(collect(userPermissionRepository.findAllById(argument.longs()),
+                        UserPermissionEntity::getUserId));
+                resolved = true;
+            } else if (target instanceof UserResourceRoleRepository && argument.isIdOf(joinPoint)) {
+                userIds.addAll(collect(userResourceRoleRepository.findAllById(argument.longs()),
+                        UserResourceRoleEntity::getUserId));
+                resolved = true;
+            } else if (target instanceof UserResourceRoleRepository && argument.isNamed("resourceId", "resourceIds")) {
+                for (Long resourceId : argument.longs()) {
+                    userIds.addAll(collect(userResourceRoleRepository.findByResourceId(resourceId),
+                            UserResourceRoleEntity::getUserId));
+                }
+                resolved = true;
+            }
+        }
+        return resolved && !userIds.contains(null) ? userIds : null;
+    }
+
+    private static boolean isWriting(String methodName) {
+        return !startsWithAny(methodName, READ_ONLY_METHOD_PREFIXES);
+    }
+
+    private static boolean startsWithAny(String methodName, String[] prefixes) {
+        return Arrays.stream(prefixes).anyMatch(methodName::startsWith);
+    }
+
+    private static <T> Set<Long> collect(Iterable<T> entities, Function<T, Long> getter) {
+        Set<Long> ids = new HashSet<>();
+        entities.forEach(e -> ids.add(getter.apply(e)));
+        ids.remove(null);
+        return ids;
+    }
+
+    private static List<Argument> getArguments(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Annotation[][] annotations = method.getParameterAnnotations();
+        Object[] args = joinPoint.getArgs();
+        return IntStream.range(0, args.length).mapToObj(i -> new Argument(i,
+                Arrays.stream(annotations[i]).filter(a -> a instanceof Param).map(a -> ((Param) a).value())
+                        .findFirst().orElse(null),
+                args[i])).collect(Collectors.toList());
+    }
+
+    private static class Argument {
+        private final int index;
+        private final String name;
+        private final Object value;
+
+        private Argument(int index, String name, Object value) {
+            this.index = index;
+            this.name = name;
+            this.value = value;
+        }
+
+        private boolean isNamed(String... names) {
+            return name != null && Arrays.asList(names).contains(name);
+        }
+
+        /**
+         * Whether the argument is the primary keys of the repository, eg. {@code deleteByIds(ids)} or
+         * {@code deleteById(id)}
+         */
+        private boolean isIdOf(ProceedingJoinPoint joinPoint) {
+            String methodName = joinPoint.getSignature().getName();
+            return isNamed("id", "ids") || name == null && index == 0
+                    && (methodName.equals("deleteById") || methodName.equals("deleteAllById"));
+        }
+
+        private List<Object> flatten() {
+            if (value instanceof Iterable) {
+                List<Object> values = new ArrayList<>();
+                ((Iterable<?>) value).forEach(values::add);
+                return values;
+            }
+            return value == null ? Collections.emptyList() : Collections.singletonList(value);
+        }
+
+        private Set<Long> longs() {
+            return flatten().stream().filter(v -> v instanceof Number).map(v -> ((Number) v).longValue())
+                    .collect(Collectors.toSet());
+        }
+    }
+
+}
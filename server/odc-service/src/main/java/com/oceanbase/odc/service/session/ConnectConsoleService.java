@@ -21,11 +21,17 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import javax.annotation.PreDestroy;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
@@ -33,11 +39,16 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.Validate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.i18n.LocaleContextHolder;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.oceanbase.odc.common.concurrent.ExecutorUtils;
 import com.oceanbase.odc.common.lang.Holder;
 import com.oceanbase.odc.common.unit.BinarySize;
 import com.oceanbase.odc.common.unit.BinarySizeUnit;
@@ -64,15 +75,16 @@ import com.oceanbase.odc.core.shared.exception.NotFoundException;
 import com.oceanbase.odc.core.shared.exception.RequestTimeoutException;
 import com.oceanbase.odc.core.sql.execute.FutureResult;
 import com.oceanbase.odc.core.sql.execute.SqlExecuteStages;
+import com.oceanbase.odc.core.sql.execute.cache.BinaryContentResource;
 import com.oceanbase.odc.core.sql.execute.cache.BinaryDataManager;
 import com.oceanbase.odc.core.sql.execute.cache.model.BinaryContentMetaData;
+import com.oceanbase.odc.core.sql.execute.cache.table.CachedResultRows;
 import com.oceanbase.odc.core.sql.execute.cache.table.ResultSetVirtualTable;
 import com.oceanbase.odc.core.sql.execute.cache.table.VirtualElement;
 import com.oceanbase.odc.core.sql.execute.cache.table.VirtualTable;
 import com.oceanbase.odc.core.sql.execute.model.JdbcGeneralResult;
 import com.oceanbase.odc.core.sql.execute.model.SqlTuple;
 import com.oceanbase.odc.core.sql.parser.AbstractSyntaxTree;
-import com.oceanbase.odc.core.sql.parser.AbstractSyntaxTreeFactories;
 import com.oceanbase.odc.core.sql.parser.EmptyAstFactory;
 import com.oceanbase.odc.core.sql.split.OffsetString;
 import com.oceanbase.odc.service.common.util.SqlUtils;
@@ -88,6 +100,7 @@ import com.oceanbase.odc.service.db.session.KillSessionResult;
 import com.oceanbase.odc.service.dml.ValueEncodeType;
 import com.oceanbase.odc.service.feature.AllFeatures;
 import com.oceanbase.odc.service.iam.auth.AuthenticationFacade;
+import com.oceanbase.odc.service.monitor.session.SqlExecuteStageMetrics;
 import com.oceanbase.odc.service.permission.database.model.DatabasePermissionType;
 import com.oceanbase.odc.service.queryprofile.OBQueryProfileManager;
 import com.oceanbase.odc.service.session.interceptor.SqlCheckInterceptor;
@@ -96,11 +109,14 @@ import com.oceanbase.odc.service.session.interceptor.SqlExecuteInterceptorServic
 import com.oceanbase.odc.service.session.model.AsyncExecuteContext;
 import com.oceanbase.odc.service.session.model.AsyncExecuteResultResp;
 import com.oceanbase.odc.service.session.model.BinaryContent;
+import com.oceanbase.odc.service.session.model.CachedRowsQueryReq;
+import com.oceanbase.odc.service.session.model.CachedRowsQueryResp;
 import com.oceanbase.odc.service.session.model.OdcResultSetMetaData.OdcTable;
 import com.oceanbase.odc.service.session.model.QueryTableOrViewDataReq;
 import com.oceanbase.odc.service.session.model.SqlAsyncExecuteReq;
 import com.oceanbase.odc.service.session.model.SqlAsyncExecuteResp;
 import com.oceanbase.odc.service.session.model.SqlExecuteResult;
+import com.oceanbase.odc.service.session.util.ResultRowsCacheUtil;
 import com.oceanbase.odc.service.session.util.SqlRewriteUtil;
 import com.oceanbase.tools.dbbrowser.parser.result.BasicResult;
 import com.oceanbase.tools.dbbrowser.parser.result.ParseSqlResult;
@@ -126,6 +142,12 @@ import lombok.extern.slf4j.Slf4j;
 public class ConnectConsoleService {
 
     public static final int DEFAULT_GET_RESULT_TIMEOUT_SECONDS = 1;
+    /**
+     * a pushed stream waits at most this long for results, a progress event is pushed when nothing is
+     * finished, which also detects the disconnection of the client
+     */
+    private static final int PUSH_RESULT_WAIT_SECONDS = 3;
+    private static final int MAX_PUSH_RESULT_STREAMS = 256;
     public static final String SHOW_TABLE_COLUMN_INFO = "SHOW_TABLE_COLUMN_INFO";
 
     @Autowired
@@ -146,6 +168,18 @@ public class ConnectConsoleService {
     private AuthenticationFacade authenticationFacade;
     @Autowired
     private OBQueryProfileManager profileManager;
+    @Autowired
+    private SqlExecuteStageMetrics stageMetrics;
+    @Autowired(required = false)
+    private List<AsyncExecuteResultListener> resultListeners = Collections.emptyList();
+    private final ThreadPoolExecutor pushResultExecutor = new ThreadPoolExecutor(0, MAX_PUSH_RESULT_STREAMS,
+            60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+            new ThreadFactoryBuilder().setNameFormat("console-push-result-%d").setDaemon(true).build());
+
+    @PreDestroy
+    public void destroy() {
+        ExecutorUtils.gracefulShutdown(pushResultExecutor, "consolePushResultExecutor", 5);
+    }
 
     public SqlExecuteResult queryTableOrViewData(@NotNull String sessionId,
             @NotNull @Valid QueryTableOrViewDataReq req) throws Exception {
@@ -316,6 +350,9 @@ public class ConnectConsoleService {
         statementCallBack.setFullLinkTraceTimeout(sessionProperties.getFullLinkTraceTimeoutSeconds());
         statementCallBack.setMaxCachedSize(sessionProperties.getResultSetMaxCachedSize());
         statementCallBack.setMaxCachedLines(sessionProperties.getResultSetMaxCachedLines());
+        if (request.ifStreamingResult()) {
+            statementCallBack.setStreamingChunkSize(sessionProperties.getResultSetStreamingChunkSize());
+        }
         statementCallBack.setLocale(LocaleContextHolder.getLocale());
         if (connectionSession.getDialectType().isOceanbase() && sqlTuples.size() <= 10) {
             statementCallBack.getListeners()
@@ -337,24 +374,100 @@ public class ConnectConsoleService {
     public AsyncExecuteResultResp getMoreResults(@NotNull String sessionId, String requestId, Integer timeoutSeconds) {
         PreConditions.validArgumentState(Objects.nonNull(requestId), ErrorCodes.SqlRegulationRuleBlocked, null, null);
         ConnectionSession connectionSession = sessionService.nullSafeGet(sessionId);
+        return getMoreResults(connectionSession, sessionId, requestId, timeoutSeconds);
+    }
+
+    /**
+     * Push the results of an async execution to the client as they are finished, instead of being
+     * polled by {@link #getMoreResults(String, String)}. Each event carries an
+     * {@link AsyncExecuteResultResp}, the next results are fetched only after the previous event is
+     * written, so a slow client throttles the stream rather than piling up events on the server. If the
+     * client disconnects, the execution goes on and the left results, including the ones of the event
+     * failed to be written, can still be polled.
+     */
+    public SseEmitter pushResults(@NotNull String sessionId, @NotNull String requestId) {
+        ConnectionSession connectionSession = sessionService.nullSafeGet(sessionId);
+        PreConditions.validExists(ResourceType.ODC_ASYNC_SQL_RESULT, "requestId", requestId,
+                () -> ConnectionSessionUtil.getExecuteContext(connectionSession, requestId) != null);
+        SseEmitter emitter = new SseEmitter(0L);
+        Locale locale = LocaleContextHolder.getLocale();
+        Runnable pusher = new DelegatingSecurityContextRunnable(() -> {
+            LocaleContextHolder.setLocale(locale);
+            try {
+                doPushResults(connectionSession, sessionId, requestId, emitter);
+            } finally {
+                LocaleContextHolder.resetLocaleContext();
+            }
+        });
+        try {
+            pushResultExecutor.execute(pusher);
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("Too many result streams are being pushed, please poll the results");
+        }
+        return emitter;
+    }
+
+    private void doPushResults(ConnectionSession connectionSession, String sessionId, String requestId,
+            SseEmitter emitter) {
+        AsyncExecuteContext context =
+                (AsyncExecuteContext) ConnectionSessionUtil.getExecuteContext(connectionSession, requestId);
+        AsyncExecuteResultResp resp = null;
+        try {
+            boolean finished = false;
+            while (!finished) {
+                // the context is kept until the last results are written, so that they can still be polled
+                resp = getMoreResults(connectionSession, sessionId, requestId, PUSH_RESULT_WAIT_SECONDS, false);
+                emitter.send(resp, MediaType.APPLICATION_JSON);
+                List<SqlExecuteResult> sent = resp.getResults();
+                if (!sent.isEmpty()) {
+                    resultListeners.forEach(listener -> listener.onResults(sent));
+                }
+                finished = resp.isFinished();
+            }
+            ConnectionSessionUtil.removeExecuteContext(connectionSession, requestId);
+            emitter.complete();
+        } catch (IOException e) {
+            if (resp != null) {
+                context.addUnsentResults(resp.getResults());
+            }
+            log.info("Client disconnected while pushing results, sessionId={}, requestId={}, reason={}",
+                    sessionId, requestId, e.getMessage());
+        } catch (Exception e) {
+            log.warn("Failed to push results, sessionId={}, requestId={}", sessionId, requestId, e);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private AsyncExecuteResultResp getMoreResults(ConnectionSession connectionSession, String sessionId,
+            String requestId, Integer timeoutSeconds) {
+        return getMoreResults(connectionSession, sessionId, requestId, timeoutSeconds, true);
+    }
+
+    private AsyncExecuteResultResp getMoreResults(ConnectionSession connectionSession, String sessionId,
+            String requestId, Integer timeoutSeconds, boolean removeFinishedContext) {
         AsyncExecuteContext context =
                 (AsyncExecuteContext) ConnectionSessionUtil.getExecuteContext(connectionSession, requestId);
         int gettingResultTimeoutSeconds =
                 Objects.isNull(timeoutSeconds) ? DEFAULT_GET_RESULT_TIMEOUT_SECONDS : timeoutSeconds;
-        boolean shouldRemoveContext = context.isFinished();
+        boolean finished = context.isFinished();
+        boolean shouldRemoveContext = finished && removeFinishedContext;
         try {
+            List<SqlExecuteResult> results = context.pollUnsentResults();
             List<JdbcGeneralResult> resultList =
-                    context.getMoreSqlExecutionResults(gettingResultTimeoutSeconds * 1000L);
-            List<SqlExecuteResult> results = resultList.stream().map(jdbcGeneralResult -> {
+                    context.getMoreSqlExecutionResults(results.isEmpty() ? gettingResultTimeoutSeconds * 1000L : 0);
+            results.addAll(resultList.stream().map(jdbcGeneralResult -> {
                 SqlExecuteResult result = generateResult(connectionSession, jdbcGeneralResult, context.getContextMap());
-                try (TraceStage stage = result.getSqlTuple().getSqlWatch().start(SqlExecuteStages.SQL_AFTER_CHECK)) {
+                try (TraceStage stage = startStage(result, SqlExecuteStages.SQL_AFTER_CHECK)) {
                     sqlInterceptService.afterCompletion(result, connectionSession, context);
                 } catch (Exception e) {
                     throw new IllegalStateException(e);
                 }
+                if (!result.isPartial()) {
+                    stageMetrics.record(connectionSession.getConnectType(), result.getSqlTuple().getSqlWatch());
+                }
                 return result;
-            }).collect(Collectors.toList());
-            return new AsyncExecuteResultResp(shouldRemoveContext, context, results);
+            }).collect(Collectors.toList()));
+            return new AsyncExecuteResultResp(finished, context, results);
         } catch (Exception e) {
             shouldRemoveContext = true;
             // Front-end would stop getting more results if there is an exception. In this case the left queries
@@ -400,21 +513,38 @@ public class ConnectConsoleService {
         return new BinaryContent(buffer, size, format);
     }
 
-    public ResponseEntity<InputStreamResource> downloadBinaryContent(@NotNull String sessionId, @NotNull String sqlId,
-            @NotNull Long rowNum, @NotNull Integer colNum) {
-        try {
-            InputStream inputStream = readBinaryData(sessionId, sqlId, rowNum, colNum);
-            return WebResponseUtils.getFileAttachmentResponseEntity(new InputStreamResource(inputStream),
-                    String.format("%s_%s-%d_%d"
-                            + ".data", sessionId, sqlId, rowNum, colNum));
-        } catch (IOException exception) {
-            log.warn("Failed to download binary data, sessionId={}, sqlId={}, rowNum={}, colNum={}", sessionId, sqlId,
-                    rowNum, colNum, exception);
-            throw new InternalServerError("Unknown Error");
+    /**
+     * Sort, filter and page the rows of a query result cached in the session, the query is not executed
+     * again
+     */
+    public CachedRowsQueryResp queryCachedRows(@NotNull String sessionId, @NotNull String sqlId,
+            @NotNull @Valid CachedRowsQueryReq req) {
+        ConnectionSession connectionSession = sessionService.nullSafeGet(sessionId);
+        CachedResultRows cachedRows = ConnectionSessionUtil.getResultRowsCache(connectionSession, sqlId);
+        if (cachedRows == null) {
+            log.warn("Rows of the result set are not cached, sqlId={}, session={}", sqlId, connectionSession);
+            throw new NotFoundException(ResourceType.ODC_ASYNC_SQL_RESULT, "SqlId", sqlId);
         }
+        return ResultRowsCacheUtil.query(cachedRows.getTable(), req);
+    }
+
+    /**
+     * The content is read from the cache lazily and is not buffered in memory, the returned resource
+     * knows its length, so that {@code Range} requests are served with partial content
+     */
+    public ResponseEntity<Resource> downloadBinaryContent(@NotNull String sessionId, @NotNull String sqlId,
+            @NotNull Long rowNum, @NotNull Integer colNum) {
+        Resource resource = getBinaryContentResource(sessionId, sqlId, rowNum, colNum);
+        return WebResponseUtils.getFileAttachmentResponseEntity(resource,
+                String.format("%s_%s-%d_%d.data", sessionId, sqlId, rowNum, colNum));
     }
 
     public InputStream readBinaryData(String sessionId, String sqlId, Long rowNum, Integer colNum) throws IOException {
+        return getBinaryContentResource(sessionId, sqlId, rowNum, colNum).getInputStream();
+    }
+
+    private BinaryContentResource getBinaryContentResource(String sessionId, String sqlId, Long rowNum,
+            Integer colNum) {
         ConnectionSession connectionSession = sessionService.nullSafeGet(sessionId);
         VirtualTable virtualTable = ConnectionSessionUtil.getQueryCache(connectionSession, sqlId);
         if (virtualTable == null) {
@@ -459,7 +589,7 @@ public class ConnectConsoleService {
         if (dataManager == null) {
             throw new InternalServerError("Data manager is null, Unknown error");
         }
-        return dataManager.read((BinaryContentMetaData) content);
+        return new BinaryContentResource(dataManager, (BinaryContentMetaData) content);
     }
 
     /**
@@ -472,7 +602,7 @@ public class ConnectConsoleService {
             TraceWatch traceWatch = new TraceWatch("SQL-EXEC");
             SqlTuple target = SqlTuple.newTuple(sql.getStr(), sql.getStr(), traceWatch, sql.getOffset());
             try (TraceStage parseSql = traceWatch.start(SqlExecuteStages.PARSE_SQL)) {
-                target.initAst(AbstractSyntaxTreeFactories.getAstFactory(session.getDialectType(), 0));
+                target.initAst(ConnectionSessionUtil.getAstFactory(session));
             } catch (IOException e) {
                 throw new IllegalStateException(e);
             }
@@ -574,27 +704,26 @@ public class ConnectConsoleService {
     private SqlExecuteResult generateResult(@NonNull ConnectionSession connectionSession,
             @NonNull JdbcGeneralResult generalResult, @NonNull Map<String, Object> cxt) {
         SqlExecuteResult result = new SqlExecuteResult(generalResult);
-        TraceWatch watch = generalResult.getSqlTuple().getSqlWatch();
         OdcTable resultTable = null;
         DBSchemaAccessor schemaAccessor = DBSchemaAccessors.create(connectionSession);
-        try (TraceStage s = watch.start(SqlExecuteStages.INIT_SQL_TYPE)) {
+        try (TraceStage s = startStage(result, SqlExecuteStages.INIT_SQL_TYPE)) {
             result.initSqlType(connectionSession.getDialectType());
         } catch (Exception e) {
             log.warn("Failed to init sql type", e);
         }
-        try (TraceStage s = watch.start(SqlExecuteStages.INIT_EDITABLE_INFO)) {
+        try (TraceStage s = startStage(result, SqlExecuteStages.INIT_EDITABLE_INFO)) {
             resultTable = result.initEditableInfo();
         } catch (Exception e) {
             log.warn("Failed to init editable info", e);
         }
         if (Boolean.TRUE.equals(cxt.get(SHOW_TABLE_COLUMN_INFO))) {
-            try (TraceStage s = watch.start(SqlExecuteStages.INIT_COLUMN_INFO)) {
+            try (TraceStage s = startStage(result, SqlExecuteStages.INIT_COLUMN_INFO)) {
                 result.initColumnInfo(connectionSession, resultTable, schemaAccessor);
             } catch (Exception e) {
                 log.warn("Failed to init column comment, reason={}", ExceptionUtils.getSimpleReason(e));
             }
         }
-        try (TraceStage s = watch.start(SqlExecuteStages.INIT_WARNING_MESSAGE)) {
+        try (TraceStage s = startStage(result, SqlExecuteStages.INIT_WARNING_MESSAGE)) {
             result.initWarningMessage(connectionSession);
         } catch (Exception e) {
             log.warn("Failed to init warning message", e);
@@ -610,6 +739,15 @@ public class ConnectConsoleService {
         return result;
     }
 
+    /**
+     * chunks of a streamed result set share the {@link TraceWatch} of the statement which is still
+     * being executed, only the final result is traced. A {@code null} stage is skipped by
+     * try-with-resources.
+     */
+    private TraceStage startStage(SqlExecuteResult result, String stage) {
+        return result.isPartial() ? null : result.getSqlTuple().getSqlWatch().start(stage);
+    }
+
     private Integer checkQueryLimit(Integer queryLimit) {
         if (Objects.isNull(queryLimit)) {
             queryLimit = (int) sessionProperties.getResultSetDefaultRows();
@@ -138,6 +138,13 @@ public class OdcStatementCallBack implements StatementCallback<List<JdbcGeneralR
     private Integer dbmsoutputMaxRows = null;
     @Setter
     private Locale locale;
+    /**
+     * Rows of a result set will be published to the {@link AsyncExecuteContext} every
+     * {@code streamingChunkSize} rows while the result set is still being read. Value {@code <= 0}
+     * means streaming is disabled and a result set will be published after it is fully read.
+     */
+    @Setter
+    private int streamingChunkSize = 0;
 
     public OdcStatementCallBack(@NonNull List<SqlTuple> sqls, @NonNull ConnectionSession connectionSession,
             Boolean autoCommit, Integer queryLimit) {
@@ -292,11 +299,20 @@ public class OdcStatementCallBack implements StatementCallback<List<JdbcGeneralR
                     ResultSetVirtualTable virtualTable = new ResultSetVirtualTable(copiedTuple.getSqlId(),
                             maxCachedLines, maxCachedSize, cachePredicate);
                     long line = 0;
+                    int chunkIndex = 0;
+                    int chunkLines = 0;
                     while (resultSet.next()) {
                         jdbcQueryResult.addLine(resultSet);
                         virtualTable.addLine((line++), resultSet,
                                 new ResultSetCachedElementFactory(resultSet, binaryDataManager));
+                        if (isStreamingEnabled() && ++chunkLines >= streamingChunkSize) {
+                            onResultSetChunk(copiedTuple, jdbcQueryResult, existWarnings, chunkIndex++);
+                            jdbcQueryResult = jdbcQueryResult.newChunk();
+                            executeResult.setQueryResult(jdbcQueryResult);
+                            chunkLines = 0;
+                        }
                     }
+                    executeResult.setChunkIndex(chunkIndex);
                     if (virtualTable.count() != 0) {
                         ConnectionSessionUtil.setQueryCache(connectionSession, virtualTable);
                     }
@@ -337,6 +353,19 @@ public class OdcStatementCallBack implements StatementCallback<List<JdbcGeneralR
         return executeResults;
     }
 
+    private boolean isStreamingEnabled() {
+        return this.context != null && this.streamingChunkSize > 0;
+    }
+
+    private void onResultSetChunk(SqlTuple sqlTuple, JdbcQueryResult chunk, boolean existWarnings, int chunkIndex) {
+        JdbcGeneralResult chunkResult = JdbcGeneralResult.successResult(sqlTuple.chunkCopy());
+        chunkResult.setExistWarnings(existWarnings);
+        chunkResult.setQueryResult(chunk);
+        chunkResult.setPartial(true);
+        chunkResult.setChunkIndex(chunkIndex);
+        this.context.addSqlExecutionResults(Collections.singletonList(chunkResult));
+    }
+
     protected List<JdbcGeneralResult> doExecuteSql(Statement statement, SqlTuple sqlTuple, CountDownLatch latch) {
         try {
             String sql = sqlTuple.getExecutedSql();
@@ -38,6 +38,12 @@ public class SessionProperties {
     @Value("${odc.session.sql-execute.result-set.max-cached-size:1073741824}")
     private long resultSetMaxCachedSize = 1024 * 1024 * 1024L;
 
+    /**
+     * 流式返回结果集时每个分片的行数，默认 500 行
+     */
+    @Value("${odc.session.sql-execute.result-set.streaming-chunk-size:500}")
+    private int resultSetStreamingChunkSize = 500;
+
     /**
      * 查询结果集最大行数，默认 100000
      */
@@ -46,6 +46,7 @@ import com.oceanbase.odc.service.connection.util.ConnectionInfoUtil;
 import com.oceanbase.odc.service.datasecurity.accessor.DatasourceColumnAccessor;
 import com.oceanbase.odc.service.monitor.datasource.GetConnectionFailedEventListener;
 import com.oceanbase.odc.service.plugin.ConnectionPluginUtil;
+import com.oceanbase.odc.service.session.initializer.RestoreConnectSchemaInitializer;
 import com.oceanbase.odc.service.session.initializer.SwitchSchemaInitializer;
 
 import lombok.NonNull;
@@ -133,7 +134,8 @@ public class DefaultConnectSessionFactory implements ConnectionSessionFactory {
     }
 
     private void registerBackendDataSource(ConnectionSession session) {
-        DruidDataSourceFactory dataSourceFactory = new DruidDataSourceFactory(connectionConfig);
+        SharedDataSourceFactory dataSourceFactory = new SharedDataSourceFactory(connectionConfig);
+        dataSourceFactory.setHandOverInitializer(new RestoreConnectSchemaInitializer(session));
         ProxyDataSourceFactory proxyFactory = new ProxyDataSourceFactory(dataSourceFactory);
         session.register(ConnectionSessionConstants.BACKEND_DS_KEY, proxyFactory);
         proxyFactory.setInitializer(new SwitchSchemaInitializer(session));
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.session.factory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+import javax.sql.DataSource;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.oceanbase.odc.core.datasource.CloneableDataSourceFactory;
+import com.oceanbase.odc.core.datasource.ConnectionInitializer;
+import com.oceanbase.odc.service.connection.model.ConnectionConfig;
+import com.oceanbase.odc.service.connection.util.ConnectionMapper;
+
+import lombok.Setter;
+
+/**
+ * {@link SharedDataSourceFactory} used to lease a {@link DruidDataSource} shared by all the
+ * sessions of a datasource from {@link SharedDataSourcePool}, instead of creating a pool for each
+ * session
+ *
+ * @author agent
+ * @date 2026-10-17 13:50
+ * @since ODC_release_4.3.2
+ * @see DruidDataSourceFactory
+ */
+public class SharedDataSourceFactory extends DruidDataSourceFactory {
+
+    /**
+     * the password is a part of the pool key only to tell configurations apart, it is hashed with a
+     * random key of this process so that the pool never keeps it in plain text
+     */
+    private static final HashFunction PASSWORD_HASH = Hashing.hmacSha256(randomKey());
+
+    @Setter
+    private ConnectionInitializer handOverInitializer;
+
+    public SharedDataSourceFactory(ConnectionConfig connectionConfig) {
+        super(connectionConfig);
+    }
+
+    @Override
+    public DataSource getDataSource() {
+        // everything which makes a physical connection different should be a part of the key
+        String password = getPassword();
+        Object key = Arrays.asList(connectionConfig.getId(), getJdbcUrl(), getUsername(),
+                password == null ? null : PASSWORD_HASH.hashString(password, StandardCharsets.UTF_8).toString(),
+                this.userRole, connectionExtensionPoint.getDriverClassName(), connectionConfig.getSessionInitScript(),
+                connectionConfig.getInstanceRoleType());
+        SharedDataSourceLease lease = SharedDataSourcePool.getInstance().lease(key, () -> {
+            DruidDataSource dataSource = (DruidDataSource) super.getDataSource();
+            dataSource.setInitialSize(1);
+            return dataSource;
+        });
+        lease.setHandOverInitializer(this.handOverInitializer);
+        lease.setDialectType(connectionConfig.getDialectType());
+        return lease;
+    }
+
+    private static byte[] randomKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+
+    /**
+     * the copy may be modified by the caller, so that it owns a pool
+     */
+    @Override
+    public CloneableDataSourceFactory deepCopy() {
+        ConnectionMapper mapper = ConnectionMapper.INSTANCE;
+        return new DruidDataSourceFactory(mapper.clone(connectionConfig));
+    }
+
+}
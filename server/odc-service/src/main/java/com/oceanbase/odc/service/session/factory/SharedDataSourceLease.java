@@ -0,0 +1,396 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.session.factory;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import com.alibaba.druid.pool.DruidPooledConnection;
+import com.oceanbase.odc.core.datasource.ConnectionInitializer;
+import com.oceanbase.odc.core.shared.constant.DialectType;
+import com.oceanbase.odc.core.sql.split.OffsetString;
+import com.oceanbase.odc.core.sql.split.SqlCommentProcessor;
+import com.oceanbase.tools.dbbrowser.model.DBObjectType;
+import com.oceanbase.tools.dbbrowser.parser.ParserUtil;
+import com.oceanbase.tools.dbbrowser.parser.result.BasicResult;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link SharedDataSourceLease}, a session's view of a {@link SharedDataSourcePool}. A connection
+ * got from the lease goes back to the shared pool once it is closed, unless a transaction is open
+ * on it or it is stateful. In that case the connection is pinned to the lease and is handed out
+ * again by the lease, until the transaction ends or the lease is closed. A connection becomes
+ * stateful once a temporary table is created or a session variable is changed on it, it is never
+ * shared again and is discarded when it is given up by the lease, so that no session state leaks to
+ * another session. Switching the schema does not make a connection stateful, the schema is restored
+ * by the initializers on every borrow. Statements are classified by the sql parser after the
+ * comments are removed, and the ones which can not be told apart, such as pl blocks, calls and
+ * dynamic sqls, are taken as stateful.
+ *
+ * @author agent
+ * @date 2026-10-17 13:35
+ * @since ODC_release_4.3.2
+ * @see SharedDataSourcePool
+ */
+@Slf4j
+public class SharedDataSourceLease implements DataSource, AutoCloseable {
+
+    private static final Pattern CREATE_TEMPORARY_TABLE =
+            Pattern.compile("^\\s*create\\s+(global\\s+|local\\s+|private\\s+)?temp(orary)?\\s+table\\s",
+                    Pattern.CASE_INSENSITIVE);
+    /**
+     * leading keywords of the statements which never change the session state, they are not parsed
+     */
+    private static final Set<String> STATELESS_KEYWORDS = new HashSet<>(Arrays.asList("select", "insert", "update",
+            "delete", "replace", "merge", "with", "show", "desc", "describe", "explain", "commit", "rollback",
+            "truncate", "drop", "grant", "revoke", "comment", "rename", "use"));
+    private static final Pattern SWITCH_SCHEMA = Pattern.compile(
+            "^\\s*(alter\\s+session\\s+set\\s+current_schema\\s*=|set\\s+search_path\\s*(=|to\\s))",
+            Pattern.CASE_INSENSITIVE);
+    private final SharedDataSourcePool pool;
+    @Setter
+    private DialectType dialectType;
+    @Getter(AccessLevel.PACKAGE)
+    private final SharedDataSourcePool.Entry entry;
+    /**
+     * used to restore the session state of a connection which was used by another lease last time
+     */
+    @Setter
+    private ConnectionInitializer handOverInitializer;
+    private final Set<Connection> pinnedConnections = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Connection> statefulConnections = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Deque<Connection> idlePinnedConnections = new ArrayDeque<>();
+    private boolean closed = false;
+
+    SharedDataSourceLease(@NonNull SharedDataSourcePool pool, @NonNull SharedDataSourcePool.Entry entry) {
+        this.pool = pool;
+        this.entry = entry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        synchronized (this) {
+            if (this.closed) {
+                throw new SQLException("Lease of the shared datasource is closed");
+            }
+            Connection pinned = this.idlePinnedConnections.poll();
+            if (pinned != null) {
+                return lend(pinned);
+            }
+        }
+        long begin = System.nanoTime();
+        DruidPooledConnection connection = this.entry.dataSource.getConnection();
+        this.pool.onBorrowed(System.nanoTime() - begin);
+        try {
+            if (this.entry.handOver(connection.getConnection(), this) && this.handOverInitializer != null) {
+                this.handOverInitializer.init(connection);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to restore the state of a shared connection, discard it", e);
+            discard(connection);
+            throw new SQLException(e);
+        }
+        return lend(connection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Shared datasource does not support other users");
+    }
+
+    @Override
+    public void close() {
+        Set<Connection> toBeReturned = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Connection> toBeDiscarded = Collections.newSetFromMap(new IdentityHashMap<>());
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            for (Connection connection : this.idlePinnedConnections) {
+                (this.statefulConnections.remove(connection) ? toBeDiscarded : toBeReturned).add(connection);
+                this.pinnedConnections.remove(connection);
+            }
+            this.idlePinnedConnections.clear();
+        }
+        toBeReturned.forEach(this::giveBack);
+        toBeDiscarded.forEach(this::discard);
+        this.pool.release(this);
+    }
+
+    synchronized int getPinnedConnectionCount() {
+        return this.pinnedConnections.size();
+    }
+
+    private Connection lend(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class[] {Connection.class}, new LentConnectionHandler(connection));
+    }
+
+    private void onReturned(Connection connection) {
+        boolean inTransaction;
+        try {
+            inTransaction = !connection.getAutoCommit();
+        } catch (SQLException e) {
+            inTransaction = false;
+        }
+        boolean stateful;
+        synchronized (this) {
+            stateful = this.statefulConnections.contains(connection);
+            if ((stateful || inTransaction) && !this.closed) {
+                this.pinnedConnections.add(connection);
+                this.idlePinnedConnections.push(connection);
+                return;
+            }
+            this.pinnedConnections.remove(connection);
+            this.statefulConnections.remove(connection);
+        }
+        if (stateful) {
+            discard(connection);
+        } else {
+            giveBack(connection);
+        }
+    }
+
+    private synchronized void onStateChanged(Connection connection) {
+        this.statefulConnections.add(connection);
+    }
+
+    private void giveBack(Connection connection) {
+        try {
+            connection.close();
+        } catch (Exception e) {
+            log.warn("Failed to give the connection back to the shared pool", e);
+        }
+    }
+
+    /**
+     * Close the physical connection and drop it from the pool instead of recycling it
+     */
+    private void discard(Connection connection) {
+        DruidPooledConnection pooled = (DruidPooledConnection) connection;
+        try {
+            this.entry.dataSource.discardConnection(pooled.getConnectionHolder());
+        } catch (Exception e) {
+            log.warn("Failed to discard a stateful shared connection", e);
+        } finally {
+            // a disabled pooled connection is never given back to the pool
+            pooled.disable();
+        }
+    }
+
+    private void inspect(Connection connection, Object sql) {
+        if (!(sql instanceof String)) {
+            return;
+        }
+        for (OffsetString statement : SqlCommentProcessor.removeSqlComments((String) sql, ";", dialectType, false)) {
+            if (isStateful(statement.getStr().trim())) {
+                onStateChanged(connection);
+                return;
+            }
+        }
+    }
+
+    private boolean isStateful(String statement) {
+        if (statement.isEmpty() || SWITCH_SCHEMA.matcher(statement).find()) {
+            return false;
+        }
+        int end = 0;
+        while (end < statement.length() && Character.isLetter(statement.charAt(end))) {
+            end++;
+        }
+        if (STATELESS_KEYWORDS.contains(statement.substring(0, end).toLowerCase(Locale.ROOT))) {
+            return false;
+        }
+        if (CREATE_TEMPORARY_TABLE.matcher(statement).find()) {
+            return true;
+        }
+        BasicResult result = dialectType != null && dialectType.isOracle() ? ParserUtil.parseOracleType(statement)
+                : ParserUtil.parseMysqlType(statement);
+        switch (result.getSqlType()) {
+            case SELECT:
+            case DELETE:
+            case INSERT:
+            case REPLACE:
+            case UPDATE:
+            case USE_DB:
+            case EXPLAIN:
+            case SHOW:
+            case HELP:
+            case DESC:
+            case SORT:
+            case COMMIT:
+            case ROLLBACK:
+            case DROP:
+            case TRUNCATE:
+                return false;
+            case CREATE:
+                // an anonymous block may run any statement
+                return result.getDbObjectType() == DBObjectType.ANONYMOUS_BLOCK;
+            case ALTER:
+                // alter session or alter system, schema objects are not a part of the session state
+                return result.getDbObjectType() == null || result.getDbObjectType() == DBObjectType.OTHERS;
+            default:
+                // set statements, pl blocks, calls, dynamic sqls and the statements which the parser does not know
+                return true;
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * the shared pool is never handed out, so that a session can not close or reconfigure it
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        throw new SQLException("Shared datasource can not be unwrapped as " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return this.entry.dataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Shared datasource can not be modified");
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Shared datasource can not be modified");
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return this.entry.dataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return this.entry.dataSource.getParentLogger();
+    }
+
+    /**
+     * Gives the connection back to the lease on close and watches the sqls which make the connection
+     * stateful
+     */
+    private class LentConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+        private volatile boolean returned = false;
+
+        private LentConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Lent connection of " + this.target;
+                case "isClosed":
+                    return this.returned || this.target.isClosed();
+                case "close":
+                    if (!this.returned) {
+                        this.returned = true;
+                        onReturned(this.target);
+                    }
+                    return null;
+                default:
+                    break;
+            }
+            if (this.returned) {
+                throw new SQLException("Connection is closed");
+            }
+            if ("prepareStatement".equals(method.getName()) || "prepareCall".equals(method.getName())) {
+                inspect(this.target, args[0]);
+            }
+            Object result = SharedDataSourceLease.invoke(this.target, method, args);
+            if (result instanceof Statement && !(result instanceof PreparedStatement)) {
+                return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class[] {Statement.class},
+                        new StatementHandler(this.target, (Statement) result));
+            }
+            return result;
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Connection connection;
+        private final Statement target;
+
+        private StatementHandler(Connection connection, Statement target) {
+            this.connection = connection;
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().startsWith("execute") || "addBatch".equals(method.getName())) {
+                if (args != null && args.length > 0) {
+                    inspect(this.connection, args[0]);
+                }
+            }
+            return SharedDataSourceLease.invoke(this.target, method, args);
+        }
+    }
+
+}
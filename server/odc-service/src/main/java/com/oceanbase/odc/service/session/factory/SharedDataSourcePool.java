@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.session.factory;
+
+import java.sql.Connection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.alibaba.druid.pool.DruidDataSource;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link SharedDataSourcePool}, keeps one {@link DruidDataSource} for all the sessions which
+ * connect to the same datasource with the same configuration. Sessions borrow physical connections
+ * from the pool through {@link SharedDataSourceLease}s instead of owning a pool each, the pool is
+ * closed when the last lease is released. The max active count of a pool grows with the number of
+ * leases and is limited by {@link #MAX_ACTIVE}.
+ *
+ * @author agent
+ * @date 2026-10-17 13:20
+ * @since ODC_release_4.3.2
+ * @see SharedDataSourceLease
+ */
+@Slf4j
+public class SharedDataSourcePool {
+
+    private static final int MIN_ACTIVE = 5;
+    private static final int MAX_ACTIVE = 32;
+    private static final SharedDataSourcePool INSTANCE = new SharedDataSourcePool();
+    private final Map<Object, Entry> key2Entry = new HashMap<>();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong borrowWaitNanos = new AtomicLong();
+
+    public static SharedDataSourcePool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Lease the pool of the key, the pool is created by the creator if there is no one
+     *
+     * @param key identity of the configuration of the pool
+     * @param creator used to create a new pool
+     */
+    public synchronized SharedDataSourceLease lease(@NonNull Object key, @NonNull Supplier<DruidDataSource> creator) {
+        Entry entry = key2Entry.computeIfAbsent(key, k -> new Entry(k, creator.get()));
+        SharedDataSourceLease lease = new SharedDataSourceLease(this, entry);
+        entry.leases.add(lease);
+        entry.resize();
+        return lease;
+    }
+
+    synchronized void release(@NonNull SharedDataSourceLease lease) {
+        Entry entry = lease.getEntry();
+        if (!entry.leases.remove(lease)) {
+            return;
+        }
+        if (!entry.leases.isEmpty()) {
+            entry.resize();
+            return;
+        }
+        key2Entry.remove(entry.key, entry);
+        try {
+            entry.dataSource.close();
+        } catch (Exception e) {
+            log.warn("Failed to close shared datasource", e);
+        }
+    }
+
+    void onBorrowed(long waitNanos) {
+        borrowCount.incrementAndGet();
+        borrowWaitNanos.addAndGet(waitNanos);
+    }
+
+    public synchronized int getPoolCount() {
+        return key2Entry.size();
+    }
+
+    public synchronized int getLeaseCount() {
+        return key2Entry.values().stream().mapToInt(e -> e.leases.size()).sum();
+    }
+
+    public synchronized int getMaxActiveCount() {
+        return key2Entry.values().stream().mapToInt(e -> e.dataSource.getMaxActive()).sum();
+    }
+
+    public synchronized int getActiveConnectionCount() {
+        return key2Entry.values().stream().mapToInt(e -> e.dataSource.getActiveCount()).sum();
+    }
+
+    public synchronized int getPoolingConnectionCount() {
+        return key2Entry.values().stream().mapToInt(e -> e.dataSource.getPoolingCount()).sum();
+    }
+
+    public synchronized int getPinnedConnectionCount() {
+        return key2Entry.values().stream().flatMap(e -> e.leases.stream())
+                .mapToInt(SharedDataSourceLease::getPinnedConnectionCount).sum();
+    }
+
+    /**
+     * Ratio of the active connections which are pinned to a session
+     */
+    public synchronized double getPinRatio() {
+        int active = getActiveConnectionCount();
+        return active == 0 ? 0 : (double) getPinnedConnectionCount() / active;
+    }
+
+    public long getBorrowCount() {
+        return borrowCount.get();
+    }
+
+    public long getBorrowWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(borrowWaitNanos.get());
+    }
+
+    static class Entry {
+
+        private final Object key;
+        final DruidDataSource dataSource;
+        private final Set<SharedDataSourceLease> leases = ConcurrentHashMap.newKeySet();
+        /**
+         * the lease used a physical connection last time
+         */
+        private final Map<Connection, SharedDataSourceLease> connection2Owner =
+                Collections.synchronizedMap(new WeakHashMap<>());
+
+        private Entry(Object key, DruidDataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+
+        /**
+         * Mark the lease as the owner of the physical connection
+         *
+         * @return {@code true} if the connection was used by another lease last time
+         */
+        boolean handOver(@NonNull Connection physicalConnection, @NonNull SharedDataSourceLease lease) {
+            SharedDataSourceLease previous = connection2Owner.put(physicalConnection, lease);
+            return previous != null && previous != lease;
+        }
+
+        private void resize() {
+            dataSource.setMaxActive(Math.min(MAX_ACTIVE, Math.max(MIN_ACTIVE, leases.size())));
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.session.initializer;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.oceanbase.odc.core.datasource.ConnectionInitializer;
+import com.oceanbase.odc.core.session.ConnectionSession;
+import com.oceanbase.odc.core.session.ConnectionSessionUtil;
+import com.oceanbase.odc.service.plugin.ConnectionPluginUtil;
+import com.oceanbase.odc.service.session.factory.SharedDataSourceLease;
+
+import lombok.NonNull;
+
+/**
+ * {@link RestoreConnectSchemaInitializer} used to restore the connect schema of a connection which
+ * was used by another session last time. {@link SwitchSchemaInitializer} does nothing when the
+ * current schema is the connect schema, which is not true any more for a connection from a
+ * {@link SharedDataSourceLease}. The schema is the only session state to restore, a connection on
+ * which any other session state is changed is never handed over to another session.
+ *
+ * @author agent
+ * @date 2026-10-17 13:10
+ * @since ODC_release_4.3.2
+ * @see SwitchSchemaInitializer
+ */
+public class RestoreConnectSchemaInitializer implements ConnectionInitializer {
+
+    private final ConnectionSession connectionSession;
+
+    public RestoreConnectSchemaInitializer(@NonNull ConnectionSession connectionSession) {
+        this.connectionSession = connectionSession;
+    }
+
+    @Override
+    public void init(Connection connection) throws SQLException {
+        if (this.connectionSession.isExpired()) {
+            return;
+        }
+        String currentSchema = ConnectionSessionUtil.getCurrentSchema(this.connectionSession);
+        String connectSchema = ConnectionSessionUtil.getConnectSchema(this.connectionSession);
+        // schema will be switched by SwitchSchemaInitializer if the current schema is not the connect one
+        if (connection == null || connectSchema == null
+                || (currentSchema != null && !StringUtils.equals(connectSchema, currentSchema))) {
+            return;
+        }
+        ConnectionPluginUtil.getSessionExtension(connectionSession.getDialectType())
+                .switchSchema(connection, connectSchema);
+    }
+
+}
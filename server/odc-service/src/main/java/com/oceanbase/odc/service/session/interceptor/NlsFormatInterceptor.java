@@ -32,7 +32,6 @@ import com.oceanbase.odc.core.sql.execute.SqlExecuteStages;
 import com.oceanbase.odc.core.sql.execute.model.SqlExecuteStatus;
 import com.oceanbase.odc.core.sql.execute.model.SqlTuple;
 import com.oceanbase.odc.core.sql.parser.AbstractSyntaxTree;
-import com.oceanbase.odc.core.sql.parser.AbstractSyntaxTreeFactories;
 import com.oceanbase.odc.core.sql.split.OffsetString;
 import com.oceanbase.odc.core.sql.split.SqlCommentProcessor;
 import com.oceanbase.odc.service.session.model.AsyncExecuteContext;
@@ -98,8 +97,7 @@ public class NlsFormatInterceptor extends BaseTimeConsumingInterceptor {
     }
 
     public static void setNlsFormat(@NonNull ConnectionSession session, @NonNull SqlTuple sqlTuple) {
-        DialectType dialectType = session.getDialectType();
-        getVariableAssigns(sqlTuple, dialectType).stream().filter(VariableAssign::isSession).forEach(v -> {
+        getVariableAssigns(sqlTuple, session).stream().filter(VariableAssign::isSession).forEach(v -> {
             String value = getNlsFormatValue(v.getValue());
             if (value == null) {
                 return;
@@ -140,11 +138,11 @@ public class NlsFormatInterceptor extends BaseTimeConsumingInterceptor {
         return StringUtils.unwrap(e.getExprConst(), "'");
     }
 
-    private static List<VariableAssign> getVariableAssigns(SqlTuple sqlTuple, DialectType dialect) {
+    private static List<VariableAssign> getVariableAssigns(SqlTuple sqlTuple, ConnectionSession session) {
         try {
             AbstractSyntaxTree ast = sqlTuple.getAst();
             if (ast == null) {
-                sqlTuple.initAst(AbstractSyntaxTreeFactories.getAstFactory(dialect, 0));
+                sqlTuple.initAst(ConnectionSessionUtil.getAstFactory(session));
                 ast = sqlTuple.getAst();
             }
             ParseTree parseTree = ast.getRoot();
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.session.interceptor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.oceanbase.odc.core.session.ConnectionSession;
+import com.oceanbase.odc.core.sql.execute.model.SqlExecuteStatus;
+import com.oceanbase.odc.service.session.SessionProperties;
+import com.oceanbase.odc.service.session.model.AsyncExecuteContext;
+import com.oceanbase.odc.service.session.model.SqlExecuteResult;
+import com.oceanbase.odc.service.session.util.ResultRowsCacheUtil;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link ResultRowsCacheInterceptor}, caches the rows of the query results in the session, so that
+ * they can be sorted, filtered and paged without re-executing the query. It runs after
+ * {@code DataMaskingInterceptor} so that only the masked rows are cached.
+ *
+ * @author agent
+ * @date 2026-10-17 22:05
+ * @since ODC_release_4.3.2
+ */
+@Slf4j
+@Component
+public class ResultRowsCacheInterceptor implements SqlExecuteInterceptor {
+
+    @Autowired
+    private SessionProperties sessionProperties;
+
+    @Override
+    public void afterCompletion(@NonNull SqlExecuteResult response, @NonNull ConnectionSession session,
+            @NonNull AsyncExecuteContext context) throws Exception {
+        if (response.getStatus() != SqlExecuteStatus.SUCCESS) {
+            return;
+        }
+        try {
+            ResultRowsCacheUtil.cache(session, response, sessionProperties.getResultSetMaxCachedLines());
+        } catch (Exception e) {
+            log.warn("Failed to cache the rows of the result set, sqlId={}", response.getSqlId(), e);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return 7;
+    }
+
+}
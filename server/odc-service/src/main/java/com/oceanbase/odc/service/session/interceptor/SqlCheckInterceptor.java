@@ -102,7 +102,7 @@ public class SqlCheckInterceptor extends BaseTimeConsumingInterceptor {
         if (CollectionUtils.isEmpty(sqlCheckRules)) {
             return true;
         }
-        DefaultSqlChecker sqlChecker = new DefaultSqlChecker(session.getDialectType(), null, sqlCheckRules);
+        DefaultSqlChecker sqlChecker = new DefaultSqlChecker(session, null, sqlCheckRules);
         try {
             Map<Integer, List<CheckViolation>> offset2Violations = new HashMap<>();
             SqlCheckContext checkContext = new SqlCheckContext((long) response.getSqls().size());
@@ -29,13 +29,11 @@ import org.springframework.stereotype.Component;
 
 import com.oceanbase.odc.core.session.ConnectionSession;
 import com.oceanbase.odc.core.session.ConnectionSessionUtil;
-import com.oceanbase.odc.core.shared.constant.DialectType;
 import com.oceanbase.odc.core.shared.constant.OrganizationType;
 import com.oceanbase.odc.core.sql.execute.SqlExecuteStages;
 import com.oceanbase.odc.core.sql.execute.model.SqlExecuteStatus;
 import com.oceanbase.odc.core.sql.execute.model.SqlTuple;
 import com.oceanbase.odc.core.sql.parser.AbstractSyntaxTree;
-import com.oceanbase.odc.core.sql.parser.AbstractSyntaxTreeFactories;
 import com.oceanbase.odc.service.iam.auth.AuthenticationFacade;
 import com.oceanbase.odc.service.regulation.ruleset.RuleService;
 import com.oceanbase.odc.service.regulation.ruleset.SqlConsoleRuleService;
@@ -128,7 +126,7 @@ public class SqlConsoleInterceptor extends BaseTimeConsumingInterceptor {
         }
         Map<String, BasicResult> sqlId2BasicResult = new HashMap<>();
         sqlTuples.forEach(sql -> sqlId2BasicResult.putIfAbsent(
-                sql.getSqlId(), determineSqlType(sql, session.getDialectType())));
+                sql.getSqlId(), determineSqlType(sql, session)));
 
         boolean forbiddenToCreatePl =
                 sqlConsoleRuleService.isForbidden(SqlConsoleRules.NOT_ALLOWED_CREATE_PL, session);
@@ -226,12 +224,12 @@ public class SqlConsoleInterceptor extends BaseTimeConsumingInterceptor {
         return authenticationFacade.currentUser().getOrganizationType() == OrganizationType.INDIVIDUAL;
     }
 
-    private BasicResult determineSqlType(@NonNull SqlTuple sqlTuple, @NonNull DialectType dialectType) {
+    private BasicResult determineSqlType(@NonNull SqlTuple sqlTuple, @NonNull ConnectionSession session) {
         BasicResult basicResult;
         try {
             AbstractSyntaxTree ast = sqlTuple.getAst();
             if (ast == null) {
-                sqlTuple.initAst(AbstractSyntaxTreeFactories.getAstFactory(dialectType, 0));
+                sqlTuple.initAst(ConnectionSessionUtil.getAstFactory(session));
                 ast = sqlTuple.getAst();
             }
             basicResult = ast.getParseResult();
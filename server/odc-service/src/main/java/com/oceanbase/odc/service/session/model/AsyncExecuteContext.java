@@ -37,8 +37,18 @@ import lombok.extern.slf4j.Slf4j;
 @Setter
 @Slf4j
 public class AsyncExecuteContext {
+    /**
+     * the finish of {@link #future} can not be notified, a waiting reader checks it at this interval
+     */
+    private static final long FINISH_CHECK_INTERVAL_MILLIS = 50;
+
     private final List<SqlTuple> sqlTuples;
     private final Queue<JdbcGeneralResult> results = new ConcurrentLinkedQueue<>();
+    /**
+     * results which have been fetched but failed to reach the client, eg. the pushing stream is broken,
+     * they are returned before any new result by the next fetching
+     */
+    private final Queue<SqlExecuteResult> unsentResults = new ConcurrentLinkedQueue<>();
     private final Map<String, Object> contextMap;
 
     private Future<List<JdbcGeneralResult>> future;
@@ -75,7 +85,17 @@ public class AsyncExecuteContext {
         List<JdbcGeneralResult> copiedResults = new ArrayList<>();
 
         long expect = System.currentTimeMillis() + timeoutMillis;
-        while (!isFinished() && System.currentTimeMillis() <= expect && results.isEmpty()) {
+        synchronized (results) {
+            long waitMillis;
+            while (!isFinished() && results.isEmpty()
+                    && (waitMillis = expect - System.currentTimeMillis()) > 0) {
+                try {
+                    results.wait(Math.min(waitMillis, FINISH_CHECK_INTERVAL_MILLIS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
         }
         while (!results.isEmpty()) {
             copiedResults.add(results.poll());
@@ -83,8 +103,23 @@ public class AsyncExecuteContext {
         return copiedResults;
     }
 
+    public void addUnsentResults(List<SqlExecuteResult> results) {
+        this.unsentResults.addAll(results);
+    }
+
+    public List<SqlExecuteResult> pollUnsentResults() {
+        List<SqlExecuteResult> polled = new ArrayList<>();
+        while (!unsentResults.isEmpty()) {
+            polled.add(unsentResults.poll());
+        }
+        return polled;
+    }
+
     public void addSqlExecutionResults(List<JdbcGeneralResult> results) {
         this.results.addAll(results);
+        synchronized (this.results) {
+            this.results.notifyAll();
+        }
     }
 
 }
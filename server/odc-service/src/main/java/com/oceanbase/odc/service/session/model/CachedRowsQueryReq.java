@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.session.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+import lombok.Data;
+
+/**
+ * {@link CachedRowsQueryReq}, sorts, filters and pages the rows of a query result cached in the
+ * session, the columns are referred by their indexes in the result set
+ *
+ * @author agent
+ * @date 2026-10-17 21:40
+ * @since ODC_release_4.3.2
+ */
+@Data
+public class CachedRowsQueryReq {
+
+    /**
+     * Index of the column to be sorted by, {@code null} means the rows are returned in the order of the
+     * result set
+     */
+    private Integer orderByColumn;
+    private boolean descending = false;
+    @Valid
+    private List<Filter> filters = new ArrayList<>();
+    @Min(0)
+    private int offset = 0;
+    @Min(1)
+    @Max(10000)
+    private int limit = 200;
+
+    @Data
+    public static class Filter {
+        @NotNull
+        private Integer column;
+        @NotNull
+        private Operator operator;
+        /**
+         * Not used by {@link Operator#IS_NULL} and {@link Operator#IS_NOT_NULL}, {@code %} and {@code _}
+         * are wildcards of {@link Operator#LIKE}
+         */
+        private String value;
+    }
+
+    public enum Operator {
+        EQUALS,
+        NOT_EQUALS,
+        GREATER_THAN,
+        GREATER_THAN_OR_EQUALS,
+        LESS_THAN,
+        LESS_THAN_OR_EQUALS,
+        LIKE,
+        IS_NULL,
+        IS_NOT_NULL
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.session.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * {@link CachedRowsQueryResp}, a page of the rows of a cached query result
+ *
+ * @author agent
+ * @date 2026-10-17 21:40
+ * @since ODC_release_4.3.2
+ */
+@Data
+public class CachedRowsQueryResp {
+
+    /**
+     * Count of the rows which match the filters
+     */
+    private long total;
+    private int offset;
+    private List<List<Object>> rows = new ArrayList<>();
+    /**
+     * Indexes of the returned rows in the result set, which are used to locate the binary contents
+     */
+    private List<Long> rowIds = new ArrayList<>();
+
+}
@@ -40,6 +40,11 @@ public class SqlAsyncExecuteReq {
     private Boolean showTableColumnInfo;
     private Boolean fullLinkTraceEnabled;
     private Boolean continueExecutionOnError;
+    /**
+     * if rows of a result set should be returned in chunks while the result set is still being read,
+     * false by default
+     */
+    private Boolean streamingResult;
 
     public boolean ifSplitSqls() {
         if (this.split == null) {
@@ -54,4 +59,8 @@ public class SqlAsyncExecuteReq {
         }
         return this.addROWID;
     }
+
+    public boolean ifStreamingResult() {
+        return Boolean.TRUE.equals(this.streamingResult);
+    }
 }
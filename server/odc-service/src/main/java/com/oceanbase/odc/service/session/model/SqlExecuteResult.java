@@ -108,6 +108,12 @@ public class SqlExecuteResult {
     private boolean withFullLinkTrace = false;
     private String traceEmptyReason;
     private boolean withQueryProfile;
+    /**
+     * {@code true} means that only a chunk of the result set is returned and more chunks of the same
+     * sql will follow, see {@link SqlAsyncExecuteReq#getStreamingResult()}
+     */
+    private boolean partial = false;
+    private int chunkIndex = 0;
     @JsonIgnore
     private SqlTuple sqlTuple;
 
@@ -325,6 +331,10 @@ public class SqlExecuteResult {
     }
 
     public ExecutionTimer getTimer() {
+        if (this.partial) {
+            // the watch is shared with the statement which is still being executed
+            return null;
+        }
         TraceWatch traceWatch = new TraceWatch("Default");
         if (this.sqlTuple != null) {
             traceWatch = this.sqlTuple.getSqlWatch();
@@ -364,6 +374,8 @@ public class SqlExecuteResult {
         this.existWarnings = generalResult.isExistWarnings();
         this.withFullLinkTrace = generalResult.isWithFullLinkTrace();
         this.traceEmptyReason = generalResult.getTraceEmptyReason();
+        this.partial = generalResult.isPartial();
+        this.chunkIndex = generalResult.getChunkIndex();
         if (generalResult.getStatus() == SqlExecuteStatus.CANCELED) {
             this.status = SqlExecuteStatus.CANCELED;
             this.track = ErrorCodes.ObExecuteSqlCanceled.getLocalizedMessage(new Object[] {"Pre-sql execution error"});
@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.session.util;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.oceanbase.odc.core.session.ConnectionSession;
+import com.oceanbase.odc.core.session.ConnectionSessionUtil;
+import com.oceanbase.odc.core.shared.constant.ErrorCodes;
+import com.oceanbase.odc.core.shared.exception.BadArgumentException;
+import com.oceanbase.odc.core.sql.execute.cache.table.CachedResultRows;
+import com.oceanbase.odc.core.sql.execute.cache.table.ColumnarVirtualTable;
+import com.oceanbase.odc.core.sql.execute.cache.table.VirtualColumn;
+import com.oceanbase.odc.core.sql.execute.cache.table.VirtualElement;
+import com.oceanbase.odc.core.sql.execute.cache.table.VirtualLine;
+import com.oceanbase.odc.core.sql.execute.model.JdbcColumnMetaData;
+import com.oceanbase.odc.core.sql.execute.model.TimeFormatResult;
+import com.oceanbase.odc.service.session.model.CachedRowsQueryReq;
+import com.oceanbase.odc.service.session.model.CachedRowsQueryReq.Filter;
+import com.oceanbase.odc.service.session.model.CachedRowsQueryResp;
+import com.oceanbase.odc.service.session.model.SqlExecuteResult;
+
+import lombok.NonNull;
+
+/**
+ * {@link ResultRowsCacheUtil}, caches the rows of the query results shown in the sql console as
+ * {@link CachedResultRows} and sorts, filters and pages them. A {@link ColumnarVirtualTable} is
+ * only built for the rows which are queried. The rows are the ones returned to the client, which
+ * are formatted and masked already.
+ *
+ * @author agent
+ * @date 2026-10-17 21:50
+ * @since ODC_release_4.3.2
+ */
+public class ResultRowsCacheUtil {
+
+    private static final Set<String> NUMERIC_TYPES = new HashSet<>(Arrays.asList("tinyint", "smallint",
+            "mediumint", "int", "integer", "bigint", "decimal", "dec", "numeric", "number", "fixed", "float",
+            "double", "real", "binary_float", "binary_double"));
+    /**
+     * Sort keys of the columns, the instances are kept so that the sorted indexes are reused
+     */
+    private static final Function<Object, SortKey> NUMERIC_SORT_KEY = value -> {
+        BigDecimal number = toNumber(value);
+        return number == null ? new SortKey(null, value.toString()) : new SortKey(number, null);
+    };
+    private static final Function<Object, SortKey> DEFAULT_SORT_KEY = value -> {
+        if (value instanceof TimeFormatResult) {
+            TimeFormatResult time = (TimeFormatResult) value;
+            if (time.getTimestamp() != null && time.getNano() != null) {
+                return new SortKey(BigDecimal.valueOf(Math.floorDiv(time.getTimestamp(), 1000L))
+                        .add(BigDecimal.valueOf(time.getNano(), 9)), null);
+            } else if (time.getTimestamp() != null) {
+                return new SortKey(BigDecimal.valueOf(time.getTimestamp(), 3), null);
+            }
+        } else if (value instanceof Number) {
+            BigDecimal number = toNumber(value);
+            if (number != null) {
+                return new SortKey(number, null);
+            }
+        }
+        return new SortKey(null, value.toString());
+    };
+
+    /**
+     * Cache the rows of a query result, the rows of a result published in several chunks are appended
+     * to the ones of the previous chunks. A result with more than {@code maxCachedLines} rows is not
+     * cached.
+     */
+    public static void cache(@NonNull ConnectionSession session, @NonNull SqlExecuteResult result,
+            int maxCachedLines) {
+        if (result.getResultSetMetaData() == null || result.getRows() == null) {
+            return;
+        }
+        String sqlId = result.getSqlId();
+        CachedResultRows cachedRows = null;
+        if (result.getChunkIndex() > 0) {
+            cachedRows = ConnectionSessionUtil.getResultRowsCache(session, sqlId);
+            if (cachedRows == null) {
+                // rows of the previous chunks are not cached
+                return;
+            }
+        }
+        long offset = cachedRows == null ? 0 : cachedRows.count();
+        List<List<Object>> rows = result.getRows();
+        if (maxCachedLines >= 0 && offset + rows.size() > maxCachedLines) {
+            ConnectionSessionUtil.removeResultRowsCache(session, sqlId);
+            return;
+        }
+        if (cachedRows == null) {
+            List<JdbcColumnMetaData> columns = result.getResultSetMetaData().getFieldMetaDataList();
+            cachedRows = new CachedResultRows(sqlId,
+                    columns.stream().map(ResultRowsCacheUtil::getColumnLabel).collect(Collectors.toList()),
+                    columns.stream().map(ResultRowsCacheUtil::getColumnTypeName).collect(Collectors.toList()));
+        }
+        cachedRows.addRows(rows);
+        if (result.getChunkIndex() == 0) {
+            ConnectionSessionUtil.setResultRowsCache(session, cachedRows);
+        }
+    }
+
+    public static CachedRowsQueryResp query(@NonNull ColumnarVirtualTable table, @NonNull CachedRowsQueryReq req) {
+        List<Integer> columnIds = table.columnIds();
+        int width = columnIds.isEmpty() ? 0 : columnIds.get(columnIds.size() - 1) + 1;
+        List<String> typeNames = new ArrayList<>();
+        for (int i = 0; i < width; i++) {
+            VirtualColumn column = table.getColumn(i);
+            typeNames.add(column == null ? null : column.dataTypeName());
+        }
+        Predicate<Object[]> predicate = values -> true;
+        for (Filter filter : req.getFilters()) {
+            checkColumn(filter.getColumn(), width);
+            predicate = predicate.and(getPredicate(filter, isNumeric(typeNames.get(filter.getColumn()))));
+        }
+        boolean filtered = !req.getFilters().isEmpty();
+        Predicate<Object[]> rowPredicate = predicate;
+        CachedRowsQueryResp resp = new CachedRowsQueryResp();
+        resp.setOffset(req.getOffset());
+        long[] matched = new long[] {0};
+        Consumer<VirtualLine> consumer = line -> {
+            Object[] values = null;
+            if (filtered) {
+                values = getValues(line, width);
+                if (!rowPredicate.test(values)) {
+                    return;
+                }
+            }
+            long index = matched[0]++;
+            if (index >= req.getOffset() && resp.getRows().size() < req.getLimit()) {
+                resp.getRows().add(Arrays.asList(values == null ? getValues(line, width) : values));
+                resp.getRowIds().add(line.rowId());
+            }
+        };
+        if (req.getOrderByColumn() == null) {
+            table.forEach(consumer);
+        } else {
+            checkColumn(req.getOrderByColumn(), width);
+            Function<Object, SortKey> sortKey =
+                    isNumeric(typeNames.get(req.getOrderByColumn())) ? NUMERIC_SORT_KEY : DEFAULT_SORT_KEY;
+            Iterator<VirtualLine> iterator =
+                    table.sortedLines(req.getOrderByColumn(), sortKey, !req.isDescending());
+            long end = (long) req.getOffset() + req.getLimit();
+            while (iterator.hasNext() && (filtered || matched[0] < end)) {
+                consumer.accept(iterator.next());
+            }
+        }
+        resp.setTotal(filtered ? matched[0] : table.count());
+        return resp;
+    }
+
+    private static Predicate<Object[]> getPredicate(Filter filter, boolean numeric) {
+        int column = filter.getColumn();
+        String expect = filter.getValue();
+        switch (filter.getOperator()) {
+            case IS_NULL:
+                return values -> values[column] == null;
+            case IS_NOT_NULL:
+                return values -> values[column] != null;
+            case LIKE:
+                Pattern pattern = toPattern(checkValue(expect));
+                return values -> values[column] != null && pattern.matcher(values[column].toString()).matches();
+            default:
+        }
+        checkValue(expect);
+        BigDecimal expectNumber = numeric ? toNumber(expect) : null;
+        Function<Object, Integer> comparator = value -> {
+            BigDecimal number = expectNumber == null ? null : toNumber(value);
+            return number == null ? value.toString().compareTo(expect) : number.compareTo(expectNumber);
+        };
+        switch (filter.getOperator()) {
+            case EQUALS:
+                return values -> values[column] != null && comparator.apply(values[column]) == 0;
+            case NOT_EQUALS:
+                return values -> values[column] != null && comparator.apply(values[column]) != 0;
+            case GREATER_THAN:
+                return values -> values[column] != null && comparator.apply(values[column]) > 0;
+            case GREATER_THAN_OR_EQUALS:
+                return values -> values[column] != null && comparator.apply(values[column]) >= 0;
+            case LESS_THAN:
+                return values -> values[column] != null && comparator.apply(values[column]) < 0;
+            case LESS_THAN_OR_EQUALS:
+                return values -> values[column] != null && comparator.apply(values[column]) <= 0;
+            default:
+                throw new IllegalArgumentException("Unsupported operator, " + filter.getOperator());
+        }
+    }
+
+    /**
+     * Translate a pattern of {@code LIKE} into a case-insensitive regular expression
+     */
+    private static Pattern toPattern(String like) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : like.toCharArray()) {
+            if (c != '%' && c != '_') {
+                literal.append(c);
+                continue;
+            }
+            if (literal.length() > 0) {
+                regex.append(Pattern.quote(literal.toString()));
+                literal.setLength(0);
+            }
+            regex.append(c == '%' ? ".*" : ".");
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.DOTALL);
+    }
+
+    private static Object[] getValues(VirtualLine line, int width) {
+        Object[] values = new Object[width];
+        for (VirtualElement element : line) {
+            values[element.columnId()] = element.getContent();
+        }
+        return values;
+    }
+
+    private static void checkColumn(Integer column, int width) {
+        if (column == null || column < 0 || column >= width) {
+            throw new BadArgumentException(ErrorCodes.BadArgument, new Object[] {"Column index out of range"},
+                    "Column index out of range, column=" + column + ", columnCount=" + width);
+        }
+    }
+
+    private static String checkValue(String value) {
+        if (value == null) {
+            throw new BadArgumentException(ErrorCodes.BadArgument, new Object[] {"Filter value can not be null"},
+                    "Filter value can not be null");
+        }
+        return value;
+    }
+
+    private static boolean isNumeric(String typeName) {
+        if (typeName == null) {
+            return false;
+        }
+        String name = typeName.trim().toLowerCase(Locale.ROOT);
+        int index = name.indexOf(' ');
+        return NUMERIC_TYPES.contains(index < 0 ? name : name.substring(0, index));
+    }
+
+    private static BigDecimal toNumber(Object value) {
+        try {
+            return new BigDecimal(value.toString().trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String getColumnLabel(JdbcColumnMetaData column) {
+        String label = column.getColumnLabel();
+        return label == null ? Objects.toString(column.getColumnName(), "") : label;
+    }
+
+    private static String getColumnTypeName(JdbcColumnMetaData column) {
+        return Objects.toString(column.getColumnTypeName(), "");
+    }
+
+
+    /**
+     * Key of a value to be sorted by, numbers are smaller than strings and each of them is compared
+     * with the ones of the same kind only, so that the order is total for a column mixing both
+     */
+    private static final class SortKey implements Comparable<SortKey> {
+        private final BigDecimal number;
+        private final String text;
+
+        SortKey(BigDecimal number, String text) {
+            this.number = number;
+            this.text = text;
+        }
+
+        @Override
+        public int compareTo(@NonNull SortKey other) {
+            if (this.number != null) {
+                return other.number == null ? -1 : this.number.compareTo(other.number);
+            }
+            return other.number != null ? 1 : this.text.compareTo(other.text);
+        }
+    }
+
+}
@@ -141,7 +141,7 @@ abstract class BaseSqlChecker implements SqlChecker {
     private List<OffsetString> splitByCommentProcessor(String sqlScript) {
         SqlCommentProcessor processor = new SqlCommentProcessor(dialectType, true, true);
         processor.setDelimiter(delimiter);
-        StringBuffer buffer = new StringBuffer();
+        StringBuilder buffer = new StringBuilder();
         List<OffsetString> sqls = processor.split(buffer, sqlScript);
         String bufferStr = buffer.toString();
         if (bufferStr.trim().length() != 0) {
@@ -22,6 +22,7 @@ import org.springframework.jdbc.core.JdbcOperations;
 
 import com.oceanbase.odc.core.session.ConnectionSession;
 import com.oceanbase.odc.core.session.ConnectionSessionConstants;
+import com.oceanbase.odc.core.session.ConnectionSessionUtil;
 import com.oceanbase.odc.core.shared.constant.DialectType;
 import com.oceanbase.odc.core.sql.parser.AbstractSyntaxTreeFactories;
 import com.oceanbase.odc.core.sql.parser.AbstractSyntaxTreeFactory;
@@ -45,9 +46,23 @@ public class DefaultSqlChecker extends BaseSqlChecker {
 
     public DefaultSqlChecker(@NonNull DialectType dialectType,
             String delimiter, @NonNull List<SqlCheckRule> rules) {
+        this(dialectType, delimiter, rules, AbstractSyntaxTreeFactories.getAstFactory(dialectType, 0));
+    }
+
+    /**
+     * Sqls are parsed by the {@link AbstractSyntaxTreeFactory} bound to the session, so that the trees
+     * are shared with other consumers in the same session
+     */
+    public DefaultSqlChecker(@NonNull ConnectionSession session,
+            String delimiter, @NonNull List<SqlCheckRule> rules) {
+        this(session.getDialectType(), delimiter, rules, ConnectionSessionUtil.getAstFactory(session));
+    }
+
+    private DefaultSqlChecker(@NonNull DialectType dialectType, String delimiter,
+            @NonNull List<SqlCheckRule> rules, AbstractSyntaxTreeFactory factory) {
         super(dialectType, delimiter);
         this.rules = rules;
-        this.factory = AbstractSyntaxTreeFactories.getAstFactory(dialectType, 0);
+        this.factory = factory;
     }
 
     public DefaultSqlChecker(@NonNull ConnectionSession session, String delimiter) {
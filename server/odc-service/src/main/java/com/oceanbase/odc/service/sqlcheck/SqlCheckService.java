@@ -99,7 +99,7 @@ public class SqlCheckService {
         if (CollectionUtils.isEmpty(sqlCheckRules)) {
             return Collections.emptyList();
         }
-        SqlChecker sqlChecker = new DefaultSqlChecker(session.getDialectType(), req.getDelimiter(), sqlCheckRules);
+        SqlChecker sqlChecker = new DefaultSqlChecker(session, req.getDelimiter(), sqlCheckRules);
         List<CheckViolation> checkViolations = sqlChecker.check(req.getScriptContent());
         fullFillRiskLevel(rules, checkViolations);
         return SqlCheckUtil.buildCheckResults(checkViolations);
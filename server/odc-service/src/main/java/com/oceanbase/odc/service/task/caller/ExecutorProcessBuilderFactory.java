@@ -36,12 +36,21 @@ public class ExecutorProcessBuilderFactory {
     private static final Pattern ODC_SERVER_EXECUTABLE_JAR = Pattern.compile("^.*odc-server-.*executable\\.jar$");
 
     public ProcessBuilder getProcessBuilder(ProcessConfig processConfig, long jobId, String executorName) {
+        return getProcessBuilder(processConfig, String.valueOf(jobId), executorName);
+    }
+
+    /**
+     * @param logDirectoryName gc log is written to the directory with this name under the task log
+     *        directory
+     */
+    public ProcessBuilder getProcessBuilder(ProcessConfig processConfig, String logDirectoryName,
+            String executorName) {
         RuntimeMXBean runtimeMxBean = ManagementFactory.getRuntimeMXBean();
         ProcessBuilder pb = new ProcessBuilder();
         List<String> commands = new ArrayList<>();
         commands.add("java");
         commands.add("-D" + JobUtils.generateExecutorSelectorOnProcess(executorName));
-        commands.addAll(jvmOptions(processConfig, jobId));
+        commands.addAll(jvmOptions(processConfig, logDirectoryName));
         if (ODC_SERVER_EXECUTABLE_JAR.matcher(runtimeMxBean.getClassPath()).matches()) {
             // start odc executor by java -jar
             commands.add("-jar");
@@ -59,15 +68,15 @@ public class ExecutorProcessBuilderFactory {
         return pb;
     }
 
-    private List<String> jvmOptions(ProcessConfig processConfig, long jobId) {
+    private List<String> jvmOptions(ProcessConfig processConfig, String logDirectoryName) {
         List<String> options = new ArrayList<>();
         options.add("-XX:+UseG1GC");
         options.add("-XX:+PrintAdaptiveSizePolicy");
         options.add("-XX:+PrintGCDetails");
         options.add("-XX:+PrintGCTimeStamps");
         options.add("-XX:+PrintGCDateStamps");
-        options.add(String.format("-Xloggc:%s/task/%d/gc.log",
-                processConfig.getEnvironments().get(JobEnvKeyConstants.ODC_LOG_DIRECTORY), jobId));
+        options.add(String.format("-Xloggc:%s/task/%s/gc.log",
+                processConfig.getEnvironments().get(JobEnvKeyConstants.ODC_LOG_DIRECTORY), logDirectoryName));
         options.add("-XX:+UseGCLogFileRotation");
         options.add("-XX:GCLogFileSize=50M");
         options.add("-XX:NumberOfGCLogFiles=5");
@@ -0,0 +1,344 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.task.caller;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.oceanbase.odc.common.util.StringUtils;
+import com.oceanbase.odc.common.util.SystemUtils;
+import com.oceanbase.odc.service.task.config.JobConfigurationHolder;
+import com.oceanbase.odc.service.task.constants.JobEnvKeyConstants;
+import com.oceanbase.odc.service.task.schedule.JobIdentity;
+import com.oceanbase.odc.service.task.util.JobUtils;
+import com.oceanbase.odc.service.task.util.TaskExecutorClient;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link ExecutorProcessPool}, keeps at most {@code maxSize} executor processes alive, so that a
+ * job in process mode can be started on a warm executor over http instead of forking a new jvm.
+ * Each pooled executor runs one job at a time, it is given back to the pool when the job is
+ * destroyed and killed when it is idle for longer than the ttl. Only jobs with the same executor
+ * environments (eg. metadb and object storage credentials, jvm memory) can share one pooled
+ * executor.
+ *
+ * @author agent
+ * @date 2026-10-17 22:10
+ * @since ODC_release_4.3.2
+ */
+@Slf4j
+public class ExecutorProcessPool {
+
+    private static final String POOLED_EXECUTOR_NAME_PREFIX = "odc-pooled-executor-";
+    private static final long READY_TIMEOUT_MILLIS = 60 * 1000L;
+    private static final long READY_CHECK_INTERVAL_MILLIS = 200L;
+    private static final long RECLAIM_INTERVAL_SECONDS = 30L;
+
+    private final int maxSize;
+    private final long idleTtlMillis;
+    private final List<PooledExecutor> executors = new ArrayList<>();
+    private final ScheduledExecutorService scheduler;
+    // launching waits for the executor to be ready, it must not hold up the reclaim of the scheduler
+    private final ExecutorService launcher;
+
+    public ExecutorProcessPool(int maxSize, long idleTtlSeconds) {
+        this.maxSize = maxSize;
+        this.idleTtlMillis = TimeUnit.SECONDS.toMillis(idleTtlSeconds);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setDaemon(true)
+                .setNameFormat("task-framework-executor-pool-%d").build());
+        this.scheduler.scheduleWithFixedDelay(this::reclaim, RECLAIM_INTERVAL_SECONDS, RECLAIM_INTERVAL_SECONDS,
+                TimeUnit.SECONDS);
+        this.launcher = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setDaemon(true)
+                .setNameFormat("task-framework-executor-launcher-%d").build());
+    }
+
+    /**
+     * executor names of the pool are unique across odc server restarts, so the process of a pooled
+     * executor never matches the selector of another one
+     */
+    public static boolean isPooledExecutor(String executorName) {
+        return executorName != null && executorName.startsWith(POOLED_EXECUTOR_NAME_PREFIX);
+    }
+
+    /**
+     * start the job on an idle pooled executor, a new executor is warmed up in background for the next
+     * job if there is no idle one left
+     *
+     * @return the executor which the job is started on, or empty if the job should be started in a new
+     *         process as usual
+     */
+    public Optional<PooledExecutor> start(@NonNull ProcessConfig processConfig, @NonNull JobContext context) {
+        if (processConfig.getPooledEnvironments() == null) {
+            return Optional.empty();
+        }
+        Map<String, String> signature = signature(processConfig);
+        JobIdentity ji = context.getJobIdentity();
+        PooledExecutor executor = borrow(signature, ji.getId());
+        warmUpIfNeeded(processConfig, signature);
+        if (executor == null) {
+            log.info("No idle pooled executor, start job in a new process, jobId={}.", ji.getId());
+            return Optional.empty();
+        }
+        try {
+            String encryptedContext =
+                    JobUtils.encrypt(executor.encryptKey, executor.encryptSalt, JobUtils.toJson(context));
+            String userId = processConfig.getPooledEnvironments().get(JobEnvKeyConstants.ODC_EXECUTOR_USER_ID);
+            getTaskExecutorClient().startTask(executor.endpoint, ji, encryptedContext,
+                    userId == null ? -1 : Long.parseLong(userId));
+        } catch (Exception e) {
+            log.warn("Start job on pooled executor failed, start it in a new process, jobId={}, executor={}.",
+                    ji.getId(), executor.executorName, e);
+            evict(executor);
+            return Optional.empty();
+        }
+        log.info("Job started on pooled executor, jobId={}, executor={}, pid={}.",
+                ji.getId(), executor.executorName, executor.pid);
+        return Optional.of(executor);
+    }
+
+    /**
+     * give the executor of a destroyed job back to the pool, the executor is killed if the job cannot
+     * be released from it
+     *
+     * @return false if the executor is not managed by this pool
+     */
+    public boolean release(@NonNull String executorName, @NonNull JobIdentity ji) {
+        PooledExecutor executor = find(executorName);
+        if (executor == null) {
+            return false;
+        }
+        if (!Objects.equals(executor.jobId, ji.getId())) {
+            log.info("Job is not running on pooled executor, skip release, jobId={}, executor={}.",
+                    ji.getId(), executorName);
+            return true;
+        }
+        if (executor.process.isAlive() && getTaskExecutorClient().releaseTask(executor.endpoint, ji)) {
+            synchronized (this) {
+                executor.jobId = null;
+                executor.idleSinceMillis = System.currentTimeMillis();
+                executor.state = State.IDLE;
+            }
+            log.info("Pooled executor released, jobId={}, executor={}.", ji.getId(), executorName);
+        } else {
+            log.info("Job cannot be released from pooled executor, kill it, jobId={}, executor={}.",
+                    ji.getId(), executorName);
+            evict(executor);
+        }
+        return true;
+    }
+
+    public void close() {
+        scheduler.shutdownNow();
+        launcher.shutdownNow();
+        List<PooledExecutor> all;
+        synchronized (this) {
+            all = new ArrayList<>(executors);
+            executors.clear();
+        }
+        all.forEach(PooledExecutor::destroy);
+        log.info("Executor process pool closed, executors={}.", all.size());
+    }
+
+    private synchronized PooledExecutor borrow(Map<String, String> signature, Long jobId) {
+        for (PooledExecutor executor : executors) {
+            if (executor.state == State.IDLE && executor.signature.equals(signature)
+                    && executor.process.isAlive()) {
+                executor.state = State.BUSY;
+                executor.jobId = jobId;
+                return executor;
+            }
+        }
+        return null;
+    }
+
+    private synchronized PooledExecutor find(String executorName) {
+        return executors.stream().filter(e -> e.executorName.equals(executorName)).findFirst().orElse(null);
+    }
+
+    private void warmUpIfNeeded(ProcessConfig processConfig, Map<String, String> signature) {
+        PooledExecutor executor;
+        synchronized (this) {
+            boolean warm = executors.stream().anyMatch(e -> e.signature.equals(signature)
+                    && (e.state == State.IDLE || e.state == State.STARTING));
+            if (warm) {
+                return;
+            }
+            if (executors.size() >= maxSize) {
+                // make room by an idle executor which cannot be used by jobs like this one
+                Optional<PooledExecutor> idle = executors.stream().filter(e -> e.state == State.IDLE).findFirst();
+                if (!idle.isPresent()) {
+                    return;
+                }
+                executors.remove(idle.get());
+                idle.get().destroy();
+            }
+            executor = new PooledExecutor(POOLED_EXECUTOR_NAME_PREFIX + StringUtils.uuidNoHyphen(), signature);
+            executors.add(executor);
+        }
+        launcher.execute(() -> launch(executor, processConfig));
+    }
+
+    private void launch(PooledExecutor executor, ProcessConfig processConfig) {
+        try {
+            int port = findFreePort();
+            Map<String, String> environments = new HashMap<>(processConfig.getPooledEnvironments());
+            environments.remove(JobEnvKeyConstants.ODC_EXECUTOR_USER_ID);
+            environments.put(JobEnvKeyConstants.ODC_EXECUTOR_POOLED, "true");
+            environments.put(JobEnvKeyConstants.ODC_EXECUTOR_PORT, String.valueOf(port));
+            // the executor exits by itself if it is not reclaimed by this pool, eg. odc server is gone
+            environments.put(JobEnvKeyConstants.ODC_EXECUTOR_IDLE_TIMEOUT_SECONDS,
+                    String.valueOf(2 * TimeUnit.MILLISECONDS.toSeconds(idleTtlMillis)));
+            JobUtils.encryptEnvironments(environments);
+
+            ProcessConfig config = new ProcessConfig();
+            config.setEnvironments(environments);
+            config.setJvmXmxMB(processConfig.getJvmXmxMB());
+            config.setJvmXmsMB(processConfig.getJvmXmsMB());
+            Process process = startProcess(config, executor.executorName);
+            executor.process = process;
+            executor.pid = SystemUtils.getProcessPid(process);
+            executor.endpoint = "http://" + SystemUtils.getLocalIpAddress() + ":" + port;
+            executor.encryptKey = environments.get(JobEnvKeyConstants.ENCRYPT_KEY);
+            executor.encryptSalt = environments.get(JobEnvKeyConstants.ENCRYPT_SALT);
+
+            long deadline = System.currentTimeMillis() + READY_TIMEOUT_MILLIS;
+            while (!getTaskExecutorClient().isExecutorHealthy(executor.endpoint)) {
+                if (!process.isAlive() || System.currentTimeMillis() > deadline) {
+                    throw new IllegalStateException("Pooled executor is not ready, alive=" + process.isAlive());
+                }
+                TimeUnit.MILLISECONDS.sleep(READY_CHECK_INTERVAL_MILLIS);
+            }
+            synchronized (this) {
+                if (!executors.contains(executor)) {
+                    // the pool is closed while launching
+                    executor.destroy();
+                    return;
+                }
+                executor.idleSinceMillis = System.currentTimeMillis();
+                executor.state = State.IDLE;
+            }
+            log.info("Pooled executor is ready, executor={}, pid={}, endpoint={}.",
+                    executor.executorName, executor.pid, executor.endpoint);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            evict(executor);
+        } catch (Exception e) {
+            log.warn("Launch pooled executor failed, executor={}.", executor.executorName, e);
+            evict(executor);
+        }
+    }
+
+    protected Process startProcess(ProcessConfig processConfig, String executorName) throws IOException {
+        return new ExecutorProcessBuilderFactory().getProcessBuilder(processConfig, executorName, executorName)
+                .start();
+    }
+
+    private void reclaim() {
+        List<PooledExecutor> reclaimed = new ArrayList<>();
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            for (Iterator<PooledExecutor> it = executors.iterator(); it.hasNext();) {
+                PooledExecutor executor = it.next();
+                if (executor.state == State.STARTING) {
+                    continue;
+                }
+                if (!executor.process.isAlive()
+                        || (executor.state == State.IDLE && now - executor.idleSinceMillis > idleTtlMillis)) {
+                    it.remove();
+                    reclaimed.add(executor);
+                }
+            }
+        }
+        reclaimed.forEach(executor -> {
+            log.info("Reclaim pooled executor, executor={}, state={}.", executor.executorName, executor.state);
+            executor.destroy();
+        });
+    }
+
+    private void evict(PooledExecutor executor) {
+        synchronized (this) {
+            executors.remove(executor);
+        }
+        executor.destroy();
+    }
+
+    private Map<String, String> signature(ProcessConfig processConfig) {
+        Map<String, String> signature = new HashMap<>(processConfig.getPooledEnvironments());
+        signature.remove(JobEnvKeyConstants.ODC_EXECUTOR_USER_ID);
+        signature.put("jvmXmxMB", String.valueOf(processConfig.getJvmXmxMB()));
+        signature.put("jvmXmsMB", String.valueOf(processConfig.getJvmXmsMB()));
+        return signature;
+    }
+
+    private static int findFreePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static TaskExecutorClient getTaskExecutorClient() {
+        return JobConfigurationHolder.getJobConfiguration().getTaskExecutorClient();
+    }
+
+    private enum State {
+        STARTING,
+        IDLE,
+        BUSY
+    }
+
+    public static class PooledExecutor {
+
+        @Getter
+        private final String executorName;
+        private final Map<String, String> signature;
+        private volatile State state = State.STARTING;
+        private volatile Process process;
+        @Getter
+        private volatile long pid = -1;
+        private volatile String endpoint;
+        private volatile String encryptKey;
+        private volatile String encryptSalt;
+        private volatile Long jobId;
+        private volatile long idleSinceMillis;
+
+        private PooledExecutor(String executorName, Map<String, String> signature) {
+            this.executorName = executorName;
+            this.signature = signature;
+        }
+
+        private void destroy() {
+            if (process != null) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+}
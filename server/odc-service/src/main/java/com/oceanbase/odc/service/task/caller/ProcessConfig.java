@@ -29,6 +29,12 @@ public class ProcessConfig {
 
     private Map<String, String> environments;
 
+    /**
+     * environments before encryption, a pooled executor is launched with them and shared by the jobs
+     * with the same environments
+     */
+    private Map<String, String> pooledEnvironments;
+
     private long jvmXmxMB;
 
     private long jvmXmsMB;
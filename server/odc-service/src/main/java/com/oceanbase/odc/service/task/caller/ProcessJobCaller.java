@@ -18,17 +18,25 @@ package com.oceanbase.odc.service.task.caller;
 
 import static com.oceanbase.odc.service.task.constants.JobConstants.ODC_EXECUTOR_CANNOT_BE_DESTROYED;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.text.MessageFormat;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
+import org.apache.commons.io.FileUtils;
+
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.oceanbase.odc.common.util.StringUtils;
 import com.oceanbase.odc.common.util.SystemUtils;
 import com.oceanbase.odc.metadb.task.JobEntity;
 import com.oceanbase.odc.service.common.response.OdcResult;
+import com.oceanbase.odc.service.task.caller.ExecutorProcessPool.PooledExecutor;
 import com.oceanbase.odc.service.task.config.JobConfiguration;
 import com.oceanbase.odc.service.task.config.JobConfigurationHolder;
+import com.oceanbase.odc.service.task.constants.JobEnvKeyConstants;
 import com.oceanbase.odc.service.task.enums.JobStatus;
 import com.oceanbase.odc.service.task.exception.JobException;
 import com.oceanbase.odc.service.task.schedule.JobIdentity;
@@ -53,6 +61,16 @@ public class ProcessJobCaller extends BaseJobCaller {
 
     @Override
     protected ExecutorIdentifier doStart(JobContext context) throws JobException {
+        ExecutorProcessPool executorProcessPool =
+                JobConfigurationHolder.getJobConfiguration().getExecutorProcessPool();
+        if (executorProcessPool != null) {
+            Optional<PooledExecutor> pooledExecutor = executorProcessPool.start(processConfig, context);
+            if (pooledExecutor.isPresent()) {
+                return buildExecutorIdentifier(pooledExecutor.get().getPid(),
+                        pooledExecutor.get().getExecutorName());
+            }
+        }
+        writeJobContextFile(context);
 
         String executorName = JobUtils.generateExecutorName(context.getJobIdentity());
         ProcessBuilder pb = new ExecutorProcessBuilderFactory().getProcessBuilder(
@@ -79,6 +97,10 @@ public class ProcessJobCaller extends BaseJobCaller {
                     pid, executorName);
         }
 
+        return buildExecutorIdentifier(pid, executorName);
+    }
+
+    private ExecutorIdentifier buildExecutorIdentifier(long pid, String executorName) {
         JobConfiguration jobConfiguration = JobConfigurationHolder.getJobConfiguration();
         String portString = Optional.ofNullable(jobConfiguration.getHostProperties().getPort())
                 .orElse(DefaultExecutorIdentifier.DEFAULT_PORT + "");
@@ -89,6 +111,27 @@ public class ProcessJobCaller extends BaseJobCaller {
                 .executorName(executorName).build();
     }
 
+    /**
+     * write JobContext to file in case of exceeding the environments size limit; set the file path in
+     * the environment instead
+     */
+    private void writeJobContextFile(JobContext context) {
+        Map<String, String> environments = processConfig.getEnvironments();
+        String jobContextFilePath = JobUtils.getExecutorDataPath() + "/" + StringUtils.uuid() + ".enc";
+        try {
+            FileUtils.writeStringToFile(new File(jobContextFilePath),
+                    JobUtils.encrypt(environments.get(JobEnvKeyConstants.ENCRYPT_KEY),
+                            environments.get(JobEnvKeyConstants.ENCRYPT_SALT), JobUtils.toJson(context)),
+                    Charset.defaultCharset());
+        } catch (Exception ex) {
+            FileUtils.deleteQuietly(new File(jobContextFilePath));
+            throw new RuntimeException("Failed to write job context to file: " + jobContextFilePath, ex);
+        }
+        environments.put(JobEnvKeyConstants.ODC_JOB_CONTEXT_FILE_PATH,
+                JobUtils.encrypt(environments.get(JobEnvKeyConstants.ENCRYPT_KEY),
+                        environments.get(JobEnvKeyConstants.ENCRYPT_SALT), jobContextFilePath));
+    }
+
     @Override
     protected void doStop(JobIdentity ji) throws JobException {}
 
@@ -100,7 +143,11 @@ public class ProcessJobCaller extends BaseJobCaller {
             // first update destroy time, second destroy executor.
             // if executor failed update will be rollback, ensure distributed transaction atomicity.
             updateExecutorDestroyed(ji);
-            destroyInternal(ei);
+            if (ExecutorProcessPool.isPooledExecutor(ei.getExecutorName())) {
+                releasePooledExecutor(ji, ei);
+            } else {
+                destroyInternal(ei);
+            }
             return;
         }
 
@@ -132,6 +179,28 @@ public class ProcessJobCaller extends BaseJobCaller {
                 + " may not on this machine, jodId={0}, identifier={1}", ji.getId(), ei);
     }
 
+    /**
+     * a pooled executor is given back to the pool instead of being killed. If the pool does not know
+     * the executor (eg. odc server restarted), the job is released over the endpoint reported by the
+     * executor, and the executor exits by itself after it is idle for a while. The process is killed
+     * only if the job cannot be released, no other job is running on it in that case.
+     */
+    private void releasePooledExecutor(JobIdentity ji, ExecutorIdentifier ei) throws JobException {
+        JobConfiguration configuration = JobConfigurationHolder.getJobConfiguration();
+        ExecutorProcessPool executorProcessPool = configuration.getExecutorProcessPool();
+        if (executorProcessPool != null && executorProcessPool.release(ei.getExecutorName(), ji)) {
+            return;
+        }
+        JobEntity jobEntity = configuration.getTaskFrameworkService().find(ji.getId());
+        String executorEndpoint = jobEntity == null ? null : jobEntity.getExecutorEndpoint();
+        if (executorEndpoint != null && configuration.getTaskExecutorClient().releaseTask(executorEndpoint, ji)) {
+            log.info("Job released from pooled executor which is not in pool, jobId={}, identifier={}.",
+                    ji.getId(), ei);
+            return;
+        }
+        destroyInternal(ei);
+    }
+
     @Override
     public boolean canBeDestroy(JobIdentity ji, ExecutorIdentifier ei) {
         if (isExecutorExist(ei)) {
@@ -16,6 +16,8 @@
 
 package com.oceanbase.odc.service.task.config;
 
+import java.util.concurrent.ExecutorService;
+
 import org.quartz.Scheduler;
 
 import com.oceanbase.odc.common.event.EventPublisher;
@@ -24,6 +26,7 @@ import com.oceanbase.odc.service.connection.ConnectionService;
 import com.oceanbase.odc.service.objectstorage.cloud.model.CloudEnvConfigurations;
 import com.oceanbase.odc.service.schedule.ScheduleTaskService;
 import com.oceanbase.odc.service.task.TaskService;
+import com.oceanbase.odc.service.task.caller.ExecutorProcessPool;
 import com.oceanbase.odc.service.task.caller.K8sJobClientSelector;
 import com.oceanbase.odc.service.task.dispatch.JobDispatcher;
 import com.oceanbase.odc.service.task.jasypt.JasyptEncryptorConfigProperties;
@@ -80,6 +83,10 @@ public abstract class DefaultJobConfiguration implements JobConfiguration {
 
     protected StartJobRateLimiter startJobRateLimiter;
 
+    protected ExecutorService startJobExecutor;
+
+    protected ExecutorProcessPool executorProcessPool;
+
     protected TaskFrameworkDisabledHandler taskFrameworkDisabledHandler;
 
     protected JasyptEncryptorConfigProperties jasyptEncryptorConfigProperties;
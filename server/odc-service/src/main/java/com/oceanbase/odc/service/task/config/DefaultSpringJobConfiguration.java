@@ -16,19 +16,26 @@
 
 package com.oceanbase.odc.service.task.config;
 
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 import org.quartz.Scheduler;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.oceanbase.odc.common.event.LocalEventPublisher;
 import com.oceanbase.odc.service.common.model.HostProperties;
 import com.oceanbase.odc.service.connection.ConnectionService;
 import com.oceanbase.odc.service.objectstorage.cloud.model.CloudEnvConfigurations;
 import com.oceanbase.odc.service.schedule.ScheduleTaskService;
 import com.oceanbase.odc.service.task.TaskService;
+import com.oceanbase.odc.service.task.caller.ExecutorProcessPool;
 import com.oceanbase.odc.service.task.caller.K8sJobClientSelector;
 import com.oceanbase.odc.service.task.dispatch.ImmediateJobDispatcher;
 import com.oceanbase.odc.service.task.jasypt.JasyptEncryptorConfigProperties;
@@ -49,7 +56,7 @@ import com.oceanbase.odc.service.task.util.TaskExecutorClient;
  * @since 4.2.4
  */
 public class DefaultSpringJobConfiguration extends DefaultJobConfiguration
-        implements InitializingBean, ApplicationContextAware {
+        implements InitializingBean, DisposableBean, ApplicationContextAware {
 
     private ApplicationContext ctx;
 
@@ -76,6 +83,11 @@ public class DefaultSpringJobConfiguration extends DefaultJobConfiguration
         setTaskExecutorClient(new TaskExecutorClient());
         setTransactionManager(new SpringTransactionManager(ctx.getBean(TransactionTemplate.class)));
         initJobRateLimiter();
+        int parallelism = Math.max(1, getTaskFrameworkProperties().getStartJobParallelism());
+        setStartJobExecutor(new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new ThreadFactoryBuilder().setDaemon(true)
+                        .setNameFormat("task-framework-start-job-%d").build()));
+        initExecutorProcessPool();
         setTaskFrameworkDisabledHandler(new DefaultTaskFrameworkDisabledHandler());
         setJasyptEncryptorConfigProperties(ctx.getBean(JasyptEncryptorConfigProperties.class));
         setHostProperties(ctx.getBean(HostProperties.class));
@@ -97,6 +109,22 @@ public class DefaultSpringJobConfiguration extends DefaultJobConfiguration
         return ctx.getBean(K8sJobClientSelector.class);
     }
 
+    @Override
+    public void destroy() {
+        if (getExecutorProcessPool() != null) {
+            getExecutorProcessPool().close();
+        }
+    }
+
+    private void initExecutorProcessPool() {
+        TaskFrameworkProperties properties = getTaskFrameworkProperties();
+        if (properties.getRunMode() != null && properties.getRunMode().isProcess()
+                && properties.getExecutorPoolSize() > 0) {
+            setExecutorProcessPool(new ExecutorProcessPool(properties.getExecutorPoolSize(),
+                    properties.getExecutorPoolIdleTtlSeconds()));
+        }
+    }
+
     private void initJobRateLimiter() {
         StartJobRateLimiterSupport limiterSupport = new StartJobRateLimiterSupport();
         ctx.getBeansOfType(StartJobRateLimiter.class).forEach((k, v) -> limiterSupport.addJobRateLimiter(v));
@@ -59,8 +59,14 @@ public class DefaultTaskFrameworkProperties implements TaskFrameworkProperties {
     // job to be canceled timeout and current status is cancelling
     private int jobCancelTimeoutSeconds = 2 * 60;
 
-    // single fetch job rows for schedule
-    private int singleFetchPreparingJobRows = 1;
+    // max count of preparing jobs claimed by one round of schedule
+    private int singleFetchPreparingJobRows = 10;
+
+    // max count of claimed jobs to be started at the same time, takes effect after restart
+    private int startJobParallelism = 8;
+
+    // a claimed job can be claimed again by any node after this duration if it is not started
+    private int jobClaimTimeoutSeconds = 60;
 
     private int singleFetchCancelingJobRows = 10;
 
@@ -84,6 +90,13 @@ public class DefaultTaskFrameworkProperties implements TaskFrameworkProperties {
     // max memory required for start process, unit is MB, this setting only usage for linux
     private long jobProcessMaxMemorySizeInMB = 1024;
 
+    // max count of warm executor processes for jobs in process mode, 0 means disabled, takes effect
+    // after restart
+    private int executorPoolSize = 0;
+
+    // an idle pooled executor process is killed after this duration, unit is second
+    private long executorPoolIdleTtlSeconds = 10 * 60;
+
     // job will not be started if systemFreeMemory less than this setting
     private long systemReserveMinFreeMemorySizeInMB = 1024;
 
@@ -16,6 +16,8 @@
 
 package com.oceanbase.odc.service.task.config;
 
+import java.util.concurrent.ExecutorService;
+
 import org.quartz.Scheduler;
 
 import com.oceanbase.odc.common.event.EventPublisher;
@@ -24,6 +26,7 @@ import com.oceanbase.odc.service.connection.ConnectionService;
 import com.oceanbase.odc.service.objectstorage.cloud.model.CloudEnvConfigurations;
 import com.oceanbase.odc.service.schedule.ScheduleTaskService;
 import com.oceanbase.odc.service.task.TaskService;
+import com.oceanbase.odc.service.task.caller.ExecutorProcessPool;
 import com.oceanbase.odc.service.task.caller.K8sJobClientSelector;
 import com.oceanbase.odc.service.task.dispatch.JobDispatcher;
 import com.oceanbase.odc.service.task.jasypt.JasyptEncryptorConfigProperties;
@@ -74,6 +77,17 @@ public interface JobConfiguration {
 
     StartJobRateLimiter getStartJobRateLimiter();
 
+    /**
+     * executor to start claimed jobs in parallel, jobs are started one by one if it is null
+     */
+    ExecutorService getStartJobExecutor();
+
+    /**
+     * warm executor processes for jobs in process mode, a new process is forked for each job if it is
+     * null
+     */
+    ExecutorProcessPool getExecutorProcessPool();
+
     TaskFrameworkDisabledHandler getTaskFrameworkDisabledHandler();
 
     JasyptEncryptorConfigProperties getJasyptEncryptorConfigProperties();
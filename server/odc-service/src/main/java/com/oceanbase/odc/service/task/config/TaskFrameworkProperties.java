@@ -44,6 +44,16 @@ public interface TaskFrameworkProperties {
 
     int getSingleFetchPreparingJobRows();
 
+    /**
+     * max count of claimed jobs to be started at the same time by one odc node
+     */
+    int getStartJobParallelism();
+
+    /**
+     * a claimed job can be claimed again after this duration if it is not started
+     */
+    int getJobClaimTimeoutSeconds();
+
     int getSingleFetchCancelingJobRows();
 
     int getSingleFetchDestroyExecutorJobRows();
@@ -60,6 +70,17 @@ public interface TaskFrameworkProperties {
 
     long getJobProcessMaxMemorySizeInMB();
 
+    /**
+     * max count of warm executor processes kept for jobs in process mode, 0 means a new process is
+     * forked for each job
+     */
+    int getExecutorPoolSize();
+
+    /**
+     * an idle pooled executor process is killed after this duration
+     */
+    long getExecutorPoolIdleTtlSeconds();
+
     long getSystemReserveMinFreeMemorySizeInMB();
 
     String getStartPreparingJobCronExpression();
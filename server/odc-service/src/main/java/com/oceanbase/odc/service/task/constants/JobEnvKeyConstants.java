@@ -75,4 +75,14 @@ public class JobEnvKeyConstants {
     public static final String ODC_PROPERTY_ENCRYPTION_PREFIX = "ODC_PROPERTY_ENCRYPTION_PREFIX";
 
     public static final String ODC_PROPERTY_ENCRYPTION_SUFFIX = "ODC_PROPERTY_ENCRYPTION_SUFFIX";
+
+    /**
+     * executor is kept warm in a pool and accepts jobs over http, no job context is passed on start
+     */
+    public static final String ODC_EXECUTOR_POOLED = "ODC_EXECUTOR_POOLED";
+
+    /**
+     * pooled executor exits by itself when no job is executed within this duration
+     */
+    public static final String ODC_EXECUTOR_IDLE_TIMEOUT_SECONDS = "ODC_EXECUTOR_IDLE_TIMEOUT_SECONDS";
 }
@@ -34,4 +34,11 @@ public class JobExecutorUrls {
      */
     public static final String MODIFY_JOB_PARAMETERS = "/api/v2/task/%s/modifyJobParameters";
 
+    /**
+     * for odc server start and release jobs on a pooled executor
+     */
+    public static final String START_TASK = "/api/v2/task/start";
+    public static final String RELEASE_TASK = "/api/v2/task/%s/release";
+    public static final String EXECUTOR_HEALTH = "/api/v2/executor/health";
+
 }
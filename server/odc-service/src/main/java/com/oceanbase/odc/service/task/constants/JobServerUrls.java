@@ -28,6 +28,8 @@ public class JobServerUrls {
 
     public static final String TASK_HEARTBEAT = "/api/v2/task/heartbeat";
 
+    public static final String TASK_REPORT = "/api/v2/task/report";
+
     public static final String TASK_QUERY_SENSITIVE_COLUMN = "/api/v2/task/querySensitiveColumn";
 
 }
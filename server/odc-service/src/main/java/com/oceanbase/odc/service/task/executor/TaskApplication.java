@@ -21,24 +21,33 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.LoggerContext;
+import org.slf4j.MDC;
 
 import com.oceanbase.odc.common.trace.TaskContextHolder;
 import com.oceanbase.odc.common.trace.TraceContextHolder;
 import com.oceanbase.odc.common.util.StringUtils;
 import com.oceanbase.odc.common.util.SystemUtils;
 import com.oceanbase.odc.core.shared.Verify;
+import com.oceanbase.odc.core.task.TaskThreadFactory;
 import com.oceanbase.odc.service.task.caller.JobContext;
 import com.oceanbase.odc.service.task.caller.JobEnvironmentEncryptor;
+import com.oceanbase.odc.service.task.constants.JobConstants;
 import com.oceanbase.odc.service.task.constants.JobEnvKeyConstants;
 import com.oceanbase.odc.service.task.exception.TaskRuntimeException;
 import com.oceanbase.odc.service.task.executor.context.JobContextProviderFactory;
 import com.oceanbase.odc.service.task.executor.server.EmbedServer;
 import com.oceanbase.odc.service.task.executor.server.ExitHelper;
 import com.oceanbase.odc.service.task.executor.server.TaskFactory;
+import com.oceanbase.odc.service.task.executor.server.TaskReportBatcher;
 import com.oceanbase.odc.service.task.executor.server.ThreadPoolTaskExecutor;
+import com.oceanbase.odc.service.task.executor.server.TraceDecoratorThreadFactory;
 import com.oceanbase.odc.service.task.executor.task.BaseTask;
 import com.oceanbase.odc.service.task.util.JobUtils;
 
@@ -54,6 +63,10 @@ public class TaskApplication {
     private JobContext context;
 
     public void run(String[] args) {
+        if (JobUtils.isPooledExecutor()) {
+            runPooled();
+            return;
+        }
         try {
             init(args);
         } catch (Exception e) {
@@ -70,6 +83,36 @@ public class TaskApplication {
         } catch (Exception e) {
             log.warn("Execute task error:", e);
         } finally {
+            TaskReportBatcher.shutdownAll();
+            try {
+                server.stop();
+            } catch (Exception e) {
+                log.warn("Stop embed server occur exception:", e);
+            }
+        }
+    }
+
+    /**
+     * a pooled executor is started before any job is assigned, it waits for jobs from odc server over
+     * the embed server, and exits by itself if no job is assigned for a long time
+     */
+    private void runPooled() {
+        try {
+            initPooled();
+        } catch (Exception e) {
+            log.warn("Init pooled executor error:", e);
+            throw e;
+        }
+        EmbedServer server = new EmbedServer();
+        try {
+            server.start();
+            log.info("Starting embed server of pooled executor.");
+            exitIfIdleTimeout();
+            ExitHelper.await();
+        } catch (Exception e) {
+            log.warn("Run pooled executor error:", e);
+        } finally {
+            TaskReportBatcher.shutdownAll();
             try {
                 server.stop();
             } catch (Exception e) {
@@ -78,6 +121,50 @@ public class TaskApplication {
         }
     }
 
+    private void initPooled() {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            log.info("Pooled task executor exits, systemInfo={}", SystemUtils.getSystemMemoryInfo());
+        }));
+        validNotBlank(JobEnvKeyConstants.ODC_TASK_RUN_MODE);
+        validNotBlank(JobEnvKeyConstants.ODC_BOOT_MODE);
+        validNotBlank(JobEnvKeyConstants.ENCRYPT_SALT);
+        validNotBlank(JobEnvKeyConstants.ENCRYPT_KEY);
+        validNotBlank(JobEnvKeyConstants.ODC_LOG_DIRECTORY);
+        validNotBlank(JobEnvKeyConstants.ODC_EXECUTOR_PORT);
+        decryptEnvironments();
+        // logs not belong to any job are written to the log directory named by the executor
+        TraceContextHolder.trace();
+        MDC.put(TaskContextHolder.TASK_ID,
+                System.getProperty(JobConstants.ODC_EXECUTOR_PROCESS_PROPERTIES_KEY, "pooled-executor"));
+        setLogPathSysProperty();
+        setLog4JConfigXml();
+        log.info("Pooled task executor start info, ip={}, port={}, runMode={}, logPath={}.",
+                SystemUtils.getLocalIpAddress(),
+                SystemUtils.getEnvOrProperty(JobEnvKeyConstants.ODC_EXECUTOR_PORT),
+                SystemUtils.getEnvOrProperty(JobEnvKeyConstants.ODC_TASK_RUN_MODE),
+                System.getProperty(JobEnvKeyConstants.ODC_LOG_DIRECTORY));
+    }
+
+    private void exitIfIdleTimeout() {
+        String timeout = SystemUtils.getEnvOrProperty(JobEnvKeyConstants.ODC_EXECUTOR_IDLE_TIMEOUT_SECONDS);
+        if (StringUtils.isBlank(timeout)) {
+            return;
+        }
+        long timeoutMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(timeout));
+        AtomicLong idleSinceMillis = new AtomicLong(System.currentTimeMillis());
+        ScheduledExecutorService checker = Executors.newSingleThreadScheduledExecutor(
+                new TraceDecoratorThreadFactory(new TaskThreadFactory("Pooled-Executor-Idle-Checker")));
+        checker.scheduleWithFixedDelay(() -> {
+            if (ThreadPoolTaskExecutor.getInstance().getTaskCount() > 0) {
+                idleSinceMillis.set(System.currentTimeMillis());
+            } else if (System.currentTimeMillis() - idleSinceMillis.get() > timeoutMillis) {
+                // odc server may be gone without reclaiming this executor
+                log.info("Pooled task executor is idle for {} seconds, exit.", timeout);
+                System.exit(0);
+            }
+        }, 10, 10, TimeUnit.SECONDS);
+    }
+
     private void init(String[] args) {
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             log.info("Task executor exits, systemInfo={}", SystemUtils.getSystemMemoryInfo());
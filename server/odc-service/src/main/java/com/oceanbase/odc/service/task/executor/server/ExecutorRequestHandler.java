@@ -15,16 +15,26 @@
  */
 package com.oceanbase.odc.service.task.executor.server;
 
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.apache.commons.collections4.MapUtils;
 
+import com.oceanbase.odc.common.json.JsonUtils;
+import com.oceanbase.odc.common.trace.TaskContextHolder;
+import com.oceanbase.odc.common.trace.TraceContextHolder;
 import com.oceanbase.odc.common.util.ExceptionUtils;
 import com.oceanbase.odc.common.util.ObjectUtil;
+import com.oceanbase.odc.common.util.SystemUtils;
+import com.oceanbase.odc.core.shared.PreConditions;
+import com.oceanbase.odc.core.shared.constant.ErrorCodes;
 import com.oceanbase.odc.service.common.response.Responses;
 import com.oceanbase.odc.service.common.response.SuccessResponse;
 import com.oceanbase.odc.service.common.util.UrlUtils;
+import com.oceanbase.odc.service.task.caller.DefaultJobContext;
+import com.oceanbase.odc.service.task.caller.JobContext;
+import com.oceanbase.odc.service.task.constants.JobEnvKeyConstants;
 import com.oceanbase.odc.service.task.constants.JobExecutorUrls;
 import com.oceanbase.odc.service.task.executor.logger.LogBiz;
 import com.oceanbase.odc.service.task.executor.logger.LogBizImpl;
@@ -52,6 +62,7 @@ public class ExecutorRequestHandler {
     private final Pattern getResultPattern = Pattern.compile(String.format(JobExecutorUrls.GET_RESULT, "([0-9]+)"));
     private final Pattern modifyParametersPattern =
             Pattern.compile(String.format(JobExecutorUrls.MODIFY_JOB_PARAMETERS, "([0-9]+)"));
+    private final Pattern releaseTaskPattern = Pattern.compile(String.format(JobExecutorUrls.RELEASE_TASK, "([0-9]+)"));
 
     private final LogBiz executorBiz;
 
@@ -67,6 +78,12 @@ public class ExecutorRequestHandler {
         try {
             // services mapping
             String path = UrlUtils.getPath(uri);
+            if (JobExecutorUrls.EXECUTOR_HEALTH.equals(path)) {
+                return Responses.ok(true);
+            }
+            if (JobExecutorUrls.START_TASK.equals(path)) {
+                return Responses.ok(startTask(requestData));
+            }
             Matcher matcher = queryLogUrlPattern.matcher(path);
             if (matcher.find()) {
                 String maxLine = UrlUtils.getQueryParameterFirst(uri, "fetchMaxLine");
@@ -93,6 +110,12 @@ public class ExecutorRequestHandler {
                 return Responses.ok(result);
             }
 
+            matcher = releaseTaskPattern.matcher(path);
+            if (matcher.find()) {
+                JobIdentity ji = getJobIdentity(matcher);
+                return Responses.ok(ThreadPoolTaskExecutor.getInstance().release(ji));
+            }
+
             matcher = getResultPattern.matcher(path);
             if (matcher.find()) {
                 JobIdentity ji = getJobIdentity(matcher);
@@ -117,6 +140,31 @@ public class ExecutorRequestHandler {
         }
     }
 
+    /**
+     * start a job on a pooled executor, the job context is encrypted by the key of this executor. Logs
+     * of the job are routed by the task id in the trace context, so each job still has its own log
+     * files
+     */
+    private boolean startTask(String requestData) {
+        PreConditions.validArgumentState(JobUtils.isPooledExecutor(), ErrorCodes.BadRequest, null,
+                "Executor is not pooled");
+        Map<String, String> request = JobUtils.fromJsonToMap(requestData);
+        String jobContextJson = JobUtils.decrypt(SystemUtils.getEnvOrProperty(JobEnvKeyConstants.ENCRYPT_KEY),
+                SystemUtils.getEnvOrProperty(JobEnvKeyConstants.ENCRYPT_SALT),
+                request.get(JobEnvKeyConstants.ODC_JOB_CONTEXT));
+        JobContext context = JsonUtils.fromJson(jobContextJson, DefaultJobContext.class);
+        long userId = Long.parseLong(request.get(JobEnvKeyConstants.ODC_EXECUTOR_USER_ID));
+        TraceContextHolder.trace();
+        TaskContextHolder.trace(userId, context.getJobIdentity().getId());
+        try {
+            log.info("Start job on pooled executor, jobId={}, userId={}.", context.getJobIdentity().getId(), userId);
+            ThreadPoolTaskExecutor.getInstance().execute(TaskFactory.create(context.getJobClass()), context);
+            return true;
+        } finally {
+            TaskContextHolder.clear();
+        }
+    }
+
     private static JobIdentity getJobIdentity(Matcher matcher) {
         return JobIdentity.of(Long.parseLong(matcher.group(1)));
     }
@@ -32,4 +32,16 @@ public interface TaskExecutor {
 
     BaseTask<?> getTask(JobIdentity ji);
 
+    /**
+     * forget a finished task, so that the executor can run other tasks
+     *
+     * @return false if the task is still running
+     */
+    boolean release(JobIdentity ji);
+
+    /**
+     * @return count of the tasks which are not terminated yet
+     */
+    int getTaskCount();
+
 }
@@ -53,17 +53,19 @@ public class TaskMonitor {
     private static final int REPORT_RESULT_RETRY_TIMES = Integer.MAX_VALUE;
     private static final long WAIT_AFTER_LOG_METADATA_COLLECT_MILLS = 5000L;
     private final TaskReporter reporter;
+    private final TaskReportBatcher reportBatcher;
     private final BaseTask<?> task;
     private final CloudObjectStorageService cloudObjectStorageService;
     private volatile long startTimeMilliSeconds;
     private ScheduledExecutorService reportScheduledExecutor;
-    private ScheduledExecutorService heartScheduledExecutor;
+    private DefaultTaskResult lastReportedResult;
     private Map<String, String> logMetadata = new HashMap<>();
     private AtomicLong logMetaCollectedMillis = new AtomicLong(0L);
 
     public TaskMonitor(BaseTask<?> task, CloudObjectStorageService cloudObjectStorageService) {
         this.task = task;
-        this.reporter = new TaskReporter(task.getJobContext().getHostUrls());;
+        this.reporter = new TaskReporter(task.getJobContext().getHostUrls());
+        this.reportBatcher = TaskReportBatcher.of(task.getJobContext().getHostUrls());
         this.cloudObjectStorageService = cloudObjectStorageService;
     }
 
@@ -100,20 +102,10 @@ public class TaskMonitor {
                 TimeUnit.SECONDS);
         log.info("Task monitor init success");
 
-        heartScheduledExecutor = Executors.newSingleThreadScheduledExecutor(
-                new TaskThreadFactory(("Task-Heart-Job-" + getJobId())));
-
-        heartScheduledExecutor.scheduleAtFixedRate(() -> {
-            try {
-                if (JobUtils.getExecutorPort().isPresent() && JobUtils.isReportEnabled()) {
-                    getReporter().report(JobServerUrls.TASK_HEARTBEAT, buildHeartRequest());
-                }
-            } catch (Throwable e) {
-                log.warn("Update heart info failed, id: {}", getJobId(), e);
-            }
-        }, JobConstants.REPORT_TASK_HEART_DELAY_SECONDS,
-                JobConstants.REPORT_TASK_HEART_INTERVAL_SECONDS,
-                TimeUnit.SECONDS);
+        if (JobUtils.isReportEnabled()) {
+            // heartbeats are sent in batch with the other jobs of this executor
+            reportBatcher.register(getTask().getJobContext().getJobIdentity());
+        }
         log.info("Task heart init success");
     }
 
@@ -122,7 +114,7 @@ public class TaskMonitor {
             doFinal();
         } finally {
             destroy(reportScheduledExecutor);
-            destroy(heartScheduledExecutor);
+            reportBatcher.unregister(getTask().getJobContext().getJobIdentity());
         }
     }
 
@@ -148,7 +140,12 @@ public class TaskMonitor {
             return;
         }
 
-        getReporter().report(JobServerUrls.TASK_UPLOAD_RESULT, copiedResult);
+        if (!copiedResult.progressChanged(lastReportedResult)) {
+            log.debug("Progress not changed, skip report, id: {}", getJobId());
+            return;
+        }
+        reportBatcher.offer(copiedResult);
+        this.lastReportedResult = copiedResult;
         log.info("Report task info, id: {}, status: {}, progress: {}%, result: {}", getJobId(),
                 copiedResult.getStatus(), String.format("%.2f", copiedResult.getProgress()), getTask().getTaskResult());
     }
@@ -250,21 +247,10 @@ public class TaskMonitor {
         }
     }
 
-    private HeartbeatRequest buildHeartRequest() {
-        HeartbeatRequest request = new HeartbeatRequest();
-        request.setJobIdentity(getTask().getJobContext().getJobIdentity());
-        request.setExecutorEndpoint(JobUtils.getExecutorPoint());
-        return request;
-    }
-
     private BaseTask<?> getTask() {
         return task;
     }
 
-    private TaskReporter getReporter() {
-        return reporter;
-    }
-
     private Long getJobId() {
         return getTask().getJobContext().getJobIdentity().getId();
     }
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.task.executor.server;
+
+import java.util.List;
+
+import com.oceanbase.odc.service.task.executor.task.DefaultTaskResult;
+
+import lombok.Data;
+
+/**
+ * Heartbeats and changed results of all the jobs running in one executor, reported in one request
+ *
+ * @author agent
+ * @date 2026-10-17 17:05
+ * @since ODC_release_4.3.2
+ */
+@Data
+public class TaskReportBatch {
+
+    private List<HeartbeatRequest> heartbeats;
+
+    private List<DefaultTaskResult> results;
+
+}
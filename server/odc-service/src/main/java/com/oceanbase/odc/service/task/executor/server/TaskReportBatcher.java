@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.task.executor.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.oceanbase.odc.core.task.TaskThreadFactory;
+import com.oceanbase.odc.service.task.constants.JobConstants;
+import com.oceanbase.odc.service.task.constants.JobServerUrls;
+import com.oceanbase.odc.service.task.executor.task.DefaultTaskResult;
+import com.oceanbase.odc.service.task.schedule.JobIdentity;
+import com.oceanbase.odc.service.task.util.JobUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link TaskReportBatcher}, reports for all the jobs running in the executor. Every tick sends one
+ * {@link TaskReportBatch} which carries a heartbeat for each running job and the latest result of
+ * the jobs whose progress changed since the last tick, rather than one request per job and kind.
+ * The ticks run on non-daemon threads, which are stopped by {@link #shutdownAll()} when the
+ * executor exits.
+ *
+ * @author agent
+ * @date 2026-10-17 17:10
+ * @since ODC_release_4.3.2
+ */
+@Slf4j
+public class TaskReportBatcher {
+
+    private static final Map<List<String>, TaskReportBatcher> BATCHERS = new ConcurrentHashMap<>();
+
+    private final TaskReporter reporter;
+    private final Set<JobIdentity> runningJobs = ConcurrentHashMap.newKeySet();
+    private final Map<JobIdentity, DefaultTaskResult> pendingResults = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    TaskReportBatcher(TaskReporter reporter) {
+        this.reporter = reporter;
+    }
+
+    public static TaskReportBatcher of(List<String> hostUrls) {
+        return BATCHERS.computeIfAbsent(new ArrayList<>(hostUrls), urls -> {
+            TaskReportBatcher batcher = new TaskReportBatcher(new TaskReporter(urls));
+            batcher.start();
+            return batcher;
+        });
+    }
+
+    /**
+     * Stop the ticks of all the batchers, the results not sent yet are reported by a last batch
+     */
+    public static void shutdownAll() {
+        for (List<String> hostUrls : new ArrayList<>(BATCHERS.keySet())) {
+            TaskReportBatcher batcher = BATCHERS.remove(hostUrls);
+            if (batcher != null) {
+                batcher.shutdown();
+            }
+        }
+    }
+
+    void start() {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                new TraceDecoratorThreadFactory(new TaskThreadFactory("Task-Report-Batcher")));
+        this.scheduler.scheduleWithFixedDelay(this::tick, JobConstants.REPORT_TASK_HEART_DELAY_SECONDS,
+                JobConstants.REPORT_TASK_HEART_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    void shutdown() {
+        if (this.scheduler == null) {
+            return;
+        }
+        this.scheduler.shutdown();
+        try {
+            if (!this.scheduler.awaitTermination(JobConstants.REPORT_TASK_HEART_INTERVAL_SECONDS, TimeUnit.SECONDS)) {
+                this.scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            this.scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+            return;
+        }
+        tick();
+    }
+
+    private void tick() {
+        try {
+            if (JobUtils.getExecutorPort().isPresent()) {
+                flush(JobUtils.getExecutorPoint());
+            }
+        } catch (Throwable e) {
+            log.warn("Report task batch failed", e);
+        }
+    }
+
+    public void register(JobIdentity jobIdentity) {
+        runningJobs.add(jobIdentity);
+    }
+
+    public void unregister(JobIdentity jobIdentity) {
+        runningJobs.remove(jobIdentity);
+        pendingResults.remove(jobIdentity);
+    }
+
+    /**
+     * Queue the result to the next batch, an earlier result of the same job not sent yet is replaced
+     */
+    public void offer(DefaultTaskResult result) {
+        pendingResults.put(result.getJobIdentity(), result);
+    }
+
+    void flush(String executorEndpoint) {
+        List<DefaultTaskResult> results = new ArrayList<>();
+        for (JobIdentity jobIdentity : new ArrayList<>(pendingResults.keySet())) {
+            DefaultTaskResult result = pendingResults.remove(jobIdentity);
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        List<HeartbeatRequest> heartbeats = new ArrayList<>();
+        for (JobIdentity jobIdentity : runningJobs) {
+            HeartbeatRequest heartbeat = new HeartbeatRequest();
+            heartbeat.setJobIdentity(jobIdentity);
+            heartbeat.setExecutorEndpoint(executorEndpoint);
+            heartbeats.add(heartbeat);
+        }
+        if (heartbeats.isEmpty() && results.isEmpty()) {
+            return;
+        }
+        TaskReportBatch batch = new TaskReportBatch();
+        batch.setHeartbeats(heartbeats);
+        batch.setResults(results);
+        if (!reporter.report(JobServerUrls.TASK_REPORT, batch)) {
+            // retry at the next tick, unless a newer result is offered or the job is gone meanwhile
+            results.stream().filter(r -> runningJobs.contains(r.getJobIdentity()))
+                    .forEach(r -> pendingResults.putIfAbsent(r.getJobIdentity(), r));
+        }
+    }
+
+}
@@ -16,8 +16,8 @@
 
 package com.oceanbase.odc.service.task.executor.server;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -26,6 +26,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import com.oceanbase.odc.common.concurrent.ExecutorUtils;
+import com.oceanbase.odc.common.trace.TaskContextHolder;
 import com.oceanbase.odc.core.shared.PreConditions;
 import com.oceanbase.odc.core.task.TaskThreadFactory;
 import com.oceanbase.odc.service.task.caller.JobContext;
@@ -34,6 +35,7 @@ import com.oceanbase.odc.service.task.executor.task.ExceptionListener;
 import com.oceanbase.odc.service.task.executor.task.Task;
 import com.oceanbase.odc.service.task.executor.task.TaskContext;
 import com.oceanbase.odc.service.task.schedule.JobIdentity;
+import com.oceanbase.odc.service.task.util.JobUtils;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -47,8 +49,8 @@ import lombok.extern.slf4j.Slf4j;
 public class ThreadPoolTaskExecutor implements TaskExecutor {
 
     private static final TaskExecutor TASK_EXECUTOR = new ThreadPoolTaskExecutor();
-    private final Map<JobIdentity, BaseTask<?>> tasks = new HashMap<>();
-    private final Map<JobIdentity, Future<?>> futures = new HashMap<>();
+    private final Map<JobIdentity, BaseTask<?>> tasks = new ConcurrentHashMap<>();
+    private final Map<JobIdentity, Future<?>> futures = new ConcurrentHashMap<>();
     private final ExecutorService executor;
 
     private ThreadPoolTaskExecutor() {
@@ -68,7 +70,8 @@ public class ThreadPoolTaskExecutor implements TaskExecutor {
         if (tasks.containsKey(jobIdentity)) {
             throw new IllegalArgumentException("Task already exists, jobIdentity=" + jobIdentity.getId());
         }
-        Future<?> future = executor.submit(() -> {
+        // threads are reused by the jobs of a pooled executor, so the trace context of each job is passed
+        Future<?> future = executor.submit(TraceDecoratorUtils.decorate(() -> {
             try {
                 task.start(new TaskContext() {
                     @Override
@@ -84,8 +87,10 @@ public class ThreadPoolTaskExecutor implements TaskExecutor {
             } catch (Exception e) {
                 log.error("Task start failed, jobIdentity={}.", jobIdentity.getId(), e);
                 task.onException(e);
+            } finally {
+                TaskContextHolder.clear();
             }
-        });
+        }));
         futures.put(jobIdentity, future);
         tasks.put(jobIdentity, task);
     }
@@ -110,7 +115,9 @@ public class ThreadPoolTaskExecutor implements TaskExecutor {
             // current status is CANCELING must push to CANCELED
             result = task.getStatus().isTerminated();
         }
-        ExecutorUtils.gracefulShutdown(executor, "Task-Executor", result ? 1 : 5);
+        if (!JobUtils.isPooledExecutor()) {
+            ExecutorUtils.gracefulShutdown(executor, "Task-Executor", result ? 1 : 5);
+        }
         log.info("Task be canceled succeed, taskId={}, status={}, result={}.",
                 ji.getId(), task.getStatus(), result);
         return true;
@@ -122,4 +129,32 @@ public class ThreadPoolTaskExecutor implements TaskExecutor {
         PreConditions.notNull(task, "task", "Task not found, jobIdentity=" + ji.getId());
         return task;
     }
+
+    @Override
+    synchronized public boolean release(JobIdentity ji) {
+        BaseTask<?> task = tasks.get(ji);
+        if (task == null) {
+            return true;
+        }
+        if (isRunning(ji, task)) {
+            log.warn("Task is still running and cannot be released, jobIdentity={}, status={}.",
+                    ji.getId(), task.getStatus());
+            return false;
+        }
+        tasks.remove(ji);
+        futures.remove(ji);
+        log.info("Task released, jobIdentity={}.", ji.getId());
+        return true;
+    }
+
+    @Override
+    public int getTaskCount() {
+        // a terminated task is kept until it is released, but it does not keep the executor busy
+        return (int) tasks.entrySet().stream().filter(e -> isRunning(e.getKey(), e.getValue())).count();
+    }
+
+    private boolean isRunning(JobIdentity ji, BaseTask<?> task) {
+        Future<?> future = futures.get(ji);
+        return !task.getStatus().isTerminated() || (future != null && !future.isDone());
+    }
 }
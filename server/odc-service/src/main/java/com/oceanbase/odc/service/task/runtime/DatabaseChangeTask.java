@@ -23,9 +23,7 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -48,6 +46,9 @@ import com.oceanbase.odc.core.datamasking.algorithm.Algorithm;
 import com.oceanbase.odc.core.datamasking.algorithm.AlgorithmEnum;
 import com.oceanbase.odc.core.datamasking.algorithm.AlgorithmFactory;
 import com.oceanbase.odc.core.datamasking.data.metadata.MetadataFactory;
+import com.oceanbase.odc.core.datamasking.masker.ColumnMasker;
+import com.oceanbase.odc.core.datamasking.masker.DataMaskingEngine;
+import com.oceanbase.odc.core.datamasking.masker.DataMaskingEngine.MaskingStats;
 import com.oceanbase.odc.core.datasource.ConnectionInitializer;
 import com.oceanbase.odc.core.flow.model.FlowTaskResult;
 import com.oceanbase.odc.core.session.ConnectionSession;
@@ -579,48 +580,27 @@ public class DatabaseChangeTask extends BaseTask<FlowTaskResult> {
         List<JdbcColumnMetaData> fieldMetaDataList = result.getResultSetMetaData().getFieldMetaDataList();
         int columnCount = rows.get(0).size();
         Verify.equals(columnCount, algorithms.size(), "algorithms.size");
-        String dataType = "string";
-        int totalCount = 0;
-        int skippedCount = 0;
-        int failedCount = 0;
-        Map<String, Integer> failedColumn2FirstRow = new HashMap<>();
-        for (int i = 0; i < columnCount; i++) {
-            Algorithm algorithm = algorithms.get(i);
+        List<ColumnMasker> maskers = new ArrayList<>(columnCount);
+        for (Algorithm algorithm : algorithms) {
             if (Objects.isNull(algorithm)) {
-                totalCount += rows.size();
-                skippedCount += rows.size();
+                maskers.add(null);
                 continue;
             }
-            if (algorithm.getType() == AlgorithmEnum.ROUNDING) {
-                dataType = "double";
-            }
-            com.oceanbase.odc.core.datamasking.data.Data before = com.oceanbase.odc.core.datamasking.data.Data.of(null,
-                    MetadataFactory.createMetadata(null, dataType));
-            for (int j = 0; j < rows.size(); j++) {
-                List<Object> rowData = rows.get(j);
-                totalCount++;
-                if (rowData.get(i) == null) {
-                    skippedCount++;
-                    continue;
-                }
-                before.setValue(rowData.get(i).toString());
-                com.oceanbase.odc.core.datamasking.data.Data masked;
-                try {
-                    masked = algorithm.mask(before);
-                } catch (Exception e) {
-                    // Eat exception
-                    failedCount++;
-                    failedColumn2FirstRow.putIfAbsent(columnLabels.get(i), j);
-                    continue;
-                }
-                rowData.set(i, masked.getValue());
+            String dataType = algorithm.getType() == AlgorithmEnum.ROUNDING ? "double" : "string";
+            maskers.add(new ColumnMasker(algorithm, MetadataFactory.createMetadata(null, dataType)));
+        }
+        MaskingStats stats = DataMaskingEngine.mask(rows, maskers);
+        for (int i = 0; i < columnCount; i++) {
+            if (Objects.nonNull(maskers.get(i))) {
+                fieldMetaDataList.get(i).setMasked(true);
             }
-            fieldMetaDataList.get(i).setMasked(true);
         }
-        log.info("Data masking finished, total: {}, skipped: {}, failed: {}.", totalCount, skippedCount, failedCount);
-        if (failedCount > 0) {
-            String msg = failedColumn2FirstRow.entrySet().stream()
-                    .map(e -> String.format("columnLabel: %s, columnIndex: %d", e.getKey(), e.getValue()))
+        log.info("Data masking finished, total: {}, skipped: {}, failed: {}.", stats.getTotalCount(),
+                stats.getSkippedCount(), stats.getFailedCount());
+        if (stats.getFailedCount() > 0) {
+            String msg = stats.getFailedColumn2FirstRow().entrySet().stream()
+                    .map(e -> String.format("columnLabel: %s, columnIndex: %d", columnLabels.get(e.getKey()),
+                            e.getValue()))
                     .collect(Collectors.joining("; "));
             log.warn("Exception happened during data masking, position details: {}", msg);
         }
@@ -16,18 +16,23 @@
 package com.oceanbase.odc.service.task.schedule.daemon;
 
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import org.quartz.DisallowConcurrentExecution;
 import org.quartz.Job;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
-import org.springframework.data.domain.Page;
 
-import com.google.common.collect.Lists;
 import com.oceanbase.odc.common.trace.TraceContextHolder;
+import com.oceanbase.odc.common.util.StringUtils;
+import com.oceanbase.odc.common.util.SystemUtils;
 import com.oceanbase.odc.core.alarm.AlarmEventNames;
 import com.oceanbase.odc.core.alarm.AlarmUtils;
 import com.oceanbase.odc.metadb.task.JobEntity;
@@ -72,28 +77,55 @@ public class StartPreparingJob implements Job {
             return;
         }
         TaskFrameworkProperties taskFrameworkProperties = configuration.getTaskFrameworkProperties();
-        // scan preparing job
+        // claim preparing jobs by one statement, jobs claimed by this round are not visible to other nodes
         TaskFrameworkService taskFrameworkService = configuration.getTaskFrameworkService();
-        Page<JobEntity> jobs = taskFrameworkService.find(
-                Lists.newArrayList(JobStatus.PREPARING, JobStatus.RETRYING), 0,
-                taskFrameworkProperties.getSingleFetchPreparingJobRows());
-
+        String owner = SystemUtils.getLocalIpAddress() + "-" + StringUtils.uuidNoHyphen();
+        List<JobEntity> jobs = taskFrameworkService.claimPreparingJobs(owner,
+                taskFrameworkProperties.getSingleFetchPreparingJobRows(),
+                taskFrameworkProperties.getJobClaimTimeoutSeconds());
+        if (jobs.isEmpty()) {
+            return;
+        }
+        ExecutorService executor = configuration.getStartJobExecutor();
+        List<Future<?>> futures = new ArrayList<>();
         for (JobEntity a : jobs) {
             if (!configuration.getStartJobRateLimiter().tryAcquire()) {
-                break;
+                // give back the claim so that the job can be started by other nodes immediately
+                taskFrameworkService.releaseClaim(a.getId(), owner);
+                continue;
             }
+            if (executor == null) {
+                startClaimedJob(taskFrameworkService, a, owner);
+            } else {
+                futures.add(executor.submit(() -> startClaimedJob(taskFrameworkService, a, owner)));
+            }
+        }
+        for (Future<?> future : futures) {
             try {
-                if (checkJobIsExpired(a)) {
-                    taskFrameworkService.updateStatusDescriptionByIdOldStatus(a.getId(),
-                            a.getStatus(), JobStatus.CANCELED, "Job expired and failed.");
-                } else {
-                    startJob(taskFrameworkService, a);
-                }
-            } catch (Throwable e) {
-                log.warn("Start job failed, jobId={}.", a.getId(), e);
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                log.warn("Start job failed.", e.getCause());
             }
         }
+    }
 
+    private void startClaimedJob(TaskFrameworkService taskFrameworkService, JobEntity a, String owner) {
+        try {
+            if (checkJobIsExpired(a)) {
+                taskFrameworkService.updateStatusDescriptionByIdOldStatus(a.getId(),
+                        a.getStatus(), JobStatus.CANCELED, "Job expired and failed.");
+            } else {
+                startJob(taskFrameworkService, a);
+            }
+        } catch (Throwable e) {
+            log.warn("Start job failed, jobId={}.", a.getId(), e);
+            taskFrameworkService.releaseClaim(a.getId(), owner);
+        } finally {
+            TraceContextHolder.clear();
+        }
     }
 
     private void startJob(TaskFrameworkService taskFrameworkService, JobEntity jobEntity) {
@@ -16,12 +16,14 @@
 
 package com.oceanbase.odc.service.task.service;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.persistence.EntityManager;
@@ -144,6 +146,24 @@ public class StdTaskFrameworkService implements TaskFrameworkService {
         return page(condition, page, size);
     }
 
+    @Override
+    public List<JobEntity> claimPreparingJobs(String owner, int limit, int claimSeconds) {
+        Date now = JobDateUtils.getCurrentDate();
+        Date expireTime = new Date(now.getTime() + TimeUnit.SECONDS.toMillis(claimSeconds));
+        Date createdAfter = JobDateUtils.getCurrentDateSubtractDays(RECENT_DAY);
+        int rows = jobRepository.claimPreparingJobs(owner, now, expireTime, createdAfter, limit);
+        if (rows == 0) {
+            return Collections.emptyList();
+        }
+        return jobRepository.findByClaimOwnerAndStatusIn(owner,
+                Arrays.asList(JobStatus.PREPARING, JobStatus.RETRYING));
+    }
+
+    @Override
+    public void releaseClaim(Long id, String owner) {
+        jobRepository.releaseClaim(id, owner);
+    }
+
     @Override
     public Page<JobEntity> findCancelingJob(int page, int size) {
         Specification<JobEntity> condition = Specification.where(getRecentDaySpec(RECENT_DAY))
@@ -317,7 +337,12 @@ public class StdTaskFrameworkService implements TaskFrameworkService {
                 log.warn("Update executor endpoint failed, jobId={}", je.getId());
             }
         }
-        // TODO: update task entity only when progress changed
+        if (taskResult.getStatus() == je.getStatus()
+                && Double.compare(taskResult.getProgress(), je.getProgressPercentage()) == 0
+                && StringUtils.equals(taskResult.getResultJson(), je.getResultJson())) {
+            log.debug("Progress not changed, skip update result to metadb, jobId={}", je.getId());
+            return;
+        }
         int rows = updateTaskResult(taskResult, je);
         if (rows > 0) {
             taskResultPublisherExecutor
@@ -454,6 +479,22 @@ public class StdTaskFrameworkService implements TaskFrameworkService {
         }
     }
 
+    @Override
+    public void handleHeartbeats(@NonNull List<HeartbeatRequest> heartbeats) {
+        List<Object[]> args = heartbeats.stream()
+                .filter(heart -> heart.getJobIdentity() != null && heart.getJobIdentity().getId() != null
+                        && StringUtils.isNotBlank(heart.getExecutorEndpoint()))
+                .map(heart -> new Object[] {heart.getJobIdentity().getId(), heart.getExecutorEndpoint()})
+                .collect(Collectors.toList());
+        if (args.isEmpty()) {
+            return;
+        }
+        int affectedRows = jobRepository.batchUpdateHeartbeatTime(args);
+        if (affectedRows < args.size()) {
+            log.info("Heartbeat batch partially updated, count={}, affectedRows={}", args.size(), affectedRows);
+        }
+    }
+
     private int updateExecutorEndpoint(Long id, String executorEndpoint, JobEntity currentJob) {
         return jobRepository.updateExecutorEndpoint(id, executorEndpoint, currentJob.getStatus());
     }
@@ -46,6 +46,11 @@ public interface TaskFrameworkService {
 
     void handleHeart(HeartbeatRequest heart);
 
+    /**
+     * handle the heartbeats of all the running jobs of an executor with one batch update
+     */
+    void handleHeartbeats(List<HeartbeatRequest> heartbeats);
+
     JobEntity find(Long id);
 
     Page<JobEntity> findCancelingJob(int page, int size);
@@ -64,6 +69,16 @@ public interface TaskFrameworkService {
 
     Page<JobEntity> findRunningJobs(int page, int size);
 
+    /**
+     * claim PREPARING or RETRYING jobs to be started by the owner, a claimed job is not claimed by
+     * others until the claim is released or expired
+     *
+     * @return the claimed jobs
+     */
+    List<JobEntity> claimPreparingJobs(String owner, int limit, int claimSeconds);
+
+    void releaseClaim(Long id, String owner);
+
     /**
      * count jobs which process is running
      */
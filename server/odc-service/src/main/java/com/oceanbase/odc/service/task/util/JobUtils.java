@@ -162,6 +162,10 @@ public class JobUtils {
         return Long.parseLong(userId);
     }
 
+    public static boolean isPooledExecutor() {
+        return Boolean.parseBoolean(SystemUtils.getEnvOrProperty(JobEnvKeyConstants.ODC_EXECUTOR_POOLED));
+    }
+
     public static boolean isReportEnabled() {
         return !isReportDisabled();
     }
@@ -16,6 +16,8 @@
 package com.oceanbase.odc.service.task.util;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -26,6 +28,7 @@ import com.oceanbase.odc.common.util.ExceptionUtils;
 import com.oceanbase.odc.core.shared.constant.ErrorCodes;
 import com.oceanbase.odc.service.common.response.SuccessResponse;
 import com.oceanbase.odc.service.schedule.ScheduleLogProperties;
+import com.oceanbase.odc.service.task.constants.JobEnvKeyConstants;
 import com.oceanbase.odc.service.task.constants.JobExecutorUrls;
 import com.oceanbase.odc.service.task.exception.JobException;
 import com.oceanbase.odc.service.task.executor.server.ExecutorRequestHandler;
@@ -129,4 +132,51 @@ public class TaskExecutorClient {
         }
     }
 
+    public void startTask(@NonNull String executorEndpoint, @NonNull JobIdentity ji,
+            @NonNull String encryptedJobContext, long userId) throws JobException {
+        String url = executorEndpoint + JobExecutorUrls.START_TASK;
+        log.info("Try start job on pooled executor, jobId={}, url={}", ji.getId(), url);
+        Map<String, String> request = new HashMap<>();
+        request.put(JobEnvKeyConstants.ODC_JOB_CONTEXT, encryptedJobContext);
+        request.put(JobEnvKeyConstants.ODC_EXECUTOR_USER_ID, String.valueOf(userId));
+        try {
+            SuccessResponse<Boolean> response = HttpClientUtils.request("POST", url, JsonUtils.toJson(request),
+                    new TypeReference<SuccessResponse<Boolean>>() {});
+            if (response == null || !response.getSuccessful() || !Boolean.TRUE.equals(response.getData())) {
+                throw new JobException("Start job on pooled executor failed, jobId={0}, response={1}",
+                        ji.getId(), JsonUtils.toJson(response));
+            }
+        } catch (IOException e) {
+            throw new JobException("Start job on pooled executor occur error, jobId={0}, causeMessage={1}",
+                    ji.getId(), ExceptionUtils.getRootCauseReason(e));
+        }
+    }
+
+    /**
+     * @return true if the job is released and the pooled executor can run other jobs
+     */
+    public boolean releaseTask(@NonNull String executorEndpoint, @NonNull JobIdentity ji) {
+        String url = executorEndpoint + String.format(JobExecutorUrls.RELEASE_TASK, ji.getId());
+        try {
+            SuccessResponse<Boolean> response =
+                    HttpClientUtils.request("POST", url, "", new TypeReference<SuccessResponse<Boolean>>() {});
+            return response != null && response.getSuccessful() && Boolean.TRUE.equals(response.getData());
+        } catch (IOException e) {
+            log.warn("Release job on pooled executor occur error, jobId={}, url={}, causeMessage={}",
+                    ji.getId(), url, ExceptionUtils.getRootCauseReason(e));
+            return false;
+        }
+    }
+
+    public boolean isExecutorHealthy(@NonNull String executorEndpoint) {
+        try {
+            SuccessResponse<Boolean> response = HttpClientUtils.request("GET",
+                    executorEndpoint + JobExecutorUrls.EXECUTOR_HEALTH,
+                    new TypeReference<SuccessResponse<Boolean>>() {});
+            return response != null && Boolean.TRUE.equals(response.getData());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
 }
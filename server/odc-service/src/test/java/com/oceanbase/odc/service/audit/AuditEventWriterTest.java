@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.audit;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.oceanbase.odc.core.shared.constant.AuditEventAction;
+import com.oceanbase.odc.core.shared.constant.AuditEventResult;
+import com.oceanbase.odc.core.shared.constant.AuditEventType;
+import com.oceanbase.odc.metadb.audit.AuditEventDAO;
+import com.oceanbase.odc.metadb.audit.AuditEventEntity;
+
+public class AuditEventWriterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private AuditEventDAO auditEventDAO;
+    private TransactionTemplate transactionTemplate;
+    private File spillFile;
+    private File replayFile;
+
+    @Before
+    public void setUp() {
+        this.auditEventDAO = mock(AuditEventDAO.class);
+        this.transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        this.spillFile = new File(folder.getRoot(), "AUDIT/audit-event.spill");
+        this.replayFile = new File(folder.getRoot(), "AUDIT/audit-event.spill.replaying");
+    }
+
+    @Test
+    public void flush_InsertsAndFinishes_WrittenInOneBatchEach() {
+        AuditEventWriter writer = newWriter(16);
+        writer.insert(event("1"));
+        writer.insert(event("2"));
+        writer.finish("1", AuditEventAction.SELECT, "select 1", AuditEventResult.SUCCESS);
+
+        Assert.assertEquals(3, writer.flush());
+        ArgumentCaptor<List<AuditEventEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(auditEventDAO).batchInsert(captor.capture());
+        Assert.assertEquals(2, captor.getValue().size());
+        verify(auditEventDAO).batchFinishByTaskId(captor.capture());
+        Assert.assertEquals(AuditEventResult.SUCCESS, captor.getValue().get(0).getResult());
+        Assert.assertFalse(spillFile.exists());
+    }
+
+    @Test
+    public void flush_WriteFailed_SpilledAndReplayed() {
+        AuditEventWriter writer = newWriter(16);
+        AuditEventEntity event = event("1");
+        writer.insert(event);
+        doThrow(new IllegalStateException("metadb down")).when(auditEventDAO).batchInsert(anyList());
+        writer.flush();
+        Assert.assertTrue(replayFile.length() > 0);
+
+        reset(auditEventDAO);
+        writer.insert(event("2"));
+        writer.flush();
+        verify(auditEventDAO, never()).batchInsert(anyList());
+        Assert.assertTrue(spillFile.length() > 0);
+
+        ReflectionTestUtils.setField(writer, "nextReplayMillis", 0L);
+        writer.flush();
+        writer.flush();
+        ArgumentCaptor<List<AuditEventEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(auditEventDAO, times(2)).batchInsert(captor.capture());
+        Assert.assertEquals(event, captor.getAllValues().get(0).get(0));
+        Assert.assertEquals("2", captor.getAllValues().get(1).get(0).getTaskId());
+        Assert.assertFalse(spillFile.exists());
+        Assert.assertFalse(replayFile.exists());
+    }
+
+    @Test
+    public void flush_ReplayFailedHalfway_WrittenEventsNotReplayedAgain() {
+        AuditEventWriter spiller = new AuditEventWriter(auditEventDAO, transactionTemplate, 1, 1, 200,
+                spillFile.getAbsolutePath());
+        spiller.insert(event("1"));
+        spiller.insert(event("2"));
+        spiller.insert(event("3"));
+        spiller.insert(event("4"));
+
+        AuditEventWriter writer = new AuditEventWriter(auditEventDAO, transactionTemplate, 16, 1, 200,
+                spillFile.getAbsolutePath());
+        when(auditEventDAO.batchInsert(anyList())).thenReturn(1).thenThrow(new IllegalStateException("metadb down"))
+                .thenReturn(1);
+        writer.flush();
+        ReflectionTestUtils.setField(writer, "nextReplayMillis", 0L);
+        writer.flush();
+
+        ArgumentCaptor<List<AuditEventEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(auditEventDAO, times(5)).batchInsert(captor.capture());
+        Assert.assertEquals(Arrays.asList("1", "2", "2", "3", "4"), captor.getAllValues().stream()
+                .map(events -> events.get(0).getTaskId()).collect(Collectors.toList()));
+        Assert.assertFalse(replayFile.exists());
+    }
+
+    @Test
+    public void insert_RingIsFull_Spilled() throws Exception {
+        AuditEventWriter writer = newWriter(1);
+        writer.insert(event("1"));
+        writer.insert(event("2"));
+        List<String> lines = Files.readAllLines(spillFile.toPath(), StandardCharsets.UTF_8);
+        // the event in the ring is older, it is spilled first
+        Assert.assertEquals(2, lines.size());
+        Assert.assertTrue(lines.get(0).contains("\"taskId\":\"1\""));
+    }
+
+    @Test
+    public void finish_EventNotWrittenYet_WholeEventReturned() {
+        AuditEventWriter writer = newWriter(16);
+        writer.insert(event("1"));
+
+        AuditEventEntity finished = writer.finish("1", AuditEventAction.SELECT, "select 1", AuditEventResult.SUCCESS);
+        Assert.assertEquals("odc", finished.getUsername());
+        Assert.assertEquals(AuditEventResult.SUCCESS, finished.getResult());
+        Assert.assertEquals("select 1", finished.getDetail());
+    }
+
+    @Test
+    public void finish_EventWritten_PersistedEventReturned() {
+        AuditEventWriter writer = newWriter(16);
+        AuditEventEntity event = event("1");
+        doAnswer(invocation -> {
+            event.setId(10L);
+            return 1;
+        }).when(auditEventDAO).batchInsert(anyList());
+        writer.insert(event);
+        writer.flush();
+
+        AuditEventEntity finished = writer.finish("1", AuditEventAction.SELECT, "select 1", AuditEventResult.SUCCESS);
+        Assert.assertEquals(Long.valueOf(10L), finished.getId());
+        Assert.assertEquals(AuditEventResult.SUCCESS, finished.getResult());
+    }
+
+    @Test
+    public void insert_SpillFailed_LostEventsCounted() throws Exception {
+        File notDir = folder.newFile("AUDIT");
+        AuditEventWriter writer = new AuditEventWriter(auditEventDAO, transactionTemplate, 1, 500, 200,
+                new File(notDir, "audit-event.spill").getAbsolutePath());
+        writer.insert(event("1"));
+        writer.insert(event("2"));
+        Assert.assertEquals(2, writer.getLostEventCount());
+    }
+
+    @Test
+    public void finish_NoUnfinishedEvent_ReturnNullAndStillFinish() {
+        AuditEventWriter writer = newWriter(16);
+        Assert.assertNull(writer.finish("1", AuditEventAction.SELECT, "select 1", AuditEventResult.SUCCESS));
+
+        writer.flush();
+        verify(auditEventDAO).batchFinishByTaskId(anyList());
+    }
+
+    @Test
+    public void flush_SpillFileLeftByLastRun_Replayed() throws Exception {
+        AuditEventWriter crashed = newWriter(1);
+        crashed.insert(event("1"));
+        crashed.insert(event("2"));
+        crashed.insert(event("3"));
+        Files.write(spillFile.toPath(), "{\"operation\":\"INS".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        AuditEventWriter writer = newWriter(16);
+        writer.flush();
+        ArgumentCaptor<List<AuditEventEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(auditEventDAO, times(1)).batchInsert(captor.capture());
+        Assert.assertEquals(2, captor.getValue().size());
+        Assert.assertFalse(spillFile.exists());
+        Assert.assertFalse(replayFile.exists());
+    }
+
+    private AuditEventWriter newWriter(int capacity) {
+        return new AuditEventWriter(auditEventDAO, transactionTemplate, capacity, 500, 200,
+                spillFile.getAbsolutePath());
+    }
+
+    private static AuditEventEntity event(String taskId) {
+        AuditEventEntity entity = new AuditEventEntity();
+        entity.setType(AuditEventType.DATABASE_OPERATION);
+        entity.setAction(AuditEventAction.OTHERS);
+        entity.setDetail("{}");
+        entity.setResult(AuditEventResult.UNFINISHED);
+        entity.setUserId(1L);
+        entity.setUsername("odc");
+        entity.setOrganizationId(1L);
+        entity.setTaskId(taskId);
+        entity.setStartTime(new Date());
+        return entity;
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.datasecurity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oceanbase.odc.service.datasecurity.extractor.model.DBColumn;
+
+public class ColumnLineageCacheTest {
+
+    private static final Long DATASOURCE_ID = 1L;
+
+    private final ColumnLineageCache lineageCache = new ColumnLineageCache();
+    private final AtomicInteger extractCount = new AtomicInteger();
+
+    @Test
+    public void get_sameSql_extractOnce() {
+        List<Set<DBColumn>> first = get("db_a", "select phone from tab_1");
+        List<Set<DBColumn>> second = get("db_a", "select phone from tab_1");
+        Assert.assertEquals(first, second);
+        Assert.assertEquals(1, extractCount.get());
+    }
+
+    @Test
+    public void get_sqlsOnlyDifferInComment_extractEach() {
+        get("db_a", "select c from t_pub -- x\nunion all select phone from t_secret");
+        get("db_a", "select c from t_pub -- x union all select phone from t_secret");
+        get("db_a", "select c from t_pub # x\nunion all select phone from t_secret");
+        get("db_a", "select c from t_pub # x union all select phone from t_secret");
+        get("db_a", "select c from t_pub /* x */ union all select phone from t_secret");
+        get("db_a", "select c from t_pub /* x union all select phone from t_secret */");
+        Assert.assertEquals(6, extractCount.get());
+    }
+
+    @Test
+    public void get_differentSchema_extractAgain() {
+        get("db_a", "select phone from tab_1");
+        get("db_b", "select phone from tab_1");
+        Assert.assertEquals(2, extractCount.get());
+    }
+
+    @Test
+    public void get_schemaChanged_extractAgain() {
+        get("db_a", "select phone from tab_1");
+        lineageCache.onSchemaChanged(DATASOURCE_ID);
+        get("db_a", "select phone from tab_1");
+        Assert.assertEquals(2, extractCount.get());
+    }
+
+    @Test
+    public void get_extractFailed_notCached() {
+        Supplier<List<Set<DBColumn>>> failed = () -> {
+            extractCount.incrementAndGet();
+            return null;
+        };
+        Assert.assertNull(lineageCache.get(DATASOURCE_ID, "db_a", "select 1", failed));
+        Assert.assertNull(lineageCache.get(DATASOURCE_ID, "db_a", "select 1", failed));
+        Assert.assertEquals(2, extractCount.get());
+    }
+
+    @Test
+    public void get_modifyReturnedLineage_cacheNotAffected() {
+        get("db_a", "select phone from tab_1").get(0).clear();
+        Assert.assertEquals(1, get("db_a", "select phone from tab_1").get(0).size());
+    }
+
+    @Test
+    public void get_exceedMaxWeight_evicted() {
+        ColumnLineageCache smallCache = new ColumnLineageCache(16 * 1024);
+        StringBuilder padding = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            padding.append(' ');
+        }
+        for (int i = 0; i < 100; i++) {
+            get(smallCache, "db_a", "select phone from tab_" + i + padding);
+        }
+        // each entry weighs more than 2000 bytes, at most 8 of them fit
+        Assert.assertTrue(smallCache.estimatedSize() <= 8);
+    }
+
+    private List<Set<DBColumn>> get(String currentSchema, String sql) {
+        return get(lineageCache, currentSchema, sql);
+    }
+
+    private List<Set<DBColumn>> get(ColumnLineageCache cache, String currentSchema, String sql) {
+        return cache.get(DATASOURCE_ID, currentSchema, sql, () -> {
+            extractCount.incrementAndGet();
+            List<Set<DBColumn>> lineage = new ArrayList<>();
+            lineage.add(new HashSet<>(Collections.singleton(new DBColumn(currentSchema, "tab_1", "phone"))));
+            return lineage;
+        });
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.datasecurity;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.ConnectionCallback;
+
+import com.oceanbase.odc.core.session.ConnectionSession;
+import com.oceanbase.odc.core.session.ConnectionSessionConstants;
+import com.oceanbase.odc.core.shared.constant.DialectType;
+import com.oceanbase.odc.core.sql.execute.SyncJdbcExecutor;
+import com.oceanbase.tools.dbbrowser.model.DBTableColumn;
+
+/**
+ * @author agent
+ * @date 2026-10-17 23:40
+ * @since ODC_release_4.3.2
+ */
+public class SensitiveColumnContentSamplerTest {
+
+    private Connection connection;
+    private final List<Statement> statements = new ArrayList<>();
+    private SensitiveColumnContentSampler sampler;
+
+    @Before
+    public void setUp() throws Exception {
+        this.connection = DriverManager.getConnection("jdbc:h2:mem:content_sampler_test;MODE=MySQL");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table `PUBLIC`.`user_info`(`id` int, `phone` varchar(32), `avatar` blob,"
+                    + " `note` text)");
+            statement.execute("insert into `PUBLIC`.`user_info` values(1, '13800000000', null, 'n/a')");
+            statement.execute("insert into `PUBLIC`.`user_info` values(2, '15912345678', null, 'n/a')");
+        }
+        Connection spied = Mockito.spy(connection);
+        Mockito.doAnswer(invocation -> {
+            Statement statement = Mockito.spy((Statement) invocation.callRealMethod());
+            statements.add(statement);
+            return statement;
+        }).when(spied).createStatement();
+        SyncJdbcExecutor executor = Mockito.mock(SyncJdbcExecutor.class);
+        Mockito.when(executor.execute(ArgumentMatchers.<ConnectionCallback<Object>>any()))
+                .thenAnswer(invocation -> ((ConnectionCallback<?>) invocation.getArgument(0)).doInConnection(spied));
+        ConnectionSession session = Mockito.mock(ConnectionSession.class);
+        Mockito.when(session.getDialectType()).thenReturn(DialectType.MYSQL);
+        Mockito.when(session.getSyncJdbcExecutor(ConnectionSessionConstants.BACKEND_DS_KEY)).thenReturn(executor);
+        this.sampler = new SensitiveColumnContentSampler(session, 1L);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table `PUBLIC`.`user_info`");
+        }
+        connection.close();
+    }
+
+    @Test
+    public void sample_columnsAdded_onlyCandidateColumnsSelectedOnce() throws Exception {
+        sampler.addColumns(Arrays.asList(column("id", "int"), column("phone", "varchar"),
+                column("avatar", "blob"), column("note", "text")));
+
+        Assert.assertEquals(Arrays.asList("13800000000", "15912345678"), sampler.sample(column("phone", "varchar")));
+        Assert.assertEquals(Arrays.asList("1", "2"), sampler.sample(column("id", "int")));
+        Assert.assertEquals(Collections.emptyList(), sampler.sample(column("note", "text")));
+        Assert.assertEquals(Collections.singletonList("SELECT `id`,`phone` FROM `PUBLIC`.`user_info` LIMIT 100"),
+                executedSqls());
+    }
+
+    @Test
+    public void sample_columnsNotAdded_onlyRequestedColumnSelected() throws Exception {
+        Assert.assertEquals(Arrays.asList("13800000000", "15912345678"), sampler.sample(column("phone", "varchar")));
+        Assert.assertEquals(Arrays.asList("1", "2"), sampler.sample(column("id", "int")));
+        Assert.assertEquals(Arrays.asList("13800000000", "15912345678"), sampler.sample(column("phone", "varchar")));
+        Assert.assertEquals(Arrays.asList("SELECT `phone` FROM `PUBLIC`.`user_info` LIMIT 100",
+                "SELECT `id` FROM `PUBLIC`.`user_info` LIMIT 100"), executedSqls());
+    }
+
+    @Test
+    public void sample_largeObjectColumn_notSelected() throws Exception {
+        Assert.assertEquals(Collections.emptyList(), sampler.sample(column("avatar", "blob")));
+        Assert.assertTrue(executedSqls().isEmpty());
+    }
+
+    private List<String> executedSqls() throws Exception {
+        List<String> sqls = new ArrayList<>();
+        for (Statement statement : statements) {
+            ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+            Mockito.verify(statement).executeQuery(captor.capture());
+            sqls.add(captor.getValue());
+        }
+        return sqls;
+    }
+
+    private static DBTableColumn column(String name, String typeName) {
+        DBTableColumn column = new DBTableColumn();
+        column.setSchemaName("PUBLIC");
+        column.setTableName("user_info");
+        column.setName(name);
+        column.setTypeName(typeName);
+        return column;
+    }
+
+}
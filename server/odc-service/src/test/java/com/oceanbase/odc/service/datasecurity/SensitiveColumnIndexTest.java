@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.datasecurity;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.oceanbase.odc.metadb.connection.DatabaseEntity;
+import com.oceanbase.odc.metadb.connection.DatabaseRepository;
+import com.oceanbase.odc.metadb.datasecurity.SensitiveColumnEntity;
+import com.oceanbase.odc.metadb.datasecurity.SensitiveColumnRepository;
+import com.oceanbase.odc.service.datasecurity.SensitiveColumnIndex.DataSourceIndex;
+import com.oceanbase.odc.service.datasecurity.extractor.model.DBColumn;
+
+public class SensitiveColumnIndexTest {
+
+    private static final Long DATASOURCE_ID = 1L;
+
+    @InjectMocks
+    private SensitiveColumnIndex sensitiveColumnIndex;
+    @Mock
+    private SensitiveColumnRepository repository;
+    @Mock
+    private DatabaseRepository databaseRepository;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        ReflectionTestUtils.setField(sensitiveColumnIndex, "indexTtlSeconds", 60L);
+        sensitiveColumnIndex.init();
+        when(databaseRepository.findByConnectionIdAndExisted(DATASOURCE_ID, true))
+                .thenReturn(Arrays.asList(database(10L, "db_a"), database(11L, "db_b")));
+        when(repository.findAll(any(Specification.class)))
+                .thenReturn(Collections.singletonList(column(100L, 10L, "tab_1", "phone", true)));
+    }
+
+    @Test
+    public void get_lookupByTable_caseInsensitive() {
+        DataSourceIndex index = sensitiveColumnIndex.get(DATASOURCE_ID);
+        Assert.assertFalse(index.isEmpty());
+        Assert.assertTrue(index.containsTable("DB_A", "TAB_1"));
+        Assert.assertFalse(index.containsTable("db_a", "tab_2"));
+        Assert.assertFalse(index.containsTable("db_b", "tab_1"));
+        Assert.assertEquals(Long.valueOf(100L), index.get(new DBColumn("db_a", "Tab_1", "PHONE")).getId());
+        Assert.assertNull(index.get(new DBColumn("db_a", "tab_1", "name")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void get_notChanged_loadOnce() {
+        DataSourceIndex index = sensitiveColumnIndex.get(DATASOURCE_ID);
+        Assert.assertSame(index, sensitiveColumnIndex.get(DATASOURCE_ID));
+        verify(repository, times(1)).getVersion(DATASOURCE_ID);
+        verify(repository, times(1)).findAll(any(Specification.class));
+    }
+
+    @Test
+    public void checkVersions_versionNotIncreased_indexKept() {
+        DataSourceIndex index = sensitiveColumnIndex.get(DATASOURCE_ID);
+        when(repository.getVersions(Collections.singleton(DATASOURCE_ID)))
+                .thenReturn(Collections.singletonMap(DATASOURCE_ID, 0L));
+        sensitiveColumnIndex.checkVersions();
+        Assert.assertSame(index, sensitiveColumnIndex.get(DATASOURCE_ID));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void checkVersions_versionIncreasedByOtherNode_reload() {
+        DataSourceIndex index = sensitiveColumnIndex.get(DATASOURCE_ID);
+        when(repository.getVersion(DATASOURCE_ID)).thenReturn(1L);
+        when(repository.getVersions(Collections.singleton(DATASOURCE_ID)))
+                .thenReturn(Collections.singletonMap(DATASOURCE_ID, 1L));
+        when(repository.findAll(any(Specification.class)))
+                .thenReturn(Collections.singletonList(column(101L, 11L, "tab_2", "email", true)));
+        Assert.assertSame(index, sensitiveColumnIndex.get(DATASOURCE_ID));
+        sensitiveColumnIndex.checkVersions();
+        DataSourceIndex reloaded = sensitiveColumnIndex.get(DATASOURCE_ID);
+        Assert.assertNotSame(index, reloaded);
+        Assert.assertFalse(reloaded.containsTable("db_a", "tab_1"));
+        Assert.assertEquals(Long.valueOf(101L), reloaded.get(new DBColumn("db_b", "tab_2", "email")).getId());
+        Assert.assertSame(reloaded, sensitiveColumnIndex.get(DATASOURCE_ID));
+    }
+
+    @Test
+    public void onChanged_increaseVersionOfEachDataSourceOnce() {
+        when(databaseRepository.findAllById(any()))
+                .thenReturn(Arrays.asList(database(10L, "db_a"), database(11L, "db_b")));
+        sensitiveColumnIndex.onChanged(Arrays.asList(column(100L, 10L, "tab_1", "phone", false),
+                column(101L, 11L, "tab_2", "email", true)));
+        verify(repository, times(1)).increaseVersion(DATASOURCE_ID);
+    }
+
+    @Test
+    public void onChanged_outOfTransaction_indexEvicted() {
+        DataSourceIndex index = sensitiveColumnIndex.get(DATASOURCE_ID);
+        when(databaseRepository.findAllById(any())).thenReturn(Collections.singletonList(database(10L, "db_a")));
+        sensitiveColumnIndex.onChanged(Collections.singletonList(column(100L, 10L, "tab_1", "phone", false)));
+        Assert.assertNotSame(index, sensitiveColumnIndex.get(DATASOURCE_ID));
+    }
+
+    @Test
+    public void onChanged_inTransaction_indexEvictedAfterCompletion() {
+        DataSourceIndex index = sensitiveColumnIndex.get(DATASOURCE_ID);
+        when(databaseRepository.findAllById(any())).thenReturn(Collections.singletonList(database(10L, "db_a")));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            sensitiveColumnIndex.onChanged(Collections.singletonList(column(100L, 10L, "tab_1", "phone", false)));
+            Assert.assertSame(index, sensitiveColumnIndex.get(DATASOURCE_ID));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        Assert.assertNotSame(index, sensitiveColumnIndex.get(DATASOURCE_ID));
+    }
+
+    private DatabaseEntity database(Long id, String name) {
+        DatabaseEntity entity = new DatabaseEntity();
+        entity.setId(id);
+        entity.setName(name);
+        entity.setConnectionId(DATASOURCE_ID);
+        return entity;
+    }
+
+    private SensitiveColumnEntity column(Long id, Long databaseId, String tableName, String columnName,
+            boolean enabled) {
+        SensitiveColumnEntity entity = new SensitiveColumnEntity();
+        entity.setId(id);
+        entity.setDatabaseId(databaseId);
+        entity.setTableName(tableName);
+        entity.setColumnName(columnName);
+        entity.setEnabled(enabled);
+        return entity;
+    }
+
+}
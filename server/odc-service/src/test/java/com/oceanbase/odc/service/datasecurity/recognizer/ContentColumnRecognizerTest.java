@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.datasecurity.recognizer;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.oceanbase.odc.service.datasecurity.SensitiveColumnContentSampler;
+import com.oceanbase.tools.dbbrowser.model.DBTableColumn;
+
+/**
+ * @author agent
+ * @date 2026-10-17 16:50
+ * @since ODC_release_4.3.2
+ */
+public class ContentColumnRecognizerTest {
+
+    private static final String PHONE_REGEX = "1[3-9]\\d{9}";
+
+    @Test
+    public void test_recognize_mostValuesMatched_true() {
+        DBTableColumn column = createDBTableColumn("c7");
+        SensitiveColumnContentSampler sampler = mockSampler(column);
+        Mockito.when(sampler.sample(column)).thenReturn(Arrays.asList("13800000000", "15912345678", "n/a"));
+        ColumnRecognizer recognizer = new ContentColumnRecognizer(Collections.singletonList(PHONE_REGEX), sampler);
+        Assert.assertTrue(recognizer.recognize(column));
+    }
+
+    @Test
+    public void test_recognize_fewValuesMatched_false() {
+        DBTableColumn column = createDBTableColumn("c8");
+        SensitiveColumnContentSampler sampler = mockSampler(column);
+        Mockito.when(sampler.sample(column)).thenReturn(Arrays.asList("13800000000", "abc", "n/a"));
+        ColumnRecognizer recognizer = new ContentColumnRecognizer(Collections.singletonList(PHONE_REGEX), sampler);
+        Assert.assertFalse(recognizer.recognize(column));
+    }
+
+    @Test
+    public void test_recognize_anyRegexMatched_true() {
+        DBTableColumn column = createDBTableColumn("c9");
+        SensitiveColumnContentSampler sampler = mockSampler(column);
+        Mockito.when(sampler.sample(column)).thenReturn(Arrays.asList("13800000000", "a@b.com"));
+        ColumnRecognizer recognizer =
+                new ContentColumnRecognizer(Arrays.asList(PHONE_REGEX, "[\\w.]+@[\\w.]+"), sampler);
+        Assert.assertTrue(recognizer.recognize(column));
+    }
+
+    @Test
+    public void test_recognize_verdictCached_sampledOnce() {
+        DBTableColumn column = createDBTableColumn("c10");
+        SensitiveColumnContentSampler sampler = mockSampler(column);
+        Mockito.when(sampler.sample(column)).thenReturn(Collections.singletonList("13800000000"));
+        ColumnRecognizer recognizer = new ContentColumnRecognizer(Collections.singletonList(PHONE_REGEX), sampler);
+        Assert.assertTrue(recognizer.recognize(column));
+        Assert.assertTrue(recognizer.recognize(column));
+        Mockito.verify(sampler, Mockito.times(1)).sample(column);
+    }
+
+    @Test
+    public void test_recognize_notSampled_notCached() {
+        DBTableColumn column = createDBTableColumn("c11");
+        SensitiveColumnContentSampler sampler = mockSampler(column);
+        Mockito.when(sampler.sample(column)).thenReturn(null);
+        ColumnRecognizer recognizer = new ContentColumnRecognizer(Collections.singletonList(PHONE_REGEX), sampler);
+        Assert.assertFalse(recognizer.recognize(column));
+        Assert.assertFalse(recognizer.recognize(column));
+        Mockito.verify(sampler, Mockito.times(2)).sample(column);
+    }
+
+    @Test
+    public void test_recognize_emptySample_notCached() {
+        DBTableColumn column = createDBTableColumn("c13");
+        SensitiveColumnContentSampler sampler = mockSampler(column);
+        Mockito.when(sampler.sample(column)).thenReturn(Collections.emptyList())
+                .thenReturn(Collections.singletonList("13800000000"));
+        ColumnRecognizer recognizer = new ContentColumnRecognizer(Collections.singletonList(PHONE_REGEX), sampler);
+        Assert.assertFalse(recognizer.recognize(column));
+        Assert.assertTrue(recognizer.recognize(column));
+    }
+
+    @Test
+    public void test_recognize_withoutSampler_false() {
+        ColumnRecognizer recognizer = new ContentColumnRecognizer(Collections.singletonList(PHONE_REGEX), null);
+        Assert.assertFalse(recognizer.recognize(createDBTableColumn("c12")));
+    }
+
+    private SensitiveColumnContentSampler mockSampler(DBTableColumn column) {
+        SensitiveColumnContentSampler sampler = Mockito.mock(SensitiveColumnContentSampler.class);
+        Mockito.when(sampler.fingerprint(column)).thenReturn("1/odc_meta/iam_user/" + column.getName() + "/varchar");
+        return sampler;
+    }
+
+    private DBTableColumn createDBTableColumn(String name) {
+        DBTableColumn dbTableColumn = new DBTableColumn();
+        dbTableColumn.setSchemaName("odc_meta");
+        dbTableColumn.setTableName("iam_user");
+        dbTableColumn.setName(name);
+        dbTableColumn.setTypeName("varchar");
+        return dbTableColumn;
+    }
+
+}
@@ -15,6 +15,12 @@
  */
 package com.oceanbase.odc.service.datasecurity.recognizer;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.codehaus.groovy.control.MultipleCompilationErrorsException;
 import org.junit.Assert;
 import org.junit.Rule;
@@ -55,6 +61,25 @@ public class GroovyColumnRecognizerTest {
         Assert.assertFalse(recognizer.recognize(dbTableColumn));
     }
 
+    @Test
+    public void test_recognize_concurrently() throws Exception {
+        ColumnRecognizer recognizer = new GroovyColumnRecognizer(buildGroovyScript());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                DBTableColumn dbTableColumn = createDBTableColumn();
+                dbTableColumn.setTableName(i % 2 == 0 ? "iam_user" : "unmatched");
+                futures.add(executor.submit(() -> recognizer.recognize(dbTableColumn)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                Assert.assertEquals(i % 2 == 0, futures.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void test_securityInterceptor_systemExit() {
         thrown.expect(Exception.class);
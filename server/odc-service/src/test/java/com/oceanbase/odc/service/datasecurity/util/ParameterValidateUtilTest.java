@@ -97,6 +97,36 @@ public class ParameterValidateUtilTest {
         ParameterValidateUtil.validateRegexExpression(null, null, null, regexExpression);
     }
 
+    @Test
+    public void validateContentRegexExpressions_valid() {
+        ParameterValidateUtil.validateContentRegexExpressions(Arrays.asList("^1[3-9]\\d{9}$", "\\d{17}[\\dXx]"));
+    }
+
+    @Test
+    public void validateContentRegexExpressions_empty() {
+        thrown.expect(BadArgumentException.class);
+        thrown.expectMessage("contentRegexExpressions");
+        ParameterValidateUtil.validateContentRegexExpressions(new ArrayList<>());
+    }
+
+    @Test
+    public void validateContentRegexExpressions_invalidRegex() {
+        thrown.expect(BadArgumentException.class);
+        thrown.expectMessage("contentRegexExpression: [ is not valid");
+        ParameterValidateUtil.validateContentRegexExpressions(Arrays.asList("\\d+", "["));
+    }
+
+    @Test
+    public void validateContentRegexExpressions_tooLong() {
+        thrown.expect(BadArgumentException.class);
+        thrown.expectMessage("too long");
+        List<String> expressions = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expressions.add("^user_\\d{" + i + "}$");
+        }
+        ParameterValidateUtil.validateContentRegexExpressions(expressions);
+    }
+
     @Test
     public void test_validateGroovyScript_valid() {
         String groovyScript = "if (column.schema == \"schema\") {\n"
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.monitor.session;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.oceanbase.odc.common.util.TraceStage;
+import com.oceanbase.odc.common.util.TraceWatch;
+import com.oceanbase.odc.core.shared.constant.ConnectType;
+import com.oceanbase.odc.core.sql.execute.SqlExecuteStages;
+import com.oceanbase.odc.service.monitor.MeterKey;
+import com.oceanbase.odc.service.monitor.MeterManager;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class SqlExecuteStageMetricsTest {
+
+    @InjectMocks
+    private SqlExecuteStageMetrics stageMetrics;
+    @Mock
+    private MeterManager meterManager;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(meterManager.registerHistogramTimer(any())).thenAnswer(invocation -> {
+            MeterKey key = invocation.getArgument(0);
+            return Timer.builder(key.getMeterName().getName()).tags(key.getTags()).register(registry);
+        });
+    }
+
+    @Test
+    public void record_nestedStages_allRecorded() throws Exception {
+        stageMetrics.record(ConnectType.OB_MYSQL, newWatch());
+        stageMetrics.record(ConnectType.OB_MYSQL, newWatch());
+        Assert.assertEquals(2, timer(SqlExecuteStages.SQL_AFTER_CHECK, ConnectType.OB_MYSQL).count());
+        Assert.assertEquals(2, timer(SqlExecuteStages.DATA_MASKING, ConnectType.OB_MYSQL).count());
+        Assert.assertTrue(timer(SqlExecuteStages.DATA_MASKING, ConnectType.OB_MYSQL)
+                .totalTime(TimeUnit.MILLISECONDS) >= 2);
+        verify(meterManager, times(2)).registerHistogramTimer(any());
+    }
+
+    @Test
+    public void record_unknownStage_ignored() throws Exception {
+        TraceWatch watch = new TraceWatch();
+        watch.start("user defined stage").close();
+        stageMetrics.record(ConnectType.OB_ORACLE, watch);
+        verify(meterManager, times(0)).registerHistogramTimer(any());
+    }
+
+    @Test
+    public void record_meterNotEnabled_noMoreRegister() throws Exception {
+        doReturn(null).when(meterManager).registerHistogramTimer(any());
+        stageMetrics.record(ConnectType.OB_MYSQL, newWatch());
+        stageMetrics.record(ConnectType.OB_MYSQL, newWatch());
+        verify(meterManager, times(1)).registerHistogramTimer(any());
+    }
+
+    private TraceWatch newWatch() throws Exception {
+        TraceWatch watch = new TraceWatch();
+        try (TraceStage s = watch.start(SqlExecuteStages.SQL_AFTER_CHECK)) {
+            try (TraceStage m = watch.start(SqlExecuteStages.DATA_MASKING)) {
+                Thread.sleep(1);
+            }
+        }
+        return watch;
+    }
+
+    private Timer timer(String stage, ConnectType connectType) {
+        return registry.get("sql.execute.stage.duration").tag("stage", stage)
+                .tag("datasourceType", connectType.name()).timer();
+    }
+
+}
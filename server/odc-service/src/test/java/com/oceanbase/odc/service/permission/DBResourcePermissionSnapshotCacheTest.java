@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.permission;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.oceanbase.odc.core.shared.constant.ResourceRoleName;
+import com.oceanbase.odc.metadb.connection.DatabaseEntity;
+import com.oceanbase.odc.metadb.connection.DatabaseRepository;
+import com.oceanbase.odc.metadb.dbobject.DBObjectEntity;
+import com.oceanbase.odc.metadb.dbobject.DBObjectRepository;
+import com.oceanbase.odc.metadb.iam.UserDatabasePermissionEntity;
+import com.oceanbase.odc.metadb.iam.UserDatabasePermissionRepository;
+import com.oceanbase.odc.metadb.iam.UserPermissionVersionDAO;
+import com.oceanbase.odc.metadb.iam.UserTablePermissionEntity;
+import com.oceanbase.odc.metadb.iam.UserTablePermissionRepository;
+import com.oceanbase.odc.service.collaboration.project.ProjectService;
+import com.oceanbase.odc.service.iam.auth.AuthenticationFacade;
+import com.oceanbase.odc.service.permission.DBResourcePermissionSnapshotCache.DataSourceSnapshot;
+import com.oceanbase.odc.service.permission.DBResourcePermissionSnapshotCache.UserSnapshot;
+import com.oceanbase.odc.service.permission.database.model.DatabasePermissionType;
+import com.oceanbase.tools.dbbrowser.model.DBObjectType;
+
+public class DBResourcePermissionSnapshotCacheTest {
+
+    private static final Long DATASOURCE_ID = 1L;
+    private static final Long USER_ID = 2L;
+
+    @InjectMocks
+    private DBResourcePermissionSnapshotCache snapshotCache;
+    @Mock
+    private DatabaseRepository databaseRepository;
+    @Mock
+    private DBObjectRepository dbObjectRepository;
+    @Mock
+    private UserDatabasePermissionRepository userDatabasePermissionRepository;
+    @Mock
+    private UserTablePermissionRepository userTablePermissionRepository;
+    @Mock
+    private ProjectService projectService;
+    @Mock
+    private AuthenticationFacade authenticationFacade;
+    @Mock
+    private UserPermissionVersionDAO userPermissionVersionDAO;
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        ReflectionTestUtils.setField(snapshotCache, "snapshotTtlSeconds", 60L);
+        ReflectionTestUtils.setField(snapshotCache, "versionCheckIntervalMillis", 1000L);
+        ReflectionTestUtils.setField(snapshotCache, "ticker", (Ticker) nanos::get);
+        snapshotCache.init();
+        when(authenticationFacade.currentOrganizationId()).thenReturn(1L);
+        when(authenticationFacade.currentUserId()).thenReturn(USER_ID);
+        when(databaseRepository.findByConnectionId(DATASOURCE_ID))
+                .thenReturn(Arrays.asList(database(10L, "db_a", 100L), database(11L, "DB_B", 101L)));
+        when(dbObjectRepository.findByDatabaseIdInAndType(anyCollection(), eq(DBObjectType.TABLE)))
+                .thenReturn(Collections.singletonList(table(1000L, 10L, "Tab_1")));
+        when(projectService.getProjectId2ResourceRoleNames()).thenReturn(Collections.singletonMap(100L,
+                new HashSet<>(Collections.singletonList(ResourceRoleName.DEVELOPER))));
+        when(userDatabasePermissionRepository.findNotExpiredByUserIdAndDatabaseIdIn(eq(USER_ID), anyCollection()))
+                .thenReturn(Collections.singletonList(databasePermission(11L, "query", null)));
+        when(userTablePermissionRepository.findNotExpiredByUserIdAndDatabaseIdIn(eq(USER_ID), anyCollection()))
+                .thenReturn(Collections.emptyList());
+        when(userPermissionVersionDAO.queryByUserIds(anyCollection())).thenReturn(Collections.emptyMap());
+    }
+
+    @Test
+    public void getDataSource_lookupByName_caseInsensitive() {
+        DataSourceSnapshot dataSource = snapshotCache.getDataSource(DATASOURCE_ID);
+        Assert.assertEquals(Long.valueOf(10L), dataSource.getDatabase("DB_A").getId());
+        Assert.assertEquals(Long.valueOf(11L), dataSource.getDatabase("db_b").getId());
+        Assert.assertNull(dataSource.getDatabase("db_c"));
+
+        snapshotCache.loadTables(dataSource, Arrays.asList(10L, 11L));
+        Assert.assertEquals(Long.valueOf(1000L), dataSource.getTable(10L, "TAB_1").getId());
+        Assert.assertEquals("Tab_1", dataSource.getTable(10L, "tab_1").getName());
+        Assert.assertNull(dataSource.getTable(11L, "tab_1"));
+    }
+
+    @Test
+    public void getDataSource_schemaNotChanged_loadOnce() {
+        DataSourceSnapshot dataSource = snapshotCache.getDataSource(DATASOURCE_ID);
+        snapshotCache.loadTables(dataSource, Collections.singleton(10L));
+        Assert.assertSame(dataSource, snapshotCache.getDataSource(DATASOURCE_ID));
+        snapshotCache.loadTables(dataSource, Collections.singleton(10L));
+        verify(databaseRepository, times(1)).findByConnectionId(DATASOURCE_ID);
+        verify(dbObjectRepository, times(1)).findByDatabaseIdInAndType(anyCollection(), any());
+    }
+
+    @Test
+    public void getDataSource_schemaChanged_reload() {
+        DataSourceSnapshot dataSource = snapshotCache.getDataSource(DATASOURCE_ID);
+        snapshotCache.invalidateSchema(Collections.singleton(DATASOURCE_ID));
+        Assert.assertNotSame(dataSource, snapshotCache.getDataSource(DATASOURCE_ID));
+        verify(databaseRepository, times(2)).findByConnectionId(DATASOURCE_ID);
+    }
+
+    @Test
+    public void getDataSource_schemaOfUnknownDataSourceChanged_reload() {
+        DataSourceSnapshot dataSource = snapshotCache.getDataSource(DATASOURCE_ID);
+        snapshotCache.invalidateSchema();
+        Assert.assertNotSame(dataSource, snapshotCache.getDataSource(DATASOURCE_ID));
+    }
+
+    @Test
+    public void getDataSource_schemaOfOtherDataSourceChanged_notReload() {
+        DataSourceSnapshot dataSource = snapshotCache.getDataSource(DATASOURCE_ID);
+        snapshotCache.invalidateSchema(Collections.singleton(DATASOURCE_ID + 1));
+        Assert.assertSame(dataSource, snapshotCache.getDataSource(DATASOURCE_ID));
+    }
+
+    @Test
+    public void getCachedDataSourceIds_databaseInCachedSnapshot_found() {
+        snapshotCache.getDataSource(DATASOURCE_ID);
+        Assert.assertEquals(Collections.singleton(DATASOURCE_ID),
+                snapshotCache.getCachedDataSourceIds(Arrays.asList(11L, 99L)));
+        Assert.assertTrue(snapshotCache.getCachedDataSourceIds(Collections.singleton(99L)).isEmpty());
+    }
+
+    @Test
+    public void getUser_authorityNotChanged_loadOnce() {
+        DataSourceSnapshot dataSource = snapshotCache.getDataSource(DATASOURCE_ID);
+        UserSnapshot user = snapshotCache.getUser(dataSource, DATASOURCE_ID);
+        Assert.assertEquals(Collections.singleton(100L), user.getPermittedProjectIds());
+        Assert.assertEquals(Collections.singleton(DatabasePermissionType.QUERY),
+                user.getDatabasePermissionTypes(11L));
+        Assert.assertTrue(user.getDatabasePermissionTypes(10L).isEmpty());
+        Assert.assertSame(user, snapshotCache.getUser(dataSource, DATASOURCE_ID));
+        verify(projectService, times(1)).getProjectId2ResourceRoleNames();
+    }
+
+    @Test
+    public void getUser_withinVersionCheckInterval_queryVersionsOnce() {
+        DataSourceSnapshot dataSource = snapshotCache.getDataSource(DATASOURCE_ID);
+        snapshotCache.getUser(dataSource, DATASOURCE_ID);
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        snapshotCache.getUser(dataSource, DATASOURCE_ID);
+        verify(userPermissionVersionDAO, times(1)).queryByUserIds(anyCollection());
+    }
+
+    @Test
+    public void getUser_userVersionIncreasedByOtherNode_reloadAfterInterval() {
+        DataSourceSnapshot dataSource = snapshotCache.getDataSource(DATASOURCE_ID);
+        UserSnapshot user = snapshotCache.getUser(dataSource, DATASOURCE_ID);
+        when(userPermissionVersionDAO.queryByUserIds(anyCollection()))
+                .thenReturn(Collections.singletonMap(USER_ID, 1L));
+        Assert.assertSame(user, snapshotCache.getUser(dataSource, DATASOURCE_ID));
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(1001));
+        UserSnapshot reloaded = snapshotCache.getUser(dataSource, DATASOURCE_ID);
+        Assert.assertNotSame(user, reloaded);
+        Assert.assertSame(reloaded, snapshotCache.getUser(dataSource, DATASOURCE_ID));
+    }
+
+    @Test
+    public void getUser_allUsersVersionIncreased_reload() {
+        DataSourceSnapshot dataSource = snapshotCache.getDataSource(DATASOURCE_ID);
+        UserSnapshot user = snapshotCache.getUser(dataSource, DATASOURCE_ID);
+        when(userPermissionVersionDAO.queryByUserIds(anyCollection()))
+                .thenReturn(Collections.singletonMap(UserPermissionVersionDAO.ALL_USERS, 1L));
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(1001));
+        Assert.assertNotSame(user, snapshotCache.getUser(dataSource, DATASOURCE_ID));
+    }
+
+    @Test
+    public void getUser_authorityChangedOnThisNode_reloadAtOnce() {
+        DataSourceSnapshot dataSource = snapshotCache.getDataSource(DATASOURCE_ID);
+        UserSnapshot user = snapshotCache.getUser(dataSource, DATASOURCE_ID);
+        when(userPermissionVersionDAO.queryByUserIds(anyCollection()))
+                .thenReturn(Collections.singletonMap(USER_ID, 1L));
+        snapshotCache.invalidateAuthority(Collections.singleton(USER_ID));
+        verify(userPermissionVersionDAO).increase(Collections.singleton(USER_ID));
+        Assert.assertNotSame(user, snapshotCache.getUser(dataSource, DATASOURCE_ID));
+    }
+
+    @Test
+    public void invalidateAuthority_allUsersIncluded_onlyAllUsersIncreased() {
+        snapshotCache.invalidateAuthority(Arrays.asList(USER_ID, UserPermissionVersionDAO.ALL_USERS));
+        verify(userPermissionVersionDAO).increase(Collections.singleton(UserPermissionVersionDAO.ALL_USERS));
+    }
+
+    @Test
+    public void invalidateAuthority_inTransaction_increaseOnceBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            snapshotCache.invalidateAuthority(Arrays.asList(3L, USER_ID));
+            snapshotCache.invalidateAuthority(Collections.singleton(USER_ID));
+            verify(userPermissionVersionDAO, never()).increase(anyCollection());
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager
+                    .getSynchronizations()) {
+                synchronization.beforeCommit(false);
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+            verify(userPermissionVersionDAO, times(1)).increase(new TreeSet<>(Arrays.asList(USER_ID, 3L)));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void getUser_grantExpired_reload() {
+        when(userTablePermissionRepository.findNotExpiredByUserIdAndDatabaseIdIn(eq(USER_ID), anyCollection()))
+                .thenReturn(Collections.singletonList(tablePermission(1000L, "change",
+                        new Date(System.currentTimeMillis() - 1000))));
+        DataSourceSnapshot dataSource = snapshotCache.getDataSource(DATASOURCE_ID);
+        UserSnapshot user = snapshotCache.getUser(dataSource, DATASOURCE_ID);
+        Assert.assertEquals(Collections.singleton(DatabasePermissionType.CHANGE),
+                user.getTablePermissionTypes(1000L));
+        Assert.assertNotSame(user, snapshotCache.getUser(dataSource, DATASOURCE_ID));
+    }
+
+    private DatabaseEntity database(Long id, String name, Long projectId) {
+        DatabaseEntity entity = new DatabaseEntity();
+        entity.setId(id);
+        entity.setName(name);
+        entity.setProjectId(projectId);
+        entity.setConnectionId(DATASOURCE_ID);
+        return entity;
+    }
+
+    private DBObjectEntity table(Long id, Long databaseId, String name) {
+        DBObjectEntity entity = new DBObjectEntity();
+        entity.setId(id);
+        entity.setDatabaseId(databaseId);
+        entity.setName(name);
+        entity.setType(DBObjectType.TABLE);
+        return entity;
+    }
+
+    private UserDatabasePermissionEntity databasePermission(Long databaseId, String action, Date expireTime) {
+        UserDatabasePermissionEntity entity = new UserDatabasePermissionEntity();
+        entity.setUserId(USER_ID);
+        entity.setDatabaseId(databaseId);
+        entity.setAction(action);
+        entity.setExpireTime(expireTime);
+        return entity;
+    }
+
+    private UserTablePermissionEntity tablePermission(Long tableId, String action, Date expireTime) {
+        UserTablePermissionEntity entity = new UserTablePermissionEntity();
+        entity.setUserId(USER_ID);
+        entity.setTableId(tableId);
+        entity.setAction(action);
+        entity.setExpireTime(expireTime);
+        return entity;
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.session;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oceanbase.odc.core.sql.execute.model.JdbcGeneralResult;
+import com.oceanbase.odc.core.sql.execute.model.SqlTuple;
+import com.oceanbase.odc.service.session.model.AsyncExecuteContext;
+import com.oceanbase.odc.service.session.model.SqlExecuteResult;
+
+public class AsyncExecuteContextTest {
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void getMoreSqlExecutionResults_resultAdded_returnBeforeTimeout() {
+        AsyncExecuteContext context = newContext();
+        context.setFuture(new CompletableFuture<>());
+        executor.schedule(() -> context.addSqlExecutionResults(Collections.singletonList(newResult())),
+                100, TimeUnit.MILLISECONDS);
+        long start = System.currentTimeMillis();
+        List<JdbcGeneralResult> results = context.getMoreSqlExecutionResults(10000);
+        Assert.assertEquals(1, results.size());
+        Assert.assertTrue(System.currentTimeMillis() - start < 5000);
+    }
+
+    @Test
+    public void getMoreSqlExecutionResults_finished_returnBeforeTimeout() {
+        AsyncExecuteContext context = newContext();
+        CompletableFuture<List<JdbcGeneralResult>> future = new CompletableFuture<>();
+        context.setFuture(future);
+        executor.schedule(() -> future.complete(Collections.emptyList()), 100, TimeUnit.MILLISECONDS);
+        long start = System.currentTimeMillis();
+        Assert.assertTrue(context.getMoreSqlExecutionResults(10000).isEmpty());
+        Assert.assertTrue(System.currentTimeMillis() - start < 5000);
+    }
+
+    @Test
+    public void getMoreSqlExecutionResults_nothingHappened_waitUntilTimeout() {
+        AsyncExecuteContext context = newContext();
+        context.setFuture(new CompletableFuture<>());
+        long start = System.currentTimeMillis();
+        Assert.assertTrue(context.getMoreSqlExecutionResults(200).isEmpty());
+        Assert.assertTrue(System.currentTimeMillis() - start >= 200);
+    }
+
+    @Test
+    public void pollUnsentResults_resultsAdded_returnOnce() {
+        AsyncExecuteContext context = newContext();
+        SqlExecuteResult result = new SqlExecuteResult(newResult());
+        context.addUnsentResults(Collections.singletonList(result));
+        Assert.assertEquals(Collections.singletonList(result), context.pollUnsentResults());
+        Assert.assertTrue(context.pollUnsentResults().isEmpty());
+    }
+
+    private AsyncExecuteContext newContext() {
+        return new AsyncExecuteContext(Collections.singletonList(SqlTuple.newTuple("select 1 from dual")),
+                Collections.emptyMap());
+    }
+
+    private JdbcGeneralResult newResult() {
+        return JdbcGeneralResult.successResult(SqlTuple.newTuple("select 1 from dual"));
+    }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.session;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import com.oceanbase.odc.core.session.ConnectionSession;
+import com.oceanbase.odc.core.session.ConnectionSessionConstants;
+import com.oceanbase.odc.core.session.ConnectionSessionUtil;
+import com.oceanbase.odc.core.shared.constant.ConnectType;
+import com.oceanbase.odc.core.shared.constant.DialectType;
+import com.oceanbase.odc.core.sql.execute.cache.BinaryDataManager;
+import com.oceanbase.odc.core.sql.execute.cache.FileBaseBinaryDataManager;
+import com.oceanbase.odc.core.sql.execute.cache.model.BinaryContentMetaData;
+import com.oceanbase.odc.core.sql.execute.cache.table.ResultSetVirtualTable;
+import com.oceanbase.odc.core.sql.execute.cache.table.VirtualTable;
+import com.oceanbase.odc.core.sql.execute.model.JdbcGeneralResult;
+import com.oceanbase.odc.core.sql.execute.model.SqlTuple;
+import com.oceanbase.odc.service.session.model.AsyncExecuteContext;
+
+/**
+ * @author agent
+ * @date 2026-10-17 23:10
+ * @since ODC_release_4.3.2
+ */
+public class OdcStatementCallBackStreamingTest {
+
+    private static final String SQL = "select x from system_range(1, 25)";
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    private Connection connection;
+    private ConnectionSession session;
+
+    @Before
+    public void setUp() throws Exception {
+        this.connection = DriverManager.getConnection("jdbc:h2:mem:streaming_callback_test;MODE=MySQL");
+        Map<Object, Object> attributes = new HashMap<>();
+        this.session = Mockito.mock(ConnectionSession.class);
+        Mockito.when(session.getDialectType()).thenReturn(DialectType.OB_MYSQL);
+        Mockito.when(session.getConnectType()).thenReturn(ConnectType.OB_MYSQL);
+        Mockito.when(session.getDefaultAutoCommit()).thenReturn(true);
+        Mockito.when(session.getAttribute(ArgumentMatchers.any()))
+                .thenAnswer(invocation -> attributes.get(invocation.getArgument(0)));
+        Mockito.doAnswer(invocation -> attributes.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(session).setAttribute(ArgumentMatchers.any(), ArgumentMatchers.any());
+        // full link trace is queried in place of the trace plugin, the failure is ignored by the callback
+        attributes.put(ConnectionSessionConstants.OB_VERSION, "4.2.0");
+        attributes.put(ConnectionSessionConstants.BINARY_FILE_MANAGER_KEY, Mockito.mock(BinaryDataManager.class));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        connection.close();
+    }
+
+    @Test
+    public void doInStatement_streaming_chunksShareTheWatchOfTheStatement() throws Exception {
+        SqlTuple sqlTuple = SqlTuple.newTuple(SQL);
+        AsyncExecuteContext context = new AsyncExecuteContext(Collections.singletonList(sqlTuple),
+                Collections.emptyMap());
+        List<JdbcGeneralResult> results = execute(sqlTuple, context, 10, 10000);
+
+        List<JdbcGeneralResult> published = context.getMoreSqlExecutionResults(1000);
+        Assert.assertEquals(3, published.size());
+        List<JdbcGeneralResult> chunks = published.subList(0, 2);
+        for (int i = 0; i < chunks.size(); i++) {
+            JdbcGeneralResult chunk = chunks.get(i);
+            Assert.assertTrue(chunk.isPartial());
+            Assert.assertEquals(i, chunk.getChunkIndex());
+            Assert.assertEquals(10, chunk.getQueryResult().getRows().size());
+            Assert.assertSame(sqlTuple.getSqlWatch(), chunk.getSqlTuple().getSqlWatch());
+        }
+        Assert.assertEquals(1, results.size());
+        JdbcGeneralResult last = results.get(0);
+        Assert.assertSame(last, published.get(2));
+        Assert.assertFalse(last.isPartial());
+        Assert.assertEquals(2, last.getChunkIndex());
+        Assert.assertEquals(5, last.getQueryResult().getRows().size());
+        Assert.assertEquals(last.getSqlTuple().getSqlId(), chunks.get(0).getSqlTuple().getSqlId());
+        Assert.assertSame(sqlTuple.getSqlWatch(), last.getSqlTuple().getSqlWatch());
+    }
+
+    @Test
+    public void doInStatement_streaming_cachedLinesBoundedByMaxCachedLines() throws Exception {
+        SqlTuple sqlTuple = SqlTuple.newTuple(SQL);
+        AsyncExecuteContext context = new AsyncExecuteContext(Collections.singletonList(sqlTuple),
+                Collections.emptyMap());
+        List<JdbcGeneralResult> results = execute(sqlTuple, context, 10, 20);
+
+        VirtualTable cached = ConnectionSessionUtil.getQueryCache(session, results.get(0).getSqlTuple().getSqlId());
+        Assert.assertEquals(20L, (long) cached.count());
+    }
+
+    @Test
+    public void doInStatement_streaming_binaryContentPastFirstChunkCached() throws Exception {
+        File workingDir = temporaryFolder.newFolder();
+        BinaryDataManager dataManager = new FileBaseBinaryDataManager(workingDir.getAbsolutePath());
+        ConnectionSessionUtil.setBinaryDataManager(session, dataManager);
+        SqlTuple sqlTuple = SqlTuple.newTuple("select x, cast(stringtoutf8(concat('content_', x)) as blob) as b "
+                + "from system_range(1, 600)");
+        AsyncExecuteContext context = new AsyncExecuteContext(Collections.singletonList(sqlTuple),
+                Collections.emptyMap());
+        List<JdbcGeneralResult> results = execute(sqlTuple, context, 500, 10000);
+
+        ResultSetVirtualTable cached = (ResultSetVirtualTable) ConnectionSessionUtil.getQueryCache(session,
+                results.get(0).getSqlTuple().getSqlId());
+        Assert.assertEquals(599L, cached.getMaxCachedRowId());
+        List<Object> contents = new ArrayList<>();
+        cached.select(line -> line.rowId() == 549L)
+                .project(Collections.singletonList(1), column -> column)
+                .forEach(line -> line.forEach(element -> contents.add(element.getContent())));
+        Assert.assertEquals(1, contents.size());
+        try (InputStream inputStream = dataManager.read((BinaryContentMetaData) contents.get(0))) {
+            Assert.assertEquals("content_550", IOUtils.toString(inputStream, StandardCharsets.UTF_8));
+        } finally {
+            dataManager.close();
+        }
+    }
+
+    @Test
+    public void doInStatement_notStreaming_cachedLinesBoundedByMaxCachedLines() throws Exception {
+        SqlTuple sqlTuple = SqlTuple.newTuple(SQL);
+        List<JdbcGeneralResult> results = execute(sqlTuple, null, 10, 20);
+
+        Assert.assertEquals(25, results.get(0).getQueryResult().getRows().size());
+        VirtualTable cached = ConnectionSessionUtil.getQueryCache(session, results.get(0).getSqlTuple().getSqlId());
+        Assert.assertEquals(20L, (long) cached.count());
+    }
+
+    private List<JdbcGeneralResult> execute(SqlTuple sqlTuple, AsyncExecuteContext context, int chunkSize,
+            int maxCachedLines) throws Exception {
+        OdcStatementCallBack callBack = new OdcStatementCallBack(Collections.singletonList(sqlTuple), session,
+                true, null, true, context);
+        callBack.setUseFullLinkTrace(true);
+        callBack.setStreamingChunkSize(chunkSize);
+        callBack.setMaxCachedLines(maxCachedLines);
+        callBack.setCachePredicate((index, metaData) -> true);
+        try (Statement statement = connection.createStatement()) {
+            return callBack.doInStatement(statement);
+        }
+    }
+
+}
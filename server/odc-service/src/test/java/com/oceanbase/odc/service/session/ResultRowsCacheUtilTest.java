@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.session;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oceanbase.odc.core.shared.exception.BadArgumentException;
+import com.oceanbase.odc.core.sql.execute.cache.model.CommonVirtualElement;
+import com.oceanbase.odc.core.sql.execute.cache.table.ColumnarVirtualTable;
+import com.oceanbase.odc.service.session.model.CachedRowsQueryReq;
+import com.oceanbase.odc.service.session.model.CachedRowsQueryReq.Filter;
+import com.oceanbase.odc.service.session.model.CachedRowsQueryReq.Operator;
+import com.oceanbase.odc.service.session.model.CachedRowsQueryResp;
+import com.oceanbase.odc.service.session.util.ResultRowsCacheUtil;
+
+public class ResultRowsCacheUtilTest {
+
+    private static final String SQL_ID = "sql_id";
+    private ColumnarVirtualTable table;
+
+    @Before
+    public void setUp() {
+        this.table = new ColumnarVirtualTable(SQL_ID);
+        this.table.addColumn(0, "id", "DECIMAL");
+        this.table.addColumn(1, "name", "VARCHAR");
+        this.table.addColumn(2, "remark", "VARCHAR");
+        String[] names = new String[] {"bob", "Alice", "carol", "dave", "Eve", "frank", "grace", "heidi", "ivan",
+                "judy", "ken", "leo"};
+        for (int i = 0; i < names.length; i++) {
+            this.table.addLine((long) i);
+            // the numbers are formatted as strings, "11" < "9" if they were compared as strings
+            this.table.put(new CommonVirtualElement(SQL_ID, (long) i, 0, "DECIMAL", "id", String.valueOf(i * 5 % 12)));
+            this.table.put(new CommonVirtualElement(SQL_ID, (long) i, 1, "VARCHAR", "name", names[i]));
+        }
+    }
+
+    @Test
+    public void query_noCondition_pageInResultOrder() {
+        CachedRowsQueryResp resp = query(null, false, Collections.emptyList(), 2, 3);
+        Assert.assertEquals(12, resp.getTotal());
+        Assert.assertEquals(Arrays.asList(2L, 3L, 4L), resp.getRowIds());
+        Assert.assertEquals(Arrays.asList("10", "carol", null), resp.getRows().get(0));
+    }
+
+    @Test
+    public void query_orderByNumericColumn_sortedAsNumbers() {
+        CachedRowsQueryResp resp = query(0, false, Collections.emptyList(), 0, 12);
+        Assert.assertEquals(Arrays.asList("0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11"),
+                column(resp, 0));
+        resp = query(0, true, Collections.emptyList(), 0, 3);
+        Assert.assertEquals(Arrays.asList("11", "10", "9"), column(resp, 0));
+        Assert.assertEquals(12, resp.getTotal());
+    }
+
+    @Test
+    public void query_orderByNumericColumnMixedWithStrings_numbersBeforeStrings() {
+        String[] values = new String[] {"b", "10", "a", "9", "-1", "1e1"};
+        for (int i = 0; i < 64; i++) {
+            this.table.addLine(12L + i);
+            this.table.put(new CommonVirtualElement(SQL_ID, 12L + i, 0, "DECIMAL", "id", values[i % values.length]));
+        }
+        CachedRowsQueryResp resp = query(0, false,
+                Collections.singletonList(filter(1, Operator.IS_NULL, null)), 0, 64);
+        List<Object> sorted = column(resp, 0);
+        Assert.assertEquals(Arrays.asList("-1", "9", "10", "1e1", "a", "b"),
+                sorted.stream().distinct().collect(Collectors.toList()));
+        resp = query(0, true, Collections.singletonList(filter(1, Operator.IS_NULL, null)), 0, 1);
+        Assert.assertEquals("b", resp.getRows().get(0).get(0));
+    }
+
+    @Test
+    public void query_orderByStringColumnWithFilter_filteredAndSorted() {
+        CachedRowsQueryResp resp = query(1, false,
+                Collections.singletonList(filter(0, Operator.GREATER_THAN_OR_EQUALS, "6")), 1, 3);
+        Assert.assertEquals(6, resp.getTotal());
+        Assert.assertEquals(Arrays.asList("carol", "grace", "heidi"), column(resp, 1));
+    }
+
+    @Test
+    public void query_likeFilter_caseInsensitive() {
+        CachedRowsQueryResp resp = query(null, false, Collections.singletonList(filter(1, Operator.LIKE, "%E")), 0,
+                10);
+        Assert.assertEquals(Arrays.asList("Alice", "dave", "Eve", "grace"), column(resp, 1));
+    }
+
+    @Test
+    public void query_isNullFilter_allRowsMatched() {
+        CachedRowsQueryResp resp = query(null, false, Collections.singletonList(filter(2, Operator.IS_NULL, null)),
+                0, 1);
+        Assert.assertEquals(12, resp.getTotal());
+        Assert.assertEquals(1, resp.getRows().size());
+    }
+
+    @Test(expected = BadArgumentException.class)
+    public void query_columnOutOfRange_expThrown() {
+        query(3, false, Collections.emptyList(), 0, 1);
+    }
+
+    private CachedRowsQueryResp query(Integer orderBy, boolean descending, List<Filter> filters, int offset,
+            int limit) {
+        CachedRowsQueryReq req = new CachedRowsQueryReq();
+        req.setOrderByColumn(orderBy);
+        req.setDescending(descending);
+        req.setFilters(filters);
+        req.setOffset(offset);
+        req.setLimit(limit);
+        return ResultRowsCacheUtil.query(this.table, req);
+    }
+
+    private Filter filter(int column, Operator operator, String value) {
+        Filter filter = new Filter();
+        filter.setColumn(column);
+        filter.setOperator(operator);
+        filter.setValue(value);
+        return filter;
+    }
+
+    private List<Object> column(CachedRowsQueryResp resp, int column) {
+        return resp.getRows().stream().map(row -> row.get(column)).collect(Collectors.toList());
+    }
+
+}
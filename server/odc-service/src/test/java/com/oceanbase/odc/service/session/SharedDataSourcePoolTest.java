@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.session;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.alibaba.druid.pool.DruidPooledConnection;
+import com.oceanbase.odc.service.session.factory.SharedDataSourceLease;
+import com.oceanbase.odc.service.session.factory.SharedDataSourcePool;
+
+public class SharedDataSourcePoolTest {
+
+    private final SharedDataSourcePool pool = SharedDataSourcePool.getInstance();
+    private final AtomicInteger handOverCount = new AtomicInteger();
+    private SharedDataSourceLease lease1;
+    private SharedDataSourceLease lease2;
+
+    @Before
+    public void setUp() {
+        lease1 = lease();
+        lease2 = lease();
+    }
+
+    @After
+    public void tearDown() {
+        lease1.close();
+        lease2.close();
+    }
+
+    @Test
+    public void lease_sameKey_shareOnePool() {
+        Assert.assertEquals(1, pool.getPoolCount());
+        Assert.assertEquals(2, pool.getLeaseCount());
+        Assert.assertEquals(5, pool.getMaxActiveCount());
+    }
+
+    @Test
+    public void close_allLeasesClosed_poolClosed() {
+        lease1.close();
+        Assert.assertEquals(1, pool.getPoolCount());
+        lease2.close();
+        Assert.assertEquals(0, pool.getPoolCount());
+    }
+
+    @Test
+    public void getConnection_connectionClosed_returnToPool() throws SQLException {
+        Connection physical;
+        try (Connection connection = lease1.getConnection()) {
+            physical = unwrap(connection);
+            Assert.assertEquals(1, pool.getActiveConnectionCount());
+        }
+        Assert.assertEquals(0, pool.getActiveConnectionCount());
+        try (Connection connection = lease2.getConnection()) {
+            Assert.assertSame(physical, unwrap(connection));
+        }
+        Assert.assertEquals(1, handOverCount.get());
+    }
+
+    @Test
+    public void getConnection_transactionOpen_pinned() throws SQLException {
+        Connection physical;
+        try (Connection connection = lease1.getConnection()) {
+            physical = unwrap(connection);
+            connection.setAutoCommit(false);
+        }
+        Assert.assertEquals(1, pool.getActiveConnectionCount());
+        Assert.assertEquals(1.0, pool.getPinRatio(), 0.0001);
+        try (Connection connection = lease2.getConnection()) {
+            Assert.assertNotSame(physical, unwrap(connection));
+        }
+        try (Connection connection = lease1.getConnection()) {
+            Assert.assertSame(physical, unwrap(connection));
+            connection.commit();
+            connection.setAutoCommit(true);
+        }
+        Assert.assertEquals(0, pool.getActiveConnectionCount());
+        Assert.assertEquals(0, handOverCount.get());
+    }
+
+    @Test
+    public void getConnection_temporaryTableCreated_pinnedUntilLeaseClosed() throws SQLException {
+        Connection physical;
+        try (Connection connection = lease1.getConnection();
+                Statement statement = connection.createStatement()) {
+            physical = unwrap(connection);
+            statement.execute("create local temporary table tmp_t(id int)");
+        }
+        Assert.assertEquals(1, pool.getActiveConnectionCount());
+        try (Connection connection = lease1.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("insert into tmp_t values(1)");
+        }
+        lease1.close();
+        Assert.assertEquals(0, pool.getActiveConnectionCount());
+        Assert.assertTrue(physical.isClosed());
+    }
+
+    @Test
+    public void getConnection_sessionVariableChanged_discardedWhenLeaseClosed() throws SQLException {
+        Connection physical;
+        try (Connection connection = lease1.getConnection();
+                Statement statement = connection.createStatement()) {
+            physical = unwrap(connection);
+            statement.execute("set @odc_test_var = 1");
+        }
+        Assert.assertEquals(1.0, pool.getPinRatio(), 0.0001);
+        try (Connection connection = lease2.getConnection()) {
+            Assert.assertNotSame(physical, unwrap(connection));
+        }
+        lease1.close();
+        Assert.assertEquals(0, pool.getActiveConnectionCount());
+        Assert.assertTrue(physical.isClosed());
+        try (Connection connection = lease2.getConnection()) {
+            Assert.assertNotSame(physical, unwrap(connection));
+        }
+    }
+
+    @Test
+    public void getConnection_sessionVariableChangedAfterComment_pinned() throws SQLException {
+        try (Connection connection = lease1.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("/* set by odc */ -- session variable\n set @odc_test_var = 1");
+        }
+        Assert.assertEquals(1.0, pool.getPinRatio(), 0.0001);
+    }
+
+    @Test
+    public void getConnection_dynamicSqlInPlBlock_pinned() throws SQLException {
+        try (Connection connection = lease1.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.addBatch("begin execute immediate 'alter session set time_zone = ''+08:00'''; end;");
+            statement.clearBatch();
+        }
+        Assert.assertEquals(1.0, pool.getPinRatio(), 0.0001);
+    }
+
+    @Test
+    public void getConnection_queryAfterComment_notPinned() throws SQLException {
+        try (Connection connection = lease1.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("/* set @odc_test_var = 1 */ select 1");
+        }
+        Assert.assertEquals(0, pool.getActiveConnectionCount());
+    }
+
+    @Test(expected = SQLException.class)
+    public void unwrap_sharedPool_expThrown() throws SQLException {
+        lease1.unwrap(DruidDataSource.class);
+    }
+
+    @Test(expected = SQLException.class)
+    public void getConnection_leaseClosed_expThrown() throws SQLException {
+        lease1.close();
+        lease1.getConnection();
+    }
+
+    private SharedDataSourceLease lease() {
+        SharedDataSourceLease lease = pool.lease("test_key", () -> {
+            DruidDataSource dataSource = new DruidDataSource();
+            dataSource.setUrl("jdbc:h2:mem:shared_pool_test;DB_CLOSE_DELAY=-1");
+            dataSource.setValidationQuery("select 1");
+            dataSource.setInitialSize(1);
+            return dataSource;
+        });
+        lease.setHandOverInitializer(connection -> handOverCount.incrementAndGet());
+        return lease;
+    }
+
+    private Connection unwrap(Connection connection) throws SQLException {
+        return connection.unwrap(DruidPooledConnection.class).getConnection();
+    }
+
+}
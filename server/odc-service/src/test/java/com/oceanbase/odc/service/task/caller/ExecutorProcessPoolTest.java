@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.task.caller;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import com.oceanbase.odc.service.task.caller.ExecutorProcessPool.PooledExecutor;
+import com.oceanbase.odc.service.task.config.JobConfiguration;
+import com.oceanbase.odc.service.task.config.JobConfigurationHolder;
+import com.oceanbase.odc.service.task.constants.JobEnvKeyConstants;
+import com.oceanbase.odc.service.task.schedule.JobIdentity;
+import com.oceanbase.odc.service.task.util.TaskExecutorClient;
+
+/**
+ * @author agent
+ * @date 2026-10-17 23:50
+ * @since ODC_release_4.3.2
+ */
+public class ExecutorProcessPoolTest {
+
+    private JobConfiguration origin;
+    private TaskExecutorClient client;
+    private MockProcessPool pool;
+
+    @Before
+    public void setUp() {
+        this.origin = JobConfigurationHolder.getJobConfiguration();
+        this.client = Mockito.mock(TaskExecutorClient.class);
+        JobConfiguration configuration = Mockito.mock(JobConfiguration.class);
+        Mockito.when(configuration.getTaskExecutorClient()).thenReturn(client);
+        JobConfigurationHolder.setJobConfiguration(configuration);
+        this.pool = new MockProcessPool(2);
+    }
+
+    @After
+    public void tearDown() {
+        pool.close();
+        JobConfigurationHolder.setJobConfiguration(origin);
+    }
+
+    @Test
+    public void start_NotPooled_ReturnEmpty() {
+        ProcessConfig processConfig = new ProcessConfig();
+        Assert.assertFalse(pool.start(processConfig, jobContext(1L)).isPresent());
+        Assert.assertTrue(pool.started.isEmpty());
+    }
+
+    @Test
+    public void start_ExecutorWarmedUp_StartOnPooledExecutor() throws Exception {
+        Mockito.when(client.isExecutorHealthy(ArgumentMatchers.anyString())).thenReturn(true);
+        ProcessConfig processConfig = processConfig("metadb-1");
+        Assert.assertFalse(pool.start(processConfig, jobContext(1L)).isPresent());
+        waitUntil(() -> pool.start(processConfig, jobContext(2L)).isPresent());
+
+        // another executor is warmed up for the next job once the idle one is borrowed
+        Assert.assertEquals(2, pool.started.size());
+        Mockito.verify(client).startTask(ArgumentMatchers.anyString(), ArgumentMatchers.eq(JobIdentity.of(2L)),
+                ArgumentMatchers.anyString(), ArgumentMatchers.eq(1L));
+        Assert.assertTrue(ExecutorProcessPool.isPooledExecutor(pool.started.get(0)));
+    }
+
+    @Test
+    public void release_JobReleased_ExecutorReused() throws Exception {
+        Mockito.when(client.isExecutorHealthy(ArgumentMatchers.anyString())).thenReturn(true);
+        Mockito.when(client.releaseTask(ArgumentMatchers.anyString(), ArgumentMatchers.any())).thenReturn(true);
+        ProcessConfig processConfig = processConfig("metadb-1");
+        pool.start(processConfig, jobContext(1L));
+        waitUntil(() -> pool.start(processConfig, jobContext(2L)).isPresent());
+        String executorName = pool.started.get(0);
+
+        Assert.assertTrue(pool.release(executorName, JobIdentity.of(2L)));
+        Optional<PooledExecutor> executor = pool.start(processConfig, jobContext(3L));
+        Assert.assertTrue(executor.isPresent());
+        Assert.assertEquals(executorName, executor.get().getExecutorName());
+    }
+
+    @Test
+    public void release_JobNotReleased_ExecutorKilled() throws Exception {
+        Mockito.when(client.isExecutorHealthy(ArgumentMatchers.anyString())).thenReturn(true);
+        ProcessConfig processConfig = processConfig("metadb-1");
+        pool.start(processConfig, jobContext(1L));
+        waitUntil(() -> pool.start(processConfig, jobContext(2L)).isPresent());
+        String executorName = pool.started.get(0);
+
+        Assert.assertTrue(pool.release(executorName, JobIdentity.of(2L)));
+        Mockito.verify(pool.processes.get(0)).destroyForcibly();
+        Assert.assertFalse(pool.release(executorName, JobIdentity.of(2L)));
+    }
+
+    @Test
+    public void release_ExecutorNotInPool_ReturnFalse() {
+        Assert.assertFalse(pool.release("odc-pooled-executor-unknown", JobIdentity.of(1L)));
+    }
+
+    @Test
+    public void start_ExecutorNotReady_OtherExecutorsStillLaunched() throws Exception {
+        Mockito.when(client.isExecutorHealthy(ArgumentMatchers.anyString())).thenReturn(false);
+        pool.start(processConfig("metadb-1"), jobContext(1L));
+        pool.start(processConfig("metadb-2"), jobContext(2L));
+        // the first executor is still waiting to be ready, it does not hold up the second one
+        waitUntil(() -> pool.started.size() == 2);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            Assert.assertTrue(System.currentTimeMillis() < deadline);
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    private static ProcessConfig processConfig(String metadb) {
+        Map<String, String> environments = new HashMap<>();
+        environments.put(JobEnvKeyConstants.ODC_EXECUTOR_DATABASE_NAME, metadb);
+        environments.put(JobEnvKeyConstants.ODC_EXECUTOR_USER_ID, "1");
+        ProcessConfig processConfig = new ProcessConfig();
+        processConfig.setPooledEnvironments(environments);
+        return processConfig;
+    }
+
+    private static JobContext jobContext(long jobId) {
+        DefaultJobContext jobContext = new DefaultJobContext();
+        jobContext.setJobIdentity(JobIdentity.of(jobId));
+        return jobContext;
+    }
+
+    private static final class MockProcessPool extends ExecutorProcessPool {
+        private final List<String> started = new CopyOnWriteArrayList<>();
+        private final List<Process> processes = new CopyOnWriteArrayList<>();
+
+        private MockProcessPool(int maxSize) {
+            super(maxSize, 600);
+        }
+
+        @Override
+        protected Process startProcess(ProcessConfig processConfig, String executorName) {
+            Process process = Mockito.mock(Process.class);
+            Mockito.when(process.isAlive()).thenReturn(true);
+            started.add(executorName);
+            processes.add(process);
+            return process;
+        }
+    }
+
+}
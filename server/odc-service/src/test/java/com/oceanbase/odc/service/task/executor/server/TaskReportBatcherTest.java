@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.task.executor.server;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.oceanbase.odc.service.task.constants.JobServerUrls;
+import com.oceanbase.odc.service.task.enums.JobStatus;
+import com.oceanbase.odc.service.task.executor.task.DefaultTaskResult;
+import com.oceanbase.odc.service.task.schedule.JobIdentity;
+
+public class TaskReportBatcherTest {
+
+    private static final String ENDPOINT = "http://127.0.0.1:8990";
+
+    private TaskReporter reporter;
+    private TaskReportBatcher batcher;
+
+    @Before
+    public void setUp() {
+        this.reporter = mock(TaskReporter.class);
+        this.batcher = new TaskReportBatcher(reporter);
+    }
+
+    @Test
+    public void flush_TwoJobs_OneBatchWithLatestResult() {
+        when(reporter.report(eq(JobServerUrls.TASK_REPORT), any())).thenReturn(true);
+        batcher.register(JobIdentity.of(1L));
+        batcher.register(JobIdentity.of(2L));
+        batcher.offer(result(1L, 10));
+        batcher.offer(result(1L, 20));
+
+        batcher.flush(ENDPOINT);
+
+        TaskReportBatch batch = captureBatch();
+        Assert.assertEquals(2, batch.getHeartbeats().size());
+        Assert.assertEquals(ENDPOINT, batch.getHeartbeats().get(0).getExecutorEndpoint());
+        Assert.assertEquals(1, batch.getResults().size());
+        Assert.assertEquals(20, batch.getResults().get(0).getProgress(), 0);
+    }
+
+    @Test
+    public void flush_ReportFailed_ResultRetried() {
+        when(reporter.report(eq(JobServerUrls.TASK_REPORT), any())).thenReturn(false);
+        batcher.register(JobIdentity.of(1L));
+        batcher.offer(result(1L, 10));
+        batcher.flush(ENDPOINT);
+
+        when(reporter.report(eq(JobServerUrls.TASK_REPORT), any())).thenReturn(true);
+        batcher.flush(ENDPOINT);
+        TaskReportBatch batch = captureBatch();
+        Assert.assertEquals(1, batch.getResults().size());
+    }
+
+    @Test
+    public void shutdownAll_BatcherStarted_NewBatcherCreatedAfterwards() {
+        List<String> hostUrls = Collections.singletonList(ENDPOINT);
+        TaskReportBatcher started = TaskReportBatcher.of(hostUrls);
+        Assert.assertSame(started, TaskReportBatcher.of(hostUrls));
+        TaskReportBatcher.shutdownAll();
+        try {
+            Assert.assertNotSame(started, TaskReportBatcher.of(hostUrls));
+        } finally {
+            TaskReportBatcher.shutdownAll();
+        }
+    }
+
+    @Test
+    public void flush_NoRunningJob_NothingReported() {
+        batcher.register(JobIdentity.of(1L));
+        batcher.offer(result(1L, 10));
+        batcher.unregister(JobIdentity.of(1L));
+
+        batcher.flush(ENDPOINT);
+
+        verify(reporter, never()).report(any(), any());
+    }
+
+    private TaskReportBatch captureBatch() {
+        ArgumentCaptor<TaskReportBatch> captor = ArgumentCaptor.forClass(TaskReportBatch.class);
+        verify(reporter, atLeastOnce()).report(eq(JobServerUrls.TASK_REPORT), captor.capture());
+        return captor.getValue();
+    }
+
+    private static DefaultTaskResult result(Long jobId, double progress) {
+        DefaultTaskResult result = new DefaultTaskResult();
+        result.setJobIdentity(JobIdentity.of(jobId));
+        result.setStatus(JobStatus.RUNNING);
+        result.setProgress(progress);
+        return result;
+    }
+
+}
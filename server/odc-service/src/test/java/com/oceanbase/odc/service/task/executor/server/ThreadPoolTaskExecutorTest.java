@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2023 OceanBase.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.oceanbase.odc.service.task.executor.server;
+
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.slf4j.MDC;
+
+import com.oceanbase.odc.common.trace.TaskContextHolder;
+import com.oceanbase.odc.service.task.caller.DefaultJobContext;
+import com.oceanbase.odc.service.task.caller.JobContext;
+import com.oceanbase.odc.service.task.executor.task.BaseTask;
+import com.oceanbase.odc.service.task.executor.task.TaskContext;
+import com.oceanbase.odc.service.task.schedule.JobIdentity;
+
+/**
+ * @author agent
+ * @date 2026-10-17 22:40
+ * @since ODC_release_4.3.2
+ */
+public class ThreadPoolTaskExecutorTest {
+
+    @Test
+    public void execute_JobsOneByOne_EachJobHasItsOwnTaskId() throws Exception {
+        TaskExecutor executor = ThreadPoolTaskExecutor.getInstance();
+        for (long jobId = 1001; jobId <= 1002; jobId++) {
+            BlockingTask task = new BlockingTask();
+            task.release.countDown();
+            TaskContextHolder.trace(1L, jobId);
+            try {
+                executor.execute(task, jobContext(jobId));
+            } finally {
+                TaskContextHolder.clear();
+            }
+            Assert.assertTrue(task.finished.await(10, TimeUnit.SECONDS));
+            Assert.assertEquals(String.valueOf(jobId), task.taskId);
+            waitUntilReleased(executor, JobIdentity.of(jobId));
+        }
+        Assert.assertEquals(0, executor.getTaskCount());
+    }
+
+    @Test
+    public void release_TaskRunning_ReturnFalse() throws Exception {
+        TaskExecutor executor = ThreadPoolTaskExecutor.getInstance();
+        BlockingTask task = new BlockingTask();
+        executor.execute(task, jobContext(1003L));
+        Assert.assertFalse(executor.release(JobIdentity.of(1003L)));
+
+        task.release.countDown();
+        Assert.assertTrue(task.finished.await(10, TimeUnit.SECONDS));
+        waitUntilReleased(executor, JobIdentity.of(1003L));
+    }
+
+    private static void waitUntilReleased(TaskExecutor executor, JobIdentity ji) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!executor.release(ji)) {
+            Assert.assertTrue(System.currentTimeMillis() < deadline);
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    private static JobContext jobContext(long jobId) {
+        DefaultJobContext jobContext = new DefaultJobContext();
+        jobContext.setJobParameters(new HashMap<>());
+        jobContext.setJobProperties(new HashMap<>());
+        jobContext.setJobIdentity(JobIdentity.of(jobId));
+        jobContext.setJobClass(BlockingTask.class.getName());
+        return jobContext;
+    }
+
+    private static final class BlockingTask extends BaseTask<String> {
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private volatile String taskId;
+
+        @Override
+        protected void doInit(JobContext context) {}
+
+        @Override
+        protected boolean doStart(JobContext context, TaskContext taskContext) throws Exception {
+            this.taskId = MDC.get(TaskContextHolder.TASK_ID);
+            return release.await(10, TimeUnit.SECONDS);
+        }
+
+        @Override
+        protected TaskMonitor createTaskMonitor() {
+            return Mockito.mock(TaskMonitor.class);
+        }
+
+        @Override
+        protected void doStop() {}
+
+        @Override
+        protected void doClose() {
+            finished.countDown();
+        }
+
+        @Override
+        public double getProgress() {
+            return 100;
+        }
+
+        @Override
+        public String getTaskResult() {
+            return "res";
+        }
+    }
+
+}